@@ -11,12 +11,16 @@ import java.util.Objects;
  * NOTE: Ordering is focused on a behavior central to sorting a collection of cards by type and then
  * value, but not necessarily for determining if the value should defeat another card in a game.
  *
+ * <p/>
+ * Cards are immutable, every field is final, so instances are safely published and may be shared
+ * between threads without synchronization. Subclasses are expected to keep that guarantee.
+ *
  * @author Robb Lee (robbmlee@gmail.com).
  */
 public class Card implements Comparable<Card> {
-  private Type type;
-  private int ordinal;
-  private String value;
+  private final Type type;
+  private final int ordinal;
+  private final String value;
 
   /**
    * General constructor. Type and value cannot be null nor empty or an exception will be thrown.
@@ -2,23 +2,28 @@ package org.eelbbor.carddeck;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Random;
 import java.util.Stack;
 
 /**
  * Generic deck enables basic functionality for maintaining a deck. Note: The implementation allows
  * for a single creation such that the cards can be shuffled and recombined back into available
- * cards.
+ * cards. Unlike the cards it holds a deck is mutable and not thread safe.
+ *
+ * <p/>
+ * The remaining cards are held in reverse order so dealing takes the last element and shuffling
+ * works in place, neither allocates as hands are dealt over and over.
  *
  * @author Robb Lee (robbmlee@gmail.com).
  */
 public class Deck<T extends Card> {
-  private int size;
-  private List<T> remainingCards;
-  private List<T> dealtCards;
-  private Stack<T> discardStack;
+  private final int size;
+  private final List<T> originalCards;
+  private final List<T> remainingCards;
+  private final List<T> dealtCards;
+  private final Stack<T> discardStack;
 
   /**
    * Creates a deck of cards based on the provided {@link List} of cards. The list must be greater
@@ -31,8 +36,10 @@ public class Deck<T extends Card> {
       throw new IllegalArgumentException("The card list cannot be null nor empty.");
     }
     this.size = cardList.size();
-    this.remainingCards = new LinkedList<>(cardList);
-    this.dealtCards = new ArrayList<>();
+    this.remainingCards = new ArrayList<>(cardList);
+    Collections.reverse(remainingCards);
+    this.originalCards = List.copyOf(remainingCards);
+    this.dealtCards = new ArrayList<>(size);
     this.discardStack = new Stack<>();
   }
 
@@ -46,18 +53,38 @@ public class Deck<T extends Card> {
   }
 
   /**
-   * Recombines all the cards back and shuffles them back into the remaining cards collection.
+   * Returns all the cards to the remaining cards in the order of the list the deck was created
+   * from, such that following shuffles with a seeded {@link Random} repeat regardless of the
+   * cards dealt before.
    */
-  public void shuffle() {
-    remainingCards.addAll(dealtCards);
+  public void reset() {
     dealtCards.clear();
-
-    remainingCards.addAll(discardStack);
     discardStack.clear();
+    remainingCards.clear();
+    for (int index = 0; index < size; index++) {
+      remainingCards.add(originalCards.get(index));
+    }
+  }
 
+  /**
+   * Recombines all the cards back and shuffles them back into the remaining cards collection.
+   */
+  public void shuffle() {
+    recombine();
     Collections.shuffle(remainingCards);
   }
 
+  /**
+   * Recombines all the cards back and shuffles them with the given source of randomness, such
+   * that a seeded {@link Random} deals the same cards every time.
+   *
+   * @param random source of randomness for the shuffle.
+   */
+  public void shuffle(Random random) {
+    recombine();
+    Collections.shuffle(remainingCards, random);
+  }
+
   /**
    * Reports the number of cards remaining in the deck, which can be dealt.
    *
@@ -74,9 +101,22 @@ public class Deck<T extends Card> {
    * @return {@link Optional} with next {@link Card} in the remaining cards, no value if empty.
    */
   public Optional<T> deal() {
-    Optional<T> card =
-        Optional.ofNullable(remainingCards.isEmpty() ? null : remainingCards.remove(0));
-    card.ifPresent(card1 -> dealtCards.add(card1));
+    return Optional.ofNullable(dealNext());
+  }
+
+  /**
+   * Deals the next available card from the remaining cards like {@link Deck#deal()} without
+   * wrapping it in an {@link Optional}, for callers dealing hands over and over that must not
+   * allocate.
+   *
+   * @return next {@link Card} in the remaining cards or null if empty.
+   */
+  public T dealNext() {
+    if (remainingCards.isEmpty()) {
+      return null;
+    }
+    T card = remainingCards.remove(remainingCards.size() - 1);
+    dealtCards.add(card);
     return card;
   }
 
@@ -134,4 +174,16 @@ public class Deck<T extends Card> {
     return discardStack.size();
   }
 
+  private void recombine() {
+    // Added one at a time, addAll copies the added collection to an array first.
+    for (int index = 0; index < dealtCards.size(); index++) {
+      remainingCards.add(dealtCards.get(index));
+    }
+    dealtCards.clear();
+
+    for (int index = 0; index < discardStack.size(); index++) {
+      remainingCards.add(discardStack.get(index));
+    }
+    discardStack.clear();
+  }
 }
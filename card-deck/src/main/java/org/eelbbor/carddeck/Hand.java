@@ -1,19 +1,22 @@
 package org.eelbbor.carddeck;
 
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 /**
  * Enables standard behaviors for a hand in a card game such as being dealt or playing a card.
+ * Unlike the cards it holds a hand is mutable and not thread safe.
  *
  * @author Robb Lee (robbmlee@gmail.com).
  */
 public class Hand<T extends Card> {
-  private List<T> cards;
+  private final List<T> cards;
+  private final List<T> cardsView;
 
   public Hand() {
     this.cards = new ArrayList<>();
+    this.cardsView = Collections.unmodifiableList(cards);
   }
 
   /**
@@ -25,6 +28,38 @@ public class Hand<T extends Card> {
     return cards.size();
   }
 
+  /**
+   * Indicates the number of cards in the hand of the given {@link Type}.
+   *
+   * @param type {@link Type} of the cards to count.
+   * @return number of cards in the hand of the type.
+   */
+  public int numCards(Type type) {
+    int count = 0;
+    for (T card : cards) {
+      if (card.getType().equals(type)) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Indicates if the hand holds any card of the given {@link Type}, i.e. whether a player is able
+   * to follow a suite.
+   *
+   * @param type {@link Type} of the cards to check for.
+   * @return true if at least one card of the type is in the hand, else false.
+   */
+  public boolean containsType(Type type) {
+    for (T card : cards) {
+      if (card.getType().equals(type)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   /**
    * Indicates if a card is present in the hand.
    *
@@ -35,13 +70,25 @@ public class Hand<T extends Card> {
     return cards.isEmpty() ? false : cards.contains(card);
   }
 
+  /**
+   * Adds a single card to the hand without the array of {@link Hand#dealCard(Card[])}, so dealing
+   * into a cleared hand does not allocate.
+   *
+   * @param card card to add to the hand.
+   */
+  public void dealCard(T card) {
+    cards.add(card);
+  }
+
   /**
    * Adds a card or cards to the hand.
    *
    * @param card variable length number of cards to add to the hand.
    */
   public void dealCard(T... card) {
-    cards.addAll(Arrays.asList(card));
+    for (T next : card) {
+      dealCard(next);
+    }
   }
 
   /**
@@ -56,6 +103,14 @@ public class Hand<T extends Card> {
     return cards.remove(card);
   }
 
+  /**
+   * Removes every card from the hand so it can be dealt again without allocating a new hand.
+   * Views returned by {@link Hand#viewCards()} remain valid and reflect the empty hand.
+   */
+  public void clear() {
+    cards.clear();
+  }
+
   /**
    * Returns a list of the cards remaining in the hand. Note: The return value is not tied to the
    * cards in the hands so will mutating it will have no side effect.
@@ -65,4 +120,16 @@ public class Hand<T extends Card> {
   public List<T> remainingCards() {
     return new ArrayList<>(cards);
   }
+
+  /**
+   * Returns a read only view of the cards remaining in the hand. Unlike
+   * {@link Hand#remainingCards()} nothing is copied, the view reflects cards dealt or played
+   * afterwards and attempting to mutate it throws an {@link UnsupportedOperationException}. Copy
+   * the view before iterating it while playing cards from the hand.
+   *
+   * @return live unmodifiable list of the remaining cards.
+   */
+  public List<T> viewCards() {
+    return cardsView;
+  }
 }
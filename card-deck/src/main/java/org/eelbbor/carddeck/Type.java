@@ -6,13 +6,13 @@ import java.util.Objects;
  * Generic definition to capture metatdata for a card type. An traditional example would be a suite
  * such as Clubs, but enables dynamic definitions such as a color. Also tracks an ordinal to allow
  * for sorting by the type. See the {@link Type#compareTo(Type)} method for more information
- * regarding the default sorting.
+ * regarding the default sorting. Types are immutable and may be shared between threads.
  *
  * @author Robb Lee (robbmlee@gmail.com).
  */
 public class Type implements Comparable<Type> {
-  private int ordinal;
-  private String name;
+  private final int ordinal;
+  private final String name;
 
   /**
    * General constructor. Name cannot be null nor empty or an exception will be thrown.
@@ -0,0 +1,289 @@
+package org.eelbbor.carddeck.standard;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.StringJoiner;
+
+/**
+ * Set of standard cards stored as a single long with one bit per card at the position of
+ * {@link StandardCard#getIndex()}. Membership, set algebra and counting are a few bit operations,
+ * and each suite occupies a contiguous run of 13 bits in rank order so per suite queries are a
+ * mask. Similar to {@link java.util.BitSet} the set is mutable and iteration without allocation is
+ * done over indices:
+ *
+ * <pre>
+ * for (int index = set.nextIndex(0); index &gt;= 0; index = set.nextIndex(index + 1)) {
+ *   StandardCard card = StandardCard.fromIndex(index);
+ * }
+ * </pre>
+ *
+ * <p/>
+ * Instances are not thread safe.
+ *
+ * @author Robb Lee (robbmlee@gmail.com).
+ */
+public final class CardSet implements Iterable<StandardCard> {
+  /**
+   * Mask with a bit set for every card in a standard deck.
+   */
+  public static final long ALL_CARDS = (1L << StandardCard.CARD_COUNT) - 1;
+
+  private static final int VALUES = StandardFaceValue.values().length;
+  private static final long SUITE_BITS = (1L << VALUES) - 1;
+
+  private long bits;
+
+  public CardSet() {
+    this(0L);
+  }
+
+  /**
+   * Constructor for a set holding the cards of the bits.
+   *
+   * @param bits mask with a bit set at the index of each card.
+   */
+  public CardSet(long bits) {
+    if ((bits & ~ALL_CARDS) != 0) {
+      throw new IllegalArgumentException("Card set bits must be within the 52 card mask.");
+    }
+    this.bits = bits;
+  }
+
+  /**
+   * Creates a set holding the given cards.
+   *
+   * @param cards cards to add.
+   * @return new set.
+   */
+  public static CardSet of(StandardCard... cards) {
+    CardSet set = new CardSet();
+    for (StandardCard card : cards) {
+      set.add(card);
+    }
+    return set;
+  }
+
+  /**
+   * Creates a set holding every card of a standard deck.
+   *
+   * @return new full set.
+   */
+  public static CardSet fullDeck() {
+    return new CardSet(ALL_CARDS);
+  }
+
+  /**
+   * Returns the mask of the bits for the cards of a suite.
+   *
+   * @param suite suite of the cards.
+   * @return mask of the 13 bits of the suite.
+   */
+  public static long suiteMask(Suite suite) {
+    return SUITE_BITS << (suite.ordinal() * VALUES);
+  }
+
+  public long getBits() {
+    return bits;
+  }
+
+  public int size() {
+    return Long.bitCount(bits);
+  }
+
+  public boolean isEmpty() {
+    return bits == 0;
+  }
+
+  public boolean contains(StandardCard card) {
+    return (bits & (1L << card.getIndex())) != 0;
+  }
+
+  /**
+   * Adds a card to the set.
+   *
+   * @param card card to add.
+   * @return true if the card was not already in the set else false.
+   */
+  public boolean add(StandardCard card) {
+    long before = bits;
+    bits |= 1L << card.getIndex();
+    return bits != before;
+  }
+
+  /**
+   * Removes a card from the set.
+   *
+   * @param card card to remove.
+   * @return true if the card was in the set else false.
+   */
+  public boolean remove(StandardCard card) {
+    long before = bits;
+    bits &= ~(1L << card.getIndex());
+    return bits != before;
+  }
+
+  public void clear() {
+    bits = 0;
+  }
+
+  /**
+   * Adds every card of the other set to this set.
+   *
+   * @param other set to union with.
+   * @return this set.
+   */
+  public CardSet or(CardSet other) {
+    bits |= other.bits;
+    return this;
+  }
+
+  /**
+   * Keeps only the cards also in the other set.
+   *
+   * @param other set to intersect with.
+   * @return this set.
+   */
+  public CardSet and(CardSet other) {
+    bits &= other.bits;
+    return this;
+  }
+
+  /**
+   * Removes every card of the other set from this set.
+   *
+   * @param other set of cards to remove.
+   * @return this set.
+   */
+  public CardSet andNot(CardSet other) {
+    bits &= ~other.bits;
+    return this;
+  }
+
+  /**
+   * Indicates if every card of the other set is in this set.
+   *
+   * @param other set to check.
+   * @return true if the other set is a subset of this set else false.
+   */
+  public boolean containsAll(CardSet other) {
+    return (other.bits & ~bits) == 0;
+  }
+
+  /**
+   * Indicates if the sets share at least one card.
+   *
+   * @param other set to check.
+   * @return true if the sets intersect else false.
+   */
+  public boolean intersects(CardSet other) {
+    return (bits & other.bits) != 0;
+  }
+
+  public CardSet copy() {
+    return new CardSet(bits);
+  }
+
+  /**
+   * Returns a new set holding the cards of this set of a single suite.
+   *
+   * @param suite suite to keep.
+   * @return new set of the cards of the suite.
+   */
+  public CardSet ofSuite(Suite suite) {
+    return new CardSet(bits & suiteMask(suite));
+  }
+
+  /**
+   * Returns the number of cards in the set of a suite.
+   *
+   * @param suite suite to count.
+   * @return number of cards of the suite.
+   */
+  public int count(Suite suite) {
+    return Long.bitCount(bits & suiteMask(suite));
+  }
+
+  /**
+   * Returns the lowest index of a card in the set at or after the given index.
+   *
+   * @param fromIndex index to start from.
+   * @return index of the next card or -1 if there is none.
+   */
+  public int nextIndex(int fromIndex) {
+    if (fromIndex >= StandardCard.CARD_COUNT) {
+      return -1;
+    }
+    long remaining = bits & (-1L << fromIndex);
+    return remaining == 0 ? -1 : Long.numberOfTrailingZeros(remaining);
+  }
+
+  /**
+   * Returns the lowest ranked card of a suite in the set.
+   *
+   * @param suite suite of the card.
+   * @return lowest card of the suite or null if the set has none.
+   */
+  public StandardCard lowest(Suite suite) {
+    long suiteBits = bits & suiteMask(suite);
+    return suiteBits == 0 ? null : StandardCard.fromIndex(Long.numberOfTrailingZeros(suiteBits));
+  }
+
+  /**
+   * Returns the highest ranked card of a suite in the set.
+   *
+   * @param suite suite of the card.
+   * @return highest card of the suite or null if the set has none.
+   */
+  public StandardCard highest(Suite suite) {
+    long suiteBits = bits & suiteMask(suite);
+    return suiteBits == 0 ? null
+        : StandardCard.fromIndex(Long.SIZE - 1 - Long.numberOfLeadingZeros(suiteBits));
+  }
+
+  /**
+   * Iterates the cards by suite and then rank. Use {@link CardSet#nextIndex(int)} to iterate
+   * without allocating.
+   *
+   * @return iterator over a snapshot of the set.
+   */
+  @Override
+  public Iterator<StandardCard> iterator() {
+    return new Iterator<>() {
+      private long remaining = bits;
+
+      @Override
+      public boolean hasNext() {
+        return remaining != 0;
+      }
+
+      @Override
+      public StandardCard next() {
+        if (remaining == 0) {
+          throw new NoSuchElementException();
+        }
+        int index = Long.numberOfTrailingZeros(remaining);
+        remaining &= remaining - 1;
+        return StandardCard.fromIndex(index);
+      }
+    };
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    return this == other || (other instanceof CardSet && bits == ((CardSet) other).bits);
+  }
+
+  @Override
+  public int hashCode() {
+    return Long.hashCode(bits);
+  }
+
+  @Override
+  public String toString() {
+    StringJoiner joiner = new StringJoiner(", ", "[", "]");
+    for (StandardCard card : this) {
+      joiner.add(card.getStandardFaceValue().name() + " of " + card.getSuite().name() + "s");
+    }
+    return joiner.toString();
+  }
+}
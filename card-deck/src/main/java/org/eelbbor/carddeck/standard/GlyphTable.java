@@ -0,0 +1,63 @@
+package org.eelbbor.carddeck.standard;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * UTF-8 encodings of the unicode playing card glyphs and suite symbols, encoded once when the
+ * class is initialized so text renderers can write them straight into a {@link ByteBuffer}
+ * without building a {@link String} per card. Card glyphs are indexed by
+ * {@link StandardCard#getIndex()} and are four bytes, suite symbols are three bytes.
+ *
+ * @author Robb Lee (robbmlee@gmail.com).
+ */
+public final class GlyphTable {
+  private static final byte[][] CARD_GLYPHS = new byte[StandardCard.CARD_COUNT][];
+  private static final byte[][] BLACK_SYMBOLS = new byte[Suite.values().length][];
+  private static final byte[][] WHITE_SYMBOLS = new byte[Suite.values().length][];
+  private static final byte[] CARD_BACK = encode(StandardCard.CARD_BACK_CODE_POINT);
+
+  static {
+    for (int index = 0; index < StandardCard.CARD_COUNT; index++) {
+      CARD_GLYPHS[index] = encode(StandardCard.fromIndex(index).getUnicodeCodePoint());
+    }
+    for (Suite suite : Suite.values()) {
+      BLACK_SYMBOLS[suite.ordinal()] = encode(suite.getBlackSymbolCodePoint());
+      WHITE_SYMBOLS[suite.ordinal()] = encode(suite.getWhiteSymbolCodePoint());
+    }
+  }
+
+  private GlyphTable() {
+  }
+
+  /**
+   * Writes the UTF-8 glyph of the card at the position of the buffer.
+   *
+   * @param out buffer to write to.
+   * @param index index of the card, see {@link StandardCard#getIndex()}.
+   * @throws java.nio.BufferOverflowException if the buffer lacks room for the glyph.
+   */
+  public static void putCard(ByteBuffer out, int index) {
+    out.put(CARD_GLYPHS[index]);
+  }
+
+  public static void putCard(ByteBuffer out, StandardCard card) {
+    putCard(out, card.getIndex());
+  }
+
+  public static void putCardBack(ByteBuffer out) {
+    out.put(CARD_BACK);
+  }
+
+  public static void putBlackSymbol(ByteBuffer out, Suite suite) {
+    out.put(BLACK_SYMBOLS[suite.ordinal()]);
+  }
+
+  public static void putWhiteSymbol(ByteBuffer out, Suite suite) {
+    out.put(WHITE_SYMBOLS[suite.ordinal()]);
+  }
+
+  private static byte[] encode(int codePoint) {
+    return new String(Character.toChars(codePoint)).getBytes(StandardCharsets.UTF_8);
+  }
+}
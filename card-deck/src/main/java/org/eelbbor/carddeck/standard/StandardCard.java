@@ -14,8 +14,25 @@ public class StandardCard extends Card {
   public static final int BLACK_JOKER_CODE_POINT = 0x1F0CF;
   public static final int WHITE_JOKER_CODE_POINT = 0x1F0DF;
 
-  private Suite suite;
-  private StandardFaceValue standardFaceValue;
+  /**
+   * Number of distinct cards in a standard deck, the range of {@link StandardCard#getIndex()}.
+   */
+  public static final int CARD_COUNT = Suite.values().length * StandardFaceValue.values().length;
+
+  private static final StandardCard[] CARDS_BY_INDEX = new StandardCard[CARD_COUNT];
+
+  static {
+    for (Suite suite : Suite.values()) {
+      for (StandardFaceValue faceValue : StandardFaceValue.values()) {
+        StandardCard card = new StandardCard(suite, faceValue);
+        CARDS_BY_INDEX[card.getIndex()] = card;
+      }
+    }
+  }
+
+  private final Suite suite;
+  private final StandardFaceValue standardFaceValue;
+  private final int index;
 
   /**
    * Constructor defining {@link StandardCard} based on a {@link Suite} and
@@ -28,6 +45,21 @@ public class StandardCard extends Card {
     super(suite.getType(), standardFaceValue.ordinal(), standardFaceValue.name());
     this.suite = suite;
     this.standardFaceValue = standardFaceValue;
+    this.index = suite.ordinal() * StandardFaceValue.values().length + standardFaceValue.ordinal();
+  }
+
+  /**
+   * Returns the shared card instance for an index.
+   *
+   * @param index card index, see {@link StandardCard#getIndex()}.
+   * @return card with the index.
+   */
+  public static StandardCard fromIndex(int index) {
+    if (index < 0 || index >= CARD_COUNT) {
+      throw new IllegalArgumentException("Card index must be between 0 and " + (CARD_COUNT - 1)
+          + " but was '" + index + "'.");
+    }
+    return CARDS_BY_INDEX[index];
   }
 
   public Suite getSuite() {
@@ -38,6 +70,17 @@ public class StandardCard extends Card {
     return standardFaceValue;
   }
 
+  /**
+   * Returns the compact index of the card, the {@link Suite} ordinal times the number of face
+   * values plus the {@link StandardFaceValue} ordinal, so cards of a suite are contiguous and in
+   * rank order. Used as the bit position of the card in a {@link CardSet}.
+   *
+   * @return index between 0 and {@link StandardCard#CARD_COUNT} exclusive.
+   */
+  public int getIndex() {
+    return index;
+  }
+
   public int getUnicodeCodePoint() {
     return suite.getBaseUnicodeValue() + standardFaceValue.getUnicodeOffset();
   }
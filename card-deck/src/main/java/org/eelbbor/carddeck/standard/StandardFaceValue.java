@@ -22,7 +22,7 @@ public enum StandardFaceValue {
   King(14),
   Ace(1);
 
-  private int unicodeOffset;
+  private final int unicodeOffset;
 
   StandardFaceValue(int unicodeOffset) {
     this.unicodeOffset = unicodeOffset;
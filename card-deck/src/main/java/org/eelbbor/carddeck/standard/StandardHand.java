@@ -0,0 +1,149 @@
+package org.eelbbor.carddeck.standard;
+
+import org.eelbbor.carddeck.Hand;
+import org.eelbbor.carddeck.Type;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * {@link Hand} of cards from a single standard deck backed by a {@link CardSet}, so membership
+ * and playing a card take constant time. A standard deck holds one of each card, dealing a card
+ * already in the hand throws an exception.
+ *
+ * @author Robb Lee (robbmlee@gmail.com).
+ */
+public class StandardHand extends Hand<StandardCard> {
+  private final CardSet cards;
+  private final List<StandardCard> cardsView;
+
+  public StandardHand() {
+    this.cards = new CardSet();
+    this.cardsView = new CardsView();
+  }
+
+  @Override
+  public int numCards() {
+    return cards.size();
+  }
+
+  @Override
+  public int numCards(Type type) {
+    Suite suite = toSuite(type);
+    return suite == null ? 0 : cards.count(suite);
+  }
+
+  @Override
+  public boolean containsType(Type type) {
+    Suite suite = toSuite(type);
+    return suite != null && (cards.getBits() & CardSet.suiteMask(suite)) != 0;
+  }
+
+  @Override
+  public boolean containsCard(StandardCard card) {
+    return cards.contains(card);
+  }
+
+  /**
+   * Adds a card to the hand, dealing several cards at once adds them one at a time through this
+   * method. Throws an exception if the card is already in the hand.
+   *
+   * @param card card to add to the hand.
+   */
+  @Override
+  public void dealCard(StandardCard card) {
+    if (!cards.add(card)) {
+      throw new IllegalArgumentException("Tried to deal the '"
+          + card.getStandardFaceValue().name() + "' of '"
+          + card.getSuite().name() + "s' which is already in the hand.");
+    }
+  }
+
+  @Override
+  public boolean playCard(StandardCard card) {
+    return cards.remove(card);
+  }
+
+  /**
+   * Returns a list of the cards remaining in the hand ordered by suite and then rank. Note: The
+   * return value is not tied to the cards in the hand so mutating it will have no side effect.
+   *
+   * @return list containing the remaining cards.
+   */
+  @Override
+  public List<StandardCard> remainingCards() {
+    List<StandardCard> remaining = new ArrayList<>(cards.size());
+    cards.forEach(remaining::add);
+    return remaining;
+  }
+
+  /**
+   * Returns a read only view of the cards remaining in the hand ordered by suite and then rank,
+   * backed directly by the bits of the hand so nothing is copied.
+   *
+   * @return live unmodifiable list of the remaining cards.
+   */
+  @Override
+  public List<StandardCard> viewCards() {
+    return cardsView;
+  }
+
+  /**
+   * Returns a copy of the cards in the hand as a {@link CardSet}.
+   *
+   * @return set of the cards in the hand.
+   */
+  public CardSet getCardSet() {
+    return cards.copy();
+  }
+
+  /**
+   * Returns the bits of the cards in the hand, see {@link CardSet#getBits()}, for allocation free
+   * queries.
+   *
+   * @return mask of the cards in the hand.
+   */
+  public long getBits() {
+    return cards.getBits();
+  }
+
+  private static Suite toSuite(Type type) {
+    for (Suite suite : Suite.values()) {
+      if (suite.getType().equals(type)) {
+        return suite;
+      }
+    }
+    return null;
+  }
+
+  private class CardsView extends AbstractList<StandardCard> {
+    @Override
+    public StandardCard get(int index) {
+      if (index < 0 || index >= cards.size()) {
+        throw new IndexOutOfBoundsException("Index " + index + " is outside of the hand.");
+      }
+      int cardIndex = cards.nextIndex(0);
+      for (int skip = 0; skip < index; skip++) {
+        cardIndex = cards.nextIndex(cardIndex + 1);
+      }
+      return StandardCard.fromIndex(cardIndex);
+    }
+
+    @Override
+    public int size() {
+      return cards.size();
+    }
+
+    @Override
+    public boolean contains(Object other) {
+      return other instanceof StandardCard && cards.contains((StandardCard) other);
+    }
+
+    @Override
+    public Iterator<StandardCard> iterator() {
+      return cards.iterator();
+    }
+  }
+}
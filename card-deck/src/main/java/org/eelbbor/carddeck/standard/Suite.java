@@ -3,7 +3,8 @@ package org.eelbbor.carddeck.standard;
 import org.eelbbor.carddeck.Type;
 
 /**
- * Standard suites for a traditional set of French playing cards.
+ * Standard suites for a traditional set of French playing cards. Each suite holds its canonical
+ * {@link Type}, built with the enum constant, so every card of a suite shares the one instance.
  *
  * @author Robb Lee (robbmlee@gmail.com).
  */
@@ -13,13 +14,13 @@ public enum Suite {
   Heart(0x1F0B0, 0x2665, 0x2661),
   Spade(0x1F0A0, 0x2660, 0x2664);
 
-  private static final Type[] types = new Type[Suite.values().length];
-
-  private int baseUnicodeValue;
-  private int blackSymbolCodePoint;
-  private int whiteSymbolCodePoint;
+  private final Type type;
+  private final int baseUnicodeValue;
+  private final int blackSymbolCodePoint;
+  private final int whiteSymbolCodePoint;
 
   Suite(int baseUnicodeValue, int blackSymbolCodePoint, int whiteSymbolCodePoint) {
+    this.type = new Type(ordinal(), name());
     this.baseUnicodeValue = baseUnicodeValue;
     this.blackSymbolCodePoint = blackSymbolCodePoint;
     this.whiteSymbolCodePoint = whiteSymbolCodePoint;
@@ -31,10 +32,7 @@ public enum Suite {
    * @return {@link Type} object.
    */
   public Type getType() {
-    if (types[ordinal()] == null) {
-      types[ordinal()] = new Type(ordinal(), name());
-    }
-    return types[ordinal()];
+    return type;
   }
 
   /**
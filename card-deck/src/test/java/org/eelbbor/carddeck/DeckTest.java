@@ -4,6 +4,7 @@ import static org.eelbbor.carddeck.TestUtils.randomInteger;
 import static org.eelbbor.carddeck.TestUtils.randomString;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -11,6 +12,7 @@ import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 import java.util.stream.IntStream;
 
 class DeckTest {
@@ -92,6 +94,16 @@ class DeckTest {
     assertFalse(deck.deal().isPresent());
   }
 
+  @Test
+  void shouldDealNextCardOrNullIfNoRemainingCards() {
+    List<Card> randomCards = createRandomCards(2);
+    Deck<Card> deck = new Deck<>(randomCards);
+    assertEquals(randomCards.get(0), deck.dealNext());
+    assertEquals(randomCards.get(1), deck.dealNext());
+    assertEquals(2, deck.dealtCount());
+    assertNull(deck.dealNext());
+  }
+
   @Test
   void shouldThrowExceptionTryingToDiscardWithANullArgument() {
     try {
@@ -184,6 +196,26 @@ class DeckTest {
     assertTrue(delta > 0, "Shuffling the deck should have yielded a different order.");
   }
 
+  @Test
+  void shouldShuffleInTheSameOrderForTheSameSeed() {
+    List<Card> originalList = createRandomCards(100);
+    Deck<Card> first = new Deck<>(originalList);
+    Deck<Card> second = new Deck<>(originalList);
+    first.shuffle();
+    IntStream.range(0, 30).forEach(i -> first.discard(first.deal().get()));
+    first.reset();
+    assertEquals(originalList.size(), first.remainingCount());
+    assertEquals(0, first.discardCount());
+    for (int round = 0; round < 3; round++) {
+      first.shuffle(new Random(round));
+      second.shuffle(new Random(round));
+      assertEquals(originalList.size(), first.remainingCount());
+      while (second.remainingCount() > 0) {
+        assertEquals(second.deal().get(), first.deal().get());
+      }
+    }
+  }
+
   @Test
   void shouldShuffleDeckWithAllCardsDealt() {
     int numberOfCards = 100;
@@ -4,6 +4,7 @@ import static org.eelbbor.carddeck.TestUtils.randomInteger;
 import static org.eelbbor.carddeck.TestUtils.randomString;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -51,6 +52,19 @@ class HandTest {
     assertEquals(3, hand.numCards());
   }
 
+  @Test
+  void shouldClearCardsKeepingViewLive() {
+    final List<Card> view = hand.viewCards();
+    hand.dealCard(createRandomCard(), createRandomCard());
+    hand.clear();
+    assertEquals(0, hand.numCards());
+    assertTrue(view.isEmpty());
+
+    Card card = createRandomCard();
+    hand.dealCard(card);
+    assertEquals(List.of(card), view);
+  }
+
   @Test
   void shouldPlaySingleCard() {
     int numCards = 100;
@@ -151,6 +165,30 @@ class HandTest {
     assertEquals(expectedLength, hand.remainingCards().size());
   }
 
+  @Test
+  void shouldCountCardsByType() {
+    Type type = new Type(1, "first");
+    Type other = new Type(2, "second");
+    hand.dealCard(new Card(type, 1, "one"), new Card(type, 2, "two"));
+    assertEquals(2, hand.numCards(type));
+    assertEquals(0, hand.numCards(other));
+    assertTrue(hand.containsType(new Type(1, "first")));
+    assertFalse(hand.containsType(other));
+  }
+
+  @Test
+  void shouldReflectHandInReadOnlyView() {
+    List<Card> view = hand.viewCards();
+    Card card = createRandomCard();
+    hand.dealCard(card);
+    assertEquals(1, view.size());
+    assertTrue(view.contains(card));
+    assertThrows(UnsupportedOperationException.class, () -> view.add(createRandomCard()));
+
+    hand.playCard(card);
+    assertTrue(view.isEmpty());
+  }
+
   private Card createRandomCard() {
     return new Card(new Type(randomInteger(), randomString()), randomInteger(), randomString());
   }
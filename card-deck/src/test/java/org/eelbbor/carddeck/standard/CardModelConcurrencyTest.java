@@ -0,0 +1,84 @@
+package org.eelbbor.carddeck.standard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.eelbbor.carddeck.Card;
+import org.eelbbor.carddeck.Type;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+class CardModelConcurrencyTest {
+  private static final int THREADS = 8;
+  private static final int ITERATIONS = 20_000;
+
+  @Test
+  void shouldDeclareOnlyFinalInstanceFields() {
+    for (Class<?> modelClass : List.of(Card.class, Type.class, StandardCard.class, Suite.class,
+        StandardFaceValue.class)) {
+      for (Field field : modelClass.getDeclaredFields()) {
+        if (!field.isSynthetic() && !field.isEnumConstant()) {
+          assertTrue(Modifier.isFinal(field.getModifiers()),
+              modelClass.getSimpleName() + "." + field.getName() + " must be final.");
+        }
+      }
+    }
+  }
+
+  @Test
+  void shouldShareCardsAcrossThreads() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<Type[]>> results = new ArrayList<>();
+    try {
+      for (int thread = 0; thread < THREADS; thread++) {
+        final int offset = thread;
+        results.add(executor.submit(() -> {
+          start.await();
+          Type[] types = new Type[Suite.values().length];
+          for (int iteration = 0; iteration < ITERATIONS; iteration++) {
+            int index = (iteration * 7 + offset) % StandardCard.CARD_COUNT;
+            StandardCard shared = StandardCard.fromIndex(index);
+            StandardCard built = new StandardCard(shared.getSuite(),
+                shared.getStandardFaceValue());
+            assertEquals(shared, built);
+            assertEquals(shared.hashCode(), built.hashCode());
+            assertEquals(0, shared.compareTo(built));
+            assertEquals(index, built.getIndex());
+
+            Suite suite = shared.getSuite();
+            Type type = suite.getType();
+            assertSame(type, shared.getType());
+            if (types[suite.ordinal()] == null) {
+              types[suite.ordinal()] = type;
+            }
+            assertSame(types[suite.ordinal()], type);
+          }
+          return types;
+        }));
+      }
+      start.countDown();
+
+      for (Future<Type[]> result : results) {
+        Type[] types = result.get(1, TimeUnit.MINUTES);
+        for (Suite suite : Suite.values()) {
+          assertSame(suite.getType(), types[suite.ordinal()]);
+          assertEquals(suite.name(), types[suite.ordinal()].getName());
+          assertEquals(suite.ordinal(), types[suite.ordinal()].getOrdinal());
+        }
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
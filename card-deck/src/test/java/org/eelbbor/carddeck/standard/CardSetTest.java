@@ -0,0 +1,102 @@
+package org.eelbbor.carddeck.standard;
+
+import static org.eelbbor.carddeck.TestUtils.randomEnum;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+class CardSetTest {
+  @Test
+  void shouldIndexEveryCardUniquely() {
+    Set<Integer> indices = new HashSet<>();
+    for (Suite suite : Suite.values()) {
+      for (StandardFaceValue faceValue : StandardFaceValue.values()) {
+        StandardCard card = new StandardCard(suite, faceValue);
+        assertTrue(indices.add(card.getIndex()));
+        assertEquals(card, StandardCard.fromIndex(card.getIndex()));
+      }
+    }
+    assertEquals(StandardCard.CARD_COUNT, indices.size());
+    assertSame(StandardCard.fromIndex(7), StandardCard.fromIndex(7));
+    assertThrows(IllegalArgumentException.class, () -> StandardCard.fromIndex(52));
+  }
+
+  @Test
+  void shouldAddRemoveAndContainCards() {
+    CardSet set = new CardSet();
+    StandardCard card = new StandardCard(randomEnum(Suite.class),
+        randomEnum(StandardFaceValue.class));
+    assertFalse(set.contains(card));
+    assertTrue(set.add(card));
+    assertFalse(set.add(card));
+    assertTrue(set.contains(card));
+    assertEquals(1, set.size());
+    assertTrue(set.remove(card));
+    assertFalse(set.remove(card));
+    assertTrue(set.isEmpty());
+  }
+
+  @Test
+  void shouldSupportSetAlgebra() {
+    StandardCard aceOfSpades = new StandardCard(Suite.Spade, StandardFaceValue.Ace);
+    StandardCard twoOfClubs = new StandardCard(Suite.Club, StandardFaceValue.Two);
+    StandardCard kingOfHearts = new StandardCard(Suite.Heart, StandardFaceValue.King);
+    CardSet first = CardSet.of(aceOfSpades, twoOfClubs);
+    CardSet second = CardSet.of(twoOfClubs, kingOfHearts);
+
+    assertEquals(CardSet.of(aceOfSpades, twoOfClubs, kingOfHearts), first.copy().or(second));
+    assertEquals(CardSet.of(twoOfClubs), first.copy().and(second));
+    assertEquals(CardSet.of(aceOfSpades), first.copy().andNot(second));
+    assertTrue(first.intersects(second));
+    assertTrue(CardSet.fullDeck().containsAll(first));
+    assertFalse(first.containsAll(second));
+    assertEquals(StandardCard.CARD_COUNT, CardSet.fullDeck().size());
+    assertThrows(IllegalArgumentException.class, () -> new CardSet(1L << 52));
+  }
+
+  @Test
+  void shouldQueryBySuite() {
+    CardSet deck = CardSet.fullDeck();
+    for (Suite suite : Suite.values()) {
+      assertEquals(13, deck.count(suite));
+      assertEquals(new StandardCard(suite, StandardFaceValue.Two), deck.lowest(suite));
+      assertEquals(new StandardCard(suite, StandardFaceValue.Ace), deck.highest(suite));
+      deck.ofSuite(suite).forEach(card -> assertEquals(suite, card.getSuite()));
+    }
+    assertEquals(0L, CardSet.suiteMask(Suite.Club) & CardSet.suiteMask(Suite.Spade));
+
+    CardSet hearts = CardSet.of(new StandardCard(Suite.Heart, StandardFaceValue.Nine),
+        new StandardCard(Suite.Heart, StandardFaceValue.Four));
+    assertEquals(StandardFaceValue.Four, hearts.lowest(Suite.Heart).getStandardFaceValue());
+    assertEquals(StandardFaceValue.Nine, hearts.highest(Suite.Heart).getStandardFaceValue());
+    assertNull(hearts.highest(Suite.Diamond));
+  }
+
+  @Test
+  void shouldIterateInSuiteAndRankOrder() {
+    CardSet deck = CardSet.fullDeck();
+    List<StandardCard> iterated = new ArrayList<>();
+    deck.forEach(iterated::add);
+    List<StandardCard> indexed = new ArrayList<>();
+    for (int index = deck.nextIndex(0); index >= 0; index = deck.nextIndex(index + 1)) {
+      indexed.add(StandardCard.fromIndex(index));
+    }
+
+    assertEquals(StandardCard.CARD_COUNT, iterated.size());
+    assertEquals(iterated, indexed);
+    for (int index = 1; index < iterated.size(); index++) {
+      assertTrue(iterated.get(index - 1).compareTo(iterated.get(index)) < 0);
+    }
+    assertEquals(-1, new CardSet().nextIndex(0));
+  }
+}
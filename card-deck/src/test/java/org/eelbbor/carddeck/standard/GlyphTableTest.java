@@ -0,0 +1,49 @@
+package org.eelbbor.carddeck.standard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+class GlyphTableTest {
+  @Test
+  void shouldEncodeEveryCardGlyph() {
+    for (int index = 0; index < StandardCard.CARD_COUNT; index++) {
+      StandardCard card = StandardCard.fromIndex(index);
+      ByteBuffer out = ByteBuffer.allocate(8);
+      GlyphTable.putCard(out, card);
+      assertEquals(4, out.position());
+      assertEquals(new String(Character.toChars(card.getUnicodeCodePoint())), decode(out));
+    }
+  }
+
+  @Test
+  void shouldEncodeSuiteSymbolsAndCardBack() {
+    ByteBuffer out = ByteBuffer.allocate(64);
+    StringBuilder expected = new StringBuilder();
+    for (Suite suite : Suite.values()) {
+      GlyphTable.putBlackSymbol(out, suite);
+      GlyphTable.putWhiteSymbol(out, suite);
+      expected.appendCodePoint(suite.getBlackSymbolCodePoint())
+          .appendCodePoint(suite.getWhiteSymbolCodePoint());
+    }
+    GlyphTable.putCardBack(out);
+    expected.appendCodePoint(StandardCard.CARD_BACK_CODE_POINT);
+    assertEquals(expected.toString(), decode(out));
+  }
+
+  @Test
+  void shouldThrowWhenBufferIsFull() {
+    ByteBuffer out = ByteBuffer.allocate(3);
+    assertThrows(BufferOverflowException.class, () -> GlyphTable.putCard(out, 0));
+  }
+
+  private static String decode(ByteBuffer out) {
+    out.flip();
+    return StandardCharsets.UTF_8.decode(out).toString();
+  }
+}
@@ -0,0 +1,71 @@
+package org.eelbbor.carddeck.standard;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+class StandardHandTest {
+  @Test
+  void shouldDealAndPlayCards() {
+    StandardHand hand = new StandardHand();
+    StandardCard queen = new StandardCard(Suite.Diamond, StandardFaceValue.Queen);
+    StandardCard three = new StandardCard(Suite.Club, StandardFaceValue.Three);
+    hand.dealCard(queen, three);
+
+    assertEquals(2, hand.numCards());
+    assertTrue(hand.containsCard(queen));
+    assertEquals(List.of(three, queen), hand.remainingCards());
+    assertEquals(CardSet.of(queen, three), hand.getCardSet());
+
+    assertTrue(hand.playCard(queen));
+    assertFalse(hand.playCard(queen));
+    assertFalse(hand.containsCard(queen));
+    assertEquals(1L << three.getIndex(), hand.getBits());
+  }
+
+  @Test
+  void shouldRejectDuplicateCards() {
+    StandardHand hand = new StandardHand();
+    StandardCard card = new StandardCard(Suite.Spade, StandardFaceValue.Jack);
+    hand.dealCard(card);
+    IllegalArgumentException ex =
+        assertThrows(IllegalArgumentException.class, () -> hand.dealCard(card));
+    assertEquals("Tried to deal the 'Jack' of 'Spades' which is already in the hand.",
+        ex.getMessage());
+  }
+
+  @Test
+  void shouldNotExposeInternalState() {
+    StandardHand hand = new StandardHand();
+    StandardCard card = new StandardCard(Suite.Heart, StandardFaceValue.Ace);
+    hand.dealCard(card);
+    hand.remainingCards().clear();
+    hand.getCardSet().clear();
+    assertTrue(hand.containsCard(card));
+  }
+
+  @Test
+  void shouldViewCardsInSuiteAndRankOrder() {
+    StandardHand hand = new StandardHand();
+    List<StandardCard> view = hand.viewCards();
+    StandardCard aceOfSpades = new StandardCard(Suite.Spade, StandardFaceValue.Ace);
+    StandardCard twoOfSpades = new StandardCard(Suite.Spade, StandardFaceValue.Two);
+    StandardCard fiveOfClubs = new StandardCard(Suite.Club, StandardFaceValue.Five);
+    hand.dealCard(aceOfSpades, twoOfSpades, fiveOfClubs);
+
+    assertEquals(List.of(fiveOfClubs, twoOfSpades, aceOfSpades), view);
+    assertEquals(aceOfSpades, view.get(2));
+    assertEquals(2, hand.numCards(Suite.Spade.getType()));
+    assertTrue(hand.containsType(Suite.Club.getType()));
+    assertFalse(hand.containsType(Suite.Heart.getType()));
+    assertThrows(UnsupportedOperationException.class, () -> view.remove(0));
+
+    hand.playCard(twoOfSpades);
+    assertEquals(List.of(fiveOfClubs, aceOfSpades), view);
+  }
+}
@@ -0,0 +1,105 @@
+package org.eelbbor.pinochle.vector;
+
+import org.eelbbor.carddeck.standard.Suite;
+import org.eelbbor.pinochle.Card;
+import org.eelbbor.pinochle.Game;
+import org.eelbbor.pinochle.Hand;
+import org.eelbbor.pinochle.RuleSet;
+import org.eelbbor.pinochle.simulation.BatchMeldScorer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares scoring the meld of dealt hands under every trump suite with
+ * {@link Hand#countMeld(Suite)} one hand object at a time against the scalar
+ * {@link BatchMeldScorer} and the {@link VectorMeldScorer} over count columns. Scores are
+ * reported per hand.
+ *
+ * @author Robb Lee (robbmlee@gmail.com).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class MeldBenchmark {
+  static final int HANDS = 1 << 12;
+
+  private static final int CARD_IDS = Card.DISTINCT_CARD_COUNT;
+  private static final Suite[] SUITES = Suite.values();
+
+  private Hand[] hands;
+  private byte[][] columns;
+  private int[][] meld;
+  private BatchMeldScorer scalar;
+  private BatchMeldScorer vector;
+
+  /**
+   * Deals the hands of games seeded in turn into hand objects and count columns.
+   */
+  @Setup
+  public void setUp() {
+    RuleSet rules = RuleSet.DOUBLE_DECK;
+    Game game = new Game(rules);
+    hands = new Hand[HANDS];
+    columns = new byte[CARD_IDS][HANDS];
+    meld = new int[SUITES.length][HANDS];
+    int[] cardCounts = new int[CARD_IDS];
+    for (int index = 0; index < HANDS; index++) {
+      int player = index % rules.getPlayers();
+      if (player == 0) {
+        game.reset(index);
+      }
+      hands[index] = new Hand(rules);
+      hands[index].dealCard(game.getPlayersRemainingCards(player).toArray(new Card[0]));
+      game.copyCardCounts(player, cardCounts);
+      for (int id = 0; id < CARD_IDS; id++) {
+        columns[id][index] = (byte) cardCounts[id];
+      }
+    }
+    scalar = new BatchMeldScorer(rules);
+    vector = new VectorMeldScorer(rules);
+  }
+
+  /**
+   * Scores every hand object under every trump.
+   *
+   * @param blackhole sink for the meld.
+   */
+  @Benchmark
+  @OperationsPerInvocation(HANDS)
+  public void countMeld(Blackhole blackhole) {
+    for (Hand hand : hands) {
+      for (Suite trump : SUITES) {
+        blackhole.consume(hand.countMeld(trump));
+      }
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(HANDS)
+  public int[][] scalarBatch() {
+    scalar.score(columns, HANDS, meld);
+    return meld;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(HANDS)
+  public int[][] vectorBatch() {
+    vector.score(columns, HANDS, meld);
+    return meld;
+  }
+}
@@ -0,0 +1,65 @@
+package org.eelbbor.pinochle.vector;
+
+import org.eelbbor.carddeck.standard.Suite;
+import org.eelbbor.pinochle.simulation.RolloutEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the full hand playouts per second of a single {@link RolloutEngine}, each a shuffle and
+ * deal followed by playing every card, with every player on the random and on the greedy policy.
+ * The leader rotates so each seat leads in turn.
+ *
+ * @author Robb Lee (robbmlee@gmail.com).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RolloutBenchmark {
+  private RolloutEngine random;
+  private RolloutEngine greedy;
+  private int leader;
+
+  /**
+   * Creates an engine per policy.
+   */
+  @Setup
+  public void setUp() {
+    random = new RolloutEngine(1L);
+    greedy = new RolloutEngine(1L);
+    for (int player = 0; player < greedy.getPlayers(); player++) {
+      random.setPolicy(player, RolloutEngine.POLICY_RANDOM);
+      greedy.setPolicy(player, RolloutEngine.POLICY_GREEDY);
+    }
+  }
+
+  @Benchmark
+  public int randomPlayout() {
+    return playOut(random);
+  }
+
+  @Benchmark
+  public int greedyPlayout() {
+    return playOut(greedy);
+  }
+
+  private int playOut(RolloutEngine engine) {
+    leader = leader == engine.getPlayers() - 1 ? 0 : leader + 1;
+    engine.deal();
+    engine.playOut(Suite.Heart, leader);
+    return engine.getTeamPoints(0);
+  }
+}
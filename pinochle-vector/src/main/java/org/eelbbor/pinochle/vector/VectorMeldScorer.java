@@ -0,0 +1,133 @@
+package org.eelbbor.pinochle.vector;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+import org.eelbbor.carddeck.standard.Suite;
+import org.eelbbor.pinochle.PinochleFaceValue;
+import org.eelbbor.pinochle.RuleSet;
+import org.eelbbor.pinochle.simulation.BatchMeldScorer;
+
+/**
+ * Scores meld for a lane of hands at a time with the incubating vector API, loaded by
+ * {@link BatchMeldScorer#create(RuleSet)} when the JVM runs with
+ * {@code --add-modules jdk.incubator.vector}.
+ *
+ * <p/>
+ * A lane holds as many hands as the preferred int species of the platform, eight with 256 bit
+ * vectors. The count columns of a lane are loaded as bytes and widened to int lanes, then every
+ * step of {@link BatchMeldScorer} is applied lane wise: minimums across suites for arounds,
+ * pinochles, marriages and runs, and the meld tables, which hold a value per copy count, are
+ * applied by blending the value of each count into the lanes holding that count rather than a
+ * gather. Hands left over after the last full lane are scored by the scalar scorer.
+ *
+ * @author Robb Lee (robbmlee@gmail.com).
+ */
+public final class VectorMeldScorer extends BatchMeldScorer {
+  private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+  // A byte per int lane, widened from the low part when that is narrower than the smallest shape.
+  private static final VectorSpecies<Byte> BYTES = VectorSpecies.of(byte.class,
+      VectorShape.forBitSize(Math.max(INTS.length() * Byte.SIZE, Long.SIZE)));
+
+  private static final int VALUES = PinochleFaceValue.values().length;
+  private static final int SUITES = Suite.values().length;
+  private static final PinochleFaceValue[] AROUND_VALUES = {PinochleFaceValue.Jack,
+      PinochleFaceValue.Queen, PinochleFaceValue.King, PinochleFaceValue.Ace};
+  private static final int QUEEN = PinochleFaceValue.Queen.ordinal();
+  private static final int KING = PinochleFaceValue.King.ordinal();
+  private static final int PINOCHLE_JACK =
+      Suite.Diamond.ordinal() * VALUES + PinochleFaceValue.Jack.ordinal();
+  private static final int PINOCHLE_QUEEN = Suite.Spade.ordinal() * VALUES + QUEEN;
+
+  private final int[][] aroundMeld;
+  private final int[] pinochleMeld;
+  private final int[] runMeld;
+  private final int marriageValue;
+
+  /**
+   * Creates a vectorized scorer for the variant.
+   *
+   * @param rules variant providing the meld tables.
+   */
+  public VectorMeldScorer(RuleSet rules) {
+    super(rules);
+    int width = rules.getCopiesPerCard() + 1;
+    aroundMeld = new int[AROUND_VALUES.length][width];
+    pinochleMeld = new int[width];
+    runMeld = new int[width];
+    for (int count = 0; count < width; count++) {
+      for (int value = 0; value < AROUND_VALUES.length; value++) {
+        aroundMeld[value][count] = rules.getAroundMeld(AROUND_VALUES[value], count);
+      }
+      pinochleMeld[count] = rules.getPinochleMeld(count);
+      runMeld[count] = rules.getRunMeld(count);
+    }
+    marriageValue = rules.getMarriageValue();
+  }
+
+  @Override
+  protected void scoreRange(byte[][] columns, int from, int to, int[][] meld) {
+    int lanes = INTS.length();
+    int hand = from;
+    // The byte load may read past the lane, so it has to fit before the end of the range.
+    for (; hand + BYTES.length() <= to; hand += lanes) {
+      IntVector common = IntVector.zero(INTS);
+      for (int value = 0; value < AROUND_VALUES.length; value++) {
+        int face = AROUND_VALUES[value].ordinal();
+        IntVector around = load(columns[face], hand);
+        for (int suite = 1; suite < SUITES; suite++) {
+          around = around.min(load(columns[suite * VALUES + face], hand));
+        }
+        common = common.add(lookup(aroundMeld[value], around));
+      }
+      IntVector pinochles = load(columns[PINOCHLE_JACK], hand)
+          .min(load(columns[PINOCHLE_QUEEN], hand));
+      common = common.add(lookup(pinochleMeld, pinochles));
+      IntVector marriages = IntVector.zero(INTS);
+      for (int suite = 0; suite < SUITES; suite++) {
+        int offset = suite * VALUES;
+        marriages = marriages.add(load(columns[offset + QUEEN], hand)
+            .min(load(columns[offset + KING], hand)));
+      }
+      common = common.add(marriages.mul(marriageValue));
+
+      for (int trump = 0; trump < SUITES; trump++) {
+        int offset = trump * VALUES;
+        IntVector royal = load(columns[offset + QUEEN], hand)
+            .min(load(columns[offset + KING], hand));
+        IntVector runs = load(columns[offset], hand);
+        for (int value = 1; value < VALUES; value++) {
+          runs = runs.min(load(columns[offset + value], hand));
+        }
+        // A run holds a royal marriage which is not counted again.
+        common.add(royal.sub(runs.mul(2)).mul(marriageValue))
+            .add(lookup(runMeld, runs))
+            .intoArray(meld[trump], hand);
+      }
+    }
+    super.scoreRange(columns, hand, to, meld);
+  }
+
+  /**
+   * Loads the counts of a lane of hands widened to ints. Counts are loaded where used rather
+   * than kept in an array, which would box the vectors.
+   *
+   * @param column copies of a card id held per hand.
+   * @param hand index of the first hand of the lane.
+   * @return counts of the lane.
+   */
+  private static IntVector load(byte[] column, int hand) {
+    return (IntVector) ByteVector.fromArray(BYTES, column, hand)
+        .convertShape(VectorOperators.B2I, INTS, 0);
+  }
+
+  private static IntVector lookup(int[] table, IntVector count) {
+    IntVector result = IntVector.broadcast(INTS, table[0]);
+    for (int index = 1; index < table.length; index++) {
+      result = result.blend(table[index], count.eq(index));
+    }
+    return result;
+  }
+}
@@ -0,0 +1,45 @@
+package org.eelbbor.pinochle.vector;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.eelbbor.carddeck.standard.Suite;
+import org.eelbbor.pinochle.Card;
+import org.eelbbor.pinochle.RuleSet;
+import org.eelbbor.pinochle.simulation.BatchMeldScorer;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+class VectorMeldScorerTest {
+  private static final int CARD_IDS = Card.DISTINCT_CARD_COUNT;
+  private static final int SUITES = Suite.values().length;
+
+  @Test
+  void shouldBeCreatedWithTheVectorModuleEnabled() {
+    assertTrue(BatchMeldScorer.create(RuleSet.DOUBLE_DECK) instanceof VectorMeldScorer);
+  }
+
+  @Test
+  void shouldMatchTheScalarScorer() {
+    Random random = new Random(17L);
+    for (RuleSet rules : new RuleSet[] {RuleSet.DOUBLE_DECK, RuleSet.SINGLE_DECK}) {
+      // Not a multiple of the lanes so the scalar remainder is covered.
+      int hands = 1003;
+      byte[][] columns = new byte[CARD_IDS][hands];
+      for (byte[] column : columns) {
+        for (int hand = 0; hand < hands; hand++) {
+          column[hand] = (byte) random.nextInt(rules.getCopiesPerCard() + 1);
+        }
+      }
+
+      int[][] expected = new int[SUITES][hands];
+      new BatchMeldScorer(rules).score(columns, hands, expected);
+      int[][] meld = new int[SUITES][hands];
+      new VectorMeldScorer(rules).score(columns, hands, meld);
+      for (int trump = 0; trump < SUITES; trump++) {
+        assertArrayEquals(expected[trump], meld[trump]);
+      }
+    }
+  }
+}
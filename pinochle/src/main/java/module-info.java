@@ -1,3 +1,5 @@
 module org.eelbbor.pinochle {
   requires org.eelbbor.carddeck;
+  requires jdk.httpserver;
+  requires jdk.jfr;
 }
\ No newline at end of file
@@ -3,8 +3,8 @@ package org.eelbbor.pinochle;
 import org.eelbbor.carddeck.standard.Suite;
 import org.eelbbor.pinochle.exceptions.InvalidBiddingException;
 
+import java.util.Arrays;
 import java.util.Optional;
-import java.util.stream.IntStream;
 
 /**
  * Tracks the state of bidding for starting a hand.
@@ -17,6 +17,7 @@ public class BidManager {
 
   private static final int PASSING_BID = -1;
 
+  private RuleSet rules;
   private boolean bidsComplete;
   private Suite trump;
   private int dealerIndex;
@@ -29,11 +30,34 @@ public class BidManager {
    * @param dealerIndex index for the player dealing.
    */
   public BidManager(int dealerIndex) {
+    this(dealerIndex, RuleSet.DOUBLE_DECK);
+  }
+
+  /**
+   * Constructor for managing the bid under the given {@link RuleSet}, which determines the number
+   * of players, the minimum bid and the bid increments.
+   *
+   * @param dealerIndex index for the player dealing.
+   * @param rules variant the hand is played under.
+   */
+  public BidManager(int dealerIndex, RuleSet rules) {
+    this.rules = rules;
+    bids = new int[rules.getPlayers()];
+    reset(dealerIndex);
+  }
+
+  /**
+   * Clears the bids and trump so the manager can run the bidding of the next hand without
+   * allocating.
+   *
+   * @param dealerIndex index for the player dealing the next hand.
+   */
+  public void reset(int dealerIndex) {
     this.dealerIndex = dealerIndex;
     bidsComplete = false;
     trump = null;
     highBidIndex = -1;
-    bids = new int[] {0, 0, 0, 0};
+    Arrays.fill(bids, 0);
   }
 
   public int getBid() {
@@ -105,14 +129,18 @@ public class BidManager {
     }
 
     int minBid = getMinBid();
+    int raisedIncrementBid = rules.getRaisedIncrementBid();
+    int raisedBidIncrement = rules.getRaisedBidIncrement();
     if (bidValue < minBid) {
-      if (minBid > MINIMUM_INCREMENT_BY_FIVE_BID) {
-        throw InvalidBiddingException.invalidMinimumBidIncrementByFive(bidValue, minBid);
+      if (minBid > raisedIncrementBid) {
+        throw InvalidBiddingException.invalidMinimumBidIncrementByFive(bidValue, minBid,
+            raisedIncrementBid, raisedBidIncrement);
       } else {
         throw InvalidBiddingException.invalidMinimumBid(bidValue, minBid);
       }
-    } else if (bidValue > MINIMUM_INCREMENT_BY_FIVE_BID && bidValue % 5 != 0) {
-      throw InvalidBiddingException.invalidMinimumBidIncrementByFive(bidValue, minBid);
+    } else if (bidValue > raisedIncrementBid && bidValue % raisedBidIncrement != 0) {
+      throw InvalidBiddingException.invalidMinimumBidIncrementByFive(bidValue, minBid,
+          raisedIncrementBid, raisedBidIncrement);
     }
 
     // Set the new min bid and update bid values.
@@ -144,12 +172,16 @@ public class BidManager {
     }
 
     bids[playerIndex] = PASSING_BID;
-    bidsComplete = IntStream.range(0, 4).map(i -> bids[i] == PASSING_BID ? 0 : 1).sum() == 1;
+    int stillBidding = 0;
+    for (int bid : bids) {
+      stillBidding += bid == PASSING_BID ? 0 : 1;
+    }
+    bidsComplete = stillBidding == 1;
 
     // If all players have passed then stick the dealer with the bid if no bid was made.
     if (bidsComplete && highBidIndex < 0) {
       highBidIndex = dealerIndex;
-      bids[dealerIndex] = MINIMUM_BID;
+      bids[dealerIndex] = rules.getMinimumBid();
     }
   }
 
@@ -170,11 +202,18 @@ public class BidManager {
     this.trump = trump;
   }
 
-  private int getMinBid() {
+  /**
+   * Returns the lowest value the next bid may take, the minimum bid if no bid has been made
+   * otherwise the current bid raised by the increment for its range.
+   *
+   * @return minimum value for the next bid.
+   */
+  public int getMinBid() {
     int currentBid = this.getBid();
-    int minBid = MINIMUM_BID;
-    if (currentBid >= MINIMUM_BID) {
-      minBid = currentBid + (currentBid >= MINIMUM_INCREMENT_BY_FIVE_BID ? 5 : 1);
+    int minBid = rules.getMinimumBid();
+    if (currentBid >= minBid) {
+      minBid = currentBid + (currentBid >= rules.getRaisedIncrementBid()
+          ? rules.getRaisedBidIncrement() : rules.getBidIncrement());
     }
     return minBid;
   }
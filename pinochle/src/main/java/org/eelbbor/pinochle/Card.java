@@ -11,7 +11,28 @@ import org.eelbbor.carddeck.standard.Suite;
  * @author Robb Lee (robbmlee@gmail.com).
  */
 public class Card extends StandardCard {
-  private PinochleFaceValue faceValue;
+  /**
+   * Number of distinct cards in a pinochle deck, one per {@link Suite} and
+   * {@link PinochleFaceValue} pairing. See {@link Card#getId()}.
+   */
+  public static final int DISTINCT_CARD_COUNT =
+      Suite.values().length * PinochleFaceValue.values().length;
+
+  private static final Card[] CARDS_BY_ID = new Card[DISTINCT_CARD_COUNT];
+  private static final String[] NAMES_BY_ID = new String[DISTINCT_CARD_COUNT];
+
+  static {
+    for (Suite suite : Suite.values()) {
+      for (PinochleFaceValue faceValue : PinochleFaceValue.values()) {
+        Card card = new Card(suite, faceValue);
+        CARDS_BY_ID[card.getId()] = card;
+        NAMES_BY_ID[card.getId()] = faceValue.name() + " of " + suite.name();
+      }
+    }
+  }
+
+  private final PinochleFaceValue faceValue;
+  private final int id;
 
   /**
    * Constructor defining {@link Card} based on a {@link Suite} and {@link PinochleFaceValue}
@@ -23,6 +44,17 @@ public class Card extends StandardCard {
   public Card(Suite suite, PinochleFaceValue pinochleFaceValue) {
     super(suite, pinochleFaceValue.getStandardFaceValue());
     faceValue = pinochleFaceValue;
+    id = suite.ordinal() * PinochleFaceValue.values().length + pinochleFaceValue.ordinal();
+  }
+
+  /**
+   * Returns the shared {@link Card} instance for a card id as produced by {@link Card#getId()}.
+   *
+   * @param id compact card id ranging from 0 to {@link Card#DISTINCT_CARD_COUNT} - 1.
+   * @return {@link Card} with the given id.
+   */
+  public static Card fromId(int id) {
+    return CARDS_BY_ID[id];
   }
 
   /**
@@ -46,8 +78,19 @@ public class Card extends StandardCard {
     return faceValue;
   }
 
+  /**
+   * Returns a compact id for the card, which is unique per {@link Suite} and
+   * {@link PinochleFaceValue} pairing. Ids are grouped by suite in ordinal order and ranked by
+   * face value within the suite, i.e. id = suite ordinal * 5 + face value ordinal.
+   *
+   * @return int id ranging from 0 to {@link Card#DISTINCT_CARD_COUNT} - 1.
+   */
+  public int getId() {
+    return id;
+  }
+
   @Override
   public String toString() {
-    return getFaceValue().name() + " of " + getSuite().name();
+    return NAMES_BY_ID[id];
   }
 }
@@ -4,35 +4,60 @@ import org.eelbbor.carddeck.Deck;
 import org.eelbbor.carddeck.standard.Suite;
 import org.eelbbor.pinochle.exceptions.InvalidBiddingException;
 import org.eelbbor.pinochle.exceptions.InvalidCardException;
+import org.eelbbor.pinochle.jfr.BidEvent;
+import org.eelbbor.pinochle.jfr.CardPlayedEvent;
+import org.eelbbor.pinochle.jfr.HandDealtEvent;
+import org.eelbbor.pinochle.jfr.HandScoredEvent;
+import org.eelbbor.pinochle.jfr.TrumpDeclaredEvent;
+import org.eelbbor.pinochle.metrics.EngineMetrics;
 
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
-import java.util.stream.Stream;
+import java.util.Random;
 
 /**
  * Controls the flow of a pinochle game. The players are indicated by an index number ranging
- * from 0 to 3 where players 0 and 2 are team one and players 1 and 3 are team two.
+ * from 0 to 3 where players 0 and 2 are team one and players 1 and 3 are team two. Other
+ * variants are played by providing a {@link RuleSet}, which defines the players and teams.
+ * <p/>
+ * Deals, bids, trump declarations, card plays and hand scoring are reported as flight recorder
+ * events, see the {@link org.eelbbor.pinochle.jfr} package, which are only created while a
+ * recording enables them, and counted in an
+ * {@link org.eelbbor.pinochle.metrics.EngineMetrics} registry.
+ * <p/>
+ * The deck, hands, bidding state and trick are created once per game and reset for every hand,
+ * and {@link Game#reset(long)} starts a new game on the same objects, so simulators and servers
+ * running many hands do not allocate per hand.
+ * <p/>
+ * Variants passing cards, see {@link RuleSet#getPassCount()}, pass between bidding and declaring
+ * trump: the partner of the player winning the bid passes to them first and then receives the
+ * same number of cards back, see {@link Game#passCards(Card...)}.
  *
  * @author Robb Lee (robbmlee@gmail.com).
  */
 public class Game {
-  private static final List<List<Integer>> TEAM_INDICES = List.of(List.of(0, 2), List.of(1, 3));
-
   public static final int MINIMUM_MELD = 20;
   public static final int MINIMUM_TRICKS = 20;
   public static final int TEAM_ONE_INDEX = 0;
   public static final int TEAM_TWO_INDEX = 1;
 
+  private static final int DEAL_PACKET_SIZE = 4;
+
+  private RuleSet rules;
+  private EngineMetrics metrics;
   private Deck<Card> deck;
+  private Random random;
   private int currentPlayer;
   private Hand[] hands;
   private int[] score;
+  private int[] handPoints;
+  private int[] passTally;
+  private int passesMade;
 
   private int currentLead;
   private HandState currentState;
+  private Trick trick;
   private Trick currentTrick;
 
   /**
@@ -40,15 +65,61 @@ public class Game {
    * four players.
    */
   public Game() {
-    deck = new Deck<>(Arrays.stream(Suite.values()).flatMap(suite ->
-        Arrays.stream(PinochleFaceValue.values()).flatMap(val -> {
-          Card card = new Card(suite, val);
-          return Stream.of(card, card, card, card);
-        })).collect(Collectors.toList()));
+    this(RuleSet.DOUBLE_DECK);
+  }
+
+  /**
+   * Constructor initializes a game for the variant defined by the {@link RuleSet} and sets up the
+   * first hand by dealing to each of the players.
+   *
+   * @param rules variant to play.
+   */
+  public Game(RuleSet rules) {
+    this(rules, EngineMetrics.getDefault());
+  }
+
+  /**
+   * Constructor initializes a game for the variant defined by the {@link RuleSet} recording deals,
+   * bids and card plays to the given {@link EngineMetrics} registry.
+   *
+   * @param rules variant to play.
+   * @param metrics registry to record to.
+   */
+  public Game(RuleSet rules, EngineMetrics metrics) {
+    this.rules = rules;
+    this.metrics = metrics;
+    deck = new Deck<>(rules.createDeck());
+    random = new Random();
     currentPlayer = 0;
-    hands = new Hand[] {new Hand(), new Hand(), new Hand(), new Hand()};
-    score = new int[] {0, 0};
-    startHand();
+    score = new int[rules.getTeamCount()];
+    handPoints = new int[score.length];
+    passTally = new int[Card.DISTINCT_CARD_COUNT];
+    hands = new Hand[rules.getPlayers()];
+    for (int player = 0; player < hands.length; player++) {
+      hands[player] = new Hand(rules);
+    }
+    trick = new Trick(null, rules.getPlayers());
+    currentState = new HandState(0, rules);
+    startHand(0);
+  }
+
+  /**
+   * Starts a new game on the deck, hands and hand state of this one without allocating. The deck
+   * is returned to its original order and shuffled with a {@link Random} seeded with the given
+   * seed for this and every following hand, so the same seed deals the same game whatever was
+   * played before. Scores are cleared and player 0 deals.
+   *
+   * @param seed seed for shuffling the deck.
+   */
+  public void reset(long seed) {
+    deck.reset();
+    random.setSeed(seed);
+    Arrays.fill(score, 0);
+    startHand(0);
+  }
+
+  public RuleSet getRules() {
+    return rules;
   }
 
   public int getDealer() {
@@ -68,7 +139,11 @@ public class Game {
   }
 
   public int getTeamMeld(int teamIndex) {
-    return currentState.meld[teamIndex];
+    return currentState.scorer.getMeld(teamIndex);
+  }
+
+  public int getTeamTricks(int teamIndex) {
+    return currentState.scorer.getTricks(teamIndex);
   }
 
   public boolean isPlayingHand() {
@@ -80,13 +155,32 @@ public class Game {
   }
 
   public boolean isDeclaringTrump() {
-    return currentState.bidManager.isDeclaringTrump();
+    return currentState.bidManager.isDeclaringTrump() && !isPassing();
+  }
+
+  /**
+   * Indicates the partners of the player that won the bid are still passing cards, which
+   * precedes declaring trump when the variant passes cards.
+   *
+   * @return true while cards remain to be passed.
+   */
+  public boolean isPassing() {
+    return currentState.bidManager.isDeclaringTrump() && passesMade < 2
+        && rules.getPassCount() > 0;
   }
 
   public int getCurrentBid() {
     return currentState.bidManager.getBid();
   }
 
+  public int getMinBid() {
+    return currentState.bidManager.getMinBid();
+  }
+
+  public int getHighBidPlayer() {
+    return currentState.bidManager.getHighBidPlayerIndex();
+  }
+
   public Optional<Suite> getTrumpSuite() {
     return currentState.bidManager.getTrump();
   }
@@ -95,6 +189,29 @@ public class Game {
     return hands[player].remainingCards();
   }
 
+  /**
+   * Returns a read only view of the cards remaining in the players hand for rendering, see
+   * {@link org.eelbbor.carddeck.Hand#viewCards()}. The view reflects cards played afterwards so
+   * use {@link Game#getPlayersRemainingCards(int)} to iterate while playing cards.
+   *
+   * @param player index of the player.
+   * @return live unmodifiable list of the players cards.
+   */
+  public List<Card> viewPlayersCards(int player) {
+    return hands[player].viewCards();
+  }
+
+  /**
+   * Copies the number of copies of each card the player holds, indexed by card id, see
+   * {@link Card#getId()}, into the provided array without allocating.
+   *
+   * @param player index of the player.
+   * @param cardCounts array of at least {@link Card#DISTINCT_CARD_COUNT} entries to fill.
+   */
+  public void copyCardCounts(int player, int[] cardCounts) {
+    System.arraycopy(hands[player].getCardCounts(), 0, cardCounts, 0, Card.DISTINCT_CARD_COUNT);
+  }
+
   /**
    * Passes for the current player during the bidding process. Advances the play to the next
    * player and returns the new current player index. If the player is the last to pass the
@@ -104,39 +221,37 @@ public class Game {
    * @throws InvalidBiddingException if the bid is too low or if bidding has already concluded.
    */
   public int pass() throws InvalidBiddingException {
+    final long start = System.nanoTime();
     BidManager bidManager = currentState.bidManager;
-    bidManager.pass(getCurrentPlayer());
+    BidEvent event = BidEvent.beginIfEnabled();
+    try {
+      bidManager.pass(getCurrentPlayer());
+    } catch (InvalidBiddingException ex) {
+      if (event != null) {
+        event.commit(getCurrentPlayer(), 0, true, ex.getMessage());
+      }
+      metrics.recordRejectedBid(ex.getErrorCode(), System.nanoTime() - start);
+      throw ex;
+    }
+    if (event != null) {
+      event.commit(getCurrentPlayer(), 0, true, null);
+    }
 
     if (bidManager.isDeclaringTrump()) {
       // Bidding is completed, set values in preparation for declaring trump.
       currentPlayer = bidManager.getHighBidPlayerIndex();
       currentLead = currentPlayer;
+      if (isPassing()) {
+        // The partner of the player winning the bid passes first.
+        currentPlayer = rules.getPartner(currentPlayer);
+      }
     } else {
       // Advance to next player for bid.
       while (bidManager.playerPassed(getCurrentPlayer())) {
         currentPlayer = advancePlayer(getCurrentPlayer());
       }
     }
-
-    /*if (!isBidding()) {
-      throw InvalidBiddingException.biddingCompleted();
-    }
-
-    currentState.passed[getCurrentPlayer()] = true;
-
-    // Advance to next player for bid.
-    while (currentState.passed[getCurrentPlayer()]) {
-      currentPlayer = advancePlayer(getCurrentPlayer());
-    }
-
-    // If last player to pass, then advance the bidding to accept declaring trump.
-    int stillBidding = IntStream.range(0, 4).map(i -> currentState.passed[i] ? 0 : 1).sum();
-    if (stillBidding == 1) {
-      currentState.winningPlayerIndex = getCurrentPlayer();
-      currentLead = getCurrentPlayer();
-      currentState.bid = getCurrentBid() < MINIMUM_BID ? MINIMUM_BID : getCurrentBid();
-    }*/
-
+    metrics.recordPass(System.nanoTime() - start);
     return getCurrentPlayer();
   }
 
@@ -150,77 +265,114 @@ public class Game {
    * @throws InvalidBiddingException if the bid is too low or if bidding has already concluded.
    */
   public int bid(int bidValue) throws InvalidBiddingException {
+    final long start = System.nanoTime();
     BidManager bidManager = currentState.bidManager;
-    bidManager.bid(getCurrentPlayer(), bidValue);
+    BidEvent event = BidEvent.beginIfEnabled();
+    try {
+      bidManager.bid(getCurrentPlayer(), bidValue);
+    } catch (InvalidBiddingException ex) {
+      if (event != null) {
+        event.commit(getCurrentPlayer(), bidValue, false, ex.getMessage());
+      }
+      metrics.recordRejectedBid(ex.getErrorCode(), System.nanoTime() - start);
+      throw ex;
+    }
+    if (event != null) {
+      event.commit(getCurrentPlayer(), bidValue, false, null);
+    }
     // Advance to next player for bid.
     do {
       currentPlayer = advancePlayer(getCurrentPlayer());
     } while (bidManager.playerPassed(getCurrentPlayer()));
-    /* if (!isBidding()) {
-      throw InvalidBiddingException.biddingCompleted();
-    }
+    metrics.recordBid(System.nanoTime() - start);
+    return getCurrentPlayer();
+  }
 
-    int minBid = getMinBid();
-    if (bidValue < MINIMUM_BID) {
-      throw InvalidBiddingException.invalidMinimumBid(bidValue, minBid);
-    } else if (bidValue < minBid) {
-      if (minBid > MINIMUM_INCREMENT_BY_FIVE_BID) {
-        throw InvalidBiddingException.invalidMinimumBidIncrementByFive(bidValue, minBid);
-      } else {
-        throw InvalidBiddingException.invalidMinimumBid(bidValue, minBid);
-      }
-    } else if (bidValue > MINIMUM_INCREMENT_BY_FIVE_BID && bidValue % 5 != 0) {
-      throw InvalidBiddingException.invalidMinimumBidIncrementByFive(bidValue, minBid);
+  /**
+   * Passes cards from the current player to their partner, first from the partner of the player
+   * that won the bid and then back to them. The cards must be the number passed by the variant,
+   * see {@link RuleSet#getPassCount()}, and held by the current player. The player that won the
+   * bid declares trump once both passes are made.
+   *
+   * @param cards cards passed to the partner.
+   * @return new current player index, which is the player that won the bid.
+   * @throws InvalidBiddingException if no cards are to be passed or the cards are invalid.
+   */
+  public int passCards(Card... cards) throws InvalidBiddingException {
+    InvalidBiddingException ex = null;
+    if (!isPassing()) {
+      ex = isBidding() ? InvalidBiddingException.biddingInProgress()
+          : InvalidBiddingException.passingClosed();
+    } else if (!holdsCards(hands[getCurrentPlayer()], cards)) {
+      ex = InvalidBiddingException.invalidPass(getCurrentPlayer(), rules.getPassCount());
+    }
+    if (ex != null) {
+      metrics.recordRejectedBid(ex.getErrorCode());
+      throw ex;
     }
 
-    // Set the bid and finalize bidding.
-    currentState.bid = bidValue;
-
-    // Advance to next player for bid.
-    do {
-      currentPlayer = advancePlayer(getCurrentPlayer());
-    } while (currentState.passed[getCurrentPlayer()]);*/
+    int partner = rules.getPartner(getCurrentPlayer());
+    for (Card card : cards) {
+      hands[getCurrentPlayer()].playCard(card);
+    }
+    hands[partner].dealCard(cards);
+    passesMade++;
+    // The player that won the bid passes back and then declares trump.
+    currentPlayer = currentState.bidManager.getHighBidPlayerIndex();
     return getCurrentPlayer();
   }
 
   /**
    * Sets the trump suite for the upcoming hand. Throws {@link InvalidBiddingException} if the
    * bidding is not complete or if bidding is closed. Note: If the team that took the build has
-   * insufficient meld the hand is close immediately and the team takes a set.
+   * insufficient meld the hand is close immediately, the team takes a set and the next hand is
+   * dealt.
    *
    * @param trump suite to be trump for the hand.
-   * @return new current player index, which is the player that won the bid.
+   * @return new current player index, which is the player that won the bid unless a new hand was
+   *     dealt.
    * @throws InvalidBiddingException if there are issues with the bid.
    */
   public int declareTrump(Suite trump) throws InvalidBiddingException {
     BidManager bidManager = currentState.bidManager;
-    bidManager.declareTrump(trump);
-    currentState.meld[TEAM_ONE_INDEX] = computeTeamMeld(TEAM_ONE_INDEX);
-    currentState.meld[TEAM_TWO_INDEX] = computeTeamMeld(TEAM_TWO_INDEX);
-
-    // Validate sufficient meld for team that won the bid else end the hand with a set.
-    int teamIndex = TEAM_INDICES.get(TEAM_ONE_INDEX).contains(currentPlayer)
-        ? TEAM_ONE_INDEX : TEAM_TWO_INDEX;
-    if (currentState.meld[teamIndex] < MINIMUM_MELD) {
-      // Set the bidding team.
-      // Other team keeps meld.
-      // Start a new hand.
-      throw new UnsupportedOperationException("Still need to address meld issue.");
+    final TrumpDeclaredEvent event = TrumpDeclaredEvent.beginIfEnabled();
+    try {
+      if (isPassing()) {
+        throw InvalidBiddingException.passingInProgress();
+      }
+      bidManager.declareTrump(trump);
+    } catch (InvalidBiddingException ex) {
+      metrics.recordRejectedBid(ex.getErrorCode());
+      throw ex;
+    }
+    HandScorer scorer = currentState.scorer;
+    int biddingTeam = getTeamIndex(bidManager.getHighBidPlayerIndex());
+    scorer.setBid(biddingTeam, bidManager.getBid());
+    int opposingMeld = 0;
+    for (int teamIndex = 0; teamIndex < score.length; teamIndex++) {
+      scorer.setMeld(teamIndex, computeTeamMeld(teamIndex, trump));
+      opposingMeld += teamIndex == biddingTeam ? 0 : scorer.getMeld(teamIndex);
+    }
+    boolean insufficientMeld = scorer.getMeld(biddingTeam) < rules.getMinimumMeld();
+    if (event != null) {
+      event.commit(bidManager.getHighBidPlayerIndex(), trump, bidManager.getBid(),
+          scorer.getMeld(biddingTeam), opposingMeld, insufficientMeld);
     }
 
-    currentTrick = new Trick(trump);
-
-    /*if (isBidding()) {
-      throw InvalidBiddingException.trumpDeclarationWhileBidding();
-    } else if (!isDeclaringTrump()) {
-      throw InvalidBiddingException.trumpDeclarationAfterBiddingComplete();
+    // Validate sufficient meld for team that won the bid else end the hand with a set.
+    if (insufficientMeld) {
+      // Set the bidding team, the other team keeps meld and a new hand is started.
+      for (int teamIndex = 0; teamIndex < score.length; teamIndex++) {
+        handPoints[teamIndex] = scorer.computeInsufficientMeldTotal(teamIndex);
+        score[teamIndex] += handPoints[teamIndex];
+      }
+      HandScoredEvent.report(biddingTeam, scorer.getBid(), handPoints);
+      startHand();
+      return getCurrentPlayer();
     }
 
-    // Set the trump suite and record the meld for the hands.
-    currentState.trump = trump;
-    currentState.meld[TEAM_ONE_INDEX] = computeTeamMeld(TEAM_ONE_INDEX);
-    currentState.meld[TEAM_TWO_INDEX] = computeTeamMeld(TEAM_TWO_INDEX);
-    currentTrick = new Trick(trump);*/
+    trick.reset(trump);
+    currentTrick = trick;
 
     return getCurrentPlayer();
   }
@@ -228,7 +380,9 @@ public class Game {
   /**
    * Plays the designated card for the current player. Throws {@link InvalidCardException} if the
    * card is not a legal play of if the game is still in the bidding process. Advances the play to
-   * the next player and returns the new current player index.
+   * the next player and returns the new current player index. Completing a trick awards its
+   * points to the team taking it and that player leads the next trick, the last trick of the
+   * hand scores the hand and deals the next one.
    *
    * @param card card to play on the current trick.
    * @return new current player index.
@@ -236,29 +390,55 @@ public class Game {
    * @throws InvalidBiddingException if the bidding is not complete.
    */
   public int playCard(Card card) throws InvalidCardException, InvalidBiddingException {
-    if (isBidding()) {
-      throw InvalidBiddingException.biddingInProgress();
+    long start = System.nanoTime();
+    if (!isPlayingHand()) {
+      InvalidBiddingException ex = InvalidBiddingException.biddingInProgress();
+      metrics.recordRejectedBid(ex.getErrorCode());
+      throw ex;
     }
 
     // Play the card on the current trick.
     Hand currentPlayersHand = hands[getCurrentPlayer()];
-    currentTrick.playCard(getCurrentPlayer(), card, currentPlayersHand.remainingCards());
+    CardPlayedEvent event = CardPlayedEvent.beginIfEnabled();
+    try {
+      currentTrick.playCard(getCurrentPlayer(), card, currentPlayersHand);
+    } catch (InvalidCardException ex) {
+      if (event != null) {
+        event.commit(getCurrentPlayer(), card, ex.getErrorCode());
+      }
+      metrics.recordRejectedPlay(ex.getErrorCode(), System.nanoTime() - start);
+      throw ex;
+    }
+    if (event != null) {
+      event.commit(getCurrentPlayer(), card, null);
+    }
     currentPlayersHand.playCard(card);
+    currentState.scorer.countCard(card.getId());
     currentPlayer = advancePlayer(getCurrentPlayer());
 
     // Check for last card of the trick.
     if (getCurrentPlayer() == getCurrentLead()) {
       // Collect trick and set currentPlayer and currentLead to player that took the trick.
-      int lastTrickIndex = -1;
-      // currentLead = ?;
-      // currentPlayer = ?;
-      score[TEAM_ONE_INDEX] += computeTeamHandTotal(TEAM_ONE_INDEX, lastTrickIndex);
-      score[TEAM_ONE_INDEX] += computeTeamHandTotal(TEAM_TWO_INDEX, lastTrickIndex);
-      // Complete hand and start next or finish game if last card.
-      // Initialize a new trick.
-      currentTrick = new Trick(currentState.bidManager.getTrump().get());
-      throw new UnsupportedOperationException("Need to handle issue.");
+      int winner = currentTrick.getHighPlayerIndex();
+      currentLead = winner;
+      currentPlayer = winner;
+
+      HandScorer scorer = currentState.scorer;
+      if (hands[winner].numCards() > 0) {
+        scorer.collectTrick(getTeamIndex(winner));
+        currentTrick.reset(currentTrick.getTrump());
+      } else {
+        // Complete the hand and start the next one.
+        scorer.collectLastTrick(getTeamIndex(winner));
+        for (int teamIndex = 0; teamIndex < score.length; teamIndex++) {
+          handPoints[teamIndex] = scorer.computeHandTotal(teamIndex);
+          score[teamIndex] += handPoints[teamIndex];
+        }
+        HandScoredEvent.report(scorer.getBiddingTeam(), scorer.getBid(), handPoints);
+        startHand();
+      }
     }
+    metrics.recordPlay(System.nanoTime() - start);
     return getCurrentPlayer();
   }
 
@@ -272,59 +452,118 @@ public class Game {
     return currentTrick.getCardsPlayed();
   }
 
+  /**
+   * Returns the id of the card the player played on the current trick without allocating, see
+   * {@link Card#getId()}.
+   *
+   * @param player index of the player.
+   * @return card id or -1 if the player has yet to play or no hand is being played.
+   */
+  public int getTrickCardId(int player) {
+    Card card = currentTrick == null ? null : currentTrick.getCard(player);
+    return card == null ? -1 : card.getId();
+  }
+
+  /**
+   * Returns the player currently taking the trick.
+   *
+   * @return index of the player or -1 if no card has been played on the trick.
+   */
+  public int getTrickHighPlayer() {
+    return currentTrick == null ? -1 : currentTrick.getHighPlayerIndex();
+  }
+
+  Hand getHand(int player) {
+    return hands[player];
+  }
+
+  Trick getTrick() {
+    return currentTrick;
+  }
+
   private void startHand() {
+    startHand(advancePlayer(getDealer()));
+  }
+
+  private void startHand(int dealer) {
+    final HandDealtEvent event = HandDealtEvent.beginIfEnabled();
+
     // Shuffle deck.
-    deck.shuffle();
+    deck.shuffle(random);
 
     // Deal to each player.
-    int dealer = currentState == null ? 0 : advancePlayer(getDealer());
-    currentState = new HandState(dealer);
+    currentState.reset(dealer);
     currentPlayer = advancePlayer(dealer);
     currentLead = dealer;
     currentTrick = null;
+    passesMade = 0;
+    for (Hand hand : hands) {
+      hand.clear();
+    }
 
-    while (deck.remainingCount() > 0) {
-      IntStream.range(0, 4).forEach(i -> hands[getCurrentPlayer()].dealCard(deck.deal().get()));
+    // Deal packets of cards in turn until each hand is full, any remaining cards are the widow.
+    int handSize = rules.getHandSize();
+    while (hands[getCurrentPlayer()].numCards() < handSize) {
+      Hand hand = hands[getCurrentPlayer()];
+      int packet = Math.min(DEAL_PACKET_SIZE, handSize - hand.numCards());
+      for (int index = 0; index < packet; index++) {
+        hand.dealCard(deck.dealNext());
+      }
       currentPlayer = advancePlayer(getCurrentPlayer());
     }
+    if (event != null) {
+      event.commit(dealer, rules);
+    }
+    metrics.recordDeal();
   }
 
-  private int computeTeamMeld(int teamIndex) {
-    int meld = TEAM_INDICES.get(teamIndex).stream().flatMapToInt(
-        player -> IntStream.of(hands[player].countMeld(currentState.bidManager.getTrump().get())))
-        .sum();
-    return meld < MINIMUM_MELD ? 0 : meld;
+  private boolean holdsCards(Hand hand, Card[] cards) {
+    if (cards.length != rules.getPassCount()) {
+      return false;
+    }
+    Arrays.fill(passTally, 0);
+    for (Card card : cards) {
+      if (++passTally[card.getId()] > hand.getCardCount(card)) {
+        return false;
+      }
+    }
+    return true;
   }
 
-  private int computeTeamHandTotal(int teamIndex, int lastTrickIndex) {
-    boolean wonLastTrick = lastTrickIndex == teamIndex;
-    int tricks = currentState.tricks[teamIndex] + (wonLastTrick ? 2 : 0);
-    int total = tricks < MINIMUM_TRICKS ? 0 : currentState.meld[teamIndex] + tricks;
+  private int computeTeamMeld(int teamIndex, Suite trump) {
+    int meld = 0;
+    for (int player = 0; player < hands.length; player++) {
+      if (rules.getTeam(player) == teamIndex) {
+        meld += hands[player].countMeld(trump);
+        metrics.recordMeldCount();
+      }
+    }
+    return meld < rules.getMinimumMeld() ? 0 : meld;
+  }
 
-    // Check for being set.
-    BidManager bidManager = currentState.bidManager;
-    boolean biddingTeam = TEAM_INDICES.get(teamIndex)
-        .contains(bidManager.getHighBidPlayerIndex());
-    int bid = bidManager.getBid();
-    return biddingTeam && total < bid ? -bid : total;
+  private int getTeamIndex(int player) {
+    return rules.getTeam(player);
   }
 
   private int advancePlayer(int currentIndex) {
-    return currentIndex == 3 ? 0 : currentIndex + 1;
+    return currentIndex == rules.getPlayers() - 1 ? 0 : currentIndex + 1;
   }
 
   /**
-   * Tracks the state of a hand during the game.
+   * Tracks the state of a hand during the game, reset rather than replaced for each hand.
    */
   private static class HandState {
     private BidManager bidManager;
-    private int[] meld;
-    private int[] tricks;
+    private HandScorer scorer;
+
+    HandState(int dealerIndex, RuleSet rules) {
+      bidManager = new BidManager(dealerIndex, rules);
+      scorer = new HandScorer(rules);
+    }
 
-    HandState(int dealerIndex) {
-      bidManager = new BidManager(dealerIndex);
-      meld = new int[] {0, 0};
-      tricks = new int[] {0, 0};
+    void reset(int dealerIndex) {
+      bidManager.reset(dealerIndex);
+      scorer.startHand(-1, 0);
     }
   }
 }
@@ -9,56 +9,140 @@ import org.eelbbor.carddeck.standard.Suite;
 
 import java.util.Arrays;
 import java.util.Map;
-import java.util.stream.IntStream;
+import java.util.Optional;
+import java.util.function.IntUnaryOperator;
 
 /**
  * Pinochle hand track cards in the hand and adds logic for calculating meld for a hand.
  *
+ * <p/>
+ * Besides the count of each card the hand keeps a summary per {@link Suite} of the number of
+ * cards held and the highest {@link PinochleFaceValue} held, updated as cards are dealt and
+ * played, so the suite queries {@link Trick} validates plays against are single array reads.
+ *
  * @author Robb Lee (robbmlee@gmail.com).
  */
 public class Hand extends org.eelbbor.carddeck.Hand<Card> {
-  public static final Map<PinochleFaceValue, int[]> MELD_AROUND =
-      Map.of(Jack, new int[] {0, 4, 40, 60, 80}, Queen, new int[] {0, 6, 60, 90, 120}, King,
-          new int[] {0, 8, 80, 120, 160}, Ace, new int[] {0, 10, 100, 150, 200});
+  /**
+   * Copy of the double deck meld for each face value around.
+   *
+   * @deprecated meld is defined by the variant, see
+   *     {@link RuleSet#getAroundMeld(PinochleFaceValue, int)}.
+   */
+  @Deprecated
+  public static final Map<PinochleFaceValue, int[]> MELD_AROUND = Map.of(
+      Jack, doubleDeckMeld(count -> RuleSet.DOUBLE_DECK.getAroundMeld(Jack, count)),
+      Queen, doubleDeckMeld(count -> RuleSet.DOUBLE_DECK.getAroundMeld(Queen, count)),
+      King, doubleDeckMeld(count -> RuleSet.DOUBLE_DECK.getAroundMeld(King, count)),
+      Ace, doubleDeckMeld(count -> RuleSet.DOUBLE_DECK.getAroundMeld(Ace, count)));
 
-  public static final int[] PINOCHLE_MELD = new int[] {0, 4, 30, 60, 90};
-  public static final int[] RUN_MELD = new int[] {0, 15, 150, 225, 300};
+  /**
+   * Copy of the double deck pinochle meld.
+   *
+   * @deprecated meld is defined by the variant, see {@link RuleSet#getPinochleMeld(int)}.
+   */
+  @Deprecated
+  public static final int[] PINOCHLE_MELD = doubleDeckMeld(RuleSet.DOUBLE_DECK::getPinochleMeld);
 
-  public static final int MARRIAGE_MULTIPLIER = 2;
+  /**
+   * Copy of the double deck run meld.
+   *
+   * @deprecated meld is defined by the variant, see {@link RuleSet#getRunMeld(int)}.
+   */
+  @Deprecated
+  public static final int[] RUN_MELD = doubleDeckMeld(RuleSet.DOUBLE_DECK::getRunMeld);
 
-  private int[][] cardArray;
+  /**
+   * Double deck meld of a marriage.
+   *
+   * @deprecated meld is defined by the variant, see {@link RuleSet#getMarriageValue()}.
+   */
+  @Deprecated
+  public static final int MARRIAGE_MULTIPLIER = RuleSet.DOUBLE_DECK.getMarriageValue();
+
+  private static final int SUITE_COUNT = Suite.values().length;
+  private static final int VALUE_COUNT = PinochleFaceValue.values().length;
+  private static final PinochleFaceValue[] FACE_VALUES = PinochleFaceValue.values();
+  private static final PinochleFaceValue[] AROUND_VALUES = {Jack, Queen, King, Ace};
+
+  private int[] cardCounts;
+  private int[] suiteCounts;
+  private int[] highestValues;
+  private RuleSet rules;
 
   public Hand() {
-    this.cardArray = new int[Suite.values().length][PinochleFaceValue.values().length];
+    this(RuleSet.DOUBLE_DECK);
+  }
+
+  /**
+   * Constructor for a hand played under the given {@link RuleSet}, which determines the copies
+   * of each card and number of cards allowed as well as the meld values.
+   *
+   * @param rules variant the hand is played under.
+   */
+  public Hand(RuleSet rules) {
+    this.cardCounts = new int[Card.DISTINCT_CARD_COUNT];
+    this.suiteCounts = new int[SUITE_COUNT];
+    this.highestValues = new int[SUITE_COUNT];
+    Arrays.fill(highestValues, -1);
+    this.rules = rules;
+  }
+
+  @Override
+  public boolean containsCard(Card card) {
+    return cardCounts[card.getId()] > 0;
   }
 
   @Override
   public boolean playCard(Card card) {
     boolean played = super.playCard(card);
     if (played) {
-      cardArray[card.getSuite().ordinal()][card.getOrdinal()]--;
+      int suite = card.getSuite().ordinal();
+      suiteCounts[suite]--;
+      if (--cardCounts[card.getId()] == 0 && highestValues[suite] == card.getOrdinal()) {
+        // Last copy of the highest card so step down to the next face value held.
+        int value = card.getOrdinal() - 1;
+        while (value >= 0 && cardCounts[suite * VALUE_COUNT + value] == 0) {
+          value--;
+        }
+        highestValues[suite] = value;
+      }
     }
     return played;
   }
 
+  @Override
+  public void clear() {
+    super.clear();
+    Arrays.fill(cardCounts, 0);
+    Arrays.fill(suiteCounts, 0);
+    Arrays.fill(highestValues, -1);
+  }
+
   /**
-   * Adds cards to the hand. If more than 4 of a given card type is added, the method throws an
-   * illegal argument exception as it is not possible to have more than four of any card.
+   * Adds a card to the hand, dealing several cards at once adds them one at a time through this
+   * method. Throws an illegal argument exception if more copies of a card are added than
+   * {@link RuleSet#getCopiesPerCard()} or the hand would hold more than
+   * {@link RuleSet#getHandSize()} plus {@link RuleSet#getPassCount()} cards, a hand briefly
+   * holding the cards passed to it on top of a full hand.
    *
-   * @param card variable length number of cards to add to the hand.
+   * @param card card to add to the hand.
    */
   @Override
-  public void dealCard(Card... card) {
+  public void dealCard(Card card) {
     super.dealCard(card);
-    Arrays.stream(card).forEach(c -> {
-      if (++cardArray[c.getSuite().ordinal()][c.getOrdinal()] > 4) {
-        throw new IllegalArgumentException("Tried to deal more than 4 '"
-            + c.getFaceValue().name() + "s' of '" + c.getSuite().name() + "s'.");
-      }
-    });
+    int suite = card.getSuite().ordinal();
+    suiteCounts[suite]++;
+    highestValues[suite] = Math.max(highestValues[suite], card.getOrdinal());
+    if (++cardCounts[card.getId()] > rules.getCopiesPerCard()) {
+      throw new IllegalArgumentException("Tried to deal more than " + rules.getCopiesPerCard()
+          + " '" + card.getFaceValue().name() + "s' of '" + card.getSuite().name() + "s'.");
+    }
 
-    if (numCards() > 20) {
-      throw new IllegalArgumentException("Tried to add more than 20 cards to a hand.");
+    if (numCards() > rules.getHandSize() + rules.getPassCount()) {
+      throw new IllegalArgumentException(
+          "Tried to add more than " + (rules.getHandSize() + rules.getPassCount())
+              + " cards to a hand.");
     }
   }
 
@@ -85,55 +169,147 @@ public class Hand extends org.eelbbor.carddeck.Hand<Card> {
    * i.e.
    * Ace, Ten, King, Queen, Jack of trump = 15 NOT 19
    * Ace, Ten, King, King, Queen, Queen, Jack of trump = 19 due to the extra marriage.
+   * <p/>
+   * The values above are those of {@link RuleSet#DOUBLE_DECK}, other variants read the tables
+   * of their {@link RuleSet}.
    *
    * @param trump {@link Suite} declared as trump.
    * @return total meld for a hand with the given trump suite.
    */
   public int countMeld(Suite trump) {
-    int total = 0;
-
-    // Jacks around.
-    total += MELD_AROUND.get(Jack)[getMinCardCountByValue(Jack)];
-
-    // Queens around.
-    total += MELD_AROUND.get(Queen)[getMinCardCountByValue(Queen)];
+    return countMeld(cardCounts, trump, rules);
+  }
 
-    // Kings around.
-    total += MELD_AROUND.get(King)[getMinCardCountByValue(King)];
+  /**
+   * Computes the total meld for cards given as a count per card id, see {@link Card#getId()},
+   * using the meld tables of the {@link RuleSet}. This is the computation behind
+   * {@link Hand#countMeld(Suite)} exposed for simulation which tracks hands as primitive counts.
+   *
+   * @param cardCounts number of copies held indexed by card id.
+   * @param trump {@link Suite} declared as trump.
+   * @param rules variant providing the meld tables.
+   * @return total meld for the cards with the given trump suite.
+   */
+  public static int countMeld(int[] cardCounts, Suite trump, RuleSet rules) {
+    int values = VALUE_COUNT;
+    int total = 0;
 
-    // Aces around.
-    total += MELD_AROUND.get(Ace)[getMinCardCountByValue(Ace)];
+    // Jacks, queens, kings and aces around.
+    for (PinochleFaceValue faceValue : AROUND_VALUES) {
+      int around = rules.getCopiesPerCard();
+      for (int suite = 0; suite < SUITE_COUNT; suite++) {
+        around = Math.min(around, cardCounts[suite * values + faceValue.ordinal()]);
+      }
+      total += rules.getAroundMeld(faceValue, around);
+    }
 
     // Pinochles.
-    int jacks = getCardCount(Suite.Diamond, Jack);
-    int queens = getCardCount(Suite.Spade, Queen);
-    total += PINOCHLE_MELD[Math.min(jacks, queens)];
+    int jacks = cardCounts[Suite.Diamond.ordinal() * values + Jack.ordinal()];
+    int queens = cardCounts[Suite.Spade.ordinal() * values + Queen.ordinal()];
+    total += rules.getPinochleMeld(Math.min(jacks, queens));
 
     // Marriages.
-    int marriageTotal = Arrays.stream(Suite.values())
-        .mapToInt(suite -> Math.min(getCardCount(suite, Queen), getCardCount(suite, King))).sum();
+    int marriageTotal = 0;
+    for (int suite = 0; suite < SUITE_COUNT; suite++) {
+      marriageTotal += Math.min(cardCounts[suite * values + Queen.ordinal()],
+          cardCounts[suite * values + King.ordinal()]);
+    }
 
-    int[] trumpCards = cardArray[trump.ordinal()];
-    int royalMarriageCount = Math.min(trumpCards[King.ordinal()], trumpCards[Queen.ordinal()]);
-    total += (marriageTotal + royalMarriageCount) * MARRIAGE_MULTIPLIER;
+    int trumpOffset = trump.ordinal() * values;
+    int royalMarriageCount = Math.min(cardCounts[trumpOffset + King.ordinal()],
+        cardCounts[trumpOffset + Queen.ordinal()]);
+    int marriageValue = rules.getMarriageValue();
+    total += (marriageTotal + royalMarriageCount) * marriageValue;
 
     // Runs.
-    int runCount = Arrays.stream(trumpCards).min().getAsInt();
-    total += RUN_MELD[runCount];
-    // Defend against marriage as part of trump run.
-    total -= runCount * MARRIAGE_MULTIPLIER * MARRIAGE_MULTIPLIER;
+    int runCount = cardCounts[trumpOffset];
+    for (int value = 1; value < values; value++) {
+      runCount = Math.min(runCount, cardCounts[trumpOffset + value]);
+    }
+    total += rules.getRunMeld(runCount);
+    // Defend against marriage as part of trump run, which was counted as a royal marriage.
+    total -= runCount * marriageValue * 2;
 
     return total;
   }
 
+  /**
+   * Computes the cards laid down to show the meld counted by
+   * {@link Hand#countMeld(int[], Suite, RuleSet)}. A card shown in more than one meld, such as
+   * the queen of spades in a pinochle and a marriage, is counted once per copy needed by the
+   * meld needing the most copies.
+   *
+   * @param cardCounts number of copies held indexed by card id.
+   * @param trump {@link Suite} declared as trump.
+   * @param rules variant providing the meld tables.
+   * @param shown array filled with the number of copies shown indexed by card id.
+   */
+  public static void meldCards(int[] cardCounts, Suite trump, RuleSet rules, int[] shown) {
+    int values = VALUE_COUNT;
+    Arrays.fill(shown, 0, Card.DISTINCT_CARD_COUNT, 0);
+
+    for (PinochleFaceValue faceValue : AROUND_VALUES) {
+      int around = rules.getCopiesPerCard();
+      for (int suite = 0; suite < SUITE_COUNT; suite++) {
+        around = Math.min(around, cardCounts[suite * values + faceValue.ordinal()]);
+      }
+      if (rules.getAroundMeld(faceValue, around) > 0) {
+        for (int suite = 0; suite < SUITE_COUNT; suite++) {
+          showCards(shown, suite * values + faceValue.ordinal(), around);
+        }
+      }
+    }
+
+    int jackOfDiamonds = Suite.Diamond.ordinal() * values + Jack.ordinal();
+    int queenOfSpades = Suite.Spade.ordinal() * values + Queen.ordinal();
+    int pinochles = Math.min(cardCounts[jackOfDiamonds], cardCounts[queenOfSpades]);
+    if (rules.getPinochleMeld(pinochles) > 0) {
+      showCards(shown, jackOfDiamonds, pinochles);
+      showCards(shown, queenOfSpades, pinochles);
+    }
+
+    for (int suite = 0; suite < SUITE_COUNT && rules.getMarriageValue() > 0; suite++) {
+      int marriages = Math.min(cardCounts[suite * values + Queen.ordinal()],
+          cardCounts[suite * values + King.ordinal()]);
+      showCards(shown, suite * values + Queen.ordinal(), marriages);
+      showCards(shown, suite * values + King.ordinal(), marriages);
+    }
+
+    int trumpOffset = trump.ordinal() * values;
+    int runCount = cardCounts[trumpOffset];
+    for (int value = 1; value < values; value++) {
+      runCount = Math.min(runCount, cardCounts[trumpOffset + value]);
+    }
+    if (rules.getRunMeld(runCount) > 0) {
+      for (int value = 0; value < values; value++) {
+        showCards(shown, trumpOffset + value, runCount);
+      }
+    }
+  }
+
+  private static void showCards(int[] shown, int id, int copies) {
+    shown[id] = Math.max(shown[id], copies);
+  }
+
   /**
    * Returns the number {@link Card} objects in the hand with the provided {@link Suite}.
    *
    * @param suite card suite to be matched against.
    * @return number of cards of the given suite type.
    */
-  int getCardCountBySuite(Suite suite) {
-    return IntStream.range(0, cardArray[0].length).map(i -> cardArray[suite.ordinal()][i]).sum();
+  public int getCardCountBySuite(Suite suite) {
+    return suiteCounts[suite.ordinal()];
+  }
+
+  /**
+   * Returns the highest {@link PinochleFaceValue} held in the {@link Suite} if any.
+   *
+   * @param suite card suite to be matched against.
+   * @return highest face value of the suite in the hand or empty if the suite is not held.
+   */
+  public Optional<PinochleFaceValue> getHighestFaceValue(Suite suite) {
+    int value = highestValues[suite.ordinal()];
+    return value < 0 ? Optional.empty() : Optional.of(FACE_VALUES[value]);
   }
 
   /**
@@ -142,19 +318,88 @@ public class Hand extends org.eelbbor.carddeck.Hand<Card> {
    * @param card {@link Card} definition to query for.
    * @return number of instances in the hand or zero.
    */
-  int getCardCount(Card card) {
-    return getCardCount(card.getSuite(), card.getFaceValue());
+  public int getCardCount(Card card) {
+    return cardCounts[card.getId()];
   }
 
-  private int getCardCount(Suite suite, PinochleFaceValue faceValue) {
-    return cardArray[suite.ordinal()][faceValue.ordinal()];
+  /**
+   * Returns the counts of the cards in the hand indexed by card id without copying, used by
+   * {@link Trick} to validate plays.
+   *
+   * @return live number of copies held indexed by card id.
+   */
+  int[] getCardCounts() {
+    return cardCounts;
   }
 
-  private int getMinCardCountByValue(PinochleFaceValue faceValue) {
-    int result = 4;
-    for (int[] cardCountArray : cardArray) {
-      result = Math.min(result, cardCountArray[faceValue.ordinal()]);
+  /**
+   * Returns the number of cards held per suite indexed by suite ordinal without copying, used by
+   * {@link Trick} to validate plays.
+   *
+   * @return live number of cards held indexed by suite ordinal.
+   */
+  int[] getSuiteCounts() {
+    return suiteCounts;
+  }
+
+  /**
+   * Returns the ordinal of the highest face value held per suite indexed by suite ordinal, or -1
+   * if the suite is not held, without copying, used by {@link Trick} to validate plays.
+   *
+   * @return live highest face value ordinal indexed by suite ordinal.
+   */
+  int[] getHighestValues() {
+    return highestValues;
+  }
+
+  /**
+   * Indicates if the hand holds any card of the {@link Suite}, i.e. whether the player is able
+   * to follow the suite or trump.
+   *
+   * @param suite card suite to check for.
+   * @return true if at least one card of the suite is in the hand, else false.
+   */
+  public boolean hasSuite(Suite suite) {
+    return suiteCounts[suite.ordinal()] > 0;
+  }
+
+  /**
+   * Indicates if the hand holds a card of the same {@link Suite} ranked above the given card,
+   * i.e. whether the player is able to beat it.
+   *
+   * @param card {@link Card} to compare against.
+   * @return true if a higher card of the suite is in the hand, else false.
+   */
+  public boolean hasHigherCard(Card card) {
+    return highestValues[card.getSuite().ordinal()] > card.getOrdinal();
+  }
+
+  /**
+   * Computes the per suite summaries kept by a hand for cards given as a count per card id, for
+   * validating plays against cards not held in a {@link Hand}.
+   *
+   * @param cardCounts number of copies held indexed by card id.
+   * @param suiteCounts array filled with the number of cards held indexed by suite ordinal.
+   * @param highestValues array filled with the highest face value ordinal held indexed by suite
+   *     ordinal, or -1 if the suite is not held.
+   */
+  static void summarizeSuites(int[] cardCounts, int[] suiteCounts, int[] highestValues) {
+    for (int suite = 0; suite < SUITE_COUNT; suite++) {
+      suiteCounts[suite] = 0;
+      highestValues[suite] = -1;
+      for (int value = 0; value < VALUE_COUNT; value++) {
+        int count = cardCounts[suite * VALUE_COUNT + value];
+        if (count > 0) {
+          suiteCounts[suite] += count;
+          highestValues[suite] = value;
+        }
+      }
     }
-    return result;
+  }
+
+  private static int[] doubleDeckMeld(IntUnaryOperator meld) {
+    int[] values = new int[RuleSet.DOUBLE_DECK.getCopiesPerCard() + 1];
+    Arrays.setAll(values, meld);
+    return values;
   }
 }
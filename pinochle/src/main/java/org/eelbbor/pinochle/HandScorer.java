@@ -0,0 +1,187 @@
+package org.eelbbor.pinochle;
+
+import java.util.Arrays;
+
+/**
+ * Accumulates the meld and trick points for both teams during a hand and computes the hand
+ * totals. Trick points are counters, one point for each ace, ten and king taken plus
+ * {@link RuleSet#getLastTrickBonus()} for the team taking the last trick. Cards are counted by
+ * id, see {@link Card#getId()}, into primitive counters so the scorer can be shared by live play
+ * and simulation without allocating.
+ *
+ * @author Robb Lee (robbmlee@gmail.com).
+ */
+public final class HandScorer {
+  public static final int LAST_TRICK_BONUS = 2;
+
+  private static final int[] POINTS = new int[Card.DISTINCT_CARD_COUNT];
+
+  static {
+    for (int id = 0; id < POINTS.length; id++) {
+      POINTS[id] = Card.fromId(id).getFaceValue().ordinal()
+          >= PinochleFaceValue.King.ordinal() ? 1 : 0;
+    }
+  }
+
+  private final RuleSet rules;
+  private final int[] meld;
+  private final int[] tricks;
+  private int trickPoints;
+  private int biddingTeam;
+  private int bid;
+
+  /**
+   * Default constructor creates a scorer with cleared counters and no bid.
+   */
+  public HandScorer() {
+    this(RuleSet.DOUBLE_DECK);
+  }
+
+  /**
+   * Constructor for a scorer following the team count and scoring thresholds of the given
+   * {@link RuleSet}.
+   *
+   * @param rules variant the hand is played under.
+   */
+  public HandScorer(RuleSet rules) {
+    this.rules = rules;
+    meld = new int[rules.getTeamCount()];
+    tricks = new int[rules.getTeamCount()];
+    startHand(-1, 0);
+  }
+
+  /**
+   * Returns the trick points a card is worth.
+   *
+   * @param id card id, see {@link Card#getId()}.
+   * @return 1 for aces, tens and kings else 0.
+   */
+  public static int getPoints(int id) {
+    return POINTS[id];
+  }
+
+  /**
+   * Clears all counters in preparation for a new hand.
+   *
+   * @param biddingTeam index of the team that won the bid or -1 if not known yet.
+   * @param bid value of the winning bid.
+   */
+  public void startHand(int biddingTeam, int bid) {
+    Arrays.fill(meld, 0);
+    Arrays.fill(tricks, 0);
+    trickPoints = 0;
+    setBid(biddingTeam, bid);
+  }
+
+  /**
+   * Records the team that won the bid and the value of the bid.
+   *
+   * @param biddingTeam index of the team that won the bid.
+   * @param bid value of the winning bid.
+   */
+  public void setBid(int biddingTeam, int bid) {
+    this.biddingTeam = biddingTeam;
+    this.bid = bid;
+  }
+
+  public int getBiddingTeam() {
+    return biddingTeam;
+  }
+
+  public int getBid() {
+    return bid;
+  }
+
+  public void setMeld(int teamIndex, int teamMeld) {
+    meld[teamIndex] = teamMeld;
+  }
+
+  public int getMeld(int teamIndex) {
+    return meld[teamIndex];
+  }
+
+  /**
+   * Returns the trick points collected by the team so far this hand.
+   *
+   * @param teamIndex index of the team.
+   * @return trick points taken.
+   */
+  public int getTricks(int teamIndex) {
+    return tricks[teamIndex];
+  }
+
+  /**
+   * Adds a card played on the current trick to the points pending collection.
+   *
+   * @param id card id, see {@link Card#getId()}.
+   */
+  public void countCard(int id) {
+    trickPoints += POINTS[id];
+  }
+
+  /**
+   * Awards the points counted on the current trick to the team that took it.
+   *
+   * @param teamIndex index of the team that took the trick.
+   * @return points awarded for the trick.
+   */
+  public int collectTrick(int teamIndex) {
+    int points = trickPoints;
+    tricks[teamIndex] += points;
+    trickPoints = 0;
+    return points;
+  }
+
+  /**
+   * Awards the points counted on the final trick and the last trick bonus to the team that took
+   * it.
+   *
+   * @param teamIndex index of the team that took the last trick.
+   * @return points awarded for the trick including the bonus.
+   */
+  public int collectLastTrick(int teamIndex) {
+    int bonus = rules.getLastTrickBonus();
+    tricks[teamIndex] += bonus;
+    return collectTrick(teamIndex) + bonus;
+  }
+
+  /**
+   * Indicates if the team won the bid and failed to make it.
+   *
+   * @param teamIndex index of the team.
+   * @return true if the team is set else false.
+   */
+  public boolean isSet(int teamIndex) {
+    return teamIndex == biddingTeam && computeTotal(teamIndex) < bid;
+  }
+
+  /**
+   * Computes the score for the team at the end of the hand. A team must take at least
+   * {@link RuleSet#getMinimumTricks()}, {@link Game#MINIMUM_TRICKS} by default, in trick points
+   * to keep meld and trick points, otherwise the team scores nothing. The team that won the bid
+   * loses the value of the bid if the total does not make the bid.
+   *
+   * @param teamIndex index of the team.
+   * @return points to add to the team score, negative if the team was set.
+   */
+  public int computeHandTotal(int teamIndex) {
+    return isSet(teamIndex) ? -bid : computeTotal(teamIndex);
+  }
+
+  /**
+   * Computes the score for the team when the bidding team cannot reach the
+   * {@link RuleSet#getMinimumMeld()} and the hand ends before any tricks are played. The bidding
+   * team is set and the other teams keep their meld.
+   *
+   * @param teamIndex index of the team.
+   * @return points to add to the team score, negative for the bidding team.
+   */
+  public int computeInsufficientMeldTotal(int teamIndex) {
+    return teamIndex == biddingTeam ? -bid : meld[teamIndex];
+  }
+
+  private int computeTotal(int teamIndex) {
+    int teamTricks = tricks[teamIndex];
+    return teamTricks < rules.getMinimumTricks() ? 0 : meld[teamIndex] + teamTricks;
+  }
+}
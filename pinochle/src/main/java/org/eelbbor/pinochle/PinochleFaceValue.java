@@ -16,7 +16,7 @@ public enum PinochleFaceValue {
   Ten(StandardFaceValue.Ten),
   Ace(StandardFaceValue.Ace);
 
-  private StandardFaceValue standardFaceValue;
+  private final StandardFaceValue standardFaceValue;
 
   PinochleFaceValue(StandardFaceValue standardFaceValue) {
     this.standardFaceValue = standardFaceValue;
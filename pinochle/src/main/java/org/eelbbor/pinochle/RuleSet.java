@@ -0,0 +1,429 @@
+package org.eelbbor.pinochle;
+
+import static org.eelbbor.pinochle.PinochleFaceValue.Ace;
+import static org.eelbbor.pinochle.PinochleFaceValue.Jack;
+import static org.eelbbor.pinochle.PinochleFaceValue.King;
+import static org.eelbbor.pinochle.PinochleFaceValue.Queen;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Defines a pinochle variant: deck composition, seating, meld tables and bidding and scoring
+ * thresholds. A {@link RuleSet} is immutable and compiled into flat lookup arrays when built so
+ * {@link Game}, {@link BidManager}, {@link Hand} and {@link HandScorer} read variant values with
+ * a single array or field access.
+ *
+ * <p/>
+ * Note: {@link PinochleFaceValue} does not define nines, so the single deck variant is played
+ * with 40 cards. Cards not evenly dealt to the players form a widow, which is left undealt.
+ *
+ * @author Robb Lee (robbmlee@gmail.com).
+ */
+public final class RuleSet {
+  /**
+   * Four players in two partnerships with 80 cards, the default for a {@link Game}.
+   */
+  public static final RuleSet DOUBLE_DECK = builder().build();
+
+  /**
+   * Four players in two partnerships with two copies of each card.
+   */
+  public static final RuleSet SINGLE_DECK = builder()
+      .copiesPerCard(2)
+      .minimumBid(25)
+      .raisedIncrementBid(30)
+      .minimumMeld(10)
+      .minimumTricks(10)
+      .build();
+
+  /**
+   * Three players each playing for themselves with 80 cards, 26 cards each and a widow of two.
+   */
+  public static final RuleSet THREE_HANDED = builder()
+      .teams(0, 1, 2)
+      .minimumTricks(15)
+      .build();
+
+  /**
+   * Four players in two partnerships with 80 cards where the partner of the player winning the
+   * bid passes four cards to them and receives four back before trump is declared.
+   */
+  public static final RuleSet DOUBLE_DECK_PASSING = builder()
+      .passCount(4)
+      .build();
+
+  private final int players;
+  private final int[] teamOfPlayer;
+  private final int teamCount;
+  private final int copiesPerCard;
+  private final int handSize;
+  private final int minimumBid;
+  private final int bidIncrement;
+  private final int raisedIncrementBid;
+  private final int raisedBidIncrement;
+  private final int minimumMeld;
+  private final int minimumTricks;
+  private final int lastTrickBonus;
+  private final int marriageValue;
+  private final int passCount;
+  private final int[] aroundMeld;
+  private final int[] pinochleMeld;
+  private final int[] runMeld;
+  private final List<Card> deck;
+
+  private RuleSet(Builder builder) {
+    players = builder.teamOfPlayer.length;
+    teamOfPlayer = builder.teamOfPlayer.clone();
+    teamCount = Arrays.stream(teamOfPlayer).max().getAsInt() + 1;
+    copiesPerCard = builder.copiesPerCard;
+    handSize = Card.DISTINCT_CARD_COUNT * copiesPerCard / players;
+    minimumBid = builder.minimumBid;
+    bidIncrement = builder.bidIncrement;
+    raisedIncrementBid = builder.raisedIncrementBid;
+    raisedBidIncrement = builder.raisedBidIncrement;
+    minimumMeld = builder.minimumMeld;
+    minimumTricks = builder.minimumTricks;
+    lastTrickBonus = builder.lastTrickBonus;
+    marriageValue = builder.marriageValue;
+    passCount = builder.passCount;
+
+    // Flatten the meld tables indexed by face value ordinal and count.
+    int width = copiesPerCard + 1;
+    aroundMeld = new int[PinochleFaceValue.values().length * width];
+    for (PinochleFaceValue faceValue : Arrays.asList(Jack, Queen, King, Ace)) {
+      System.arraycopy(builder.aroundMeld[faceValue.ordinal()], 0, aroundMeld,
+          faceValue.ordinal() * width, width);
+    }
+    pinochleMeld = Arrays.copyOf(builder.pinochleMeld, width);
+    runMeld = Arrays.copyOf(builder.runMeld, width);
+
+    // Build the deck once, every card of a given id is the shared instance from Card.fromId.
+    List<Card> cards = new ArrayList<>(Card.DISTINCT_CARD_COUNT * copiesPerCard);
+    for (int id = 0; id < Card.DISTINCT_CARD_COUNT; id++) {
+      cards.addAll(Collections.nCopies(copiesPerCard, Card.fromId(id)));
+    }
+    deck = Collections.unmodifiableList(cards);
+  }
+
+  /**
+   * Creates a {@link Builder} initialized to the {@link RuleSet#DOUBLE_DECK} values.
+   *
+   * @return new builder.
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public int getPlayers() {
+    return players;
+  }
+
+  public int getTeamCount() {
+    return teamCount;
+  }
+
+  /**
+   * Returns the team index for a player.
+   *
+   * @param player index of the player.
+   * @return index of the team the player belongs to.
+   */
+  public int getTeam(int player) {
+    return teamOfPlayer[player];
+  }
+
+  public int getCopiesPerCard() {
+    return copiesPerCard;
+  }
+
+  public int getDeckSize() {
+    return Card.DISTINCT_CARD_COUNT * copiesPerCard;
+  }
+
+  public int getHandSize() {
+    return handSize;
+  }
+
+  public int getWidowSize() {
+    return getDeckSize() - handSize * players;
+  }
+
+  public int getMinimumBid() {
+    return minimumBid;
+  }
+
+  public int getBidIncrement() {
+    return bidIncrement;
+  }
+
+  public int getRaisedIncrementBid() {
+    return raisedIncrementBid;
+  }
+
+  public int getRaisedBidIncrement() {
+    return raisedBidIncrement;
+  }
+
+  public int getMinimumMeld() {
+    return minimumMeld;
+  }
+
+  public int getMinimumTricks() {
+    return minimumTricks;
+  }
+
+  public int getLastTrickBonus() {
+    return lastTrickBonus;
+  }
+
+  public int getMarriageValue() {
+    return marriageValue;
+  }
+
+  public int getPassCount() {
+    return passCount;
+  }
+
+  /**
+   * Returns the partner of a player, the other player on the same team.
+   *
+   * @param player index of the player.
+   * @return index of the partner or -1 if the player has no partner or several.
+   */
+  public int getPartner(int player) {
+    int partner = -1;
+    for (int other = 0; other < players; other++) {
+      if (other != player && teamOfPlayer[other] == teamOfPlayer[player]) {
+        if (partner >= 0) {
+          return -1;
+        }
+        partner = other;
+      }
+    }
+    return partner;
+  }
+
+  /**
+   * Returns the meld for holding a card of the face value in every suit the given number of times.
+   *
+   * @param faceValue face value of the cards around.
+   * @param count number of times around.
+   * @return meld value, zero for tens.
+   */
+  public int getAroundMeld(PinochleFaceValue faceValue, int count) {
+    return aroundMeld[faceValue.ordinal() * (copiesPerCard + 1) + count];
+  }
+
+  public int getPinochleMeld(int count) {
+    return pinochleMeld[count];
+  }
+
+  public int getRunMeld(int count) {
+    return runMeld[count];
+  }
+
+  /**
+   * Returns the cards of a full deck for the variant, built once when the {@link RuleSet} is
+   * built and shared by every caller. The list is immutable, see {@link RuleSet#createDeck()} for
+   * a copy which may be shuffled.
+   *
+   * @return immutable list of the cards in the deck grouped by card id.
+   */
+  public List<Card> getDeck() {
+    return deck;
+  }
+
+  /**
+   * Creates the cards of a full deck for the variant, a mutable copy of
+   * {@link RuleSet#getDeck()}.
+   *
+   * @return list of the cards in the deck.
+   */
+  public List<Card> createDeck() {
+    return new ArrayList<>(deck);
+  }
+
+  /**
+   * Collects the variant values prior to compiling them into a {@link RuleSet}. Defaults match
+   * the {@link RuleSet#DOUBLE_DECK} variant.
+   */
+  public static final class Builder {
+    // Double deck meld tables indexed by the number of times held, up to the four copies dealt.
+    private static final int MAX_COPIES_PER_CARD = 4;
+    private static final int[] PINOCHLE_MELD = {0, 4, 30, 60, 90};
+    private static final int[] RUN_MELD = {0, 15, 150, 225, 300};
+    private static final int MARRIAGE_VALUE = 2;
+
+    private int[] teamOfPlayer = {0, 1, 0, 1};
+    private int copiesPerCard = 4;
+    private int minimumBid = BidManager.MINIMUM_BID;
+    private int bidIncrement = 1;
+    private int raisedIncrementBid = BidManager.MINIMUM_INCREMENT_BY_FIVE_BID;
+    private int raisedBidIncrement = 5;
+    private int minimumMeld = Game.MINIMUM_MELD;
+    private int minimumTricks = Game.MINIMUM_TRICKS;
+    private int lastTrickBonus = HandScorer.LAST_TRICK_BONUS;
+    private int marriageValue = MARRIAGE_VALUE;
+    private int passCount = 0;
+    private int[][] aroundMeld = new int[PinochleFaceValue.values().length][];
+    private int[] pinochleMeld = PINOCHLE_MELD;
+    private int[] runMeld = RUN_MELD;
+
+    private Builder() {
+      Arrays.fill(aroundMeld, new int[MAX_COPIES_PER_CARD + 1]);
+      aroundMeld[Jack.ordinal()] = new int[] {0, 4, 40, 60, 80};
+      aroundMeld[Queen.ordinal()] = new int[] {0, 6, 60, 90, 120};
+      aroundMeld[King.ordinal()] = new int[] {0, 8, 80, 120, 160};
+      aroundMeld[Ace.ordinal()] = new int[] {0, 10, 100, 150, 200};
+    }
+
+    /**
+     * Sets the seating of the players by listing the team index of each player in seat order,
+     * i.e. {0, 1, 0, 1} for partnerships or {0, 1, 2} for three handed.
+     *
+     * @param teamOfPlayer team index per player.
+     * @return this builder.
+     */
+    public Builder teams(int... teamOfPlayer) {
+      this.teamOfPlayer = teamOfPlayer.clone();
+      return this;
+    }
+
+    public Builder copiesPerCard(int copiesPerCard) {
+      this.copiesPerCard = copiesPerCard;
+      return this;
+    }
+
+    public Builder minimumBid(int minimumBid) {
+      this.minimumBid = minimumBid;
+      return this;
+    }
+
+    public Builder bidIncrement(int bidIncrement) {
+      this.bidIncrement = bidIncrement;
+      return this;
+    }
+
+    public Builder raisedIncrementBid(int raisedIncrementBid) {
+      this.raisedIncrementBid = raisedIncrementBid;
+      return this;
+    }
+
+    public Builder raisedBidIncrement(int raisedBidIncrement) {
+      this.raisedBidIncrement = raisedBidIncrement;
+      return this;
+    }
+
+    public Builder minimumMeld(int minimumMeld) {
+      this.minimumMeld = minimumMeld;
+      return this;
+    }
+
+    public Builder minimumTricks(int minimumTricks) {
+      this.minimumTricks = minimumTricks;
+      return this;
+    }
+
+    public Builder lastTrickBonus(int lastTrickBonus) {
+      this.lastTrickBonus = lastTrickBonus;
+      return this;
+    }
+
+    public Builder marriageValue(int marriageValue) {
+      this.marriageValue = marriageValue;
+      return this;
+    }
+
+    /**
+     * Sets the number of cards the partner of the player winning the bid passes to them, and
+     * receives back, before trump is declared. Passing requires every player to have a partner.
+     *
+     * @param passCount cards passed each way, zero for no passing.
+     * @return this builder.
+     */
+    public Builder passCount(int passCount) {
+      this.passCount = passCount;
+      return this;
+    }
+
+    /**
+     * Sets the meld for a face value around indexed by the number of times around.
+     *
+     * @param faceValue face value of the cards around.
+     * @param values meld indexed by count, starting with zero for none.
+     * @return this builder.
+     */
+    public Builder aroundMeld(PinochleFaceValue faceValue, int... values) {
+      aroundMeld[faceValue.ordinal()] = values.clone();
+      return this;
+    }
+
+    public Builder pinochleMeld(int... values) {
+      pinochleMeld = values.clone();
+      return this;
+    }
+
+    public Builder runMeld(int... values) {
+      runMeld = values.clone();
+      return this;
+    }
+
+    /**
+     * Validates and compiles the values into a {@link RuleSet}.
+     *
+     * @return new rule set.
+     */
+    public RuleSet build() {
+      int teams = Arrays.stream(teamOfPlayer).max().orElse(0) + 1;
+      boolean[] seated = new boolean[teams];
+      for (int team : teamOfPlayer) {
+        if (team < 0) {
+          throw new IllegalArgumentException("Invalid team index '" + team + "'.");
+        }
+        seated[team] = true;
+      }
+      for (boolean teamSeated : seated) {
+        if (!teamSeated || teams < 2) {
+          throw new IllegalArgumentException(
+              "At least two teams numbered contiguously from zero are required.");
+        }
+      }
+      if (copiesPerCard < 1 || copiesPerCard > MAX_COPIES_PER_CARD) {
+        throw new IllegalArgumentException("Copies per card must be between 1 and "
+            + MAX_COPIES_PER_CARD + ".");
+      }
+      int handSize = Card.DISTINCT_CARD_COUNT * copiesPerCard / teamOfPlayer.length;
+      if (passCount < 0 || passCount > handSize) {
+        throw new IllegalArgumentException("Pass count must be between 0 and the hand size but "
+            + "was '" + passCount + "'.");
+      }
+      if (passCount > 0) {
+        for (int team = 0; team < teams; team++) {
+          int members = 0;
+          for (int member : teamOfPlayer) {
+            members += member == team ? 1 : 0;
+          }
+          if (members != 2) {
+            throw new IllegalArgumentException("Passing cards requires teams of two partners.");
+          }
+        }
+      }
+      validateTable(pinochleMeld, "pinochle");
+      validateTable(runMeld, "run");
+      for (PinochleFaceValue faceValue : Arrays.asList(Jack, Queen, King, Ace)) {
+        validateTable(aroundMeld[faceValue.ordinal()], faceValue.name() + "s around");
+      }
+      return new RuleSet(this);
+    }
+
+    private void validateTable(int[] values, String name) {
+      if (values.length < copiesPerCard + 1) {
+        throw new IllegalArgumentException("The " + name + " meld table needs "
+            + (copiesPerCard + 1) + " values.");
+      }
+    }
+  }
+}
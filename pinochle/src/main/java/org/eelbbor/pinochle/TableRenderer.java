@@ -0,0 +1,141 @@
+package org.eelbbor.pinochle;
+
+import org.eelbbor.carddeck.standard.GlyphTable;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Renders the table of a {@link Game} for text clients as UTF-8 written directly into a
+ * caller supplied {@link ByteBuffer}, using the pre-encoded glyphs of {@link GlyphTable} and
+ * writing numbers digit by digit so rendering a move builds no {@link String}. The buffer is
+ * meant to be cleared and reused for every move, see {@link TableRenderer#MAX_TABLE_BYTES} for
+ * sizing it. Each line ends with a new line:
+ *
+ * <ul>
+ * <li>the card glyphs of the hand by suite and rank separated by spaces.</li>
+ * <li>the trump symbol followed by player:glyph for each card on the trick, e.g. 0:A 1:- for
+ * a player yet to play.</li>
+ * <li>the score of each team, the current bid and the trump symbol.</li>
+ * </ul>
+ *
+ * <p/>
+ * A {@link java.nio.BufferOverflowException} is thrown if the buffer runs out of room.
+ *
+ * @author Robb Lee (robbmlee@gmail.com).
+ */
+public final class TableRenderer {
+  /**
+   * Bytes needed to render the largest table of any {@link RuleSet} preset.
+   */
+  public static final int MAX_TABLE_BYTES = 1024;
+
+  private static final int[] GLYPH_INDEX_BY_ID = new int[Card.DISTINCT_CARD_COUNT];
+  private static final byte SPACE = ' ';
+  private static final byte NEW_LINE = '\n';
+  private static final byte SEPARATOR = ':';
+  private static final byte NOT_PLAYED = '-';
+
+  static {
+    for (int id = 0; id < Card.DISTINCT_CARD_COUNT; id++) {
+      GLYPH_INDEX_BY_ID[id] = Card.fromId(id).getIndex();
+    }
+  }
+
+  private TableRenderer() {
+  }
+
+  /**
+   * Renders the hand of the player, the trick in progress if trump was declared and the score.
+   *
+   * @param out buffer to write to from its position.
+   * @param game game to render.
+   * @param player index of the player whose hand is shown.
+   */
+  public static void renderTable(ByteBuffer out, Game game, int player) {
+    renderHand(out, game.getHand(player));
+    if (game.getTrick() != null) {
+      renderTrick(out, game.getTrick());
+    }
+    renderScore(out, game);
+  }
+
+  /**
+   * Renders the glyph of each card in the hand ordered by suite and then rank.
+   *
+   * @param out buffer to write to from its position.
+   * @param hand hand to render.
+   */
+  public static void renderHand(ByteBuffer out, Hand hand) {
+    int[] cardCounts = hand.getCardCounts();
+    boolean first = true;
+    for (int id = 0; id < cardCounts.length; id++) {
+      for (int copy = 0; copy < cardCounts[id]; copy++) {
+        if (!first) {
+          out.put(SPACE);
+        }
+        GlyphTable.putCard(out, GLYPH_INDEX_BY_ID[id]);
+        first = false;
+      }
+    }
+    out.put(NEW_LINE);
+  }
+
+  /**
+   * Renders the trump symbol followed by the card played by each player or a dash if the player
+   * has yet to play.
+   *
+   * @param out buffer to write to from its position.
+   * @param trick trick to render.
+   */
+  public static void renderTrick(ByteBuffer out, Trick trick) {
+    GlyphTable.putBlackSymbol(out, trick.getTrump());
+    for (int player = 0; player < trick.getPlayers(); player++) {
+      out.put(SPACE);
+      putNumber(out, player);
+      out.put(SEPARATOR);
+      Card card = trick.getCard(player);
+      if (card == null) {
+        out.put(NOT_PLAYED);
+      } else {
+        GlyphTable.putCard(out, GLYPH_INDEX_BY_ID[card.getId()]);
+      }
+    }
+    out.put(NEW_LINE);
+  }
+
+  /**
+   * Renders the score of each team followed by the current bid and, once declared, the trump
+   * symbol.
+   *
+   * @param out buffer to write to from its position.
+   * @param game game to render.
+   */
+  public static void renderScore(ByteBuffer out, Game game) {
+    for (int team = 0; team < game.getRules().getTeamCount(); team++) {
+      putNumber(out, game.getTeamScore(team));
+      out.put(SPACE);
+    }
+    putNumber(out, game.getCurrentBid());
+    Trick trick = game.getTrick();
+    if (trick != null) {
+      out.put(SPACE);
+      GlyphTable.putBlackSymbol(out, trick.getTrump());
+    }
+    out.put(NEW_LINE);
+  }
+
+  static void putNumber(ByteBuffer out, int number) {
+    long value = number;
+    if (value < 0) {
+      out.put((byte) '-');
+      value = -value;
+    }
+    long divisor = 1;
+    while (divisor * 10 <= value) {
+      divisor *= 10;
+    }
+    for (; divisor > 0; divisor /= 10) {
+      out.put((byte) ('0' + value / divisor % 10));
+    }
+  }
+}
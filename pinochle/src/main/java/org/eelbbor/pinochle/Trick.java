@@ -4,6 +4,9 @@ import org.eelbbor.carddeck.standard.Suite;
 import org.eelbbor.pinochle.exceptions.CardPlayingErrorCode;
 import org.eelbbor.pinochle.exceptions.InvalidCardException;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,6 +22,9 @@ public class Trick {
   private Card highCard;
   private Card highTrump;
   private Card[] cards;
+  private final int[] listCardCounts = new int[Card.DISTINCT_CARD_COUNT];
+  private final int[] listSuiteCounts = new int[Suite.values().length];
+  private final int[] listHighestValues = new int[Suite.values().length];
 
   /**
    * Generic constructor for creating a new trick.
@@ -26,9 +32,33 @@ public class Trick {
    * @param trump suite declared trump during play for this hand.
    */
   public Trick(Suite trump) {
+    this(trump, RuleSet.DOUBLE_DECK.getPlayers());
+  }
+
+  /**
+   * Constructor for creating a new trick for the given number of players.
+   *
+   * @param trump suite declared trump during play for this hand.
+   * @param players number of players playing a card on the trick.
+   */
+  public Trick(Suite trump, int players) {
     this.trump = trump;
     this.highPlayerIndex = -1;
-    this.cards = new Card[4];
+    this.cards = new Card[players];
+  }
+
+  /**
+   * Clears the cards played so the trick can be reused for the next trick of a hand, or the
+   * first trick of the next hand, without allocating.
+   *
+   * @param trump suite declared trump during play for the hand.
+   */
+  public void reset(Suite trump) {
+    this.trump = trump;
+    highPlayerIndex = -1;
+    highCard = null;
+    highTrump = null;
+    Arrays.fill(cards, null);
   }
 
   /**
@@ -38,10 +68,25 @@ public class Trick {
    * @return list of the cards played.
    */
   public List<Optional<Card>> getCardsPlayed() {
-    return List.of(Optional.ofNullable(cards[0]),
-        Optional.ofNullable(cards[1]),
-        Optional.ofNullable(cards[2]),
-        Optional.ofNullable(cards[3]));
+    List<Optional<Card>> cardsPlayed = new ArrayList<>(cards.length);
+    for (Card card : cards) {
+      cardsPlayed.add(Optional.ofNullable(card));
+    }
+    return Collections.unmodifiableList(cardsPlayed);
+  }
+
+  /**
+   * Returns the card played by the player without copying the cards of the trick.
+   *
+   * @param playerIndex index of the player.
+   * @return card played or null if the player has yet to play.
+   */
+  Card getCard(int playerIndex) {
+    return cards[playerIndex];
+  }
+
+  int getPlayers() {
+    return cards.length;
   }
 
   public Suite getTrump() {
@@ -61,8 +106,25 @@ public class Trick {
   }
 
   /**
-   * Adds the card to be played from the players cards to the trick if it is a valid play. If the
-   * card is invalid the method will throw an exception and not add the card to the trick.
+   * Adds the card to be played from the players hand to the trick if it is a valid play. The
+   * play is validated against the per suite summaries kept by the {@link Hand} so every rule is
+   * checked with a few array reads and nothing is copied. If the card is invalid the method will
+   * throw an exception and not add the card to the trick.
+   *
+   * @param card card to be played.
+   * @param hand hand of the player still holding the card to validate against.
+   * @throws InvalidCardException if the card to be played is invalid.
+   */
+  public void playCard(int playerIndex, Card card, Hand hand) throws InvalidCardException {
+    playCard(playerIndex, card, hand.getCardCounts(), hand.getSuiteCounts(),
+        hand.getHighestValues());
+  }
+
+  /**
+   * Adds the card to be played from the players cards to the trick if it is a valid play. The
+   * cards are summarized into buffers owned by the trick, so like playing from a {@link Hand}
+   * nothing is allocated. If the card is invalid the method will throw an exception and not add
+   * the card to the trick.
    *
    * @param card card to be played.
    * @param playersCards list of cards still in the players hand to validate against.
@@ -70,13 +132,23 @@ public class Trick {
    */
   public void playCard(int playerIndex, Card card, List<Card> playersCards)
       throws InvalidCardException {
+    Arrays.fill(listCardCounts, 0);
+    for (int index = 0; index < playersCards.size(); index++) {
+      listCardCounts[playersCards.get(index).getId()]++;
+    }
+    Hand.summarizeSuites(listCardCounts, listSuiteCounts, listHighestValues);
+    playCard(playerIndex, card, listCardCounts, listSuiteCounts, listHighestValues);
+  }
+
+  private void playCard(int playerIndex, Card card, int[] cardCounts, int[] suiteCounts,
+      int[] highestValues) throws InvalidCardException {
     if (cards[playerIndex] != null) {
       throw new RuntimeException(
           "Unexpected exception trying to play more than one card for player " + playerIndex
               + " on a single trick.");
     }
 
-    if (!playersCards.contains(card)) {
+    if (cardCounts[card.getId()] == 0) {
       throw CardPlayingErrorCode.NO_SUCH_CARD_ERROR.createInvalidCardException(null, card);
     }
 
@@ -85,7 +157,7 @@ public class Trick {
     if (ledSuite == null || card.getSuite() == ledSuite) {
       if (highTrump == null) {
         // Validate the card is sufficiently high.
-        if (violatesHighestCard(playersCards, card, highCard)) {
+        if (violatesHighestCard(highestValues, card, highCard)) {
           throw CardPlayingErrorCode.CARD_TOO_LOW_FOLLOWING_SUITE_ERROR
               .createInvalidCardException(highCard, card);
         } else if (highCard == null || highCard.getOrdinal() < card.getOrdinal()) {
@@ -93,10 +165,10 @@ public class Trick {
         }
       }
       highCard = highCard == null || highCard.getOrdinal() < card.getOrdinal() ? card : highCard;
-    } else if (playersCards.stream().anyMatch(cd -> cd.getSuite() == ledSuite)) {
+    } else if (suiteCounts[ledSuite.ordinal()] > 0) {
       throw CardPlayingErrorCode.FOLLOWING_SUITE_ERROR.createInvalidCardException(highCard, card);
     } else if (card.getSuite() == trump) {
-      if (highTrump != null && violatesHighestCard(playersCards, card, highTrump)) {
+      if (highTrump != null && violatesHighestCard(highestValues, card, highTrump)) {
         // Validate the trump card is sufficiently high.
         throw CardPlayingErrorCode.TRUMP_CARD_TOO_LOW_ERROR
             .createInvalidCardException(highTrump, card);
@@ -105,7 +177,7 @@ public class Trick {
       }
       highTrump = highTrump == null || highTrump.getOrdinal() < card.getOrdinal()
           ? card : highTrump;
-    } else if (playersCards.stream().anyMatch(cd -> cd.getSuite() == trump)) {
+    } else if (suiteCounts[trump.ordinal()] > 0) {
       throw CardPlayingErrorCode.TRUMP_ERROR.createInvalidCardException(
           highTrump == null ? new Card(trump, PinochleFaceValue.Jack) : highTrump, card);
     }
@@ -113,15 +185,12 @@ public class Trick {
     cards[playerIndex] = card;
   }
 
-  private boolean violatesHighestCard(List<Card> playersCards, Card played, Card high) {
+  private boolean violatesHighestCard(int[] highestValues, Card played, Card high) {
     if (high == null) {
       return false;
     }
 
     return played.getOrdinal() <= high.getOrdinal()
-        && playersCards.stream().anyMatch(
-            testCard -> testCard.getSuite() == high.getSuite()
-                && testCard.getOrdinal() > high.getOrdinal());
-
+        && highestValues[high.getSuite().ordinal()] > high.getOrdinal();
   }
 }
@@ -0,0 +1,64 @@
+package org.eelbbor.pinochle.exceptions;
+
+/**
+ * Enum capturing validation codes for bidding, passing and declaring trump, see
+ * {@link InvalidBiddingException#getErrorCode()}.
+ *
+ * @author Robb Lee (robbmlee@gmail.com).
+ */
+public enum BiddingErrorCode {
+  /**
+   * Bid below the minimum bid.
+   */
+  MINIMUM_BID_ERROR,
+
+  /**
+   * Bid not a multiple of the raised increment once the bid exceeds the raised increment bid.
+   */
+  BID_INCREMENT_ERROR,
+
+  /**
+   * Bid by a player who already passed.
+   */
+  BID_AFTER_PASSING_ERROR,
+
+  /**
+   * Pass by the player holding the highest bid.
+   */
+  HIGHEST_BID_PASSING_ERROR,
+
+  /**
+   * Pass by the dealer before another player bid.
+   */
+  DEALER_PASSING_ERROR,
+
+  /**
+   * Bid or pass after the bidding closed.
+   */
+  BIDDING_COMPLETED_ERROR,
+
+  /**
+   * Card played before the bidding completed.
+   */
+  BIDDING_IN_PROGRESS_ERROR,
+
+  /**
+   * Trump declared before a player won the bid.
+   */
+  TRUMP_DECLARATION_WHILE_BIDDING_ERROR,
+
+  /**
+   * Trump declared after it was already declared.
+   */
+  TRUMP_ALREADY_DECLARED_ERROR,
+
+  /**
+   * Trump declared before the partners finished passing cards.
+   */
+  PASSING_IN_PROGRESS_ERROR,
+
+  /**
+   * Cards passed out of turn or not the number of cards held that the variant passes.
+   */
+  INVALID_PASS_ERROR
+}
@@ -9,8 +9,20 @@ import org.eelbbor.pinochle.BidManager;
  * @author Robb Lee (robbmlee@gmail.com).
  */
 public class InvalidBiddingException extends RuntimeException {
-  private InvalidBiddingException(String message) {
+  private BiddingErrorCode errorCode;
+
+  private InvalidBiddingException(BiddingErrorCode code, String message) {
     super(message);
+    this.errorCode = code;
+  }
+
+  /**
+   * Conveys the error code cause of the exception to allow for reasonable adaptation to an issue.
+   *
+   * @return error code indicating the root issue.
+   */
+  public BiddingErrorCode getErrorCode() {
+    return errorCode;
   }
 
   /**
@@ -23,7 +35,7 @@ public class InvalidBiddingException extends RuntimeException {
    * @return exception object indicating the error.
    */
   public static InvalidBiddingException invalidMinimumBid(int bid, int minBid) {
-    return new InvalidBiddingException(
+    return new InvalidBiddingException(BiddingErrorCode.MINIMUM_BID_ERROR,
         "Invalid bid value of '" + bid + "', must be at least '" + minBid + "'.");
   }
 
@@ -37,9 +49,28 @@ public class InvalidBiddingException extends RuntimeException {
    * @return exception object indicating the error.
    */
   public static InvalidBiddingException invalidMinimumBidIncrementByFive(int bid, int minBid) {
-    return new InvalidBiddingException("Invalid bid value of '" + bid + "', must exceed '"
-        + minBid + "' and be an increment of 5 when greater than "
-        + BidManager.MINIMUM_INCREMENT_BY_FIVE_BID + " (i.e. 65 or 70).");
+    return invalidMinimumBidIncrementByFive(bid, minBid, BidManager.MINIMUM_INCREMENT_BY_FIVE_BID,
+        5);
+  }
+
+  /**
+   * Conveys an issue when trying to bid with an invalid minimum value when the score requires
+   * a raised increment for the bid as defined by a {@link org.eelbbor.pinochle.RuleSet}, see
+   * {@link InvalidBiddingException#invalidMinimumBidIncrementByFive(int, int)}.
+   *
+   * @param bid value sent for a bid.
+   * @param minBid minimum valid value the bid must be.
+   * @param raisedIncrementBid bid above which the raised increment applies.
+   * @param increment raised increment the bid must be a multiple of.
+   * @return exception object indicating the error.
+   */
+  public static InvalidBiddingException invalidMinimumBidIncrementByFive(int bid, int minBid,
+      int raisedIncrementBid, int increment) {
+    return new InvalidBiddingException(BiddingErrorCode.BID_INCREMENT_ERROR,
+        "Invalid bid value of '" + bid + "', must exceed '" + minBid + "' and be an increment of "
+            + increment + " when greater than " + raisedIncrementBid + " (i.e. "
+            + (raisedIncrementBid + increment) + " or " + (raisedIncrementBid + 2 * increment)
+            + ").");
   }
 
   /**
@@ -48,8 +79,8 @@ public class InvalidBiddingException extends RuntimeException {
    * @return exception object indicating the error.
    */
   public static InvalidBiddingException bidAfterPassing(int playerIndex) {
-    return new InvalidBiddingException("Player " + playerIndex
-        + " has already passed and can no longer bid.");
+    return new InvalidBiddingException(BiddingErrorCode.BID_AFTER_PASSING_ERROR,
+        "Player " + playerIndex + " has already passed and can no longer bid.");
   }
 
   /**
@@ -58,8 +89,8 @@ public class InvalidBiddingException extends RuntimeException {
    * @return exception object indicating the error.
    */
   public static InvalidBiddingException highestBidPassing(int playerIndex) {
-    return new InvalidBiddingException("Player " + playerIndex
-        + " has the highest bid and cannot pass until outbid.");
+    return new InvalidBiddingException(BiddingErrorCode.HIGHEST_BID_PASSING_ERROR,
+        "Player " + playerIndex + " has the highest bid and cannot pass until outbid.");
   }
 
   /**
@@ -69,8 +100,8 @@ public class InvalidBiddingException extends RuntimeException {
    * @return exception object indicating the error.
    */
   public static InvalidBiddingException dealerPassing(int playerIndex) {
-    return new InvalidBiddingException("Player " + playerIndex
-        + " is the dealer and cannot pass until a higher bid is made.");
+    return new InvalidBiddingException(BiddingErrorCode.DEALER_PASSING_ERROR,
+        "Player " + playerIndex + " is the dealer and cannot pass until a higher bid is made.");
   }
 
   /**
@@ -80,7 +111,8 @@ public class InvalidBiddingException extends RuntimeException {
    * @return exception object indicating the error.
    */
   public static InvalidBiddingException biddingCompleted() {
-    return new InvalidBiddingException("Trying to execute bid after bidding is closed.");
+    return new InvalidBiddingException(BiddingErrorCode.BIDDING_COMPLETED_ERROR,
+        "Trying to execute bid after bidding is closed.");
   }
 
   /**
@@ -90,7 +122,8 @@ public class InvalidBiddingException extends RuntimeException {
    * @return exception object indicating the error.
    */
   public static InvalidBiddingException biddingInProgress() {
-    return new InvalidBiddingException("Trying to play cards before bidding is complete.");
+    return new InvalidBiddingException(BiddingErrorCode.BIDDING_IN_PROGRESS_ERROR,
+        "Trying to play cards before bidding is complete.");
   }
 
   /**
@@ -100,7 +133,8 @@ public class InvalidBiddingException extends RuntimeException {
    * @return exception object indicating the error.
    */
   public static InvalidBiddingException trumpDeclarationWhileBidding() {
-    return new InvalidBiddingException("Trying to declare trump before the bid has been won.");
+    return new InvalidBiddingException(BiddingErrorCode.TRUMP_DECLARATION_WHILE_BIDDING_ERROR,
+        "Trying to declare trump before the bid has been won.");
   }
 
   /**
@@ -110,6 +144,42 @@ public class InvalidBiddingException extends RuntimeException {
    * @return exception object indicating the error.
    */
   public static InvalidBiddingException trumpDeclarationAfterBiddingComplete() {
-    return new InvalidBiddingException("Trying to declare trump after it was already declared.");
+    return new InvalidBiddingException(BiddingErrorCode.TRUMP_ALREADY_DECLARED_ERROR,
+        "Trying to declare trump after it was already declared.");
+  }
+
+  /**
+   * Generates the exception object conveying an attempt at declaring trump before the partners
+   * have passed cards.
+   *
+   * @return exception object indicating the error.
+   */
+  public static InvalidBiddingException passingInProgress() {
+    return new InvalidBiddingException(BiddingErrorCode.PASSING_IN_PROGRESS_ERROR,
+        "Trying to declare trump before the cards have been passed.");
+  }
+
+  /**
+   * Generates the exception object conveying an attempt at passing cards when no cards are to
+   * be passed.
+   *
+   * @return exception object indicating the error.
+   */
+  public static InvalidBiddingException passingClosed() {
+    return new InvalidBiddingException(BiddingErrorCode.INVALID_PASS_ERROR,
+        "Trying to pass cards when no cards are to be passed.");
+  }
+
+  /**
+   * Generates the exception object conveying an attempt at passing the wrong number of cards or
+   * cards not held by the player.
+   *
+   * @param playerIndex index of the player passing.
+   * @param passCount number of cards the player must pass.
+   * @return exception object indicating the error.
+   */
+  public static InvalidBiddingException invalidPass(int playerIndex, int passCount) {
+    return new InvalidBiddingException(BiddingErrorCode.INVALID_PASS_ERROR,
+        "Player " + playerIndex + " must pass exactly " + passCount + " cards from their hand.");
   }
 }
@@ -0,0 +1,68 @@
+package org.eelbbor.pinochle.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for a bid or pass during the auction, including rejected bids.
+ *
+ * @author Robb Lee (robbmlee@gmail.com).
+ */
+@Name("org.eelbbor.pinochle.Bid")
+@Label("Bid")
+@Category({"Pinochle", "Bidding"})
+@Description("Bid or pass cast by a player, with the reason if it was rejected.")
+@StackTrace(false)
+public final class BidEvent extends jdk.jfr.Event {
+  private static final EventGate GATE = new EventGate(BidEvent.class);
+
+  @Label("Player")
+  private int player;
+
+  @Label("Bid")
+  @Description("Value bid or zero for a pass.")
+  private int bid;
+
+  @Label("Passed")
+  private boolean passed;
+
+  @Label("Rejection")
+  @Description("Message of the InvalidBiddingException if the bid was rejected.")
+  private String rejection;
+
+  /**
+   * Creates and begins an event for a bid or pass if a recording enables it.
+   *
+   * @return begun event or null when the event is disabled.
+   */
+  public static BidEvent beginIfEnabled() {
+    if (!GATE.isEnabled()) {
+      return null;
+    }
+    BidEvent event = new BidEvent();
+    event.begin();
+    return event;
+  }
+
+  /**
+   * Ends the event and commits it with the details of the bid if the event is enabled.
+   *
+   * @param player index of the bidding player.
+   * @param bid value bid or zero for a pass.
+   * @param passed whether the player passed.
+   * @param rejection reason the bid was rejected or null if it was accepted.
+   */
+  public void commit(int player, int bid, boolean passed, String rejection) {
+    end();
+    if (shouldCommit()) {
+      this.player = player;
+      this.bid = bid;
+      this.passed = passed;
+      this.rejection = rejection;
+      commit();
+    }
+  }
+}
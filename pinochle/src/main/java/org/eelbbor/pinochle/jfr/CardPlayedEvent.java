@@ -0,0 +1,69 @@
+package org.eelbbor.pinochle.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.eelbbor.pinochle.Card;
+import org.eelbbor.pinochle.exceptions.CardPlayingErrorCode;
+
+/**
+ * Flight recorder event for playing a card on a trick. The duration of the event is the time
+ * spent validating the play, a rejected play records its {@link CardPlayingErrorCode}.
+ *
+ * @author Robb Lee (robbmlee@gmail.com).
+ */
+@Name("org.eelbbor.pinochle.CardPlayed")
+@Label("Card Played")
+@Category({"Pinochle", "Play"})
+@Description("Validation of a card played on a trick, with the error code if it was rejected.")
+@StackTrace(false)
+public final class CardPlayedEvent extends jdk.jfr.Event {
+  private static final EventGate GATE = new EventGate(CardPlayedEvent.class);
+
+  @Label("Player")
+  private int player;
+
+  @Label("Card")
+  private String card;
+
+  @Label("Accepted")
+  private boolean accepted;
+
+  @Label("Error Code")
+  private String errorCode;
+
+  /**
+   * Creates and begins an event for a card play if a recording enables it, so plays create no
+   * event while not recording.
+   *
+   * @return begun event or null when the event is disabled.
+   */
+  public static CardPlayedEvent beginIfEnabled() {
+    if (!GATE.isEnabled()) {
+      return null;
+    }
+    CardPlayedEvent event = new CardPlayedEvent();
+    event.begin();
+    return event;
+  }
+
+  /**
+   * Ends the event and commits it with the details of the play if the event is enabled.
+   *
+   * @param player index of the player playing the card.
+   * @param card card played.
+   * @param errorCode reason the play was rejected or null if it was accepted.
+   */
+  public void commit(int player, Card card, CardPlayingErrorCode errorCode) {
+    end();
+    if (shouldCommit()) {
+      this.player = player;
+      this.card = card.toString();
+      this.accepted = errorCode == null;
+      this.errorCode = errorCode == null ? null : errorCode.name();
+      commit();
+    }
+  }
+}
@@ -0,0 +1,47 @@
+package org.eelbbor.pinochle.jfr;
+
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+
+/**
+ * Tells whether an event of the package is enabled before it is created, so the game creates no
+ * events while nothing records them. Until the flight recorder is initialized, by a recording or
+ * {@code -XX:StartFlightRecording}, no event can be enabled and the check is the read of a flag
+ * set by a {@link FlightRecorderListener}, which avoids initializing the recorder just to ask.
+ * After that the {@link EventType} of the event is looked up once and asked on every check.
+ *
+ * @author Robb Lee (robbmlee@gmail.com).
+ */
+final class EventGate {
+  private static volatile boolean recorderInitialized;
+
+  static {
+    FlightRecorder.addListener(new FlightRecorderListener() {
+      @Override
+      public void recorderInitialized(FlightRecorder recorder) {
+        recorderInitialized = true;
+      }
+    });
+  }
+
+  private final Class<? extends Event> eventClass;
+  private volatile EventType type;
+
+  EventGate(Class<? extends Event> eventClass) {
+    this.eventClass = eventClass;
+  }
+
+  boolean isEnabled() {
+    if (!recorderInitialized) {
+      return false;
+    }
+    EventType eventType = type;
+    if (eventType == null) {
+      eventType = EventType.getEventType(eventClass);
+      type = eventType;
+    }
+    return eventType.isEnabled();
+  }
+}
@@ -0,0 +1,61 @@
+package org.eelbbor.pinochle.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.eelbbor.pinochle.RuleSet;
+
+/**
+ * Flight recorder event spanning the shuffle and deal at the start of a hand.
+ *
+ * @author Robb Lee (robbmlee@gmail.com).
+ */
+@Name("org.eelbbor.pinochle.HandDealt")
+@Label("Hand Dealt")
+@Category({"Pinochle", "Game"})
+@Description("Shuffle and deal of the cards at the start of a hand.")
+@StackTrace(false)
+public final class HandDealtEvent extends jdk.jfr.Event {
+  private static final EventGate GATE = new EventGate(HandDealtEvent.class);
+
+  @Label("Dealer")
+  private int dealer;
+
+  @Label("Players")
+  private int players;
+
+  @Label("Hand Size")
+  private int handSize;
+
+  /**
+   * Creates and begins an event for a deal if a recording enables it.
+   *
+   * @return begun event or null when the event is disabled.
+   */
+  public static HandDealtEvent beginIfEnabled() {
+    if (!GATE.isEnabled()) {
+      return null;
+    }
+    HandDealtEvent event = new HandDealtEvent();
+    event.begin();
+    return event;
+  }
+
+  /**
+   * Ends the event and commits it with the details of the deal if the event is enabled.
+   *
+   * @param dealer index of the dealing player.
+   * @param rules variant the hand is dealt for.
+   */
+  public void commit(int dealer, RuleSet rules) {
+    end();
+    if (shouldCommit()) {
+      this.dealer = dealer;
+      this.players = rules.getPlayers();
+      this.handSize = rules.getHandSize();
+      commit();
+    }
+  }
+}
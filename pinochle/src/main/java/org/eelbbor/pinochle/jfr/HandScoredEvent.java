@@ -0,0 +1,73 @@
+package org.eelbbor.pinochle.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for scoring a completed hand, either after the last trick or when the
+ * bidding team is set for insufficient meld.
+ *
+ * @author Robb Lee (robbmlee@gmail.com).
+ */
+@Name("org.eelbbor.pinochle.HandScored")
+@Label("Hand Scored")
+@Category({"Pinochle", "Play"})
+@Description("Points awarded to the bidding team and its opponents for a completed hand.")
+@StackTrace(false)
+public final class HandScoredEvent extends jdk.jfr.Event {
+  private static final EventGate GATE = new EventGate(HandScoredEvent.class);
+
+  @Label("Bidding Team")
+  private int biddingTeam;
+
+  @Label("Bid")
+  private int bid;
+
+  @Label("Bidding Team Points")
+  @Description("Points added to the bidding team score, negative when the team is set.")
+  private int biddingTeamPoints;
+
+  @Label("Opposing Points")
+  @Description("Points added to the scores of the teams that did not take the bid.")
+  private int opposingPoints;
+
+  @Label("Set")
+  private boolean set;
+
+  /**
+   * Creates and commits an event with the totals of the hand if a recording enables it, without
+   * creating an event otherwise.
+   *
+   * @param biddingTeam index of the team that took the bid.
+   * @param bid winning bid.
+   * @param teamPoints points added to each team indexed by team.
+   */
+  public static void report(int biddingTeam, int bid, int[] teamPoints) {
+    if (GATE.isEnabled()) {
+      new HandScoredEvent().commit(biddingTeam, bid, teamPoints);
+    }
+  }
+
+  /**
+   * Commits the event with the totals of the hand if the event is enabled.
+   *
+   * @param biddingTeam index of the team that took the bid.
+   * @param bid winning bid.
+   * @param teamPoints points added to each team indexed by team.
+   */
+  public void commit(int biddingTeam, int bid, int[] teamPoints) {
+    if (shouldCommit()) {
+      this.biddingTeam = biddingTeam;
+      this.bid = bid;
+      this.biddingTeamPoints = teamPoints[biddingTeam];
+      for (int team = 0; team < teamPoints.length; team++) {
+        opposingPoints += team == biddingTeam ? 0 : teamPoints[team];
+      }
+      this.set = teamPoints[biddingTeam] < 0;
+      commit();
+    }
+  }
+}
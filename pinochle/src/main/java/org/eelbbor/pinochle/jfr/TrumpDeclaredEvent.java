@@ -0,0 +1,80 @@
+package org.eelbbor.pinochle.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.eelbbor.carddeck.standard.Suite;
+
+/**
+ * Flight recorder event for the declaration of trump along with the meld it gave each side.
+ *
+ * @author Robb Lee (robbmlee@gmail.com).
+ */
+@Name("org.eelbbor.pinochle.TrumpDeclared")
+@Label("Trump Declared")
+@Category({"Pinochle", "Bidding"})
+@Description("Trump declared by the player taking the bid and the resulting meld totals.")
+@StackTrace(false)
+public final class TrumpDeclaredEvent extends jdk.jfr.Event {
+  private static final EventGate GATE = new EventGate(TrumpDeclaredEvent.class);
+
+  @Label("Player")
+  private int player;
+
+  @Label("Trump")
+  private String trump;
+
+  @Label("Bid")
+  private int bid;
+
+  @Label("Bidding Team Meld")
+  private int biddingTeamMeld;
+
+  @Label("Opposing Meld")
+  @Description("Total meld of the teams that did not take the bid.")
+  private int opposingMeld;
+
+  @Label("Insufficient Meld")
+  @Description("Whether the bidding team lacked the minimum meld and was set immediately.")
+  private boolean insufficientMeld;
+
+  /**
+   * Creates and begins an event for a trump declaration if a recording enables it.
+   *
+   * @return begun event or null when the event is disabled.
+   */
+  public static TrumpDeclaredEvent beginIfEnabled() {
+    if (!GATE.isEnabled()) {
+      return null;
+    }
+    TrumpDeclaredEvent event = new TrumpDeclaredEvent();
+    event.begin();
+    return event;
+  }
+
+  /**
+   * Ends the event and commits it with the details of the declaration if the event is enabled.
+   *
+   * @param player index of the player who took the bid.
+   * @param trump declared trump suite.
+   * @param bid winning bid.
+   * @param biddingTeamMeld meld counted for the bidding team.
+   * @param opposingMeld meld counted for the other teams.
+   * @param insufficientMeld whether the bidding team was set for lack of meld.
+   */
+  public void commit(int player, Suite trump, int bid, int biddingTeamMeld, int opposingMeld,
+      boolean insufficientMeld) {
+    end();
+    if (shouldCommit()) {
+      this.player = player;
+      this.trump = trump.name();
+      this.bid = bid;
+      this.biddingTeamMeld = biddingTeamMeld;
+      this.opposingMeld = opposingMeld;
+      this.insufficientMeld = insufficientMeld;
+      commit();
+    }
+  }
+}
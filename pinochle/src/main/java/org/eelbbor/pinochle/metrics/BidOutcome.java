@@ -0,0 +1,35 @@
+package org.eelbbor.pinochle.metrics;
+
+import java.util.Locale;
+
+/**
+ * Enum of the outcomes a bidding operation is timed under, see
+ * {@link EngineMetrics#getBidLatency(BidOutcome)}.
+ *
+ * @author Robb Lee (robbmlee@gmail.com).
+ */
+public enum BidOutcome {
+  /**
+   * Bid accepted as the new high bid.
+   */
+  ACCEPTED,
+
+  /**
+   * Bid or pass rejected by the bidding rules.
+   */
+  REJECTED,
+
+  /**
+   * Pass accepted.
+   */
+  PASS;
+
+  /**
+   * Returns the value of the outcome label in the Prometheus export.
+   *
+   * @return lower case name of the outcome.
+   */
+  public String getLabel() {
+    return name().toLowerCase(Locale.ROOT);
+  }
+}
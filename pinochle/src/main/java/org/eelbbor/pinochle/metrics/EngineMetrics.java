@@ -0,0 +1,253 @@
+package org.eelbbor.pinochle.metrics;
+
+import org.eelbbor.pinochle.exceptions.BiddingErrorCode;
+import org.eelbbor.pinochle.exceptions.CardPlayingErrorCode;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Always on counters and latency histograms for the engine hot paths: cards played on a trick by
+ * validation outcome, bidding operations rejected by {@link BiddingErrorCode}, passes, hands a
+ * game counts meld for, deals and the latency of {@link org.eelbbor.pinochle.Game#playCard} and of
+ * {@link org.eelbbor.pinochle.Game#bid} and {@link org.eelbbor.pinochle.Game#pass} by
+ * {@link BidOutcome}. Counters are striped {@link LongAdder} objects so
+ * recording is an uncontended add from any number of threads, reads sum the stripes.
+ * <p/>
+ * A game records to {@link EngineMetrics#getDefault()} unless given its own registry, and
+ * {@link EngineMetrics#writePrometheus(Appendable)} exports the registry in the Prometheus text
+ * format, see {@link MetricsServer} for serving it.
+ *
+ * @author Robb Lee (robbmlee@gmail.com).
+ */
+public final class EngineMetrics {
+  /**
+   * Content type of the Prometheus text exposition format.
+   */
+  public static final String PROMETHEUS_CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+  private static final EngineMetrics DEFAULT = new EngineMetrics();
+  private static final double NANOS_PER_SECOND = 1e9;
+
+  private final LongAdder playsAccepted = new LongAdder();
+  private final LongAdder[] playsRejected = adders(CardPlayingErrorCode.values().length);
+  private final LongAdder bidsAccepted = new LongAdder();
+  private final LongAdder[] bidsRejected = adders(BiddingErrorCode.values().length);
+  private final LongAdder passes = new LongAdder();
+  private final LongAdder meldCounts = new LongAdder();
+  private final LongAdder deals = new LongAdder();
+  private final LatencyHistogram playLatency = new LatencyHistogram();
+  private final LatencyHistogram[] bidLatency = histograms(BidOutcome.values().length);
+
+  /**
+   * Returns the process wide registry games and meld counting record to by default.
+   *
+   * @return shared registry.
+   */
+  public static EngineMetrics getDefault() {
+    return DEFAULT;
+  }
+
+  /**
+   * Records a card accepted on a trick.
+   *
+   * @param nanos latency of playing the card in nanoseconds.
+   */
+  public void recordPlay(long nanos) {
+    playsAccepted.increment();
+    playLatency.record(nanos);
+  }
+
+  /**
+   * Records a card rejected from a trick.
+   *
+   * @param errorCode reason the card was rejected.
+   * @param nanos latency of validating the card in nanoseconds.
+   */
+  public void recordRejectedPlay(CardPlayingErrorCode errorCode, long nanos) {
+    playsRejected[errorCode.ordinal()].increment();
+    playLatency.record(nanos);
+  }
+
+  /**
+   * Records an accepted bid.
+   *
+   * @param nanos latency of the bid in nanoseconds.
+   */
+  public void recordBid(long nanos) {
+    bidsAccepted.increment();
+    bidLatency[BidOutcome.ACCEPTED.ordinal()].record(nanos);
+  }
+
+  /**
+   * Records an accepted pass.
+   *
+   * @param nanos latency of the pass in nanoseconds.
+   */
+  public void recordPass(long nanos) {
+    passes.increment();
+    bidLatency[BidOutcome.PASS.ordinal()].record(nanos);
+  }
+
+  /**
+   * Records a rejected bid or pass.
+   *
+   * @param errorCode reason the operation was rejected.
+   * @param nanos latency of validating the operation in nanoseconds.
+   */
+  public void recordRejectedBid(BiddingErrorCode errorCode, long nanos) {
+    recordRejectedBid(errorCode);
+    bidLatency[BidOutcome.REJECTED.ordinal()].record(nanos);
+  }
+
+  /**
+   * Records a rejected pass of cards, trump declaration or card played while bidding, which are
+   * not timed.
+   *
+   * @param errorCode reason the operation was rejected.
+   */
+  public void recordRejectedBid(BiddingErrorCode errorCode) {
+    bidsRejected[errorCode.ordinal()].increment();
+  }
+
+  public void recordMeldCount() {
+    meldCounts.increment();
+  }
+
+  public void recordDeal() {
+    deals.increment();
+  }
+
+  public long getPlaysAccepted() {
+    return playsAccepted.sum();
+  }
+
+  public long getPlaysRejected(CardPlayingErrorCode errorCode) {
+    return playsRejected[errorCode.ordinal()].sum();
+  }
+
+  public long getBidsAccepted() {
+    return bidsAccepted.sum();
+  }
+
+  public long getBidsRejected(BiddingErrorCode errorCode) {
+    return bidsRejected[errorCode.ordinal()].sum();
+  }
+
+  public long getPasses() {
+    return passes.sum();
+  }
+
+  public long getMeldCounts() {
+    return meldCounts.sum();
+  }
+
+  public long getDeals() {
+    return deals.sum();
+  }
+
+  public LatencyHistogram.Snapshot getPlayLatency() {
+    return playLatency.snapshot();
+  }
+
+  public LatencyHistogram.Snapshot getBidLatency(BidOutcome outcome) {
+    return bidLatency[outcome.ordinal()].snapshot();
+  }
+
+  /**
+   * Writes the metrics in the Prometheus text exposition format. Latencies are exported in
+   * seconds with a cumulative bucket at each power of two nanoseconds and a +Inf bucket, the only
+   * one counting latencies beyond {@link LatencyHistogram#MAX_VALUE}.
+   *
+   * @param out destination of the text.
+   * @throws IOException if the destination cannot be written.
+   */
+  public void writePrometheus(Appendable out) throws IOException {
+    writeHeader(out, "pinochle_plays_accepted_total", "counter",
+        "Cards accepted on a trick.");
+    writeSample(out, "pinochle_plays_accepted_total", "", getPlaysAccepted());
+    writeHeader(out, "pinochle_plays_rejected_total", "counter",
+        "Cards rejected from a trick by error code.");
+    for (CardPlayingErrorCode errorCode : CardPlayingErrorCode.values()) {
+      writeSample(out, "pinochle_plays_rejected_total", "code=\"" + errorCode.name() + "\"",
+          getPlaysRejected(errorCode));
+    }
+    writeHeader(out, "pinochle_bids_accepted_total", "counter", "Bids accepted.");
+    writeSample(out, "pinochle_bids_accepted_total", "", getBidsAccepted());
+    writeHeader(out, "pinochle_bids_rejected_total", "counter",
+        "Bidding operations rejected by error code.");
+    for (BiddingErrorCode errorCode : BiddingErrorCode.values()) {
+      writeSample(out, "pinochle_bids_rejected_total", "code=\"" + errorCode.name() + "\"",
+          getBidsRejected(errorCode));
+    }
+    writeHeader(out, "pinochle_passes_total", "counter", "Passes accepted.");
+    writeSample(out, "pinochle_passes_total", "", getPasses());
+    writeHeader(out, "pinochle_meld_counts_total", "counter", "Hands counted for meld.");
+    writeSample(out, "pinochle_meld_counts_total", "", getMeldCounts());
+    writeHeader(out, "pinochle_deals_total", "counter", "Hands dealt.");
+    writeSample(out, "pinochle_deals_total", "", getDeals());
+    writeHeader(out, "pinochle_play_card_seconds", "histogram", "Latency of playing a card.");
+    writeHistogram(out, "pinochle_play_card_seconds", "", getPlayLatency());
+    writeHeader(out, "pinochle_bid_seconds", "histogram",
+        "Latency of a bid or pass by outcome.");
+    for (BidOutcome outcome : BidOutcome.values()) {
+      writeHistogram(out, "pinochle_bid_seconds", "outcome=\"" + outcome.getLabel() + "\"",
+          getBidLatency(outcome));
+    }
+  }
+
+  private static void writeHistogram(Appendable out, String name, String labels,
+      LatencyHistogram.Snapshot snapshot) throws IOException {
+    String prefix = labels.isEmpty() ? "" : labels + ",";
+    for (int index = LatencyHistogram.SUB_BUCKETS - 1; index < LatencyHistogram.getBucketCount();
+        index += LatencyHistogram.SUB_BUCKETS) {
+      long bound = LatencyHistogram.getUpperBound(index);
+      writeSample(out, name + "_bucket", prefix + "le=\"" + seconds(bound) + "\"",
+          snapshot.getCountAtOrBelow(bound));
+    }
+    // Overflow is only counted here so the top finite bucket stays within its bound.
+    writeSample(out, name + "_bucket", prefix + "le=\"+Inf\"", snapshot.getCount());
+    out.append(name).append("_sum");
+    if (!labels.isEmpty()) {
+      out.append('{').append(labels).append('}');
+    }
+    out.append(' ').append(seconds(snapshot.getSum())).append('\n');
+    writeSample(out, name + "_count", labels, snapshot.getCount());
+  }
+
+  private static void writeHeader(Appendable out, String name, String type, String help)
+      throws IOException {
+    out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+    out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+  }
+
+  private static void writeSample(Appendable out, String name, String labels, long value)
+      throws IOException {
+    out.append(name);
+    if (!labels.isEmpty()) {
+      out.append('{').append(labels).append('}');
+    }
+    out.append(' ').append(Long.toString(value)).append('\n');
+  }
+
+  private static String seconds(long nanos) {
+    return String.format(Locale.ROOT, "%.9g", nanos / NANOS_PER_SECOND);
+  }
+
+  private static LatencyHistogram[] histograms(int count) {
+    LatencyHistogram[] histograms = new LatencyHistogram[count];
+    for (int index = 0; index < count; index++) {
+      histograms[index] = new LatencyHistogram();
+    }
+    return histograms;
+  }
+
+  private static LongAdder[] adders(int count) {
+    LongAdder[] adders = new LongAdder[count];
+    for (int index = 0; index < count; index++) {
+      adders[index] = new LongAdder();
+    }
+    return adders;
+  }
+}
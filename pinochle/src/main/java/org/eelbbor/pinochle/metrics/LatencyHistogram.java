@@ -0,0 +1,189 @@
+package org.eelbbor.pinochle.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed bucket log-linear histogram of latencies in nanoseconds. Values are bucketed by their
+ * power of two and then split linearly into {@link LatencyHistogram#SUB_BUCKETS} sub buckets,
+ * bounding the relative error of a bucket to 1 / 8 while covering up to
+ * {@link LatencyHistogram#MAX_VALUE} nanoseconds, about 18 minutes, in a fixed array. Each
+ * bucket is a striped {@link LongAdder} so recording from many threads does not contend and
+ * costs a few shifts and an add.
+ * <p/>
+ * Values above the maximum are counted apart from the buckets as overflow, which has no upper
+ * bound, so no bucket counts a value above its bound.
+ *
+ * @author Robb Lee (robbmlee@gmail.com).
+ */
+public final class LatencyHistogram {
+  /**
+   * Number of linear sub buckets each power of two is split into.
+   */
+  public static final int SUB_BUCKETS = 8;
+
+  /**
+   * Largest value counted by the buckets, larger values are counted as overflow.
+   */
+  public static final long MAX_VALUE = (1L << 40) - 1;
+
+  private static final int SUB_BUCKET_BITS = Integer.numberOfTrailingZeros(SUB_BUCKETS);
+  private static final int BUCKET_COUNT = bucketIndex(MAX_VALUE) + 1;
+
+  private final LongAdder[] buckets;
+  private final LongAdder overflow;
+  private final LongAdder sum;
+
+  /**
+   * Constructor for an empty histogram.
+   */
+  public LatencyHistogram() {
+    buckets = new LongAdder[BUCKET_COUNT];
+    for (int index = 0; index < BUCKET_COUNT; index++) {
+      buckets[index] = new LongAdder();
+    }
+    overflow = new LongAdder();
+    sum = new LongAdder();
+  }
+
+  /**
+   * Records a latency, negative values are recorded as zero.
+   *
+   * @param nanos latency in nanoseconds.
+   */
+  public void record(long nanos) {
+    long value = Math.max(0, nanos);
+    if (value > MAX_VALUE) {
+      overflow.increment();
+    } else {
+      buckets[bucketIndex(value)].increment();
+    }
+    sum.add(value);
+  }
+
+  /**
+   * Returns a point in time copy of the histogram. The copy is not atomic across buckets, values
+   * recorded concurrently may or may not be included.
+   *
+   * @return snapshot of the bucket counts.
+   */
+  public Snapshot snapshot() {
+    long[] counts = new long[BUCKET_COUNT];
+    for (int index = 0; index < BUCKET_COUNT; index++) {
+      counts[index] = buckets[index].sum();
+    }
+    return new Snapshot(counts, overflow.sum(), sum.sum());
+  }
+
+  /**
+   * Returns the number of buckets in the histogram.
+   *
+   * @return fixed bucket count.
+   */
+  public static int getBucketCount() {
+    return BUCKET_COUNT;
+  }
+
+  /**
+   * Returns the largest value counted by a bucket.
+   *
+   * @param index index of the bucket.
+   * @return inclusive upper bound of the bucket in nanoseconds.
+   */
+  public static long getUpperBound(int index) {
+    if (index < SUB_BUCKETS) {
+      return index;
+    }
+    int shift = index / SUB_BUCKETS - 1;
+    long subBucket = SUB_BUCKETS + index % SUB_BUCKETS;
+    return ((subBucket + 1) << shift) - 1;
+  }
+
+  static int bucketIndex(long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+    int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+    return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+  }
+
+  /**
+   * Immutable copy of the bucket counts of a {@link LatencyHistogram}.
+   */
+  public static final class Snapshot {
+    private final long[] counts;
+    private final long overflow;
+    private final long count;
+    private final long sum;
+
+    Snapshot(long[] counts, long overflow, long sum) {
+      this.counts = counts;
+      this.overflow = overflow;
+      this.sum = sum;
+      long total = overflow;
+      for (long bucketCount : counts) {
+        total += bucketCount;
+      }
+      this.count = total;
+    }
+
+    public long getCount() {
+      return count;
+    }
+
+    public long getSum() {
+      return sum;
+    }
+
+    public long getBucketCount(int index) {
+      return counts[index];
+    }
+
+    /**
+     * Returns the number of values above {@link LatencyHistogram#MAX_VALUE}, included in
+     * {@link Snapshot#getCount()} but in no bucket.
+     *
+     * @return number of values beyond the buckets.
+     */
+    public long getOverflowCount() {
+      return overflow;
+    }
+
+    /**
+     * Returns the number of values at or below the bound.
+     *
+     * @param nanos inclusive bound in nanoseconds.
+     * @return number of values in the buckets wholly at or below the bound.
+     */
+    public long getCountAtOrBelow(long nanos) {
+      long total = 0;
+      for (int index = 0; index < counts.length && getUpperBound(index) <= nanos; index++) {
+        total += counts[index];
+      }
+      return total;
+    }
+
+    /**
+     * Returns an upper estimate of the value at the quantile, the upper bound of the bucket
+     * holding it.
+     *
+     * @param quantile quantile ranging from 0 to 1.
+     * @return estimated value in nanoseconds, {@link Long#MAX_VALUE} if it is an overflow or zero
+     *     if the histogram is empty.
+     */
+    public long getValueAtQuantile(double quantile) {
+      if (quantile < 0 || quantile > 1) {
+        throw new IllegalArgumentException("Quantile must be between 0 and 1 but was "
+            + quantile + ".");
+      }
+      long rank = Math.max(1, (long) Math.ceil(quantile * count));
+      long seen = 0;
+      for (int index = 0; index < counts.length; index++) {
+        seen += counts[index];
+        if (seen >= rank) {
+          return getUpperBound(index);
+        }
+      }
+      return overflow > 0 ? Long.MAX_VALUE : 0;
+    }
+  }
+}
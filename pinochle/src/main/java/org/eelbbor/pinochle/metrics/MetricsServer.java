@@ -0,0 +1,65 @@
+package org.eelbbor.pinochle.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Serves an {@link EngineMetrics} registry in the Prometheus text format at
+ * {@link MetricsServer#PATH} on the loopback interface, for a local agent to scrape. Scrapes are
+ * handled on the single server thread so they never compete with the engine for a pool.
+ *
+ * @author Robb Lee (robbmlee@gmail.com).
+ */
+public final class MetricsServer implements AutoCloseable {
+  public static final String PATH = "/metrics";
+
+  private final HttpServer server;
+
+  /**
+   * Binds the server to a loopback port and starts serving the registry.
+   *
+   * @param metrics registry to serve.
+   * @param port port to bind or zero for an ephemeral port.
+   * @throws IOException if the port cannot be bound.
+   */
+  public MetricsServer(EngineMetrics metrics, int port) throws IOException {
+    server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+    server.createContext(PATH, exchange -> handle(metrics, exchange));
+    server.start();
+  }
+
+  public int getPort() {
+    return server.getAddress().getPort();
+  }
+
+  @Override
+  public void close() {
+    server.stop(0);
+  }
+
+  private static void handle(EngineMetrics metrics, HttpExchange exchange) throws IOException {
+    try {
+      if (!"GET".equals(exchange.getRequestMethod())) {
+        exchange.getResponseHeaders().set("Allow", "GET");
+        exchange.sendResponseHeaders(405, -1);
+        return;
+      }
+      StringBuilder text = new StringBuilder();
+      metrics.writePrometheus(text);
+      byte[] body = text.toString().getBytes(StandardCharsets.UTF_8);
+      exchange.getResponseHeaders().set("Content-Type", EngineMetrics.PROMETHEUS_CONTENT_TYPE);
+      exchange.sendResponseHeaders(200, body.length);
+      try (OutputStream out = exchange.getResponseBody()) {
+        out.write(body);
+      }
+    } finally {
+      exchange.close();
+    }
+  }
+}
@@ -0,0 +1,176 @@
+package org.eelbbor.pinochle.simulation;
+
+import org.eelbbor.carddeck.standard.Suite;
+import org.eelbbor.pinochle.BidManager;
+import org.eelbbor.pinochle.RuleSet;
+import org.eelbbor.pinochle.exceptions.InvalidBiddingException;
+
+import java.util.stream.IntStream;
+
+/**
+ * Runs auctions in bulk through {@link BidManager} with a {@link BidPolicy} per seat to tune
+ * bidding conventions. Rounds are split into fixed size chunks run on a parallel stream, each
+ * chunk with its own {@link RolloutEngine} for dealing, {@link AuctionState} and
+ * {@link AuctionStatistics} accumulator, and the accumulators are merged in chunk order at the
+ * end. Chunks are seeded from their index so results depend only on the seed and not on the
+ * number of threads.
+ *
+ * <p/>
+ * The dealer rotates with the round number. When a {@link PlayEstimator} is set the player winning
+ * the bid declares its best meld suite as trump and the estimate decides whether the contract was
+ * made, otherwise only the auction is simulated.
+ *
+ * @author Robb Lee (robbmlee@gmail.com).
+ */
+public final class AuctionSimulator {
+  /**
+   * Number of rounds run by a worker before its results are merged.
+   */
+  public static final int CHUNK_ROUNDS = 1 << 14;
+
+  private static final long SEED_STRIDE = 0x9E3779B97F4A7C15L;
+
+  private final RuleSet rules;
+  private final BidPolicy[] policies;
+  private PlayEstimator estimator;
+  private boolean recordSequences;
+
+  /**
+   * Creates a simulator for the variant with a policy per seat. A single policy is used for every
+   * seat.
+   *
+   * @param rules variant to simulate.
+   * @param policies bid policy per seat or a single policy for all seats.
+   */
+  public AuctionSimulator(RuleSet rules, BidPolicy... policies) {
+    if (policies.length != 1 && policies.length != rules.getPlayers()) {
+      throw new IllegalArgumentException(
+          "Expected 1 or " + rules.getPlayers() + " bid policies but got " + policies.length + ".");
+    }
+    this.rules = rules;
+    this.policies = new BidPolicy[rules.getPlayers()];
+    for (int player = 0; player < this.policies.length; player++) {
+      this.policies[player] = policies[policies.length == 1 ? 0 : player];
+    }
+  }
+
+  public void setPlayEstimator(PlayEstimator estimator) {
+    this.estimator = estimator;
+  }
+
+  /**
+   * Enables recording every bid and pass into a {@link BidSequenceBuffer}, which takes memory
+   * proportional to the number of rounds.
+   *
+   * @param recordSequences true to record the bid sequences.
+   */
+  public void setRecordSequences(boolean recordSequences) {
+    this.recordSequences = recordSequences;
+  }
+
+  /**
+   * Simulates the given number of auctions.
+   *
+   * @param rounds number of auctions to run.
+   * @param seed seed from which the deals are derived.
+   * @return statistics merged over all rounds.
+   */
+  public AuctionStatistics simulate(long rounds, long seed) {
+    if (rounds < 0 || (recordSequences && rounds > Integer.MAX_VALUE)) {
+      throw new IllegalArgumentException("Invalid number of rounds '" + rounds + "'.");
+    }
+    int chunks = (int) ((rounds + CHUNK_ROUNDS - 1) / CHUNK_ROUNDS);
+    return IntStream.range(0, chunks)
+        .parallel()
+        .mapToObj(chunk -> runChunk(chunk, rounds, seed))
+        .reduce(AuctionStatistics::merge)
+        .orElseGet(() -> new AuctionStatistics(recordSequences));
+  }
+
+  private AuctionStatistics runChunk(int chunk, long rounds, long seed) {
+    RolloutEngine engine = new RolloutEngine(rules, seed + chunk * SEED_STRIDE);
+    AuctionState state = new AuctionState(rules);
+    AuctionStatistics statistics = new AuctionStatistics(recordSequences);
+    BidManager manager = new BidManager(0, rules);
+    long end = Math.min(rounds, (long) (chunk + 1) * CHUNK_ROUNDS);
+    for (long round = (long) chunk * CHUNK_ROUNDS; round < end; round++) {
+      runRound((int) (round % rules.getPlayers()), engine, state, manager, statistics);
+    }
+    return statistics;
+  }
+
+  private void runRound(int dealer, RolloutEngine engine, AuctionState state,
+      BidManager manager, AuctionStatistics statistics) {
+    BidSequenceBuffer sequences = statistics.getSequences();
+    engine.deal();
+    state.deal(engine);
+    manager.reset(dealer);
+    state.setManager(manager);
+
+    boolean anyBid = false;
+    int rejected = 0;
+    int player = dealer;
+    while (manager.isBidding()) {
+      player = player == rules.getPlayers() - 1 ? 0 : player + 1;
+      if (manager.playerPassed(player)) {
+        continue;
+      }
+
+      int bid = policies[player].chooseBid(state, player);
+      if (bid != BidPolicy.PASS) {
+        try {
+          manager.bid(player, bid);
+        } catch (InvalidBiddingException ex) {
+          rejected++;
+          bid = BidPolicy.PASS;
+        }
+      }
+      if (bid == BidPolicy.PASS) {
+        try {
+          manager.pass(player);
+        } catch (InvalidBiddingException ex) {
+          // The dealer may not pass without a bid on the table.
+          bid = manager.getMinBid();
+          manager.bid(player, bid);
+        }
+      }
+      anyBid |= bid != BidPolicy.PASS;
+      if (sequences != null) {
+        sequences.recordAction(player, bid);
+      }
+    }
+
+    int declarer = manager.getHighBidPlayerIndex();
+    int contract = manager.getBid();
+    statistics.recordRound(contract, !anyBid, rejected);
+    int flags = anyBid ? 0 : BidSequenceBuffer.FLAG_STUCK;
+    if (estimator != null) {
+      flags |= estimate(declarer, contract, engine, state, statistics);
+    }
+    if (sequences != null) {
+      sequences.endRound(dealer, declarer, contract, flags);
+    }
+  }
+
+  private int estimate(int declarer, int contract, RolloutEngine engine, AuctionState state,
+      AuctionStatistics statistics) {
+    Suite trump = state.getBestTrump(declarer);
+    int teamMeld = 0;
+    for (int player = 0; player < rules.getPlayers(); player++) {
+      if (state.isPartner(player, declarer)) {
+        teamMeld += state.getMeld(player, trump);
+      }
+    }
+
+    // Without the minimum meld the hand is not played.
+    if (teamMeld < rules.getMinimumMeld()) {
+      statistics.recordOutcome(contract, teamMeld, true);
+      return BidSequenceBuffer.FLAG_SET | BidSequenceBuffer.FLAG_INSUFFICIENT_MELD;
+    }
+
+    int tricks = estimator.estimateTricks(engine, trump, declarer);
+    int achieved = tricks < rules.getMinimumTricks() ? 0 : teamMeld + tricks;
+    statistics.recordOutcome(contract, achieved, false);
+    return achieved < contract ? BidSequenceBuffer.FLAG_SET : 0;
+  }
+}
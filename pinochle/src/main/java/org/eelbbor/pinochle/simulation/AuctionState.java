@@ -0,0 +1,153 @@
+package org.eelbbor.pinochle.simulation;
+
+import org.eelbbor.carddeck.standard.Suite;
+import org.eelbbor.pinochle.BidManager;
+import org.eelbbor.pinochle.Card;
+import org.eelbbor.pinochle.Hand;
+import org.eelbbor.pinochle.RuleSet;
+
+/**
+ * Read only view of a simulated auction handed to a {@link BidPolicy}. The view is reused by
+ * {@link AuctionSimulator} for every round played on a thread, so policies must not keep a
+ * reference to it. Meld is computed once per deal from primitive card counts, see
+ * {@link Hand#countMeld(int[], Suite, RuleSet)}.
+ *
+ * @author Robb Lee (robbmlee@gmail.com).
+ */
+public final class AuctionState {
+  private static final Suite[] SUITES = Suite.values();
+  private static final int VALUES = Card.DISTINCT_CARD_COUNT / SUITES.length;
+
+  private final RuleSet rules;
+  private final int[][] cardCounts;
+  private final int[] bestMeld;
+  private final Suite[] bestTrump;
+  private BidManager manager;
+
+  AuctionState(RuleSet rules) {
+    this.rules = rules;
+    cardCounts = new int[rules.getPlayers()][Card.DISTINCT_CARD_COUNT];
+    bestMeld = new int[rules.getPlayers()];
+    bestTrump = new Suite[rules.getPlayers()];
+  }
+
+  public RuleSet getRules() {
+    return rules;
+  }
+
+  public int getDealer() {
+    return manager.getDealerIndex();
+  }
+
+  public int getCurrentBid() {
+    return manager.getBid();
+  }
+
+  public int getMinimumBid() {
+    return manager.getMinBid();
+  }
+
+  public int getHighBidPlayer() {
+    return manager.getHighBidPlayerIndex();
+  }
+
+  public boolean hasPassed(int player) {
+    return manager.playerPassed(player);
+  }
+
+  /**
+   * Returns the number of copies of a card id dealt to a player.
+   *
+   * @param player index of the player.
+   * @param id card id, see {@link Card#getId()}.
+   * @return number of copies held.
+   */
+  public int getCardCount(int player, int id) {
+    return cardCounts[player][id];
+  }
+
+  /**
+   * Returns the number of cards of a suite dealt to a player.
+   *
+   * @param player index of the player.
+   * @param suite suite to count.
+   * @return number of cards of the suite.
+   */
+  public int getSuiteCount(int player, Suite suite) {
+    int count = 0;
+    for (int id = suite.ordinal() * VALUES; id < (suite.ordinal() + 1) * VALUES; id++) {
+      count += cardCounts[player][id];
+    }
+    return count;
+  }
+
+  /**
+   * Returns the meld of a player with the trump suite that maximizes it.
+   *
+   * @param player index of the player.
+   * @return best meld of the player.
+   */
+  public int getBestMeld(int player) {
+    return bestMeld[player];
+  }
+
+  /**
+   * Returns the trump suite maximizing the meld of a player, ties are broken by the longer suite.
+   *
+   * @param player index of the player.
+   * @return best trump for the player.
+   */
+  public Suite getBestTrump(int player) {
+    return bestTrump[player];
+  }
+
+  /**
+   * Returns the meld of a player for the given trump.
+   *
+   * @param player index of the player.
+   * @param trump trump suite.
+   * @return meld of the player.
+   */
+  public int getMeld(int player, Suite trump) {
+    return Hand.countMeld(cardCounts[player], trump, rules);
+  }
+
+  /**
+   * Indicates if two players are on the same team.
+   *
+   * @param player index of a player.
+   * @param other index of the other player.
+   * @return true if both play for the same team else false.
+   */
+  public boolean isPartner(int player, int other) {
+    return rules.getTeam(player) == rules.getTeam(other);
+  }
+
+  /**
+   * Copies the cards dealt by the engine and evaluates the meld of each player.
+   *
+   * @param engine engine holding the deal.
+   */
+  void deal(RolloutEngine engine) {
+    for (int player = 0; player < cardCounts.length; player++) {
+      int[] counts = cardCounts[player];
+      for (int id = 0; id < counts.length; id++) {
+        counts[id] = engine.getCardCount(player, id);
+      }
+
+      bestMeld[player] = -1;
+      for (Suite trump : SUITES) {
+        int meld = Hand.countMeld(counts, trump, rules);
+        if (meld > bestMeld[player] || (meld == bestMeld[player]
+            && getSuiteCount(player, trump) > getSuiteCount(player, bestTrump[player]))) {
+          bestMeld[player] = meld;
+          bestTrump[player] = trump;
+        }
+      }
+    }
+  }
+
+  void setManager(BidManager manager) {
+    this.manager = manager;
+  }
+}
@@ -0,0 +1,156 @@
+package org.eelbbor.pinochle.simulation;
+
+/**
+ * Distributions accumulated over simulated auctions: the final contract, how often the dealer was
+ * stuck and, when a {@link PlayEstimator} is used, how often and by how much the declaring team
+ * was set. Each worker of {@link AuctionSimulator} fills its own instance which are merged once
+ * the workers finish, so accumulation involves no synchronization.
+ *
+ * @author Robb Lee (robbmlee@gmail.com).
+ */
+public final class AuctionStatistics {
+  /**
+   * Contracts at or above this value share the last histogram bucket.
+   */
+  public static final int CONTRACT_LIMIT = 1024;
+
+  private final long[] contracts;
+  private final BidSequenceBuffer sequences;
+  private long rounds;
+  private long stuckDealer;
+  private long rejectedBids;
+  private long contractTotal;
+  private long estimatedRounds;
+  private long sets;
+  private long insufficientMeld;
+  private long shortfallTotal;
+  private long surplusTotal;
+
+  AuctionStatistics(boolean recordSequences) {
+    contracts = new long[CONTRACT_LIMIT];
+    sequences = recordSequences ? new BidSequenceBuffer() : null;
+  }
+
+  public long getRounds() {
+    return rounds;
+  }
+
+  public long getStuckDealerCount() {
+    return stuckDealer;
+  }
+
+  public long getRejectedBidCount() {
+    return rejectedBids;
+  }
+
+  public long getSetCount() {
+    return sets;
+  }
+
+  public long getInsufficientMeldCount() {
+    return insufficientMeld;
+  }
+
+  /**
+   * Returns the number of rounds ending with the contract.
+   *
+   * @param contract value of the winning bid.
+   * @return number of rounds, contracts at or above {@link AuctionStatistics#CONTRACT_LIMIT} are
+   *     counted in the last bucket.
+   */
+  public long getContractCount(int contract) {
+    return contracts[Math.min(contract, CONTRACT_LIMIT - 1)];
+  }
+
+  /**
+   * Returns the recorded bid sequences if recording was requested.
+   *
+   * @return buffer holding every round in order or null if not recorded.
+   */
+  public BidSequenceBuffer getSequences() {
+    return sequences;
+  }
+
+  public double getMeanContract() {
+    return rounds == 0 ? 0 : (double) contractTotal / rounds;
+  }
+
+  public double getStuckDealerRate() {
+    return rounds == 0 ? 0 : (double) stuckDealer / rounds;
+  }
+
+  /**
+   * Returns the fraction of rounds, among those estimated, in which the declaring team was set
+   * either for lack of meld or by falling short in play.
+   *
+   * @return set rate or zero if no play estimator was used.
+   */
+  public double getSetRate() {
+    return estimatedRounds == 0 ? 0 : (double) sets / estimatedRounds;
+  }
+
+  /**
+   * Returns the average number of points by which a set team overbid its hand.
+   *
+   * @return mean shortfall of the sets or zero if there were none.
+   */
+  public double getMeanOverbid() {
+    return sets == 0 ? 0 : (double) shortfallTotal / sets;
+  }
+
+  /**
+   * Returns the average number of points made beyond the contract when the contract was made,
+   * the room left by underbidding.
+   *
+   * @return mean surplus of the made contracts or zero if there were none.
+   */
+  public double getMeanUnderbid() {
+    long made = estimatedRounds - sets;
+    return made == 0 ? 0 : (double) surplusTotal / made;
+  }
+
+  void recordRound(int contract, boolean stuck, int rejected) {
+    rounds++;
+    contracts[Math.min(contract, CONTRACT_LIMIT - 1)]++;
+    contractTotal += contract;
+    stuckDealer += stuck ? 1 : 0;
+    rejectedBids += rejected;
+  }
+
+  void recordOutcome(int contract, int achieved, boolean meldShort) {
+    estimatedRounds++;
+    insufficientMeld += meldShort ? 1 : 0;
+    if (meldShort || achieved < contract) {
+      sets++;
+      shortfallTotal += contract - achieved;
+    } else {
+      surplusTotal += achieved - contract;
+    }
+  }
+
+  /**
+   * Adds the counts of another instance to this one, appending its sequences after those of this
+   * instance.
+   *
+   * @param other statistics to merge.
+   * @return this instance.
+   */
+  AuctionStatistics merge(AuctionStatistics other) {
+    for (int contract = 0; contract < CONTRACT_LIMIT; contract++) {
+      contracts[contract] += other.contracts[contract];
+    }
+    if (sequences != null) {
+      sequences.append(other.sequences);
+    }
+    rounds += other.rounds;
+    stuckDealer += other.stuckDealer;
+    rejectedBids += other.rejectedBids;
+    contractTotal += other.contractTotal;
+    estimatedRounds += other.estimatedRounds;
+    sets += other.sets;
+    insufficientMeld += other.insufficientMeld;
+    shortfallTotal += other.shortfallTotal;
+    surplusTotal += other.surplusTotal;
+    return this;
+  }
+}
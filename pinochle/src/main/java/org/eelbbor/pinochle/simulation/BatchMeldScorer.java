@@ -0,0 +1,162 @@
+package org.eelbbor.pinochle.simulation;
+
+import org.eelbbor.carddeck.standard.Suite;
+import org.eelbbor.pinochle.Card;
+import org.eelbbor.pinochle.Hand;
+import org.eelbbor.pinochle.PinochleFaceValue;
+import org.eelbbor.pinochle.RuleSet;
+
+/**
+ * Scores the meld of many hands under every trump suite at once, for offline analytics over far
+ * more hands than {@link Hand#countMeld(Suite)} handles one object at a time. Hands are given in
+ * structure of arrays form, one column per card id, see {@link Card#getId()}, holding the copies
+ * of the card in each hand, and the meld is written to one column per trump suite. The results
+ * match {@link Hand#countMeld(int[], Suite, RuleSet)}.
+ *
+ * <p/>
+ * This class scores hand by hand. {@link BatchMeldScorer#create(RuleSet)} returns the scorer of
+ * the optional pinochle-vector module, built with the {@code vector} profile, which scores a lane
+ * of hands per instruction with the incubating {@code jdk.incubator.vector} API when that module
+ * is on the class path and the JVM runs with {@code --add-modules jdk.incubator.vector}, falling
+ * back to this class otherwise.
+ *
+ * @author Robb Lee (robbmlee@gmail.com).
+ */
+public class BatchMeldScorer {
+  /**
+   * Class name of the vectorized scorer loaded by {@link BatchMeldScorer#create(RuleSet)}.
+   */
+  public static final String VECTOR_SCORER = "org.eelbbor.pinochle.vector.VectorMeldScorer";
+
+  private static final int VALUES = PinochleFaceValue.values().length;
+  private static final int SUITES = Suite.values().length;
+  private static final int CARD_IDS = Card.DISTINCT_CARD_COUNT;
+  private static final int[] AROUND_VALUES = {PinochleFaceValue.Jack.ordinal(),
+      PinochleFaceValue.Queen.ordinal(), PinochleFaceValue.King.ordinal(),
+      PinochleFaceValue.Ace.ordinal()};
+  private static final int JACK = PinochleFaceValue.Jack.ordinal();
+  private static final int QUEEN = PinochleFaceValue.Queen.ordinal();
+  private static final int KING = PinochleFaceValue.King.ordinal();
+  private static final int PINOCHLE_JACK = Suite.Diamond.ordinal() * VALUES + JACK;
+  private static final int PINOCHLE_QUEEN = Suite.Spade.ordinal() * VALUES + QUEEN;
+
+  private final RuleSet rules;
+  private final int[][] aroundMeld;
+  private final int[] pinochleMeld;
+  private final int[] runMeld;
+  private final int marriageValue;
+
+  /**
+   * Creates a scalar scorer for the variant.
+   *
+   * @param rules variant providing the meld tables.
+   */
+  public BatchMeldScorer(RuleSet rules) {
+    this.rules = rules;
+    int width = rules.getCopiesPerCard() + 1;
+    aroundMeld = new int[AROUND_VALUES.length][width];
+    pinochleMeld = new int[width];
+    runMeld = new int[width];
+    for (int count = 0; count < width; count++) {
+      for (int value = 0; value < AROUND_VALUES.length; value++) {
+        aroundMeld[value][count] =
+            rules.getAroundMeld(PinochleFaceValue.values()[AROUND_VALUES[value]], count);
+      }
+      pinochleMeld[count] = rules.getPinochleMeld(count);
+      runMeld[count] = rules.getRunMeld(count);
+    }
+    marriageValue = rules.getMarriageValue();
+  }
+
+  /**
+   * Creates the fastest scorer available, the vectorized scorer when it can be loaded otherwise
+   * a scalar {@link BatchMeldScorer}.
+   *
+   * @param rules variant providing the meld tables.
+   * @return new scorer.
+   */
+  public static BatchMeldScorer create(RuleSet rules) {
+    try {
+      return Class.forName(VECTOR_SCORER)
+          .asSubclass(BatchMeldScorer.class)
+          .getConstructor(RuleSet.class)
+          .newInstance(rules);
+    } catch (ReflectiveOperationException | LinkageError ex) {
+      // Module not on the class path or the incubating vector API not enabled.
+      return new BatchMeldScorer(rules);
+    }
+  }
+
+  public RuleSet getRules() {
+    return rules;
+  }
+
+  /**
+   * Scores the meld of the first hands of the columns under every trump suite.
+   *
+   * @param columns copies held per hand, one column of at least count hands per card id.
+   * @param count number of hands to score.
+   * @param meld meld per hand written to one column of at least count hands per trump ordinal.
+   */
+  public void score(byte[][] columns, int count, int[][] meld) {
+    if (columns.length != CARD_IDS || meld.length != SUITES) {
+      throw new IllegalArgumentException("Tried to score " + columns.length + " card columns "
+          + "into " + meld.length + " trump columns.");
+    }
+    for (byte[] column : columns) {
+      checkLength(column.length, count);
+    }
+    for (int[] column : meld) {
+      checkLength(column.length, count);
+    }
+    scoreRange(columns, 0, count, meld);
+  }
+
+  /**
+   * Scores the hands of the range, the columns having been validated. Overridden by vectorized
+   * scorers which score the remainder of a range not filling a vector here.
+   *
+   * @param columns copies held per hand, one column per card id.
+   * @param from index of the first hand to score.
+   * @param to index after the last hand to score.
+   * @param meld meld per hand, one column per trump ordinal.
+   */
+  protected void scoreRange(byte[][] columns, int from, int to, int[][] meld) {
+    for (int hand = from; hand < to; hand++) {
+      int common = 0;
+      for (int value = 0; value < AROUND_VALUES.length; value++) {
+        int around = columns[AROUND_VALUES[value]][hand];
+        for (int suite = 1; suite < SUITES; suite++) {
+          around = Math.min(around, columns[suite * VALUES + AROUND_VALUES[value]][hand]);
+        }
+        common += aroundMeld[value][around];
+      }
+      common +=
+          pinochleMeld[Math.min(columns[PINOCHLE_JACK][hand], columns[PINOCHLE_QUEEN][hand])];
+      int marriages = 0;
+      for (int suite = 0; suite < SUITES; suite++) {
+        marriages += Math.min(columns[suite * VALUES + QUEEN][hand],
+            columns[suite * VALUES + KING][hand]);
+      }
+      common += marriages * marriageValue;
+
+      for (int trump = 0; trump < SUITES; trump++) {
+        int offset = trump * VALUES;
+        int royal = Math.min(columns[offset + QUEEN][hand], columns[offset + KING][hand]);
+        int runs = columns[offset][hand];
+        for (int value = 1; value < VALUES; value++) {
+          runs = Math.min(runs, columns[offset + value][hand]);
+        }
+        // A run holds a royal marriage which is not counted again.
+        meld[trump][hand] = common + (royal - 2 * runs) * marriageValue + runMeld[runs];
+      }
+    }
+  }
+
+  private static void checkLength(int length, int count) {
+    if (count < 0 || length < count) {
+      throw new IllegalArgumentException("Column must hold at least " + count
+          + " hands but was '" + length + "'.");
+    }
+  }
+}
@@ -0,0 +1,50 @@
+package org.eelbbor.pinochle.simulation;
+
+/**
+ * Decides the bid for a player during a simulated auction run by {@link AuctionSimulator}. A
+ * policy is shared by the worker threads of a simulation so implementations must be stateless or
+ * thread safe.
+ *
+ * @author Robb Lee (robbmlee@gmail.com).
+ */
+@FunctionalInterface
+public interface BidPolicy {
+  /**
+   * Value returned to pass.
+   */
+  int PASS = 0;
+
+  /**
+   * Chooses the bid for a player. Bids below {@link AuctionState#getMinimumBid()} or not in the
+   * increments of the rules are rejected and counted by the simulator, after which the player
+   * passes.
+   *
+   * @param state view of the auction and the cards dealt.
+   * @param player index of the player to bid.
+   * @return value of the bid or {@link BidPolicy#PASS}.
+   */
+  int chooseBid(AuctionState state, int player);
+
+  /**
+   * Creates a policy which never bids, leaving the dealer stuck with the minimum bid.
+   *
+   * @return passing policy.
+   */
+  static BidPolicy passing() {
+    return (state, player) -> PASS;
+  }
+
+  /**
+   * Creates a policy which keeps raising by the minimum increment while the next bid does not
+   * exceed the best meld of the player plus the trick points it expects to take.
+   *
+   * @param expectedTricks trick points the player expects to take with its best trump.
+   * @return meld based policy.
+   */
+  static BidPolicy meldPlusTricks(int expectedTricks) {
+    return (state, player) -> {
+      int minimumBid = state.getMinimumBid();
+      return minimumBid <= state.getBestMeld(player) + expectedTricks ? minimumBid : PASS;
+    };
+  }
+}
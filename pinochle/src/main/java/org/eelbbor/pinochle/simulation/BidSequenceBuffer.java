@@ -0,0 +1,185 @@
+package org.eelbbor.pinochle.simulation;
+
+import java.util.Arrays;
+
+/**
+ * Columnar store of simulated auctions. Each round records the dealer, the player that won the
+ * bid, the contract and flags, and each bid or pass made during the round is stored in parallel
+ * action columns with the round holding the offset of its first action. Players are stored as
+ * bytes and bids as shorts, a pass being recorded as {@link BidPolicy#PASS}, so a typical round
+ * of a four player auction takes under 40 bytes.
+ *
+ * <p/>
+ * Instances are not thread safe, {@link AuctionSimulator} fills one buffer per worker and appends
+ * them in round order once the workers finish.
+ *
+ * @author Robb Lee (robbmlee@gmail.com).
+ */
+public final class BidSequenceBuffer {
+  /**
+   * Flag set when every player passed and the dealer was stuck with the minimum bid.
+   */
+  public static final int FLAG_STUCK = 1;
+
+  /**
+   * Flag set when the play estimate left the declaring team short of the contract.
+   */
+  public static final int FLAG_SET = 2;
+
+  /**
+   * Flag set when the declaring team did not have the minimum meld.
+   */
+  public static final int FLAG_INSUFFICIENT_MELD = 4;
+
+  private static final int INITIAL_ROUNDS = 64;
+  private static final int INITIAL_ACTIONS = 256;
+
+  private int roundCount;
+  private int[] actionOffsets;
+  private byte[] dealers;
+  private byte[] declarers;
+  private short[] contracts;
+  private byte[] flags;
+
+  private int actionCount;
+  private byte[] actionPlayers;
+  private short[] actionBids;
+
+  /**
+   * Creates an empty buffer.
+   */
+  public BidSequenceBuffer() {
+    actionOffsets = new int[INITIAL_ROUNDS + 1];
+    dealers = new byte[INITIAL_ROUNDS];
+    declarers = new byte[INITIAL_ROUNDS];
+    contracts = new short[INITIAL_ROUNDS];
+    flags = new byte[INITIAL_ROUNDS];
+    actionPlayers = new byte[INITIAL_ACTIONS];
+    actionBids = new short[INITIAL_ACTIONS];
+  }
+
+  public int getRoundCount() {
+    return roundCount;
+  }
+
+  public int getDealer(int round) {
+    return dealers[round];
+  }
+
+  public int getDeclarer(int round) {
+    return declarers[round];
+  }
+
+  public int getContract(int round) {
+    return contracts[round];
+  }
+
+  public int getFlags(int round) {
+    return flags[round];
+  }
+
+  /**
+   * Returns the number of bids and passes made during a round.
+   *
+   * @param round index of the round.
+   * @return number of actions recorded for the round.
+   */
+  public int getActionCount(int round) {
+    return actionOffsets[round + 1] - actionOffsets[round];
+  }
+
+  /**
+   * Returns the player making an action of a round.
+   *
+   * @param round index of the round.
+   * @param action index of the action within the round.
+   * @return index of the player.
+   */
+  public int getActionPlayer(int round, int action) {
+    return actionPlayers[actionOffsets[round] + action];
+  }
+
+  /**
+   * Returns the bid made by an action of a round.
+   *
+   * @param round index of the round.
+   * @param action index of the action within the round.
+   * @return value of the bid or {@link BidPolicy#PASS}.
+   */
+  public int getActionBid(int round, int action) {
+    return actionBids[actionOffsets[round] + action];
+  }
+
+  /**
+   * Records a bid or pass for the round in progress.
+   *
+   * @param player index of the player.
+   * @param bid value of the bid or {@link BidPolicy#PASS}.
+   */
+  void recordAction(int player, int bid) {
+    if (actionCount == actionPlayers.length) {
+      actionPlayers = Arrays.copyOf(actionPlayers, actionCount * 2);
+      actionBids = Arrays.copyOf(actionBids, actionCount * 2);
+    }
+    actionPlayers[actionCount] = (byte) player;
+    actionBids[actionCount] = (short) bid;
+    actionCount++;
+  }
+
+  /**
+   * Closes the round in progress, the actions recorded since the previous round belong to it.
+   *
+   * @param dealer index of the dealer.
+   * @param declarer index of the player that won the bid.
+   * @param contract value of the winning bid.
+   * @param roundFlags combination of the flag constants.
+   */
+  void endRound(int dealer, int declarer, int contract, int roundFlags) {
+    ensureRoundCapacity(roundCount + 1);
+    dealers[roundCount] = (byte) dealer;
+    declarers[roundCount] = (byte) declarer;
+    contracts[roundCount] = (short) contract;
+    flags[roundCount] = (byte) roundFlags;
+    roundCount++;
+    actionOffsets[roundCount] = actionCount;
+  }
+
+  /**
+   * Appends the rounds of another buffer after the rounds of this buffer.
+   *
+   * @param other buffer to copy from.
+   * @return this buffer.
+   */
+  BidSequenceBuffer append(BidSequenceBuffer other) {
+    ensureRoundCapacity(roundCount + other.roundCount);
+    System.arraycopy(other.dealers, 0, dealers, roundCount, other.roundCount);
+    System.arraycopy(other.declarers, 0, declarers, roundCount, other.roundCount);
+    System.arraycopy(other.contracts, 0, contracts, roundCount, other.roundCount);
+    System.arraycopy(other.flags, 0, flags, roundCount, other.roundCount);
+    for (int round = 1; round <= other.roundCount; round++) {
+      actionOffsets[roundCount + round] = actionCount + other.actionOffsets[round];
+    }
+    roundCount += other.roundCount;
+
+    int actions = actionCount + other.actionCount;
+    if (actions > actionPlayers.length) {
+      actionPlayers = Arrays.copyOf(actionPlayers, actions);
+      actionBids = Arrays.copyOf(actionBids, actions);
+    }
+    System.arraycopy(other.actionPlayers, 0, actionPlayers, actionCount, other.actionCount);
+    System.arraycopy(other.actionBids, 0, actionBids, actionCount, other.actionCount);
+    actionCount = actions;
+    return this;
+  }
+
+  private void ensureRoundCapacity(int rounds) {
+    if (rounds > dealers.length) {
+      int capacity = Math.max(rounds, dealers.length * 2);
+      actionOffsets = Arrays.copyOf(actionOffsets, capacity + 1);
+      dealers = Arrays.copyOf(dealers, capacity);
+      declarers = Arrays.copyOf(declarers, capacity);
+      contracts = Arrays.copyOf(contracts, capacity);
+      flags = Arrays.copyOf(flags, capacity);
+    }
+  }
+}
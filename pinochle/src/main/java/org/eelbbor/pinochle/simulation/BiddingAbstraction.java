@@ -0,0 +1,243 @@
+package org.eelbbor.pinochle.simulation;
+
+import org.eelbbor.carddeck.standard.Suite;
+import org.eelbbor.pinochle.PinochleFaceValue;
+import org.eelbbor.pinochle.RuleSet;
+
+import java.util.Arrays;
+
+/**
+ * Abstraction of the auction run by {@link org.eelbbor.pinochle.BidManager} small enough to solve
+ * with counterfactual regret minimization, shared by {@link BiddingCfrSolver} and
+ * {@link BiddingPolicyTable} so the trainer and the bot index strategies the same way.
+ *
+ * <p/>
+ * A hand is reduced to one of {@link BiddingAbstraction#BUCKETS} strength buckets of its best meld
+ * plus a trick point estimate. Bids are the ladder of legal values from the minimum bid up to a
+ * maximum bid, and a player may pass, raise to the next bid of the ladder or jump at least
+ * {@link BiddingAbstraction#JUMP_POINTS} above it. An information set is the seat of the player
+ * relative to the dealer, its bucket, the current bid, the seat of the high bidder relative to
+ * the player and which other players are still bidding.
+ *
+ * @author Robb Lee (robbmlee@gmail.com).
+ */
+public final class BiddingAbstraction {
+  /**
+   * Number of actions at each information set.
+   */
+  public static final int ACTIONS = 3;
+
+  public static final int ACTION_PASS = 0;
+  public static final int ACTION_RAISE = 1;
+  public static final int ACTION_JUMP = 2;
+
+  /**
+   * Number of hand strength buckets.
+   */
+  public static final int BUCKETS = 16;
+
+  /**
+   * Points of meld plus estimated tricks covered by each bucket.
+   */
+  public static final int BUCKET_WIDTH = 5;
+
+  /**
+   * Least number of points a jump bid adds over the next bid of the ladder.
+   */
+  public static final int JUMP_POINTS = 10;
+
+  private static final int SUITES = Suite.values().length;
+  private static final int VALUES = PinochleFaceValue.values().length;
+
+  private final RuleSet rules;
+  private final int players;
+  private final int[] bids;
+  private final int[] jumpLevels;
+
+  /**
+   * Creates the abstraction of the auction of a variant with bids up to twice the minimum bid.
+   *
+   * @param rules variant of the auction, which must have two teams.
+   */
+  public BiddingAbstraction(RuleSet rules) {
+    this(rules, 2 * rules.getMinimumBid());
+  }
+
+  /**
+   * Creates the abstraction of the auction of a variant.
+   *
+   * @param rules variant of the auction, which must have two teams.
+   * @param maxBid highest bid of the ladder, players pass rather than bid above it.
+   */
+  public BiddingAbstraction(RuleSet rules, int maxBid) {
+    if (rules.getTeamCount() != 2) {
+      throw new IllegalArgumentException("Bidding can only be solved for two teams.");
+    } else if (maxBid < rules.getMinimumBid()) {
+      throw new IllegalArgumentException(
+          "Maximum bid must be at least the minimum bid but was '" + maxBid + "'.");
+    }
+    this.rules = rules;
+    this.players = rules.getPlayers();
+
+    int[] ladder = new int[maxBid - rules.getMinimumBid() + 1];
+    int levels = 0;
+    int bid = rules.getMinimumBid();
+    while (bid <= maxBid) {
+      ladder[levels++] = bid;
+      bid += bid >= rules.getRaisedIncrementBid() ? rules.getRaisedBidIncrement()
+          : rules.getBidIncrement();
+    }
+    bids = Arrays.copyOf(ladder, levels);
+    jumpLevels = new int[levels];
+    for (int level = 0; level < levels; level++) {
+      int jump = level;
+      while (jump < levels && bids[jump] < bids[level] + JUMP_POINTS) {
+        jump++;
+      }
+      jumpLevels[level] = jump < levels ? jump : -1;
+    }
+  }
+
+  public RuleSet getRules() {
+    return rules;
+  }
+
+  public int getMaxBid() {
+    return bids[bids.length - 1];
+  }
+
+  public int getLevelCount() {
+    return bids.length;
+  }
+
+  /**
+   * Returns the value of a bid of the ladder.
+   *
+   * @param level index of the bid in the ladder.
+   * @return value of the bid.
+   */
+  public int getBid(int level) {
+    return bids[level];
+  }
+
+  /**
+   * Returns the index of a bid in the ladder.
+   *
+   * @param bid value of the bid.
+   * @return index of the bid, -1 for no bid or a value not in the ladder.
+   */
+  public int getLevel(int bid) {
+    int level = Arrays.binarySearch(bids, bid);
+    return level < 0 ? -1 : level;
+  }
+
+  /**
+   * Returns the total number of information sets.
+   *
+   * @return number of information sets.
+   */
+  public int getInfosetCount() {
+    return infoset(players, 0, -1, 0, 0);
+  }
+
+  /**
+   * Returns the level an action bids to from the current level.
+   *
+   * @param level index of the current bid, -1 if no bid has been made.
+   * @param action {@link BiddingAbstraction#ACTION_RAISE} or
+   *               {@link BiddingAbstraction#ACTION_JUMP}.
+   * @return index of the bid or -1 if the ladder ends before it.
+   */
+  public int getTargetLevel(int level, int action) {
+    int next = level + 1;
+    if (next >= bids.length) {
+      return -1;
+    }
+    return action == ACTION_RAISE ? next : jumpLevels[next];
+  }
+
+  /**
+   * Indicates which actions are available to the player.
+   *
+   * @param level index of the current bid, -1 if no bid has been made.
+   * @param mayPass false for the dealer facing no bid, who may not pass.
+   * @param legal flags indexed by action set to whether the action is available.
+   * @return number of actions available.
+   */
+  public int legalActions(int level, boolean mayPass, boolean[] legal) {
+    legal[ACTION_PASS] = mayPass;
+    legal[ACTION_RAISE] = getTargetLevel(level, ACTION_RAISE) >= 0;
+    legal[ACTION_JUMP] = getTargetLevel(level, ACTION_JUMP) >= 0;
+    if (!legal[ACTION_PASS] && !legal[ACTION_RAISE]) {
+      // Only possible with a ladder of one bid, the stuck dealer takes it.
+      legal[ACTION_RAISE] = true;
+    }
+    int count = 0;
+    for (boolean available : legal) {
+      count += available ? 1 : 0;
+    }
+    return count;
+  }
+
+  /**
+   * Computes the strength bucket of a player's hand from its best meld plus the trick points it
+   * is expected to take, two per ace and two per card of the best trump beyond an even share of
+   * the suite.
+   *
+   * @param state auction holding the cards dealt.
+   * @param player index of the player.
+   * @return bucket of the hand.
+   */
+  public int bucket(AuctionState state, int player) {
+    int tricks = 0;
+    for (int suite = 0; suite < SUITES; suite++) {
+      tricks += 2 * state.getCardCount(player, suite * VALUES + PinochleFaceValue.Ace.ordinal());
+    }
+    int evenShare = rules.getHandSize() / SUITES;
+    tricks += 2 * Math.max(0, state.getSuiteCount(player, state.getBestTrump(player)) - evenShare);
+    return Math.min(BUCKETS - 1, (state.getBestMeld(player) + tricks) / BUCKET_WIDTH);
+  }
+
+  /**
+   * Returns the index of an information set.
+   *
+   * @param seat seat of the player counted from the dealer.
+   * @param bucket strength bucket of the player's hand.
+   * @param level index of the current bid, -1 if no bid has been made.
+   * @param highBidder seat of the high bidder counted from the player, 0 if no bid has been made.
+   * @param bidding mask of the seats counted from the player, bit one for the next player, of the
+   *                other players still bidding.
+   * @return index of the information set.
+   */
+  public int infoset(int seat, int bucket, int level, int highBidder, int bidding) {
+    int index = seat * BUCKETS + bucket;
+    index = index * (bids.length + 1) + level + 1;
+    index = index * players + highBidder;
+    return (index << (players - 1)) + (bidding >> 1);
+  }
+
+  /**
+   * Returns the index of the information set of a player facing the auction in the state.
+   *
+   * @param state auction in progress.
+   * @param player index of the player to bid.
+   * @return index of the information set or -1 if the current bid is not in the ladder.
+   */
+  public int infoset(AuctionState state, int player) {
+    int level = -1;
+    int highBidder = 0;
+    if (state.getHighBidPlayer() >= 0) {
+      level = getLevel(state.getCurrentBid());
+      if (level < 0) {
+        return -1;
+      }
+      highBidder = Math.floorMod(state.getHighBidPlayer() - player, players);
+    }
+    int bidding = 0;
+    for (int offset = 1; offset < players; offset++) {
+      bidding |= state.hasPassed((player + offset) % players) ? 0 : 1 << offset;
+    }
+    int seat = Math.floorMod(player - state.getDealer(), players);
+    return infoset(seat, bucket(state, player), level, highBidder, bidding);
+  }
+}
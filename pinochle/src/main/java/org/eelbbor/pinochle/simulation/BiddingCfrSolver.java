@@ -0,0 +1,391 @@
+package org.eelbbor.pinochle.simulation;
+
+import org.eelbbor.carddeck.standard.Suite;
+import org.eelbbor.pinochle.Card;
+import org.eelbbor.pinochle.RuleSet;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Trains near equilibrium bidding strategies for the {@link BiddingAbstraction} of the auction by
+ * external sampling Monte Carlo counterfactual regret minimization with the regret matching+
+ * update of CFR+, negative regrets are floored at zero. Each iteration deals a hand with a
+ * {@link RolloutEngine} and, for every player in turn, walks every action of that player while
+ * sampling the actions of the others from their current strategies. At the end of the auction
+ * the declaring team names the best meld trump of the declarer, the hand is played out once by
+ * {@link RolloutEngine#POLICY_GREEDY} and scored as by {@link org.eelbbor.pinochle.HandScorer},
+ * the utility of a team being its score less that of the other team.
+ *
+ * <p/>
+ * Iterations are split into chunks run on a parallel stream, each chunk with its own engine and
+ * random source seeded from the chunk index. Regrets and strategy sums are flat float arrays of
+ * {@link BiddingAbstraction#ACTIONS} entries per information set updated by every worker without
+ * locks, a racing update may be lost which only adds noise to the sampled regrets, so training is
+ * only reproducible when run on a single thread. A checkpoint of the tables is written between
+ * batches of chunks when a checkpoint file is set and training resumes from it with
+ * {@link BiddingCfrSolver#restore(Path, BiddingAbstraction)}.
+ *
+ * @author Robb Lee (robbmlee@gmail.com).
+ */
+public final class BiddingCfrSolver {
+  /**
+   * Number of iterations run by a worker before it picks up the next chunk.
+   */
+  public static final int CHUNK_ITERATIONS = 1 << 8;
+
+  private static final int MAGIC = 0x50434652;
+  private static final long SEED_STRIDE = 0x9E3779B97F4A7C15L;
+  private static final float UTILITY_SCALE = 100f;
+
+  private final BiddingAbstraction abstraction;
+  private final RuleSet rules;
+  private final float[] regrets;
+  private final float[] strategySums;
+  private long iterations;
+  private Path checkpoint;
+
+  /**
+   * Creates a solver with empty regret tables.
+   *
+   * @param abstraction abstraction of the auction to solve.
+   */
+  public BiddingCfrSolver(BiddingAbstraction abstraction) {
+    this.abstraction = abstraction;
+    this.rules = abstraction.getRules();
+    regrets = new float[abstraction.getInfosetCount() * BiddingAbstraction.ACTIONS];
+    strategySums = new float[regrets.length];
+  }
+
+  /**
+   * Restores a solver from a checkpoint written during training.
+   *
+   * @param path checkpoint file.
+   * @param abstraction abstraction the checkpoint was trained for.
+   * @return solver holding the tables of the checkpoint.
+   */
+  public static BiddingCfrSolver restore(Path path, BiddingAbstraction abstraction) {
+    BiddingCfrSolver solver = new BiddingCfrSolver(abstraction);
+    try (DataInputStream in = new DataInputStream(
+        new BufferedInputStream(Files.newInputStream(path)))) {
+      if (in.readInt() != MAGIC || in.readInt() != abstraction.getRules().getPlayers()
+          || in.readInt() != abstraction.getMaxBid() || in.readInt() != solver.regrets.length) {
+        throw new IllegalArgumentException(
+            "File '" + path + "' is not a bidding checkpoint for the abstraction.");
+      }
+      solver.iterations = in.readLong();
+      for (int index = 0; index < solver.regrets.length; index++) {
+        solver.regrets[index] = in.readFloat();
+      }
+      for (int index = 0; index < solver.strategySums.length; index++) {
+        solver.strategySums[index] = in.readFloat();
+      }
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Tried to read bidding checkpoint '" + path + "'.", ex);
+    }
+    return solver;
+  }
+
+  public BiddingAbstraction getAbstraction() {
+    return abstraction;
+  }
+
+  public long getIterations() {
+    return iterations;
+  }
+
+  /**
+   * Sets the file a checkpoint is written to between batches of chunks during training.
+   *
+   * @param checkpoint checkpoint file or null to disable checkpoints.
+   */
+  public void setCheckpoint(Path checkpoint) {
+    this.checkpoint = checkpoint;
+  }
+
+  /**
+   * Runs training iterations, continuing from any iterations already run.
+   *
+   * @param count number of iterations to run.
+   * @param seed seed from which the deals and sampled actions are derived.
+   */
+  public void train(long count, long seed) {
+    if (count < 0) {
+      throw new IllegalArgumentException("Invalid number of iterations '" + count + "'.");
+    }
+    long firstChunk = iterations / CHUNK_ITERATIONS;
+    long chunks = (count + CHUNK_ITERATIONS - 1) / CHUNK_ITERATIONS;
+    int batch = checkpoint == null ? Integer.MAX_VALUE
+        : Math.max(1, ForkJoinPool.getCommonPoolParallelism());
+    for (long start = 0; start < chunks; start += batch) {
+      long end = Math.min(chunks, start + batch);
+      long first = start;
+      IntStream.range(0, (int) (end - start))
+          .parallel()
+          .forEach(chunk -> {
+            long index = first + chunk;
+            long chunkIterations = Math.min(CHUNK_ITERATIONS, count - index * CHUNK_ITERATIONS);
+            new Worker(seed + (firstChunk + index) * SEED_STRIDE).run(chunkIterations);
+          });
+      iterations += Math.min(count, end * CHUNK_ITERATIONS) - start * CHUNK_ITERATIONS;
+      if (checkpoint != null) {
+        write(checkpoint);
+      }
+    }
+  }
+
+  /**
+   * Writes the regret and strategy tables to a file, replacing it atomically.
+   *
+   * @param path checkpoint file.
+   */
+  public void write(Path path) {
+    Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+    try (DataOutputStream out = new DataOutputStream(
+        new BufferedOutputStream(Files.newOutputStream(temp)))) {
+      out.writeInt(MAGIC);
+      out.writeInt(rules.getPlayers());
+      out.writeInt(abstraction.getMaxBid());
+      out.writeInt(regrets.length);
+      out.writeLong(iterations);
+      for (float regret : regrets) {
+        out.writeFloat(regret);
+      }
+      for (float sum : strategySums) {
+        out.writeFloat(sum);
+      }
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Tried to write bidding checkpoint '" + path + "'.", ex);
+    }
+    try {
+      Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Tried to write bidding checkpoint '" + path + "'.", ex);
+    }
+  }
+
+  /**
+   * Exports the average strategy, the strategy converging to equilibrium, as a policy table.
+   *
+   * @return policy table for a bidding bot.
+   */
+  public BiddingPolicyTable exportPolicy() {
+    float[] probabilities = new float[regrets.length];
+    for (int offset = 0; offset < probabilities.length; offset += BiddingAbstraction.ACTIONS) {
+      float total = 0;
+      for (int action = 0; action < BiddingAbstraction.ACTIONS; action++) {
+        total += strategySums[offset + action];
+      }
+      for (int action = 0; total > 0 && action < BiddingAbstraction.ACTIONS; action++) {
+        probabilities[offset + action] = strategySums[offset + action] / total;
+      }
+    }
+    return new BiddingPolicyTable(abstraction, probabilities);
+  }
+
+  /**
+   * Fills the current strategy of an information set by regret matching, uniform over the legal
+   * actions when no action has positive regret.
+   */
+  private void currentStrategy(int infoset, boolean[] legal, int legalCount, float[] strategy) {
+    int offset = infoset * BiddingAbstraction.ACTIONS;
+    float total = 0;
+    for (int action = 0; action < BiddingAbstraction.ACTIONS; action++) {
+      total += legal[action] ? regrets[offset + action] : 0;
+    }
+    for (int action = 0; action < BiddingAbstraction.ACTIONS; action++) {
+      if (!legal[action]) {
+        strategy[action] = 0;
+      } else {
+        strategy[action] = total > 0 ? regrets[offset + action] / total : 1f / legalCount;
+      }
+    }
+  }
+
+  /**
+   * Runs the iterations of a chunk on the calling thread.
+   */
+  private final class Worker {
+    private final int players = rules.getPlayers();
+    private final SplittableRandom random;
+    private final RolloutEngine engine;
+    private final AuctionState state = new AuctionState(rules);
+    private final int[] buckets = new int[players];
+    private final int[][] dealt = new int[players][Card.DISTINCT_CARD_COUNT];
+    private final boolean[] evaluated = new boolean[players];
+    private final int[] declarerScores = new int[players];
+    private final int[] opponentScores = new int[players];
+    private final boolean[][] legal;
+    private final float[][] strategies;
+    private final float[][] values;
+
+    private Worker(long seed) {
+      random = new SplittableRandom(seed);
+      engine = new RolloutEngine(rules, random.nextLong());
+      // Every action either raises the bid or permanently passes a player.
+      int depth = abstraction.getLevelCount() + players + 1;
+      legal = new boolean[depth][BiddingAbstraction.ACTIONS];
+      strategies = new float[depth][BiddingAbstraction.ACTIONS];
+      values = new float[depth][BiddingAbstraction.ACTIONS];
+    }
+
+    private void run(long count) {
+      for (long iteration = 0; iteration < count; iteration++) {
+        engine.deal();
+        state.deal(engine);
+        for (int player = 0; player < players; player++) {
+          buckets[player] = abstraction.bucket(state, player);
+          for (int id = 0; id < Card.DISTINCT_CARD_COUNT; id++) {
+            dealt[player][id] = engine.getCardCount(player, id);
+          }
+          evaluated[player] = false;
+        }
+        int dealer = random.nextInt(players);
+        for (int traverser = 0; traverser < players; traverser++) {
+          walk(traverser, dealer, next(dealer), -1, -1, (1 << players) - 1, 0);
+        }
+      }
+    }
+
+    // Returns the utility for the traverser of the auction from a player's turn.
+    private float walk(int traverser, int dealer, int player, int level, int highBidder,
+        int bidding, int depth) {
+      int seat = Math.floorMod(player - dealer, players);
+      int relativeHigh = highBidder < 0 ? 0 : Math.floorMod(highBidder - player, players);
+      int others = Integer.rotateRight(bidding, player) | (bidding << (players - player));
+      int infoset = abstraction.infoset(seat, buckets[player], level, relativeHigh,
+          others & ((1 << players) - 1) & ~1);
+      boolean[] actions = legal[depth];
+      int legalCount = abstraction.legalActions(level, player != dealer || highBidder >= 0,
+          actions);
+      float[] strategy = strategies[depth];
+      currentStrategy(infoset, actions, legalCount, strategy);
+      int offset = infoset * BiddingAbstraction.ACTIONS;
+
+      if (player != traverser) {
+        int sampled = sample(actions, strategy);
+        for (int action = 0; action < BiddingAbstraction.ACTIONS; action++) {
+          strategySums[offset + action] += strategy[action];
+        }
+        return act(traverser, dealer, player, level, highBidder, bidding, sampled, depth);
+      }
+
+      float[] actionValues = values[depth];
+      float nodeValue = 0;
+      for (int action = 0; action < BiddingAbstraction.ACTIONS; action++) {
+        if (actions[action]) {
+          actionValues[action] =
+              act(traverser, dealer, player, level, highBidder, bidding, action, depth);
+          nodeValue += strategy[action] * actionValues[action];
+        }
+      }
+      for (int action = 0; action < BiddingAbstraction.ACTIONS; action++) {
+        if (actions[action]) {
+          regrets[offset + action] =
+              Math.max(0f, regrets[offset + action] + actionValues[action] - nodeValue);
+        }
+      }
+      return nodeValue;
+    }
+
+    private float act(int traverser, int dealer, int player, int level, int highBidder,
+        int bidding, int action, int depth) {
+      if (action != BiddingAbstraction.ACTION_PASS) {
+        int target = abstraction.getTargetLevel(level, action);
+        return walk(traverser, dealer, nextBidding(player, bidding), target, player, bidding,
+            depth + 1);
+      }
+      int remaining = bidding & ~(1 << player);
+      if (Integer.bitCount(remaining) > 1) {
+        return walk(traverser, dealer, nextBidding(player, remaining), level, highBidder,
+            remaining, depth + 1);
+      }
+      // The auction is over, with no bid the dealer is stuck with the minimum bid.
+      return highBidder < 0 ? utility(traverser, dealer, 0)
+          : utility(traverser, highBidder, level);
+    }
+
+    private float utility(int traverser, int declarer, int level) {
+      if (!evaluated[declarer]) {
+        evaluate(declarer);
+      }
+      int contract = abstraction.getBid(level);
+      int score = declarerScores[declarer];
+      if (score < contract) {
+        score = -contract;
+      }
+      float value = (score - opponentScores[declarer]) / UTILITY_SCALE;
+      return rules.getTeam(traverser) == rules.getTeam(declarer) ? value : -value;
+    }
+
+    // Scores the hand for a declarer before the contract is applied.
+    private void evaluate(int declarer) {
+      Suite trump = state.getBestTrump(declarer);
+      int team = rules.getTeam(declarer);
+      int teamMeld = 0;
+      int opponentMeld = 0;
+      for (int player = 0; player < players; player++) {
+        if (rules.getTeam(player) == team) {
+          teamMeld += state.getMeld(player, trump);
+        } else {
+          opponentMeld += state.getMeld(player, trump);
+        }
+      }
+
+      if (teamMeld < rules.getMinimumMeld()) {
+        // The hand is not played, the declaring team is set and the opponents keep meld.
+        declarerScores[declarer] = Integer.MIN_VALUE;
+        opponentScores[declarer] = opponentMeld;
+      } else {
+        for (int player = 0; player < players; player++) {
+          engine.setHand(player, dealt[player]);
+          engine.setPolicy(player, RolloutEngine.POLICY_GREEDY);
+        }
+        engine.playOut(trump, declarer);
+        int tricks = engine.getTeamPoints(team);
+        int opponentTricks = engine.getTeamPoints(1 - team);
+        declarerScores[declarer] = tricks < rules.getMinimumTricks() ? 0 : teamMeld + tricks;
+        opponentScores[declarer] =
+            opponentTricks < rules.getMinimumTricks() ? 0 : opponentMeld + opponentTricks;
+      }
+      evaluated[declarer] = true;
+    }
+
+    private int sample(boolean[] actions, float[] strategy) {
+      float target = (float) random.nextDouble();
+      int chosen = -1;
+      for (int action = 0; action < BiddingAbstraction.ACTIONS; action++) {
+        if (actions[action]) {
+          chosen = action;
+          target -= strategy[action];
+          if (target < 0) {
+            break;
+          }
+        }
+      }
+      return chosen;
+    }
+
+    private int next(int player) {
+      return player == players - 1 ? 0 : player + 1;
+    }
+
+    private int nextBidding(int player, int bidding) {
+      int next = next(player);
+      while ((bidding & (1 << next)) == 0) {
+        next = next(next);
+      }
+      return next;
+    }
+  }
+}
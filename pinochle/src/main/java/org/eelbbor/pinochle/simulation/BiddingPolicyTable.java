@@ -0,0 +1,131 @@
+package org.eelbbor.pinochle.simulation;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Bid policy playing the strategy exported by {@link BiddingCfrSolver}, stored as one byte per
+ * action of every information set of a {@link BiddingAbstraction} holding the probability of the
+ * action in units of 1/255. A bot takes the most likely legal action, passing when tied with it,
+ * and always passes when the current bid is outside the ladder of the abstraction. The table is
+ * immutable and safe to share between the workers of an {@link AuctionSimulator}.
+ *
+ * @author Robb Lee (robbmlee@gmail.com).
+ */
+public final class BiddingPolicyTable implements BidPolicy {
+  private static final int MAGIC = 0x50425054;
+  private static final int HEADER_BYTES = 4 * Integer.BYTES;
+  private static final int UNIT = 0xFF;
+
+  private final BiddingAbstraction abstraction;
+  private final byte[] probabilities;
+
+  /**
+   * Creates a table quantizing the probability of every action.
+   *
+   * @param abstraction abstraction indexing the information sets.
+   * @param probabilities probability per information set and action.
+   */
+  BiddingPolicyTable(BiddingAbstraction abstraction, float[] probabilities) {
+    this(abstraction, new byte[probabilities.length]);
+    for (int index = 0; index < probabilities.length; index++) {
+      this.probabilities[index] = (byte) Math.round(probabilities[index] * UNIT);
+    }
+  }
+
+  private BiddingPolicyTable(BiddingAbstraction abstraction, byte[] probabilities) {
+    if (probabilities.length != abstraction.getInfosetCount() * BiddingAbstraction.ACTIONS) {
+      throw new IllegalArgumentException("Policy table must hold every action of every "
+          + "information set but had '" + probabilities.length + "' entries.");
+    }
+    this.abstraction = abstraction;
+    this.probabilities = probabilities;
+  }
+
+  /**
+   * Reads a table written by {@link BiddingPolicyTable#write(Path)}.
+   *
+   * @param path table file.
+   * @param abstraction abstraction the table was exported for.
+   * @return policy table.
+   */
+  public static BiddingPolicyTable read(Path path, BiddingAbstraction abstraction) {
+    ByteBuffer buffer;
+    try {
+      buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Tried to read bidding policy '" + path + "'.", ex);
+    }
+    int entries = abstraction.getInfosetCount() * BiddingAbstraction.ACTIONS;
+    if (buffer.remaining() != HEADER_BYTES + entries || buffer.getInt() != MAGIC
+        || buffer.getInt() != abstraction.getRules().getPlayers()
+        || buffer.getInt() != abstraction.getMaxBid() || buffer.getInt() != entries) {
+      throw new IllegalArgumentException(
+          "File '" + path + "' is not a bidding policy for the abstraction.");
+    }
+    byte[] probabilities = new byte[entries];
+    buffer.get(probabilities);
+    return new BiddingPolicyTable(abstraction, probabilities);
+  }
+
+  public BiddingAbstraction getAbstraction() {
+    return abstraction;
+  }
+
+  /**
+   * Returns the probability of an action at an information set.
+   *
+   * @param infoset index of the information set.
+   * @param action index of the action.
+   * @return probability of the action, 0 at information sets never reached in training.
+   */
+  public double getProbability(int infoset, int action) {
+    return (probabilities[infoset * BiddingAbstraction.ACTIONS + action] & UNIT) / (double) UNIT;
+  }
+
+  /**
+   * Writes the table to a file.
+   *
+   * @param path table file.
+   */
+  public void write(Path path) {
+    ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + probabilities.length);
+    buffer.putInt(MAGIC)
+        .putInt(abstraction.getRules().getPlayers())
+        .putInt(abstraction.getMaxBid())
+        .putInt(probabilities.length)
+        .put(probabilities);
+    try {
+      Files.write(path, buffer.array());
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Tried to write bidding policy '" + path + "'.", ex);
+    }
+  }
+
+  @Override
+  public int chooseBid(AuctionState state, int player) {
+    int infoset = abstraction.infoset(state, player);
+    if (infoset < 0) {
+      return PASS;
+    }
+    boolean noBid = state.getHighBidPlayer() < 0;
+    int level = noBid ? -1 : abstraction.getLevel(state.getCurrentBid());
+    boolean[] legal = new boolean[BiddingAbstraction.ACTIONS];
+    abstraction.legalActions(level, !noBid || player != state.getDealer(), legal);
+
+    int chosen = -1;
+    int best = -1;
+    for (int action = 0; action < BiddingAbstraction.ACTIONS; action++) {
+      int probability = probabilities[infoset * BiddingAbstraction.ACTIONS + action] & UNIT;
+      if (legal[action] && probability > best) {
+        chosen = action;
+        best = probability;
+      }
+    }
+    return chosen == BiddingAbstraction.ACTION_PASS ? PASS
+        : abstraction.getBid(abstraction.getTargetLevel(level, chosen));
+  }
+}
@@ -0,0 +1,306 @@
+package org.eelbbor.pinochle.simulation;
+
+import org.eelbbor.carddeck.standard.Suite;
+import org.eelbbor.pinochle.Card;
+import org.eelbbor.pinochle.PinochleFaceValue;
+import org.eelbbor.pinochle.RuleSet;
+import org.eelbbor.pinochle.Trick;
+
+import java.util.Arrays;
+
+/**
+ * Infers where the cards a player has not seen are from the play of a hand, for bots deciding
+ * which cards are still out against them. Call {@link CardInference#cardPlayed(int, int)} after
+ * every card accepted by {@link Trick#playCard(int, Card, org.eelbbor.pinochle.Hand)} in the
+ * order played, the inference tracks the trick itself to apply the rules enforced by the trick:
+ *
+ * <p/>
+ * A player not following the suite led holds none of it, and one neither following nor trumping
+ * holds no trump. A player following the suite led with a card no higher than the highest card
+ * of the suite on an untrumped trick holds no higher card of the suite, see
+ * {@link org.eelbbor.pinochle.exceptions.CardPlayingErrorCode#CARD_TOO_LOW_FOLLOWING_SUITE_ERROR}.
+ * Likewise a player trumping no higher than the highest trump holds no higher trump. Cards shown
+ * in meld when trump is declared are known to be held until played.
+ *
+ * <p/>
+ * Each card id has a count of unseen copies, those neither held by the observer, played nor
+ * shown. Each other player, and the widow when the variant has one, holds a mask of the ids its
+ * unseen cards may be and a number of unseen cards. The expected number of unseen copies of each
+ * id per location is then fitted to both counts by a fixed number of rounds of iterative
+ * proportional fitting over the possible ids, so a play costs a constant multiple of the card ids
+ * times the locations. The state lives in primitive arrays and instances are not thread safe.
+ *
+ * @author Robb Lee (robbmlee@gmail.com).
+ */
+public final class CardInference {
+  /**
+   * Rounds of proportional fitting after each update.
+   */
+  public static final int FITTING_ROUNDS = 8;
+
+  private static final int CARD_IDS = Card.DISTINCT_CARD_COUNT;
+  private static final int VALUES = PinochleFaceValue.values().length;
+  private static final int SUITE_MASK = (1 << VALUES) - 1;
+
+  private final RuleSet rules;
+  private final int observer;
+  private final int players;
+  private final int locations;
+  private final int[] unseen;
+  private final int[] known;
+  private final int[] possible;
+  private final int[] slots;
+  private final float[] expected;
+  private int trump;
+  private int trickCards;
+  private int ledSuite;
+  private int highLedId;
+  private int highTrumpId;
+
+  /**
+   * Creates the inference for a player.
+   *
+   * @param rules variant being played.
+   * @param observer index of the player whose view is inferred.
+   */
+  public CardInference(RuleSet rules, int observer) {
+    this.rules = rules;
+    this.observer = observer;
+    players = rules.getPlayers();
+    locations = players + (rules.getWidowSize() > 0 ? 1 : 0);
+    unseen = new int[CARD_IDS];
+    known = new int[players * CARD_IDS];
+    possible = new int[locations];
+    slots = new int[locations];
+    expected = new float[locations * CARD_IDS];
+    trump = -1;
+  }
+
+  public int getObserver() {
+    return observer;
+  }
+
+  /**
+   * Index of the widow location, equal to the number of players, valid when the variant has a
+   * widow.
+   *
+   * @return location index of the widow.
+   */
+  public int getWidow() {
+    return players;
+  }
+
+  /**
+   * Starts a hand from the cards dealt to the observer, everything else being unseen.
+   *
+   * @param cardCounts copies of each card id dealt to the observer.
+   */
+  public void deal(int[] cardCounts) {
+    for (int id = 0; id < CARD_IDS; id++) {
+      unseen[id] = rules.getCopiesPerCard() - cardCounts[id];
+    }
+    Arrays.fill(known, 0);
+    int all = (1 << CARD_IDS) - 1;
+    for (int location = 0; location < locations; location++) {
+      boolean hidden = location != observer;
+      possible[location] = hidden ? all : 0;
+      slots[location] = !hidden ? 0 : location == players ? rules.getWidowSize()
+          : rules.getHandSize();
+    }
+    trump = -1;
+    trickCards = 0;
+    fit();
+  }
+
+  /**
+   * Records the meld a player showed when trump was declared, see
+   * {@link org.eelbbor.pinochle.Hand#meldCards(int[], Suite, RuleSet, int[])}.
+   *
+   * @param player index of the player showing meld.
+   * @param shown copies of each card id shown.
+   */
+  public void showMeld(int player, int[] shown) {
+    if (player == observer) {
+      return;
+    }
+    for (int id = 0; id < CARD_IDS; id++) {
+      int revealed = shown[id] - known[player * CARD_IDS + id];
+      if (revealed > unseen[id]) {
+        throw new IllegalArgumentException("Tried to show more copies of the '"
+            + Card.fromId(id) + "' than are unseen.");
+      } else if (revealed > 0) {
+        known[player * CARD_IDS + id] += revealed;
+        unseen[id] -= revealed;
+        slots[player] -= revealed;
+      }
+    }
+    fit();
+  }
+
+  /**
+   * Sets the trump suite once declared, before the first card is played.
+   *
+   * @param trumpSuite suite declared trump.
+   */
+  public void declareTrump(Suite trumpSuite) {
+    trump = trumpSuite.ordinal();
+    trickCards = 0;
+  }
+
+  /**
+   * Records a card accepted on the current trick and applies what the play reveals.
+   *
+   * @param player index of the player who played the card.
+   * @param id card id played, see {@link Card#getId()}.
+   */
+  public void cardPlayed(int player, int id) {
+    if (trump < 0) {
+      throw new IllegalStateException("Tried to play a card before trump was declared.");
+    }
+    int suite = id / VALUES;
+    if (player != observer) {
+      if (known[player * CARD_IDS + id] > 0) {
+        known[player * CARD_IDS + id]--;
+      } else if (unseen[id] > 0) {
+        unseen[id]--;
+        slots[player]--;
+      } else {
+        throw new IllegalArgumentException("Tried to play the '" + Card.fromId(id)
+            + "' for player " + player + " but no copy is unseen.");
+      }
+      if (trickCards > 0) {
+        infer(player, id, suite);
+      }
+    }
+
+    if (trickCards == 0) {
+      ledSuite = suite;
+      highLedId = id;
+      highTrumpId = -1;
+    } else if (suite == ledSuite) {
+      highLedId = Math.max(highLedId, id);
+    } else if (suite == trump) {
+      highTrumpId = Math.max(highTrumpId, id);
+    }
+    trickCards = trickCards == players - 1 ? 0 : trickCards + 1;
+    fit();
+  }
+
+  /**
+   * Returns the copies of a card id that are neither held by the observer, played nor shown.
+   *
+   * @param id card id.
+   * @return number of unseen copies.
+   */
+  public int getUnseenCount(int id) {
+    return unseen[id];
+  }
+
+  /**
+   * Returns the copies of a card id a player is known to hold from the meld shown.
+   *
+   * @param player index of the player.
+   * @param id card id.
+   * @return number of copies known to be held.
+   */
+  public int getKnownCount(int player, int id) {
+    return known[player * CARD_IDS + id];
+  }
+
+  /**
+   * Indicates if unseen copies of a card id may be at a location.
+   *
+   * @param location index of the player or {@link CardInference#getWidow()}.
+   * @param id card id.
+   * @return true if the location may hold an unseen copy.
+   */
+  public boolean isPossible(int location, int id) {
+    return unseen[id] > 0 && (possible[location] & (1 << id)) != 0;
+  }
+
+  /**
+   * Indicates if a player is known to hold no unseen card of a suite.
+   *
+   * @param player index of the player.
+   * @param suite suite to check.
+   * @return true if no unseen card of the suite may be held by the player.
+   */
+  public boolean isVoid(int player, Suite suite) {
+    return (possible[player] & (SUITE_MASK << (suite.ordinal() * VALUES))) == 0;
+  }
+
+  /**
+   * Returns the probability that a given unseen copy of a card id is at a location.
+   *
+   * @param location index of the player or {@link CardInference#getWidow()}.
+   * @param id card id.
+   * @return probability, 0 when no copy is unseen.
+   */
+  public double getProbability(int location, int id) {
+    return unseen[id] == 0 ? 0 : expected[location * CARD_IDS + id] / (double) unseen[id];
+  }
+
+  /**
+   * Returns the expected number of copies of a card id held at a location, counting the copies
+   * known from meld.
+   *
+   * @param location index of the player or {@link CardInference#getWidow()}.
+   * @param id card id.
+   * @return expected number of copies.
+   */
+  public double getExpectedCount(int location, int id) {
+    int shown = location < players ? known[location * CARD_IDS + id] : 0;
+    return shown + expected[location * CARD_IDS + id];
+  }
+
+  private void infer(int player, int id, int suite) {
+    int ledMask = SUITE_MASK << (ledSuite * VALUES);
+    int trumpMask = SUITE_MASK << (trump * VALUES);
+    if (suite == ledSuite) {
+      if (highTrumpId < 0 && id <= highLedId) {
+        // Did not beat the high card so holds no higher card of the suite.
+        possible[player] &= ~(ledMask & -(2 << highLedId));
+      }
+    } else {
+      possible[player] &= ~ledMask;
+      if (suite != trump) {
+        possible[player] &= ~trumpMask;
+      } else if (highTrumpId >= 0 && id <= highTrumpId) {
+        possible[player] &= ~(trumpMask & -(2 << highTrumpId));
+      }
+    }
+  }
+
+  // Fits the expected copies per location to both the unseen copies and the unseen cards held.
+  private void fit() {
+    for (int location = 0; location < locations; location++) {
+      for (int id = 0; id < CARD_IDS; id++) {
+        boolean open = unseen[id] > 0 && (possible[location] & (1 << id)) != 0;
+        expected[location * CARD_IDS + id] = open ? 1 : 0;
+      }
+    }
+    for (int round = 0; round < FITTING_ROUNDS; round++) {
+      for (int location = 0; location < locations; location++) {
+        float total = 0;
+        for (int id = 0; id < CARD_IDS; id++) {
+          total += expected[location * CARD_IDS + id];
+        }
+        float scale = total > 0 ? slots[location] / total : 0;
+        for (int id = 0; id < CARD_IDS; id++) {
+          expected[location * CARD_IDS + id] *= scale;
+        }
+      }
+      // Columns last so the copies of each id always add up to those unseen.
+      for (int id = 0; id < CARD_IDS; id++) {
+        float total = 0;
+        for (int location = 0; location < locations; location++) {
+          total += expected[location * CARD_IDS + id];
+        }
+        float scale = total > 0 ? unseen[id] / total : 0;
+        for (int location = 0; location < locations; location++) {
+          expected[location * CARD_IDS + id] *= scale;
+        }
+      }
+    }
+  }
+}
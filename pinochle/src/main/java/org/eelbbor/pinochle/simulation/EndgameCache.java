@@ -0,0 +1,529 @@
+package org.eelbbor.pinochle.simulation;
+
+import org.eelbbor.carddeck.standard.Suite;
+import org.eelbbor.pinochle.Card;
+import org.eelbbor.pinochle.Hand;
+import org.eelbbor.pinochle.HandScorer;
+import org.eelbbor.pinochle.RuleSet;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Cache of the exact values of the pinochle endgames reachable from a set of deals, solved by
+ * backward induction from the last trick and stored in a memory mapped file. A position is the
+ * start of a trick: the trump, the player to lead and the cards each player holds, and its value is
+ * the trick points, including the last trick bonus, the team of the leader takes from the
+ * remaining tricks when every player plays perfectly with all hands known. Every position
+ * reachable from the deals under every trump and leader is enumerated a trick at a time, then
+ * positions with k cards per player are solved from the positions with k - 1 cards, so each layer
+ * is a single pass over the layer below.
+ *
+ * <p/>
+ * This is not a tablebase of every endgame: a position that is not reachable from the deals the
+ * cache was built from, or has more cards than it, misses. A lookup that misses is solved by the
+ * same minimax search, reading the cache for any position it reaches after a trick, so a lookup
+ * always returns the exact value and only its cost depends on whether it hits.
+ *
+ * <p/>
+ * Each hand is a multiset of card ids, see {@link Card#getId()}, ranked by the combinatorial
+ * number system, so a position has a perfect index over the trump, the leader and the ranks of
+ * the hands. Only reachable positions are stored, in an open addressing hash table keyed by that
+ * index, at most half full so a lookup is a hash and a probe or two rather than a search. The index
+ * space grows as C(19 + k, k) to the power of the number of players, which with four players is
+ * too large for a file past the last trick, while the first trick of a deal of k cards each leads
+ * to at most k to the power of the number of players positions. Indices fit a long up to four
+ * cards per player with four players.
+ *
+ * @author Robb Lee (robbmlee@gmail.com).
+ */
+public final class EndgameCache {
+  private static final int MAGIC = 0x50544232;
+  private static final int HEADER_BYTES = 24;
+  private static final int SLOT_BYTES = Long.BYTES + 1;
+  private static final int SUITES = Suite.values().length;
+  private static final int CARD_IDS = Card.DISTINCT_CARD_COUNT;
+  private static final int LAYER_BITS = 5;
+  private static final long LAYER_MASK = (1L << LAYER_BITS) - 1;
+  private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+  private static final int CHUNK = 1 << 8;
+
+  private final RuleSet rules;
+  private final int players;
+  private final int maxCards;
+  private final int[] teamOf;
+  private final long[][] binomials;
+  private final MappedByteBuffer buffer;
+  private final int capacity;
+  private final int slotShift;
+
+  private EndgameCache(RuleSet rules, int maxCards, int capacity, MappedByteBuffer buffer) {
+    this.rules = rules;
+    this.players = rules.getPlayers();
+    this.maxCards = maxCards;
+    this.capacity = capacity;
+    this.buffer = buffer;
+    slotShift = Long.SIZE - Integer.numberOfTrailingZeros(capacity);
+    teamOf = new int[players];
+    for (int player = 0; player < players; player++) {
+      teamOf[player] = rules.getTeam(player);
+    }
+    binomials = binomials(CARD_IDS + maxCards);
+  }
+
+  /**
+   * Solves every endgame reachable from the deals under every trump and leader and writes the
+   * table to the file, replacing its contents.
+   *
+   * @param path file to write.
+   * @param rules variant to solve, which must have two teams.
+   * @param deals copies held indexed by player and card id, every player holding the same number
+   *     of cards.
+   * @return cache mapped from the written file.
+   * @throws IllegalArgumentException if a deal is invalid or the table would not fit in a mapped
+   *     file.
+   */
+  public static EndgameCache build(Path path, RuleSet rules, Collection<int[][]> deals) {
+    int maxCards = 0;
+    for (int[][] deal : deals) {
+      maxCards = Math.max(maxCards, checkDeal(rules, deal));
+    }
+    checkCards(rules, maxCards);
+    // Positions are enumerated before the file is mapped so the table is sized once.
+    EndgameCache enumerator = new EndgameCache(rules, maxCards, 1, null);
+    LongList[] layers = enumerator.enumerate(deals);
+    long positions = 0;
+    for (int cards = 1; cards <= maxCards; cards++) {
+      positions += layers[cards].size;
+    }
+    long capacity = Long.highestOneBit(Math.max(positions, 1) * 2 - 1) << 1;
+    long size = HEADER_BYTES + capacity * SLOT_BYTES;
+    if (size > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException("Endgames reachable from " + deals.size() + " deals need "
+          + "more than " + Integer.MAX_VALUE + " bytes.");
+    }
+
+    EndgameCache cache;
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+        StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      cache = new EndgameCache(rules, maxCards, (int) capacity,
+          channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Tried to create endgame cache '" + path + "'.", ex);
+    }
+
+    MappedByteBuffer buffer = cache.buffer;
+    buffer.putInt(0, MAGIC);
+    buffer.putInt(4, rules.getPlayers());
+    buffer.putInt(8, rules.getCopiesPerCard());
+    buffer.putInt(12, maxCards);
+    buffer.putLong(16, capacity);
+    for (int cards = 1; cards <= maxCards; cards++) {
+      cache.solveLayer(layers[cards]);
+    }
+    buffer.force();
+    return cache;
+  }
+
+  /**
+   * Maps a previously built cache.
+   *
+   * @param path file written by {@link EndgameCache#build(Path, RuleSet, Collection)}.
+   * @param rules variant the table was built for.
+   * @return cache mapped read only.
+   */
+  public static EndgameCache open(Path path, RuleSet rules) {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      boolean header = channel.size() >= HEADER_BYTES;
+      int maxCards = header ? buffer.getInt(12) : 0;
+      long capacity = header ? buffer.getLong(16) : 0;
+      if (maxCards < 1 || buffer.getInt(0) != MAGIC || buffer.getInt(4) != rules.getPlayers()
+          || buffer.getInt(8) != rules.getCopiesPerCard() || Long.bitCount(capacity) != 1
+          || channel.size() != HEADER_BYTES + capacity * SLOT_BYTES) {
+        throw new IllegalArgumentException(
+            "File '" + path + "' is not an endgame cache for the rules.");
+      }
+      return new EndgameCache(rules, maxCards, (int) capacity, buffer);
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Tried to open endgame cache '" + path + "'.", ex);
+    }
+  }
+
+  public int getMaxCards() {
+    return maxCards;
+  }
+
+  /**
+   * Returns the number of slots of the hash table, at least twice the positions stored.
+   *
+   * @return number of slots.
+   */
+  public int getCapacity() {
+    return capacity;
+  }
+
+  /**
+   * Returns the value of the position at the start of a trick, searching it when it misses.
+   *
+   * @param trump suite declared trump.
+   * @param leader index of the player to lead.
+   * @param cardCounts number of copies held indexed by player and card id.
+   * @return trick points taken by the team of the leader with perfect play.
+   * @throws IllegalArgumentException if the position is not a valid deal for the rules.
+   */
+  public int lookup(Suite trump, int leader, int[][] cardCounts) {
+    int cards = checkDeal(rules, cardCounts);
+    int value = cards <= maxCards ? read(key(cards, trump.ordinal(), leader, cardCounts)) : -1;
+    return value < 0 ? new Solver().search(trump.ordinal(), leader, cards, cardCounts) : value;
+  }
+
+  /**
+   * Returns the value of the position at the start of a trick with the cards remaining in the
+   * hands.
+   *
+   * @param trump suite declared trump.
+   * @param leader index of the player to lead.
+   * @param hands hand of each player in seat order.
+   * @return trick points taken by the team of the leader with perfect play.
+   * @throws IllegalArgumentException if the position is not a valid deal for the rules.
+   */
+  public int lookup(Suite trump, int leader, Hand... hands) {
+    int[][] cardCounts = new int[players][CARD_IDS];
+    for (int player = 0; player < players; player++) {
+      int[] counts = cardCounts[player];
+      hands[player].viewCards().forEach(card -> counts[card.getId()]++);
+    }
+    return lookup(trump, leader, cardCounts);
+  }
+
+  private LongList[] enumerate(Collection<int[][]> deals) {
+    LongList[] layers = new LongList[maxCards + 1];
+    for (int cards = 1; cards <= maxCards; cards++) {
+      layers[cards] = new LongList();
+    }
+    for (int[][] deal : deals) {
+      int cards = checkDeal(rules, deal);
+      for (int trump = 0; trump < SUITES; trump++) {
+        for (int leader = 0; leader < players; leader++) {
+          layers[cards].add(key(cards, trump, leader, deal));
+        }
+      }
+    }
+
+    // Each position of a layer adds the positions after every way its trick can be played.
+    for (int cards = maxCards; cards > 1; cards--) {
+      LongList layer = layers[cards].sortDistinct();
+      List<LongList> successors = IntStream.range(0, (layer.size + CHUNK - 1) / CHUNK)
+          .parallel()
+          .mapToObj(chunk -> {
+            Solver solver = new Solver();
+            LongList positions = new LongList();
+            for (int index = chunk * CHUNK; index < Math.min(layer.size, (chunk + 1) * CHUNK);
+                index++) {
+              solver.expand(layer.values[index], positions);
+            }
+            return positions;
+          })
+          .collect(Collectors.toList());
+      successors.forEach(layers[cards - 1]::addAll);
+    }
+    layers[1].sortDistinct();
+    return layers;
+  }
+
+  private void solveLayer(LongList layer) {
+    byte[] values = new byte[layer.size];
+    IntStream.range(0, (layer.size + CHUNK - 1) / CHUNK).parallel().forEach(chunk -> {
+      Solver solver = new Solver();
+      for (int index = chunk * CHUNK; index < Math.min(layer.size, (chunk + 1) * CHUNK);
+          index++) {
+        values[index] = (byte) solver.solve(layer.values[index]);
+      }
+    });
+    // Inserted once the layer is solved, while solving only reads the layer below.
+    for (int index = 0; index < layer.size; index++) {
+      write(layer.values[index], values[index]);
+    }
+  }
+
+  private int read(long key) {
+    for (int slot = slot(key); ; slot = (slot + 1) & (capacity - 1)) {
+      long stored = buffer.getLong(HEADER_BYTES + slot * Long.BYTES);
+      if (stored == key) {
+        return buffer.get(HEADER_BYTES + capacity * Long.BYTES + slot);
+      } else if (stored == 0) {
+        return -1;
+      }
+    }
+  }
+
+  private void write(long key, byte value) {
+    int slot = slot(key);
+    while (buffer.getLong(HEADER_BYTES + slot * Long.BYTES) != 0) {
+      slot = (slot + 1) & (capacity - 1);
+    }
+    buffer.putLong(HEADER_BYTES + slot * Long.BYTES, key);
+    buffer.put(HEADER_BYTES + capacity * Long.BYTES + slot, value);
+  }
+
+  private int slot(long key) {
+    // Fibonacci hashing spreads the consecutive ranks of similar hands over the table.
+    return (int) ((key * GOLDEN_GAMMA) >>> slotShift);
+  }
+
+  /**
+   * Computes the key of a position, the perfect index of the trump, leader and hand ranks with
+   * the number of cards per player in the low bits, so keys of every layer share one table and
+   * no key is zero, the value of empty slots.
+   */
+  private long key(int cards, int trump, int leader, int[][] cardCounts) {
+    long ranks = binomials[CARD_IDS + cards - 1][cards];
+    long index = trump * players + leader;
+    for (int player = 0; player < players; player++) {
+      index = index * ranks + rank(cardCounts[player]);
+    }
+    return (index << LAYER_BITS) | cards;
+  }
+
+  private long rank(int[] counts) {
+    long rank = 0;
+    int index = 0;
+    for (int id = 0; id < CARD_IDS; id++) {
+      for (int copy = 0; copy < counts[id]; copy++) {
+        rank += binomials[id + index][index + 1];
+        index++;
+      }
+    }
+    return rank;
+  }
+
+  private void unrank(long rank, int cards, int[] counts) {
+    // Greedy decoding of the combinatorial number system from the largest element down.
+    Arrays.fill(counts, 0);
+    long remaining = rank;
+    int candidate = CARD_IDS + cards - 2;
+    for (int index = cards; index > 0; index--) {
+      while (binomials[candidate][index] > remaining) {
+        candidate--;
+      }
+      remaining -= binomials[candidate][index];
+      counts[candidate - (index - 1)]++;
+      candidate--;
+    }
+  }
+
+  private static int checkDeal(RuleSet rules, int[][] cardCounts) {
+    int cards = 0;
+    int[] totals = new int[CARD_IDS];
+    for (int player = 0; player < rules.getPlayers(); player++) {
+      int held = 0;
+      for (int id = 0; id < CARD_IDS; id++) {
+        held += cardCounts[player][id];
+        totals[id] += cardCounts[player][id];
+      }
+      if (player > 0 && held != cards) {
+        throw new IllegalArgumentException(
+            "Tried to solve an endgame with players holding different numbers of cards.");
+      }
+      cards = held;
+    }
+    if (cards < 1) {
+      throw new IllegalArgumentException("Tried to solve an endgame with no cards.");
+    }
+    for (int id = 0; id < CARD_IDS; id++) {
+      if (totals[id] > rules.getCopiesPerCard()) {
+        throw new IllegalArgumentException("Tried to solve an endgame dealing '" + totals[id]
+            + "' copies of the '" + Card.fromId(id) + "'.");
+      }
+    }
+    return cards;
+  }
+
+  private static void checkCards(RuleSet rules, int maxCards) {
+    if (rules.getTeamCount() != 2) {
+      throw new IllegalArgumentException("Endgames can only be solved for two teams.");
+    } else if (maxCards < 1 || maxCards > rules.getHandSize() || maxCards > LAYER_MASK) {
+      throw new IllegalArgumentException("Invalid number of cards '" + maxCards + "'.");
+    }
+
+    long ranks = binomials(CARD_IDS + maxCards)[CARD_IDS + maxCards - 1][maxCards];
+    long keys = (long) SUITES * rules.getPlayers();
+    for (int player = 0; player < rules.getPlayers(); player++) {
+      if (keys > (Long.MAX_VALUE >>> LAYER_BITS) / ranks) {
+        throw new IllegalArgumentException("Endgames with " + maxCards + " cards per player "
+            + "cannot be indexed in a long.");
+      }
+      keys *= ranks;
+    }
+  }
+
+  private static long[][] binomials(int size) {
+    long[][] table = new long[size + 1][size + 1];
+    for (int top = 0; top <= size; top++) {
+      table[top][0] = 1;
+      for (int bottom = 1; bottom <= top; bottom++) {
+        table[top][bottom] = table[top - 1][bottom - 1] + table[top - 1][bottom];
+      }
+    }
+    return table;
+  }
+
+  /**
+   * Growable array of position keys.
+   */
+  private static final class LongList {
+    private long[] values = new long[16];
+    private int size;
+
+    private void add(long value) {
+      if (size == values.length) {
+        values = Arrays.copyOf(values, size * 2);
+      }
+      values[size++] = value;
+    }
+
+    private void addAll(LongList other) {
+      for (int index = 0; index < other.size; index++) {
+        add(other.values[index]);
+      }
+    }
+
+    private LongList sortDistinct() {
+      Arrays.sort(values, 0, size);
+      int distinct = 0;
+      for (int index = 0; index < size; index++) {
+        if (distinct == 0 || values[index] != values[distinct - 1]) {
+          values[distinct++] = values[index];
+        }
+      }
+      size = distinct;
+      return this;
+    }
+  }
+
+  /**
+   * Minimax search of a single trick, each branch ending in a read of the layer below, or when
+   * enumerating in the key of the position after the trick. A read that misses continues the
+   * search into the next trick.
+   */
+  private final class Solver {
+    private final int[][] counts = new int[players][CARD_IDS];
+    private final int[] held = new int[players];
+    private int cards;
+    private int trump;
+    private int leaderTeam;
+    private LongList successors;
+
+    private int solve(long key) {
+      successors = null;
+      return play(load(key), TrickTable.start(trump), 0);
+    }
+
+    private void expand(long key, LongList positions) {
+      successors = positions;
+      play(load(key), TrickTable.start(trump), 0);
+    }
+
+    private int search(int trump, int leader, int cards, int[][] cardCounts) {
+      successors = null;
+      this.cards = cards;
+      this.trump = trump;
+      leaderTeam = teamOf[leader];
+      for (int player = 0; player < players; player++) {
+        System.arraycopy(cardCounts[player], 0, counts[player], 0, CARD_IDS);
+        hold(player);
+      }
+      return play(leader, TrickTable.start(trump), 0);
+    }
+
+    private int load(long key) {
+      cards = (int) (key & LAYER_MASK);
+      long ranks = binomials[CARD_IDS + cards - 1][cards];
+      long index = key >>> LAYER_BITS;
+      for (int player = players - 1; player >= 0; player--) {
+        unrank(index % ranks, cards, counts[player]);
+        index /= ranks;
+        hold(player);
+      }
+      int leader = (int) (index % players);
+      trump = (int) (index / players);
+      leaderTeam = teamOf[leader];
+      return leader;
+    }
+
+    private void hold(int player) {
+      held[player] = 0;
+      for (int id = 0; id < CARD_IDS; id++) {
+        if (counts[player][id] > 0) {
+          held[player] |= 1 << id;
+        }
+      }
+    }
+
+    private int play(int player, int trick, int points) {
+      if (TrickTable.getCardsPlayed(trick) == players) {
+        return scoreTrick(TrickTable.getWinner(trick), points);
+      }
+
+      boolean maximize = teamOf[player] == leaderTeam;
+      int best = maximize ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+      int legal = TrickTable.legalMask(trick, held[player]);
+      int next = player == players - 1 ? 0 : player + 1;
+      for (int bits = legal; bits != 0; bits &= bits - 1) {
+        int id = Integer.numberOfTrailingZeros(bits);
+        if (--counts[player][id] == 0) {
+          held[player] &= ~(1 << id);
+        }
+        int value = play(next, TrickTable.play(trick, player, id),
+            points + HandScorer.getPoints(id));
+        counts[player][id]++;
+        held[player] |= 1 << id;
+        best = maximize ? Math.max(best, value) : Math.min(best, value);
+      }
+      return best;
+    }
+
+    private int scoreTrick(int winner, int points) {
+      int bonus = rules.getLastTrickBonus();
+      if (cards == 1) {
+        return teamOf[winner] == leaderTeam ? points + bonus : 0;
+      } else if (successors != null) {
+        successors.add(key(cards - 1, trump, winner, counts));
+        return 0;
+      }
+
+      int remaining = bonus;
+      for (int[] playerCounts : counts) {
+        for (int id = 0; id < CARD_IDS; id++) {
+          remaining += playerCounts[id] * HandScorer.getPoints(id);
+        }
+      }
+      int winnerTeamRest = cards - 1 <= maxCards ? read(key(cards - 1, trump, winner, counts)) : -1;
+      if (winnerTeamRest < 0) {
+        winnerTeamRest = searchNextTrick(winner);
+      }
+      return teamOf[winner] == leaderTeam ? points + winnerTeamRest : remaining - winnerTeamRest;
+    }
+
+    // The hands already hold the cards left after the trick, so the miss is searched in place.
+    private int searchNextTrick(int leader) {
+      final int trickLeaderTeam = leaderTeam;
+      cards--;
+      leaderTeam = teamOf[leader];
+      int value = play(leader, TrickTable.start(trump), 0);
+      cards++;
+      leaderTeam = trickLeaderTeam;
+      return value;
+    }
+  }
+}
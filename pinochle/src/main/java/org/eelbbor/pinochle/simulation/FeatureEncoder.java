@@ -0,0 +1,107 @@
+package org.eelbbor.pinochle.simulation;
+
+import org.eelbbor.carddeck.standard.Suite;
+import org.eelbbor.pinochle.Card;
+import org.eelbbor.pinochle.Game;
+import org.eelbbor.pinochle.PinochleFaceValue;
+import org.eelbbor.pinochle.RuleSet;
+
+import java.util.Arrays;
+
+/**
+ * Encodes the state of a {@link Game} seen by the player to act as a fixed width vector of
+ * {@link FeatureEncoder#WIDTH} floats, the samples written by {@link SelfPlayGenerator}. Values
+ * are raw counts and points, leaving normalization to the model. The layout is:
+ *
+ * <p/>
+ * {@link FeatureEncoder#HAND}: copies of each card id held by the player.
+ * {@link FeatureEncoder#PLAYED}: copies of each card id played so far in the hand, including the
+ * cards on the current trick.
+ * {@link FeatureEncoder#WINNING}: one hot card id currently taking the trick.
+ * {@link FeatureEncoder#LED}: one hot suite led on the trick.
+ * {@link FeatureEncoder#TRUMP}: one hot trump suite.
+ * {@link FeatureEncoder#SCALARS}: cards on the trick, whether the player's team is taking the
+ * trick, whether the player's team took the bid, the bid, then the meld, trick points and game
+ * score of the player's team followed by those of the other teams.
+ *
+ * <p/>
+ * Instances hold a scratch array and are not thread safe, use one encoder per thread.
+ *
+ * @author Robb Lee (robbmlee@gmail.com).
+ */
+public final class FeatureEncoder {
+  private static final int CARD_IDS = Card.DISTINCT_CARD_COUNT;
+  private static final int SUITES = Suite.values().length;
+  private static final int VALUES = PinochleFaceValue.values().length;
+
+  public static final int HAND = 0;
+  public static final int PLAYED = HAND + CARD_IDS;
+  public static final int WINNING = PLAYED + CARD_IDS;
+  public static final int LED = WINNING + CARD_IDS;
+  public static final int TRUMP = LED + SUITES;
+  public static final int SCALARS = TRUMP + SUITES;
+
+  public static final int TRICK_CARDS = SCALARS;
+  public static final int PARTNER_WINNING = SCALARS + 1;
+  public static final int DECLARING = SCALARS + 2;
+  public static final int BID = SCALARS + 3;
+  public static final int MELD = SCALARS + 4;
+  public static final int OPPONENT_MELD = SCALARS + 5;
+  public static final int TRICKS = SCALARS + 6;
+  public static final int OPPONENT_TRICKS = SCALARS + 7;
+  public static final int SCORE = SCALARS + 8;
+  public static final int OPPONENT_SCORE = SCALARS + 9;
+
+  /**
+   * Number of floats per sample.
+   */
+  public static final int WIDTH = SCALARS + 10;
+
+  private final RuleSet rules;
+  private final int[] cardCounts = new int[CARD_IDS];
+
+  public FeatureEncoder(RuleSet rules) {
+    this.rules = rules;
+  }
+
+  /**
+   * Writes the features of the player to act into the array.
+   *
+   * @param game game being played.
+   * @param player index of the player to act.
+   * @param played copies of each card id played so far in the hand.
+   * @param features array to write {@link FeatureEncoder#WIDTH} floats into.
+   * @param offset index of the first float to write.
+   */
+  public void encode(Game game, int player, int[] played, float[] features, int offset) {
+    Arrays.fill(features, offset, offset + WIDTH, 0f);
+    game.copyCardCounts(player, cardCounts);
+    for (int id = 0; id < CARD_IDS; id++) {
+      features[offset + HAND + id] = cardCounts[id];
+      features[offset + PLAYED + id] = played[id];
+    }
+
+    int team = rules.getTeam(player);
+    int highPlayer = game.getTrickHighPlayer();
+    if (highPlayer >= 0) {
+      features[offset + WINNING + game.getTrickCardId(highPlayer)] = 1;
+      features[offset + LED + game.getTrickCardId(game.getCurrentLead()) / VALUES] = 1;
+      features[offset + PARTNER_WINNING] = rules.getTeam(highPlayer) == team ? 1 : 0;
+    }
+    int trickCards = 0;
+    for (int other = 0; other < rules.getPlayers(); other++) {
+      trickCards += game.getTrickCardId(other) < 0 ? 0 : 1;
+    }
+    features[offset + TRICK_CARDS] = trickCards;
+    game.getTrumpSuite().ifPresent(trump -> features[offset + TRUMP + trump.ordinal()] = 1);
+    features[offset + DECLARING] = rules.getTeam(game.getHighBidPlayer()) == team ? 1 : 0;
+    features[offset + BID] = game.getCurrentBid();
+
+    for (int other = 0; other < rules.getTeamCount(); other++) {
+      int slot = other == team ? 0 : 1;
+      features[offset + MELD + slot] += game.getTeamMeld(other);
+      features[offset + TRICKS + slot] += game.getTeamTricks(other);
+      features[offset + SCORE + slot] += game.getTeamScore(other);
+    }
+  }
+}
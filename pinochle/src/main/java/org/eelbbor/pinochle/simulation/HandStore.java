@@ -0,0 +1,393 @@
+package org.eelbbor.pinochle.simulation;
+
+import org.eelbbor.pinochle.Card;
+import org.eelbbor.pinochle.Game;
+import org.eelbbor.pinochle.Hand;
+import org.eelbbor.pinochle.RuleSet;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Columnar store of dealt hands for analysis jobs holding tens of millions of hands. Each card id,
+ * see {@link Card#getId()}, has a column of the copies held by every hand packed in
+ * {@link HandStore#COUNT_BITS} bits, {@link HandStore#HANDS_PER_WORD} hands to a long, so a hand
+ * takes 20 * 8 / 21 or under 8 bytes against the hundreds of bytes of a {@link Hand}.
+ *
+ * <p/>
+ * The columns live in a single {@link LongBuffer} either on the heap or, for stores too large for
+ * the heap, in a direct buffer outside of it, grown by doubling as hands are appended. Hands are
+ * appended one at a time, from a {@link Game} or in bulk from count columns, and read back as
+ * counts, count columns for {@link BatchMeldScorer} or {@link Hand} objects. Appending is not
+ * thread safe, once appending is done any number of threads may read, and
+ * {@link HandStore#spliterator()} splits the hands on word boundaries for parallel scans.
+ *
+ * @author Robb Lee (robbmlee@gmail.com).
+ */
+public final class HandStore {
+  /**
+   * Bits holding the copies of a card id in a hand.
+   */
+  public static final int COUNT_BITS = 3;
+
+  /**
+   * Hands packed into each long of a column.
+   */
+  public static final int HANDS_PER_WORD = Long.SIZE / COUNT_BITS;
+
+  private static final int CARD_IDS = Card.DISTINCT_CARD_COUNT;
+  private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+  private static final int INITIAL_WORDS = 64;
+  private static final int MAX_COLUMN_WORDS = Integer.MAX_VALUE / Long.BYTES / CARD_IDS;
+
+  private final RuleSet rules;
+  private final boolean offHeap;
+  private LongBuffer words;
+  private int columnWords;
+  private int size;
+
+  /**
+   * Creates an empty store on the heap.
+   *
+   * @param rules variant the hands are dealt under.
+   */
+  public HandStore(RuleSet rules) {
+    this(rules, INITIAL_WORDS * HANDS_PER_WORD, false);
+  }
+
+  /**
+   * Creates an empty store sized for the given number of hands.
+   *
+   * @param rules variant the hands are dealt under.
+   * @param capacity number of hands held before growing.
+   * @param offHeap true to hold the columns in a direct buffer outside of the heap.
+   */
+  public HandStore(RuleSet rules, int capacity, boolean offHeap) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("Capacity must be positive but was '" + capacity + "'.");
+    }
+    this.rules = rules;
+    this.offHeap = offHeap;
+    columnWords = (capacity + HANDS_PER_WORD - 1) / HANDS_PER_WORD;
+    words = allocate((long) columnWords * CARD_IDS);
+  }
+
+  public RuleSet getRules() {
+    return rules;
+  }
+
+  public boolean isOffHeap() {
+    return offHeap;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public int getCapacity() {
+    return columnWords * HANDS_PER_WORD;
+  }
+
+  /**
+   * Returns the bytes allocated for the columns.
+   *
+   * @return allocated bytes.
+   */
+  public long getAllocatedBytes() {
+    return (long) words.capacity() * Long.BYTES;
+  }
+
+  /**
+   * Appends a hand given as counts per card id.
+   *
+   * @param cardCounts copies of each card id held.
+   * @return index of the hand in the store.
+   */
+  public int append(int[] cardCounts) {
+    ensureCapacity(size + 1);
+    int hand = size;
+    for (int id = 0; id < CARD_IDS; id++) {
+      set(hand, id, checkCount(cardCounts[id], id));
+    }
+    size++;
+    return hand;
+  }
+
+  /**
+   * Appends the cards held by a {@link Hand}.
+   *
+   * @param hand hand to append.
+   * @return index of the hand in the store.
+   */
+  public int append(Hand hand) {
+    ensureCapacity(size + 1);
+    int index = size;
+    for (int id = 0; id < CARD_IDS; id++) {
+      set(index, id, checkCount(hand.getCardCount(Card.fromId(id)), id));
+    }
+    size++;
+    return index;
+  }
+
+  /**
+   * Appends the hands of every player of the game in seat order.
+   *
+   * @param game game whose hands are appended.
+   * @return index of the first player's hand in the store.
+   */
+  public int append(Game game) {
+    int players = game.getRules().getPlayers();
+    ensureCapacity(size + players);
+    int first = size;
+    int[] cardCounts = new int[CARD_IDS];
+    for (int player = 0; player < players; player++) {
+      game.copyCardCounts(player, cardCounts);
+      append(cardCounts);
+    }
+    return first;
+  }
+
+  /**
+   * Appends hands given as count columns, the form scored by {@link BatchMeldScorer}. Whole
+   * words of a column are written at once when the store ends on a word boundary.
+   *
+   * @param columns copies held per hand, one column per card id.
+   * @param from index of the first hand of the columns to append.
+   * @param count number of hands to append.
+   * @return index of the first hand appended in the store.
+   */
+  public int appendColumns(byte[][] columns, int from, int count) {
+    if (columns.length != CARD_IDS) {
+      throw new IllegalArgumentException("Tried to append " + columns.length + " card columns.");
+    }
+    ensureCapacity((long) size + count);
+    int first = size;
+    for (int id = 0; id < CARD_IDS; id++) {
+      byte[] column = columns[id];
+      int offset = id * columnWords;
+      int hand = 0;
+      if (first % HANDS_PER_WORD == 0) {
+        for (; hand + HANDS_PER_WORD <= count; hand += HANDS_PER_WORD) {
+          long word = 0;
+          for (int slot = HANDS_PER_WORD - 1; slot >= 0; slot--) {
+            word = (word << COUNT_BITS) | checkCount(column[from + hand + slot], id);
+          }
+          words.put(offset + (first + hand) / HANDS_PER_WORD, word);
+        }
+      }
+      for (; hand < count; hand++) {
+        set(first + hand, id, checkCount(column[from + hand], id));
+      }
+    }
+    size += count;
+    return first;
+  }
+
+  /**
+   * Returns the copies of a card held by a hand.
+   *
+   * @param hand index of the hand.
+   * @param id card id.
+   * @return copies held.
+   */
+  public int getCount(int hand, int id) {
+    checkIndex(hand);
+    return get(hand, id);
+  }
+
+  /**
+   * Copies the counts per card id of a hand into the provided array without allocating.
+   *
+   * @param hand index of the hand.
+   * @param cardCounts array of at least {@link Card#DISTINCT_CARD_COUNT} entries to fill.
+   */
+  public void copyCardCounts(int hand, int[] cardCounts) {
+    checkIndex(hand);
+    for (int id = 0; id < CARD_IDS; id++) {
+      cardCounts[id] = get(hand, id);
+    }
+  }
+
+  /**
+   * Copies hands into count columns, the form scored by {@link BatchMeldScorer}.
+   *
+   * @param from index of the first hand to copy.
+   * @param count number of hands to copy.
+   * @param columns columns of at least count hands per card id to fill from index zero.
+   */
+  public void copyColumns(int from, int count, byte[][] columns) {
+    if (count > 0) {
+      checkIndex(from);
+      checkIndex(from + count - 1);
+    }
+    for (int id = 0; id < CARD_IDS; id++) {
+      byte[] column = columns[id];
+      for (int hand = 0; hand < count; hand++) {
+        column[hand] = (byte) get(from + hand, id);
+      }
+    }
+  }
+
+  /**
+   * Creates a {@link Hand} holding the cards of a stored hand.
+   *
+   * @param hand index of the hand.
+   * @return new hand.
+   */
+  public Hand toHand(int hand) {
+    Hand result = new Hand(rules);
+    toHand(hand, result);
+    return result;
+  }
+
+  /**
+   * Clears the given {@link Hand} and deals it the cards of a stored hand, for scans reusing one
+   * hand per thread.
+   *
+   * @param hand index of the hand.
+   * @param result hand to fill.
+   */
+  public void toHand(int hand, Hand result) {
+    checkIndex(hand);
+    result.clear();
+    for (int id = 0; id < CARD_IDS; id++) {
+      for (int copy = get(hand, id); copy > 0; copy--) {
+        result.dealCard(Card.fromId(id));
+      }
+    }
+  }
+
+  /**
+   * Creates a spliterator over the indices of the hands stored when called, splitting on word
+   * boundaries so each split reads whole words of the columns.
+   *
+   * @return spliterator of hand indices.
+   */
+  public Spliterator.OfInt spliterator() {
+    return new HandSpliterator(0, size);
+  }
+
+  /**
+   * Streams the indices of the hands stored, in parallel if requested, see
+   * {@link HandStore#spliterator()}.
+   *
+   * @param parallel true for a parallel stream.
+   * @return stream of hand indices.
+   */
+  public IntStream hands(boolean parallel) {
+    return StreamSupport.intStream(spliterator(), parallel);
+  }
+
+  private int get(int hand, int id) {
+    long word = words.get(id * columnWords + hand / HANDS_PER_WORD);
+    return (int) ((word >>> (hand % HANDS_PER_WORD * COUNT_BITS)) & COUNT_MASK);
+  }
+
+  private void set(int hand, int id, int count) {
+    int index = id * columnWords + hand / HANDS_PER_WORD;
+    int shift = hand % HANDS_PER_WORD * COUNT_BITS;
+    long word = words.get(index) & ~(COUNT_MASK << shift);
+    words.put(index, word | ((long) count << shift));
+  }
+
+  private int checkCount(int count, int id) {
+    if (count < 0 || count > rules.getCopiesPerCard()) {
+      throw new IllegalArgumentException("Tried to store '" + count + "' copies of the '"
+          + Card.fromId(id) + "'.");
+    }
+    return count;
+  }
+
+  private void checkIndex(int hand) {
+    if (hand < 0 || hand >= size) {
+      throw new IndexOutOfBoundsException("Hand index '" + hand + "' out of '" + size + "'.");
+    }
+  }
+
+  private void ensureCapacity(long hands) {
+    if (hands <= getCapacity()) {
+      return;
+    }
+    // Doubling is clamped to the largest buffer so the last growth reaches the maximum hands.
+    long needed = (hands + HANDS_PER_WORD - 1) / HANDS_PER_WORD;
+    int grown = (int) Math.max(needed, Math.min(columnWords * 2L, MAX_COLUMN_WORDS));
+    LongBuffer buffer = allocate((long) grown * CARD_IDS);
+    for (int id = 0; id < CARD_IDS; id++) {
+      for (int word = 0; word < columnWords; word++) {
+        buffer.put(id * grown + word, words.get(id * columnWords + word));
+      }
+    }
+    words = buffer;
+    columnWords = grown;
+  }
+
+  private LongBuffer allocate(long count) {
+    if (count > (long) MAX_COLUMN_WORDS * CARD_IDS) {
+      throw new IllegalArgumentException("Tried to store more than "
+          + ((long) MAX_COLUMN_WORDS * HANDS_PER_WORD) + " hands.");
+    }
+    if (!offHeap) {
+      return LongBuffer.allocate((int) count);
+    }
+    return ByteBuffer.allocateDirect((int) count * Long.BYTES)
+        .order(ByteOrder.nativeOrder())
+        .asLongBuffer();
+  }
+
+  /**
+   * Spliterator over a range of hand indices, split at a multiple of
+   * {@link HandStore#HANDS_PER_WORD}.
+   */
+  private static final class HandSpliterator implements Spliterator.OfInt {
+    private int next;
+    private final int end;
+
+    HandSpliterator(int next, int end) {
+      this.next = next;
+      this.end = end;
+    }
+
+    @Override
+    public OfInt trySplit() {
+      int middle = (next + (end - next) / 2) / HANDS_PER_WORD * HANDS_PER_WORD;
+      if (middle <= next) {
+        return null;
+      }
+      HandSpliterator prefix = new HandSpliterator(next, middle);
+      next = middle;
+      return prefix;
+    }
+
+    @Override
+    public boolean tryAdvance(IntConsumer action) {
+      if (next >= end) {
+        return false;
+      }
+      action.accept(next++);
+      return true;
+    }
+
+    @Override
+    public void forEachRemaining(IntConsumer action) {
+      for (; next < end; next++) {
+        action.accept(next);
+      }
+    }
+
+    @Override
+    public long estimateSize() {
+      return end - next;
+    }
+
+    @Override
+    public int characteristics() {
+      // Not IMMUTABLE, the store may still be appended to while hands are scanned.
+      return ORDERED | SIZED | SUBSIZED | NONNULL;
+    }
+  }
+}
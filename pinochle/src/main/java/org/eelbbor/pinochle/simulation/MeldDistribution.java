@@ -0,0 +1,528 @@
+package org.eelbbor.pinochle.simulation;
+
+import static org.eelbbor.pinochle.PinochleFaceValue.Ace;
+import static org.eelbbor.pinochle.PinochleFaceValue.Jack;
+import static org.eelbbor.pinochle.PinochleFaceValue.King;
+import static org.eelbbor.pinochle.PinochleFaceValue.Queen;
+
+import org.eelbbor.carddeck.standard.Suite;
+import org.eelbbor.pinochle.Hand;
+import org.eelbbor.pinochle.PinochleFaceValue;
+import org.eelbbor.pinochle.RuleSet;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Exact distribution of {@link Hand#countMeld(Suite)} for each trump over every hand that can be
+ * dealt from the deck of a {@link RuleSet}, along with the joint distribution of meld and the
+ * number of trump cards held. Counts are numbers of distinct hands of physical cards, so the
+ * probability of a meld is its count over C(deck size, hand size).
+ *
+ * <p/>
+ * Hands are enumerated as multisets, a count per card id, each weighted by the number of ways to
+ * pick those copies from the deck, i.e. the product of C(copies, count) over the ids, instead of
+ * enumerating hands of physical cards. Even as multisets there are tens of billions of double deck
+ * hands, so the enumeration is a dynamic program over suites: meld only depends on a suite through
+ * the number of each face value held, so the three suites other than trump are folded one at a
+ * time into a table keyed by the cards dealt so far, the fewest of each face value for arounds,
+ * the pinochle cards and the marriages, and the trump suite is folded last to score the hands.
+ * Each fold is split over a {@link ForkJoinPool} by ranges of the table.
+ *
+ * <p/>
+ * Distributions are persisted as a compact binary file of the non zero joint counts, the meld
+ * histograms are sums over the trump lengths.
+ *
+ * @author Robb Lee (robbmlee@gmail.com).
+ */
+public final class MeldDistribution {
+  private static final int MAGIC = 0x504d4431;
+  private static final int SUITES = Suite.values().length;
+  private static final int VALUES = PinochleFaceValue.values().length;
+  private static final int SPLIT_THRESHOLD = 1 << 14;
+  // Cards, jacks, queens, kings, aces, pinochle jacks, pinochle queens and marriages.
+  private static final int FIELDS = 8;
+
+  private final int copies;
+  private final int handSize;
+  private final long totalHands;
+  // Number of hands indexed by trump, trump length and meld.
+  private final long[][][] counts;
+
+  private MeldDistribution(int copies, int handSize, long[][][] counts) {
+    this.copies = copies;
+    this.handSize = handSize;
+    this.counts = counts;
+    long total = 0;
+    for (long[] meldCounts : counts[0]) {
+      for (long count : meldCounts) {
+        total += count;
+      }
+    }
+    this.totalHands = total;
+  }
+
+  /**
+   * Computes the distribution on the common {@link ForkJoinPool}.
+   *
+   * @param rules variant providing the deck, hand size and meld tables.
+   * @return exact meld distribution.
+   * @throws IllegalArgumentException if the number of hands does not fit in a long.
+   */
+  public static MeldDistribution compute(RuleSet rules) {
+    return compute(rules, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Computes the distribution on the given pool.
+   *
+   * @param rules variant providing the deck, hand size and meld tables.
+   * @param pool pool running the folds.
+   * @return exact meld distribution.
+   * @throws IllegalArgumentException if the number of hands does not fit in a long.
+   */
+  public static MeldDistribution compute(RuleSet rules, ForkJoinPool pool) {
+    // Rejects decks with more hands than can be counted in a long.
+    binomial(rules.getDeckSize(), rules.getHandSize());
+    Enumerator enumerator = new Enumerator(rules);
+    long[][][] counts = new long[SUITES][][];
+    for (Suite trump : Suite.values()) {
+      counts[trump.ordinal()] = enumerator.enumerate(trump, pool);
+    }
+    return new MeldDistribution(rules.getCopiesPerCard(), rules.getHandSize(), counts);
+  }
+
+  /**
+   * Reads a distribution written by {@link MeldDistribution#write(Path)}.
+   *
+   * @param path file to read.
+   * @param rules variant the distribution was computed for.
+   * @return distribution read from the file.
+   */
+  public static MeldDistribution read(Path path, RuleSet rules) {
+    try (DataInputStream in = new DataInputStream(
+        new BufferedInputStream(Files.newInputStream(path)))) {
+      if (in.readInt() != MAGIC || in.readInt() != rules.getCopiesPerCard()
+          || in.readInt() != rules.getHandSize()) {
+        throw new IllegalArgumentException(
+            "File '" + path + "' is not a meld distribution for the rules.");
+      }
+      int melds = in.readInt();
+      long[][][] counts = new long[SUITES][rules.getHandSize() + 1][melds];
+      for (long[][] trumpCounts : counts) {
+        for (long[] meldCounts : trumpCounts) {
+          for (int entries = in.readInt(); entries > 0; entries--) {
+            int meld = in.readUnsignedShort();
+            meldCounts[meld] = in.readLong();
+          }
+        }
+      }
+      return new MeldDistribution(rules.getCopiesPerCard(), rules.getHandSize(), counts);
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Tried to read meld distribution '" + path + "'.", ex);
+    }
+  }
+
+  /**
+   * Writes the distribution to the file, replacing its contents. Each trump and trump length
+   * stores the number of non zero meld counts followed by the meld and count of each.
+   *
+   * @param path file to write.
+   */
+  public void write(Path path) {
+    try (DataOutputStream out = new DataOutputStream(
+        new BufferedOutputStream(Files.newOutputStream(path)))) {
+      out.writeInt(MAGIC);
+      out.writeInt(copies);
+      out.writeInt(handSize);
+      out.writeInt(getMaxMeld() + 1);
+      for (long[][] trumpCounts : counts) {
+        for (long[] meldCounts : trumpCounts) {
+          int entries = 0;
+          for (long count : meldCounts) {
+            entries += count == 0 ? 0 : 1;
+          }
+          out.writeInt(entries);
+          for (int meld = 0; meld < meldCounts.length; meld++) {
+            if (meldCounts[meld] != 0) {
+              out.writeShort(meld);
+              out.writeLong(meldCounts[meld]);
+            }
+          }
+        }
+      }
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Tried to write meld distribution '" + path + "'.", ex);
+    }
+  }
+
+  /**
+   * Returns the number of distinct hands, C(deck size, hand size).
+   *
+   * @return total number of hands.
+   */
+  public long getTotalHands() {
+    return totalHands;
+  }
+
+  /**
+   * Returns the highest meld of any hand for any trump.
+   *
+   * @return largest meld with a non zero count.
+   */
+  public int getMaxMeld() {
+    int max = 0;
+    for (long[][] trumpCounts : counts) {
+      for (long[] meldCounts : trumpCounts) {
+        for (int meld = meldCounts.length - 1; meld > max; meld--) {
+          if (meldCounts[meld] != 0) {
+            max = meld;
+          }
+        }
+      }
+    }
+    return max;
+  }
+
+  /**
+   * Returns the number of hands with exactly the given meld.
+   *
+   * @param trump suite declared trump.
+   * @param meld meld of the hands.
+   * @return number of hands.
+   */
+  public long getHandCount(Suite trump, int meld) {
+    long total = 0;
+    for (int trumpLength = 0; trumpLength <= handSize; trumpLength++) {
+      total += getHandCount(trump, trumpLength, meld);
+    }
+    return total;
+  }
+
+  /**
+   * Returns the number of hands with exactly the given meld and number of trump cards.
+   *
+   * @param trump suite declared trump.
+   * @param trumpLength number of trump cards in the hand.
+   * @param meld meld of the hands.
+   * @return number of hands.
+   */
+  public long getHandCount(Suite trump, int trumpLength, int meld) {
+    long[][] trumpCounts = counts[trump.ordinal()];
+    if (trumpLength < 0 || trumpLength >= trumpCounts.length || meld < 0
+        || meld >= trumpCounts[trumpLength].length) {
+      return 0;
+    }
+    return trumpCounts[trumpLength][meld];
+  }
+
+  /**
+   * Returns the probability a dealt hand melds exactly the given value.
+   *
+   * @param trump suite declared trump.
+   * @param meld meld of the hand.
+   * @return probability of the meld.
+   */
+  public double getProbability(Suite trump, int meld) {
+    return (double) getHandCount(trump, meld) / totalHands;
+  }
+
+  /**
+   * Returns the probability a dealt hand melds at least the given value, i.e. reaches a meld
+   * threshold for bidding.
+   *
+   * @param trump suite declared trump.
+   * @param meld minimum meld of the hand.
+   * @return probability of the meld or more.
+   */
+  public double getProbabilityAtLeast(Suite trump, int meld) {
+    long total = 0;
+    int maxMeld = getMaxMeld();
+    for (int value = Math.max(meld, 0); value <= maxMeld; value++) {
+      total += getHandCount(trump, value);
+    }
+    return (double) total / totalHands;
+  }
+
+  private static long binomial(int top, int bottom) {
+    BigInteger result = BigInteger.ONE;
+    for (int index = 1; index <= bottom; index++) {
+      result = result.multiply(BigInteger.valueOf(top - bottom + index))
+          .divide(BigInteger.valueOf(index));
+    }
+    if (result.bitLength() >= Long.SIZE) {
+      throw new IllegalArgumentException(
+          "Tried to count C(" + top + ", " + bottom + ") hands, which does not fit in a long.");
+    }
+    return result.longValue();
+  }
+
+  /**
+   * Count vectors of a single suite, the number of copies held of each face value, ordered by
+   * the number of cards so the vectors completing a hand are a contiguous range.
+   */
+  private static final class SuiteVectors {
+    private final int[][] valueCounts;
+    private final long[] weights;
+    private final int[] firstWithCards;
+
+    private SuiteVectors(int copies) {
+      int base = copies + 1;
+      int size = 1;
+      for (int value = 0; value < VALUES; value++) {
+        size *= base;
+      }
+      valueCounts = new int[size][];
+      weights = new long[size];
+      firstWithCards = new int[VALUES * copies + 2];
+      int index = 0;
+      for (int cards = 0; cards <= VALUES * copies; cards++) {
+        firstWithCards[cards] = index;
+        for (int code = 0; code < size; code++) {
+          int[] vector = new int[VALUES];
+          int remaining = code;
+          int sum = 0;
+          long weight = 1;
+          for (int value = 0; value < VALUES; value++) {
+            vector[value] = remaining % base;
+            remaining /= base;
+            sum += vector[value];
+            weight *= binomial(copies, vector[value]);
+          }
+          if (sum == cards) {
+            valueCounts[index] = vector;
+            weights[index++] = weight;
+          }
+        }
+      }
+      firstWithCards[VALUES * copies + 1] = index;
+    }
+
+    private int first(int cards) {
+      return firstWithCards[Math.min(Math.max(cards, 0), firstWithCards.length - 1)];
+    }
+  }
+
+  /**
+   * Folds suites into the table of partial hands for one trump at a time. A partial hand is
+   * indexed by the cards dealt, the fewest jacks, queens, kings and aces in any folded suite, the
+   * jacks of diamonds and queens of spades and the marriages.
+   */
+  private static final class Enumerator {
+    private final RuleSet rules;
+    private final int copies;
+    private final int base;
+    private final int marriageStates;
+    private final int stateCount;
+    private final int meldBound;
+    private final SuiteVectors vectors;
+
+    private Enumerator(RuleSet rules) {
+      this.rules = rules;
+      copies = rules.getCopiesPerCard();
+      base = copies + 1;
+      marriageStates = (SUITES - 1) * copies + 1;
+      int states = (rules.getHandSize() + 1) * marriageStates;
+      for (int field = 1; field < FIELDS - 1; field++) {
+        states *= base;
+      }
+      stateCount = states;
+      int bound = rules.getPinochleMeld(copies) + rules.getRunMeld(copies)
+          + (SUITES + 1) * copies * rules.getMarriageValue();
+      for (PinochleFaceValue faceValue : PinochleFaceValue.values()) {
+        bound += rules.getAroundMeld(faceValue, copies);
+      }
+      meldBound = bound;
+      vectors = new SuiteVectors(copies);
+    }
+
+    private long[][] enumerate(Suite trump, ForkJoinPool pool) {
+      AtomicLongArray table = new AtomicLongArray(stateCount);
+      table.set(index(0, copies, copies, copies, copies, 0, 0, 0), 1);
+      for (Suite suite : Suite.values()) {
+        if (suite != trump) {
+          AtomicLongArray next = new AtomicLongArray(stateCount);
+          pool.invoke(new FoldTask(this, suite, table, next, 0, stateCount));
+          table = next;
+        }
+      }
+      return pool.invoke(new ScoreTask(this, trump, table, 0, stateCount));
+    }
+
+    private int index(int cards, int jacks, int queens, int kings, int aces, int pinochleJacks,
+        int pinochleQueens, int marriages) {
+      int index = cards;
+      index = index * base + jacks;
+      index = index * base + queens;
+      index = index * base + kings;
+      index = index * base + aces;
+      index = index * base + pinochleJacks;
+      index = index * base + pinochleQueens;
+      return index * marriageStates + marriages;
+    }
+
+    private void decode(int index, int[] fields) {
+      fields[FIELDS - 1] = index % marriageStates;
+      int remaining = index / marriageStates;
+      for (int field = FIELDS - 2; field > 0; field--) {
+        fields[field] = remaining % base;
+        remaining /= base;
+      }
+      fields[0] = remaining;
+    }
+
+    // Adds every vector of a non trump suite to the partial hand.
+    private void fold(Suite suite, int[] fields, long weight, AtomicLongArray next) {
+      int end = vectors.first(rules.getHandSize() - fields[0] + 1);
+      for (int vector = 0; vector < end; vector++) {
+        int[] held = vectors.valueCounts[vector];
+        int cards = fields[0];
+        for (int count : held) {
+          cards += count;
+        }
+        int pinochleJacks = suite == Suite.Diamond ? held[Jack.ordinal()] : fields[5];
+        int pinochleQueens = suite == Suite.Spade ? held[Queen.ordinal()] : fields[6];
+        next.addAndGet(index(cards, Math.min(fields[1], held[Jack.ordinal()]),
+            Math.min(fields[2], held[Queen.ordinal()]), Math.min(fields[3], held[King.ordinal()]),
+            Math.min(fields[4], held[Ace.ordinal()]), pinochleJacks, pinochleQueens,
+            fields[7] + Math.min(held[Queen.ordinal()], held[King.ordinal()])),
+            weight * vectors.weights[vector]);
+      }
+    }
+
+    // Completes the partial hand with every trump vector of the remaining cards and tallies the
+    // meld by trump length.
+    private void score(Suite trump, int[] fields, long weight, long[] tally) {
+      int trumpLength = rules.getHandSize() - fields[0];
+      int end = vectors.first(trumpLength + 1);
+      for (int vector = vectors.first(trumpLength); vector < end; vector++) {
+        int[] held = vectors.valueCounts[vector];
+        int meld = rules.getAroundMeld(Jack, Math.min(fields[1], held[Jack.ordinal()]))
+            + rules.getAroundMeld(Queen, Math.min(fields[2], held[Queen.ordinal()]))
+            + rules.getAroundMeld(King, Math.min(fields[3], held[King.ordinal()]))
+            + rules.getAroundMeld(Ace, Math.min(fields[4], held[Ace.ordinal()]));
+        int pinochleJacks = trump == Suite.Diamond ? held[Jack.ordinal()] : fields[5];
+        int pinochleQueens = trump == Suite.Spade ? held[Queen.ordinal()] : fields[6];
+        meld += rules.getPinochleMeld(Math.min(pinochleJacks, pinochleQueens));
+
+        int royalMarriages = Math.min(held[Queen.ordinal()], held[King.ordinal()]);
+        int runs = copies;
+        for (int count : held) {
+          runs = Math.min(runs, count);
+        }
+        meld += (fields[7] + 2 * royalMarriages - 2 * runs) * rules.getMarriageValue()
+            + rules.getRunMeld(runs);
+        tally[trumpLength * (meldBound + 1) + meld] += weight * vectors.weights[vector];
+      }
+    }
+  }
+
+  /**
+   * Folds a range of the partial hand table into the next table, splitting the range in half
+   * until it is small enough to fold directly.
+   */
+  private static final class FoldTask extends RecursiveAction {
+    private final Enumerator enumerator;
+    private final Suite suite;
+    private final AtomicLongArray table;
+    private final AtomicLongArray next;
+    private final int start;
+    private final int end;
+
+    private FoldTask(Enumerator enumerator, Suite suite, AtomicLongArray table,
+        AtomicLongArray next, int start, int end) {
+      this.enumerator = enumerator;
+      this.suite = suite;
+      this.table = table;
+      this.next = next;
+      this.start = start;
+      this.end = end;
+    }
+
+    @Override
+    protected void compute() {
+      if (end - start > SPLIT_THRESHOLD) {
+        int middle = (start + end) >>> 1;
+        invokeAll(new FoldTask(enumerator, suite, table, next, start, middle),
+            new FoldTask(enumerator, suite, table, next, middle, end));
+        return;
+      }
+      int[] fields = new int[FIELDS];
+      for (int index = start; index < end; index++) {
+        long weight = table.get(index);
+        if (weight != 0) {
+          enumerator.decode(index, fields);
+          enumerator.fold(suite, fields, weight, next);
+        }
+      }
+    }
+  }
+
+  /**
+   * Scores a range of the partial hand table with the trump suite, returning the number of hands
+   * indexed by trump length and meld.
+   */
+  private static final class ScoreTask extends RecursiveTask<long[][]> {
+    private final Enumerator enumerator;
+    private final Suite trump;
+    private final AtomicLongArray table;
+    private final int start;
+    private final int end;
+
+    private ScoreTask(Enumerator enumerator, Suite trump, AtomicLongArray table, int start,
+        int end) {
+      this.enumerator = enumerator;
+      this.trump = trump;
+      this.table = table;
+      this.start = start;
+      this.end = end;
+    }
+
+    @Override
+    protected long[][] compute() {
+      int handSize = enumerator.rules.getHandSize();
+      int melds = enumerator.meldBound + 1;
+      if (end - start > SPLIT_THRESHOLD) {
+        int middle = (start + end) >>> 1;
+        ScoreTask upper = new ScoreTask(enumerator, trump, table, middle, end);
+        upper.fork();
+        long[][] lower = new ScoreTask(enumerator, trump, table, start, middle).compute();
+        long[][] upperCounts = upper.join();
+        for (int trumpLength = 0; trumpLength <= handSize; trumpLength++) {
+          for (int meld = 0; meld < melds; meld++) {
+            lower[trumpLength][meld] += upperCounts[trumpLength][meld];
+          }
+        }
+        return lower;
+      }
+
+      long[] tally = new long[(handSize + 1) * melds];
+      int[] fields = new int[FIELDS];
+      for (int index = start; index < end; index++) {
+        long weight = table.get(index);
+        if (weight != 0) {
+          enumerator.decode(index, fields);
+          enumerator.score(trump, fields, weight, tally);
+        }
+      }
+      long[][] counts = new long[handSize + 1][];
+      for (int trumpLength = 0; trumpLength <= handSize; trumpLength++) {
+        counts[trumpLength] = Arrays.copyOfRange(tally, trumpLength * melds,
+            (trumpLength + 1) * melds);
+      }
+      return counts;
+    }
+  }
+}
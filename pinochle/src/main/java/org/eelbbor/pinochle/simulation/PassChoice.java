@@ -0,0 +1,74 @@
+package org.eelbbor.pinochle.simulation;
+
+import org.eelbbor.carddeck.standard.Suite;
+import org.eelbbor.pinochle.Card;
+
+import java.util.List;
+
+/**
+ * Cards to pass chosen by {@link PassOptimizer} along with the trump suite the pass was scored
+ * under and the number of distinct passes evaluated within the time budget.
+ *
+ * @author Robb Lee (robbmlee@gmail.com).
+ */
+public final class PassChoice {
+  private final List<Card> cards;
+  private final Suite trump;
+  private final int score;
+  private final int meld;
+  private final int evaluated;
+  private final int candidates;
+
+  PassChoice(List<Card> cards, Suite trump, int score, int meld, int evaluated, int candidates) {
+    this.cards = List.copyOf(cards);
+    this.trump = trump;
+    this.score = score;
+    this.meld = meld;
+    this.evaluated = evaluated;
+    this.candidates = candidates;
+  }
+
+  /**
+   * Returns the cards to pass, ordered by card id.
+   *
+   * @return immutable list of the cards.
+   */
+  public List<Card> getCards() {
+    return cards;
+  }
+
+  public Suite getTrump() {
+    return trump;
+  }
+
+  public int getScore() {
+    return score;
+  }
+
+  public int getMeld() {
+    return meld;
+  }
+
+  public int getEvaluatedCount() {
+    return evaluated;
+  }
+
+  public int getCandidateCount() {
+    return candidates;
+  }
+
+  /**
+   * Indicates every distinct pass was evaluated before the time budget ran out.
+   *
+   * @return true if the search was exhaustive.
+   */
+  public boolean isComplete() {
+    return evaluated == candidates;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s under %s score %d meld %d (%d of %d passes)", cards, trump, score,
+        meld, evaluated, candidates);
+  }
+}
@@ -0,0 +1,259 @@
+package org.eelbbor.pinochle.simulation;
+
+import org.eelbbor.carddeck.standard.Suite;
+import org.eelbbor.pinochle.Card;
+import org.eelbbor.pinochle.Game;
+import org.eelbbor.pinochle.Hand;
+import org.eelbbor.pinochle.PinochleFaceValue;
+import org.eelbbor.pinochle.RuleSet;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Chooses the cards to pass in variants where the partners of the player winning the bid pass
+ * cards before trump is declared, see {@link RuleSet#getPassCount()}. Every distinct pass is
+ * evaluated under every trump suite by the meld of the cards kept plus the meld of the cards
+ * received by the partner, and the trick strength of the declarer's hand: the cards kept when the
+ * declarer passes back, otherwise the cards passed to the declarer. The pass and trump with the
+ * highest total win.
+ *
+ * <p/>
+ * The partner's meld is only a lower bound. The partner's hand is unknown, so
+ * {@link PassOptimizer#optimize(Game)} scores the partner by the meld of the cards passed alone,
+ * with no meld for cards that would complete what the partner already holds. Passes that make
+ * meld on their own are therefore favoured over passes that feed the partner's hand. Cards known
+ * to be held by the partner can be given to
+ * {@link PassOptimizer#optimize(int[], int[], boolean)} to count toward that meld.
+ *
+ * <p/>
+ * A hand holds duplicate cards, so rather than the C(n, k) subsets of the cards held only the
+ * distinct passes are enumerated, every way of taking up to the copies held of each card id,
+ * each packed as a count per card id in {@link PassOptimizer#COUNT_BITS} bits of a long. The
+ * passes are evaluated in chunks on a parallel stream, chunks starting after the time budget are
+ * skipped so the best pass found so far is returned.
+ *
+ * @author Robb Lee (robbmlee@gmail.com).
+ */
+public final class PassOptimizer {
+  public static final long DEFAULT_BUDGET_MILLIS = 20;
+
+  /**
+   * Bits holding the copies of a card id in a packed pass.
+   */
+  public static final int COUNT_BITS = 3;
+
+  /**
+   * Trick strength of a trump card in addition to the ordinal of its face value.
+   */
+  public static final int TRUMP_STRENGTH = 2;
+
+  /**
+   * Trick strength of an ace outside of trump.
+   */
+  public static final int OFF_ACE_STRENGTH = 3;
+
+  static final int CHUNK_CANDIDATES = 256;
+
+  private static final int VALUES = PinochleFaceValue.values().length;
+  private static final int CARD_IDS = Card.DISTINCT_CARD_COUNT;
+  private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+  private final RuleSet rules;
+  private long budgetMillis;
+
+  /**
+   * Creates an optimizer for the variant.
+   *
+   * @param rules variant being played.
+   */
+  public PassOptimizer(RuleSet rules) {
+    this.rules = rules;
+    budgetMillis = DEFAULT_BUDGET_MILLIS;
+  }
+
+  public void setBudgetMillis(long budgetMillis) {
+    this.budgetMillis = budgetMillis;
+  }
+
+  /**
+   * Chooses the cards for the current player of the game to pass. The cards held by the partner
+   * are unknown, so only the cards passed count toward the partner's hand and the partner's meld
+   * is a lower bound.
+   *
+   * @param game game passing cards, see {@link Game#isPassing()}.
+   * @return best pass found.
+   * @throws IllegalStateException if the game is not passing cards.
+   */
+  public PassChoice optimize(Game game) {
+    if (!game.isPassing()) {
+      throw new IllegalStateException("Tried to optimize a pass while the game is not passing "
+          + "cards.");
+    }
+    int[] cardCounts = new int[CARD_IDS];
+    game.copyCardCounts(game.getCurrentPlayer(), cardCounts);
+    return optimize(cardCounts, new int[CARD_IDS],
+        game.getCurrentPlayer() == game.getHighBidPlayer());
+  }
+
+  /**
+   * Chooses the cards to pass from the given hand.
+   *
+   * @param cardCounts copies of each card id held by the player passing.
+   * @param receiverCounts copies of each card id known to be held by the partner, all zero when
+   *     nothing is known.
+   * @param passerDeclares true if the player passing won the bid and declares trump.
+   * @return best pass found.
+   */
+  public PassChoice optimize(int[] cardCounts, int[] receiverCounts, boolean passerDeclares) {
+    int passCount = rules.getPassCount();
+    int held = 0;
+    for (int id = 0; id < CARD_IDS; id++) {
+      if (cardCounts[id] < 0 || receiverCounts[id] < 0
+          || cardCounts[id] + receiverCounts[id] > rules.getCopiesPerCard()) {
+        throw new IllegalArgumentException("Tried to pass holding '" + cardCounts[id]
+            + "' and receiving '" + receiverCounts[id] + "' copies of the '" + Card.fromId(id)
+            + "'.");
+      }
+      held += cardCounts[id];
+    }
+    if (passCount < 1 || held < passCount) {
+      throw new IllegalArgumentException("Tried to pass " + passCount + " cards holding '" + held
+          + "'.");
+    }
+
+    long[] candidates = enumerate(cardCounts, passCount);
+    long deadline = System.nanoTime() + budgetMillis * 1_000_000L;
+    int chunks = (candidates.length + CHUNK_CANDIDATES - 1) / CHUNK_CANDIDATES;
+    Best best = IntStream.range(0, chunks)
+        .parallel()
+        .mapToObj(chunk -> evaluateChunk(chunk, candidates, cardCounts, receiverCounts,
+            passerDeclares, deadline))
+        .reduce(Best::merge)
+        .get();
+
+    List<Card> cards = new ArrayList<>(passCount);
+    long packed = candidates[best.index];
+    for (int id = 0; id < CARD_IDS; id++) {
+      for (long copy = (packed >>> (id * COUNT_BITS)) & COUNT_MASK; copy > 0; copy--) {
+        cards.add(Card.fromId(id));
+      }
+    }
+    return new PassChoice(cards, Suite.values()[best.trump], best.score, best.meld,
+        best.evaluated, candidates.length);
+  }
+
+  /**
+   * Enumerates the distinct passes of the given number of cards, each packed as the copies of
+   * every card id passed in {@link PassOptimizer#COUNT_BITS} bits per id.
+   *
+   * @param cardCounts copies of each card id held.
+   * @param count number of cards passed.
+   * @return packed passes.
+   */
+  static long[] enumerate(int[] cardCounts, int count) {
+    // Number of passes using the card ids from each id on, built from the last id backwards.
+    long[] ways = new long[count + 1];
+    ways[0] = 1;
+    for (int id = CARD_IDS - 1; id >= 0; id--) {
+      for (int cards = count; cards > 0; cards--) {
+        for (int take = 1; take <= Math.min(cardCounts[id], cards); take++) {
+          ways[cards] += ways[cards - take];
+        }
+      }
+    }
+    long[] candidates = new long[Math.toIntExact(ways[count])];
+    fill(cardCounts, 0, count, 0L, candidates, 0);
+    return candidates;
+  }
+
+  private static int fill(int[] cardCounts, int id, int remaining, long packed, long[] candidates,
+      int next) {
+    if (remaining == 0) {
+      candidates[next] = packed;
+      return next + 1;
+    }
+    int index = next;
+    if (id < CARD_IDS) {
+      for (int take = Math.min(cardCounts[id], remaining); take >= 0; take--) {
+        index = fill(cardCounts, id + 1, remaining - take,
+            packed | ((long) take << (id * COUNT_BITS)), candidates, index);
+      }
+    }
+    return index;
+  }
+
+  private Best evaluateChunk(int chunk, long[] candidates, int[] cardCounts, int[] receiverCounts,
+      boolean passerDeclares, long deadline) {
+    Best best = new Best();
+    if (chunk > 0 && System.nanoTime() - deadline >= 0) {
+      return best;
+    }
+    int[] kept = new int[CARD_IDS];
+    int[] received = new int[CARD_IDS];
+    int end = Math.min(candidates.length, (chunk + 1) * CHUNK_CANDIDATES);
+    for (int index = chunk * CHUNK_CANDIDATES; index < end; index++) {
+      long packed = candidates[index];
+      for (int id = 0; id < CARD_IDS; id++) {
+        int take = (int) ((packed >>> (id * COUNT_BITS)) & COUNT_MASK);
+        kept[id] = cardCounts[id] - take;
+        received[id] = receiverCounts[id] + take;
+      }
+      for (Suite trump : Suite.values()) {
+        int meld = Hand.countMeld(kept, trump, rules) + Hand.countMeld(received, trump, rules);
+        int score = meld + strength(passerDeclares ? kept : received, trump.ordinal());
+        if (score > best.score) {
+          best.score = score;
+          best.meld = meld;
+          best.index = index;
+          best.trump = trump.ordinal();
+        }
+      }
+      best.evaluated++;
+    }
+    return best;
+  }
+
+  /**
+   * Estimates the trick taking of a hand by its trump cards, higher trump counting more, and its
+   * aces outside of trump.
+   *
+   * @param cardCounts copies of each card id held.
+   * @param trump ordinal of the trump suite.
+   * @return trick strength of the cards.
+   */
+  static int strength(int[] cardCounts, int trump) {
+    int strength = 0;
+    for (int suite = 0; suite < Suite.values().length; suite++) {
+      int offset = suite * VALUES;
+      if (suite == trump) {
+        for (int value = 0; value < VALUES; value++) {
+          strength += cardCounts[offset + value] * (TRUMP_STRENGTH + value);
+        }
+      } else {
+        strength += cardCounts[offset + PinochleFaceValue.Ace.ordinal()] * OFF_ACE_STRENGTH;
+      }
+    }
+    return strength;
+  }
+
+  /**
+   * Best pass of a chunk, merged keeping the highest score and the lowest index among ties so the
+   * result does not depend on the order chunks complete.
+   */
+  private static final class Best {
+    private int score = Integer.MIN_VALUE;
+    private int meld;
+    private int index;
+    private int trump;
+    private int evaluated;
+
+    private Best merge(Best other) {
+      Best best = other.score > score || (other.score == score && other.index < index)
+          ? other : this;
+      best.evaluated = evaluated + other.evaluated;
+      return best;
+    }
+  }
+}
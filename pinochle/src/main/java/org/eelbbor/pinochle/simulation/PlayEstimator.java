@@ -0,0 +1,41 @@
+package org.eelbbor.pinochle.simulation;
+
+import org.eelbbor.carddeck.standard.Suite;
+
+/**
+ * Estimates the trick points the declaring team takes once the auction is over, allowing
+ * {@link AuctionSimulator} to report set and overbid rates. Estimators are shared by the worker
+ * threads of a simulation so implementations must be stateless or thread safe, per thread state
+ * belongs on the {@link RolloutEngine} passed in.
+ *
+ * @author Robb Lee (robbmlee@gmail.com).
+ */
+@FunctionalInterface
+public interface PlayEstimator {
+  /**
+   * Estimates the trick points of the declaring team. The engine holds the hands dealt for the
+   * auction and may be played out.
+   *
+   * @param engine engine holding the deal, owned by the calling thread.
+   * @param trump suite declared trump.
+   * @param declarer index of the player that won the bid and leads the first trick.
+   * @return trick points including the last trick bonus taken by the declaring team.
+   */
+  int estimateTricks(RolloutEngine engine, Suite trump, int declarer);
+
+  /**
+   * Creates an estimator playing the hand out once with every player on
+   * {@link RolloutEngine#POLICY_GREEDY}.
+   *
+   * @return greedy rollout estimator.
+   */
+  static PlayEstimator greedyRollout() {
+    return (engine, trump, declarer) -> {
+      for (int player = 0; player < engine.getPlayers(); player++) {
+        engine.setPolicy(player, RolloutEngine.POLICY_GREEDY);
+      }
+      engine.playOut(trump, declarer);
+      return engine.getTeamPoints(engine.getTeam(declarer));
+    };
+  }
+}
@@ -0,0 +1,375 @@
+package org.eelbbor.pinochle.simulation;
+
+import org.eelbbor.carddeck.standard.Suite;
+import org.eelbbor.pinochle.Card;
+import org.eelbbor.pinochle.Hand;
+import org.eelbbor.pinochle.HandScorer;
+import org.eelbbor.pinochle.PinochleFaceValue;
+import org.eelbbor.pinochle.RuleSet;
+import org.eelbbor.pinochle.Trick;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Plays pinochle hands to completion on primitive state for bulk simulation. Cards are tracked by
+ * id, see {@link Card#getId()}, as a count per player and id along with a bitmask of the ids each
+ * player holds, and tricks are resolved on the packed state of a {@link TrickTable}, so legality
+ * and trick resolution are a few table lookups. The rules mirror those enforced by
+ * {@link Trick}. Play policies are selected by constant rather than by interface to keep the play
+ * loop monomorphic.
+ *
+ * <p/>
+ * Choosing and removing cards avoids branches on the cards dealt, which the processor cannot
+ * predict, so a full hand plays out in about a microsecond, see {@code RolloutBenchmark} of the
+ * pinochle-vector module. Instances are not thread safe, use one engine per thread.
+ *
+ * @author Robb Lee (robbmlee@gmail.com).
+ */
+public final class RolloutEngine {
+  /**
+   * Plays a uniformly random legal card id.
+   */
+  public static final int POLICY_RANDOM = 0;
+
+  /**
+   * Leads the highest card held, otherwise takes the trick as cheaply as possible unless the
+   * partner is already winning, in which case the lowest legal card is played.
+   */
+  public static final int POLICY_GREEDY = 1;
+
+  private static final int VALUES = PinochleFaceValue.values().length;
+  private static final int SUITES = Suite.values().length;
+  private static final int CARD_IDS = Card.DISTINCT_CARD_COUNT;
+
+  private static final int[] SUITE_OF = new int[CARD_IDS];
+  private static final int[] SUITE_MASKS = new int[SUITES];
+  private static final int[] RANK_MASKS = new int[VALUES];
+  private static final int[] BEATING_MASKS = new int[SUITES * CARD_IDS];
+
+  static {
+    for (int id = 0; id < CARD_IDS; id++) {
+      int suite = id / VALUES;
+      int rank = id % VALUES;
+      SUITE_OF[id] = suite;
+      SUITE_MASKS[suite] |= 1 << id;
+      RANK_MASKS[rank] |= 1 << id;
+    }
+    for (int trump = 0; trump < SUITES; trump++) {
+      for (int id = 0; id < CARD_IDS; id++) {
+        int beating = SUITE_MASKS[SUITE_OF[id]] & -(2 << id);
+        if (SUITE_OF[id] != trump) {
+          beating |= SUITE_MASKS[trump];
+        }
+        BEATING_MASKS[trump * CARD_IDS + id] = beating;
+      }
+    }
+  }
+
+  private final int players;
+  private final int handSize;
+  private final int[] teamOf;
+  private final SplittableRandom random;
+  private final int[] deck;
+  private final int[] counts;
+  private final int[] held;
+  private final int[] remaining;
+  private final int[] policies;
+  private final HandScorer scorer;
+  private int lastTrickWinner;
+
+  /**
+   * Creates an engine for {@link RuleSet#DOUBLE_DECK} with a seeded random source such that
+   * rollouts are reproducible.
+   *
+   * @param seed seed for dealing and random play.
+   */
+  public RolloutEngine(long seed) {
+    this(RuleSet.DOUBLE_DECK, seed);
+  }
+
+  /**
+   * Creates an engine for the variant defined by the {@link RuleSet} with a seeded random source
+   * such that rollouts are reproducible.
+   *
+   * @param rules variant to play.
+   * @param seed seed for dealing and random play.
+   */
+  public RolloutEngine(RuleSet rules, long seed) {
+    players = rules.getPlayers();
+    handSize = rules.getHandSize();
+    teamOf = new int[players];
+    for (int player = 0; player < players; player++) {
+      teamOf[player] = rules.getTeam(player);
+    }
+    random = new SplittableRandom(seed);
+    deck = new int[rules.getDeckSize()];
+    for (int index = 0; index < deck.length; index++) {
+      deck[index] = index / rules.getCopiesPerCard();
+    }
+    counts = new int[players * CARD_IDS];
+    held = new int[players];
+    remaining = new int[players];
+    policies = new int[players];
+    scorer = new HandScorer(rules);
+    lastTrickWinner = -1;
+  }
+
+  public int getPlayers() {
+    return players;
+  }
+
+  /**
+   * Returns the team a player belongs to as assigned by the {@link RuleSet}.
+   *
+   * @param player index of the player.
+   * @return index of the team.
+   */
+  public int getTeam(int player) {
+    return teamOf[player];
+  }
+
+  /**
+   * Sets the play policy for a player, see {@link RolloutEngine#POLICY_RANDOM} and
+   * {@link RolloutEngine#POLICY_GREEDY}.
+   *
+   * @param player index of the player.
+   * @param policy policy constant.
+   */
+  public void setPolicy(int player, int policy) {
+    if (policy != POLICY_RANDOM && policy != POLICY_GREEDY) {
+      throw new IllegalArgumentException("Unknown policy '" + policy + "'.");
+    }
+    policies[player] = policy;
+  }
+
+  /**
+   * Shuffles the deck and deals a full hand to each player, replacing any cards held. Cards left
+   * after dealing form the widow and are not played.
+   */
+  public void deal() {
+    for (int index = deck.length - 1; index > 0; index--) {
+      int swap = nextIndex(random, index + 1);
+      int temp = deck[index];
+      deck[index] = deck[swap];
+      deck[swap] = temp;
+    }
+
+    Arrays.fill(counts, 0);
+    Arrays.fill(held, 0);
+    for (int player = 0; player < players; player++) {
+      for (int index = player * handSize; index < (player + 1) * handSize; index++) {
+        int id = deck[index];
+        counts[player * CARD_IDS + id]++;
+        held[player] |= 1 << id;
+      }
+      remaining[player] = handSize;
+    }
+  }
+
+  /**
+   * Replaces the cards held by a player with the cards remaining in the {@link Hand}.
+   *
+   * @param player index of the player.
+   * @param hand hand to copy the remaining cards from.
+   */
+  public void setHand(int player, Hand hand) {
+    int[] cardCounts = new int[CARD_IDS];
+    hand.viewCards().forEach(card -> cardCounts[card.getId()]++);
+    setHand(player, cardCounts);
+  }
+
+  /**
+   * Replaces the cards held by a player with the provided count per card id.
+   *
+   * @param player index of the player.
+   * @param cardCounts number of copies held indexed by card id.
+   */
+  public void setHand(int player, int[] cardCounts) {
+    held[player] = 0;
+    remaining[player] = 0;
+    for (int id = 0; id < CARD_IDS; id++) {
+      counts[player * CARD_IDS + id] = cardCounts[id];
+      remaining[player] += cardCounts[id];
+      if (cardCounts[id] > 0) {
+        held[player] |= 1 << id;
+      }
+    }
+  }
+
+  /**
+   * Returns the number of copies of a card id a player holds.
+   *
+   * @param player index of the player.
+   * @param id card id.
+   * @return number of copies held.
+   */
+  public int getCardCount(int player, int id) {
+    return counts[player * CARD_IDS + id];
+  }
+
+  /**
+   * Returns the number of cards a player has left to play.
+   *
+   * @param player index of the player.
+   * @return number of cards held.
+   */
+  public int getRemainingCount(int player) {
+    return remaining[player];
+  }
+
+  /**
+   * Returns the trick points taken by the team during the last rollout including the last trick
+   * bonus. Teams are assigned to players by the {@link RuleSet}.
+   *
+   * @param teamIndex index of the team.
+   * @return points taken by the team.
+   */
+  public int getTeamPoints(int teamIndex) {
+    return scorer.getTricks(teamIndex);
+  }
+
+  public int getLastTrickWinner() {
+    return lastTrickWinner;
+  }
+
+  /**
+   * Plays every remaining card following the rules enforced by {@link Trick} and the policy
+   * configured per player. Points are counted per trick by a {@link HandScorer}, the same scorer
+   * used for live play.
+   *
+   * @param trump suite declared trump.
+   * @param leader index of the player leading the first trick.
+   */
+  public void playOut(Suite trump, int leader) {
+    int trumpSuite = trump.ordinal();
+    int lead = leader;
+    scorer.startHand(-1, 0);
+
+    // Every player holds as many cards as the leader, one is played per trick.
+    for (int tricks = remaining[lead]; tricks > 0; tricks--) {
+      int trick = TrickTable.start(trumpSuite);
+      int player = lead;
+      for (int played = 0; played < players; played++) {
+        int legal = TrickTable.legalMask(trick, held[player]);
+        int id = chooseCard(player, legal, TrickTable.getWinner(trick),
+            TrickTable.getWinnerId(trick), trumpSuite);
+        removeCard(player, id);
+        scorer.countCard(id);
+        trick = TrickTable.play(trick, player, id);
+        player = player == players - 1 ? 0 : player + 1;
+      }
+      int winner = TrickTable.getWinner(trick);
+      if (tricks > 1) {
+        scorer.collectTrick(teamOf[winner]);
+      } else {
+        scorer.collectLastTrick(teamOf[winner]);
+      }
+      lead = winner;
+    }
+    Arrays.fill(remaining, 0);
+    lastTrickWinner = lead;
+  }
+
+  /**
+   * Computes the mask of card ids a player may legally play on a trick.
+   *
+   * @param held mask of card ids held by the player.
+   * @param winnerId id of the card currently winning the trick or -1 when leading.
+   * @param ledSuite ordinal of the suite led, ignored when leading.
+   * @param trump ordinal of the trump suite.
+   * @return mask of the card ids the player may play.
+   */
+  static int legalMask(int held, int winnerId, int ledSuite, int trump) {
+    return TrickTable.legalMask(TrickTable.of(trump, ledSuite, winnerId, 0, 0), held);
+  }
+
+  /**
+   * Indicates if a card takes the trick from the card currently winning it. Equal cards do not
+   * beat the card played first.
+   *
+   * @param id id of the card played.
+   * @param winnerId id of the card currently winning the trick.
+   * @param trump ordinal of the trump suite.
+   * @return true if the played card becomes the winning card else false.
+   */
+  static boolean beats(int id, int winnerId, int trump) {
+    return TrickTable.takes(TrickTable.of(trump, SUITE_OF[winnerId], winnerId, 0, 0), id);
+  }
+
+  /**
+   * Chooses a card id as {@link RolloutEngine#POLICY_GREEDY} does.
+   *
+   * @param legal mask of the card ids the player may play.
+   * @param winnerId id of the card currently winning the trick or -1 when leading.
+   * @param partnerWinning true if the trick is being taken by the player's team.
+   * @param trump ordinal of the trump suite.
+   * @return id of the card to play.
+   */
+  static int greedyCard(int legal, int winnerId, boolean partnerWinning, int trump) {
+    if (winnerId < 0) {
+      return highestRank(legal);
+    }
+    int beating = partnerWinning ? 0 : legal & BEATING_MASKS[trump * CARD_IDS + winnerId];
+    return lowestRank(beating != 0 ? beating : legal);
+  }
+
+  /**
+   * Chooses a uniformly random card id from a mask.
+   *
+   * @param legal mask of the card ids the player may play.
+   * @param random source of randomness.
+   * @return id of the card to play.
+   */
+  static int randomCard(int legal, SplittableRandom random) {
+    int skip = nextIndex(random, Integer.bitCount(legal));
+    int mask = legal;
+    for (; skip > 0; skip--) {
+      mask &= mask - 1;
+    }
+    return Integer.numberOfTrailingZeros(mask);
+  }
+
+  private int chooseCard(int player, int legal, int winner, int winnerId, int trump) {
+    if (policies[player] == POLICY_GREEDY) {
+      return greedyCard(legal, winnerId, winnerId >= 0 && teamOf[winner] == teamOf[player],
+          trump);
+    }
+    return randomCard(legal, random);
+  }
+
+  private void removeCard(int player, int id) {
+    int left = --counts[player * CARD_IDS + id];
+    // Clears the bit of the id once the last copy is played without branching on the count.
+    held[player] &= ~(((left - 1) >>> (Integer.SIZE - 1)) << id);
+  }
+
+  /**
+   * Draws an index below the bound by scaling 32 random bits rather than with the division of
+   * {@link SplittableRandom#nextInt(int)}, which is a large part of the cost of dealing and of a
+   * random card. The bias is below one in two to the 25 for the bounds drawn here.
+   */
+  private static int nextIndex(SplittableRandom random, int bound) {
+    return (int) (((random.nextInt() & 0xFFFFFFFFL) * bound) >>> Integer.SIZE);
+  }
+
+  // Among equal ranks the lowest id is chosen, the first of the mask's set bits. The ranks are
+  // applied from the least preferred with conditional moves as in TrickTable#legalMask.
+  private static int highestRank(int mask) {
+    int ranked = mask;
+    for (int rank = 0; rank < VALUES; rank++) {
+      int matching = mask & RANK_MASKS[rank];
+      ranked = matching != 0 ? matching : ranked;
+    }
+    return Integer.numberOfTrailingZeros(ranked);
+  }
+
+  private static int lowestRank(int mask) {
+    int ranked = mask;
+    for (int rank = VALUES - 1; rank >= 0; rank--) {
+      int matching = mask & RANK_MASKS[rank];
+      ranked = matching != 0 ? matching : ranked;
+    }
+    return Integer.numberOfTrailingZeros(ranked);
+  }
+}
@@ -0,0 +1,365 @@
+package org.eelbbor.pinochle.simulation;
+
+import org.eelbbor.carddeck.standard.Suite;
+import org.eelbbor.pinochle.Card;
+import org.eelbbor.pinochle.Game;
+import org.eelbbor.pinochle.Hand;
+import org.eelbbor.pinochle.PinochleFaceValue;
+import org.eelbbor.pinochle.RuleSet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Plays self play hands of {@link Game} on worker threads and writes a training sample for every
+ * card played to a {@link TrainingDataWriter}: the features of the player to act, see
+ * {@link FeatureEncoder}, labelled once the hand is scored with the points the player's team
+ * scored on the hand less the best score of another team and the outcome flags
+ * {@link SelfPlayGenerator#OUTCOME_WON}, {@link SelfPlayGenerator#OUTCOME_DECLARING} and
+ * {@link SelfPlayGenerator#OUTCOME_SET}. Hands ending on insufficient meld are counted but
+ * produce no samples.
+ *
+ * <p/>
+ * Players bid the minimum bid while it does not exceed their best meld plus the expected trick
+ * points, declare the trump of their best meld and play as {@link RolloutEngine#POLICY_GREEDY}
+ * except for a random legal card with the exploration probability. Each worker resets its game
+ * with a new seed every {@link SelfPlayGenerator#setHandsPerGame(int) hands per game} hands so
+ * game scores stay in range.
+ *
+ * <p/>
+ * Workers fill batches of samples taken from a fixed pool of
+ * {@link SelfPlayGenerator#BATCHES_PER_WORKER} batches per worker and hand them to the calling
+ * thread, which appends them to the writer and returns them to the pool. Buffering is therefore
+ * bounded, workers wait for a free batch when the writer falls behind, and the sample arrays are
+ * reused so the steady state allocates nothing. Deals and play are seeded per worker, so each
+ * worker plays the same hands for the same seed, though batches of different workers may be
+ * appended in any order.
+ *
+ * @author Robb Lee (robbmlee@gmail.com).
+ */
+public final class SelfPlayGenerator {
+  public static final int OUTCOME_WON = 1;
+  public static final int OUTCOME_DECLARING = 2;
+  public static final int OUTCOME_SET = 4;
+
+  /**
+   * Number of samples per batch handed to the writer.
+   */
+  public static final int BATCH_SAMPLES = 1 << 12;
+
+  /**
+   * Number of batches buffered per worker.
+   */
+  public static final int BATCHES_PER_WORKER = 2;
+
+  public static final int DEFAULT_HANDS_PER_GAME = 10;
+  public static final double DEFAULT_EXPLORATION = 0.1;
+
+  private static final long SEED_STRIDE = 0x9E3779B97F4A7C15L;
+  private static final Suite[] SUITES = Suite.values();
+  private static final int VALUES = PinochleFaceValue.values().length;
+  private static final int CARD_IDS = Card.DISTINCT_CARD_COUNT;
+  private static final SampleBatch END = new SampleBatch(0);
+
+  private final RuleSet rules;
+  private int threads;
+  private int handsPerGame;
+  private double exploration;
+  private int expectedTricks;
+
+  /**
+   * Creates a generator for the variant running a worker per processor.
+   *
+   * @param rules variant to play.
+   */
+  public SelfPlayGenerator(RuleSet rules) {
+    this.rules = rules;
+    threads = Runtime.getRuntime().availableProcessors();
+    handsPerGame = DEFAULT_HANDS_PER_GAME;
+    exploration = DEFAULT_EXPLORATION;
+    expectedTricks = rules.getMinimumTricks();
+  }
+
+  /**
+   * Sets the number of worker threads playing hands.
+   *
+   * @param threads number of workers.
+   */
+  public void setThreads(int threads) {
+    if (threads < 1) {
+      throw new IllegalArgumentException("Threads must be positive but was '" + threads + "'.");
+    }
+    this.threads = threads;
+  }
+
+  /**
+   * Sets the number of hands played before a worker starts a new game.
+   *
+   * @param handsPerGame number of hands per game.
+   */
+  public void setHandsPerGame(int handsPerGame) {
+    if (handsPerGame < 1) {
+      throw new IllegalArgumentException(
+          "Hands per game must be positive but was '" + handsPerGame + "'.");
+    }
+    this.handsPerGame = handsPerGame;
+  }
+
+  /**
+   * Sets the probability of playing a random legal card rather than the greedy one.
+   *
+   * @param exploration probability from 0 to 1.
+   */
+  public void setExploration(double exploration) {
+    if (!(exploration >= 0 && exploration <= 1)) {
+      throw new IllegalArgumentException(
+          "Exploration must be from 0 to 1 but was '" + exploration + "'.");
+    }
+    this.exploration = exploration;
+  }
+
+  /**
+   * Sets the trick points a player expects to take, added to its best meld to estimate the
+   * highest bid it makes. Defaults to {@link RuleSet#getMinimumTricks()}.
+   *
+   * @param expectedTricks trick points expected per hand.
+   */
+  public void setExpectedTricks(int expectedTricks) {
+    if (expectedTricks < 1) {
+      throw new IllegalArgumentException(
+          "Expected tricks must be positive but was '" + expectedTricks + "'.");
+    }
+    this.expectedTricks = expectedTricks;
+  }
+
+  /**
+   * Plays hands and appends their samples to the writer, blocking until every sample is written.
+   *
+   * @param writer writer of {@link FeatureEncoder#WIDTH} features per sample.
+   * @param hands number of hands to play.
+   * @param seed seed from which the play of each worker is derived.
+   * @return number of samples written.
+   */
+  public long generate(TrainingDataWriter writer, long hands, long seed) {
+    if (writer.getWidth() != FeatureEncoder.WIDTH) {
+      throw new IllegalArgumentException("Writer must take " + FeatureEncoder.WIDTH
+          + " features per sample but takes '" + writer.getWidth() + "'.");
+    } else if (hands < 0) {
+      throw new IllegalArgumentException("Invalid number of hands '" + hands + "'.");
+    }
+    int workers = (int) Math.max(1, Math.min(threads, hands));
+    int batches = workers * BATCHES_PER_WORKER;
+    int capacity = Math.max(BATCH_SAMPLES, rules.getPlayers() * rules.getHandSize());
+    BlockingQueue<SampleBatch> free = new ArrayBlockingQueue<>(batches);
+    BlockingQueue<SampleBatch> full = new ArrayBlockingQueue<>(batches + workers);
+    for (int batch = 0; batch < batches; batch++) {
+      free.add(new SampleBatch(capacity));
+    }
+
+    long first = writer.getSampleCount();
+    ExecutorService executor = Executors.newFixedThreadPool(workers);
+    try {
+      List<Future<?>> futures = new ArrayList<>(workers);
+      for (int worker = 0; worker < workers; worker++) {
+        long workerHands = hands / workers + (worker < hands % workers ? 1 : 0);
+        futures.add(executor.submit(
+            new Worker(seed + worker * SEED_STRIDE, workerHands, free, full)));
+      }
+      int finished = 0;
+      while (finished < workers) {
+        SampleBatch batch = full.take();
+        if (batch == END) {
+          finished++;
+        } else {
+          writer.append(batch.features, batch.labels, batch.outcomes, batch.size, batch.hands);
+          batch.size = 0;
+          batch.hands = 0;
+          free.put(batch);
+        }
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Tried to generate self play data while interrupted.", ex);
+    } catch (ExecutionException ex) {
+      throw new IllegalStateException("Tried to generate self play data.", ex.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+    return writer.getSampleCount() - first;
+  }
+
+  /**
+   * Samples handed from a worker to the writer, reused through the pool of free batches.
+   */
+  private static final class SampleBatch {
+    private final float[] features;
+    private final float[] labels;
+    private final byte[] outcomes;
+    private int size;
+    private int hands;
+
+    private SampleBatch(int capacity) {
+      features = new float[capacity * FeatureEncoder.WIDTH];
+      labels = new float[capacity];
+      outcomes = new byte[capacity];
+    }
+  }
+
+  /**
+   * Plays the hands of one worker.
+   */
+  private final class Worker implements Runnable {
+    private final int players = rules.getPlayers();
+    private final int handSamples = players * rules.getHandSize();
+    private final FeatureEncoder encoder = new FeatureEncoder(rules);
+    private final float[] handFeatures = new float[handSamples * FeatureEncoder.WIDTH];
+    private final int[] samplePlayers = new int[handSamples];
+    private final int[] played = new int[CARD_IDS];
+    private final int[] cardCounts = new int[CARD_IDS];
+    private final int[] estimates = new int[players];
+    private final Suite[] trumps = new Suite[players];
+    private final int[] scores = new int[rules.getTeamCount()];
+    private final int[] margins = new int[rules.getTeamCount()];
+    private final SplittableRandom random;
+    private final long hands;
+    private final BlockingQueue<SampleBatch> free;
+    private final BlockingQueue<SampleBatch> full;
+
+    private Worker(long seed, long hands, BlockingQueue<SampleBatch> free,
+        BlockingQueue<SampleBatch> full) {
+      random = new SplittableRandom(seed);
+      this.hands = hands;
+      this.free = free;
+      this.full = full;
+    }
+
+    @Override
+    public void run() {
+      try {
+        SampleBatch batch = free.take();
+        // One game per worker, reset with a seed from the worker so its play can be reproduced.
+        Game game = new Game(rules);
+        for (long hand = 0; hand < hands; hand++) {
+          if (hand % handsPerGame == 0) {
+            game.reset(random.nextLong());
+          }
+          if (batch.labels.length - batch.size < handSamples) {
+            full.put(batch);
+            batch = free.take();
+          }
+          playHand(game, batch);
+        }
+        if (batch.hands > 0) {
+          full.put(batch);
+        } else {
+          free.put(batch);
+        }
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Tried to play self play hands while interrupted.", ex);
+      } finally {
+        // The queue of full batches has room for the end of every worker.
+        full.offer(END);
+      }
+    }
+
+    private void playHand(Game game, SampleBatch batch) {
+      bid(game);
+      int declarer = game.getHighBidPlayer();
+      for (int team = 0; team < scores.length; team++) {
+        scores[team] = game.getTeamScore(team);
+      }
+      Suite trump = trumps[declarer];
+      game.declareTrump(trump);
+
+      // The game deals the next hand once the last card is played or with insufficient meld.
+      Arrays.fill(played, 0);
+      int count = 0;
+      while (game.isPlayingHand()) {
+        int player = game.getCurrentPlayer();
+        encoder.encode(game, player, played, handFeatures, count * FeatureEncoder.WIDTH);
+        samplePlayers[count++] = player;
+        int id = chooseCard(game, player, trump.ordinal());
+        played[id]++;
+        game.playCard(Card.fromId(id));
+      }
+
+      for (int team = 0; team < scores.length; team++) {
+        scores[team] = game.getTeamScore(team) - scores[team];
+      }
+      for (int team = 0; team < scores.length; team++) {
+        int best = Integer.MIN_VALUE;
+        for (int other = 0; other < scores.length; other++) {
+          best = other == team ? best : Math.max(best, scores[other]);
+        }
+        margins[team] = scores[team] - best;
+      }
+      int biddingTeam = rules.getTeam(declarer);
+      int set = scores[biddingTeam] < 0 ? OUTCOME_SET : 0;
+      for (int sample = 0; sample < count; sample++) {
+        int team = rules.getTeam(samplePlayers[sample]);
+        System.arraycopy(handFeatures, sample * FeatureEncoder.WIDTH, batch.features,
+            batch.size * FeatureEncoder.WIDTH, FeatureEncoder.WIDTH);
+        batch.labels[batch.size] = margins[team];
+        batch.outcomes[batch.size] = (byte) ((margins[team] > 0 ? OUTCOME_WON : 0)
+            | (team == biddingTeam ? OUTCOME_DECLARING : 0) | set);
+        batch.size++;
+      }
+      batch.hands++;
+    }
+
+    private void bid(Game game) {
+      for (int player = 0; player < players; player++) {
+        game.copyCardCounts(player, cardCounts);
+        int bestMeld = -1;
+        for (Suite suite : SUITES) {
+          int meld = Hand.countMeld(cardCounts, suite, rules);
+          if (meld > bestMeld) {
+            bestMeld = meld;
+            trumps[player] = suite;
+          }
+        }
+        estimates[player] = bestMeld + expectedTricks;
+      }
+
+      while (game.isBidding()) {
+        int player = game.getCurrentPlayer();
+        boolean stuck = player == game.getDealer() && game.getHighBidPlayer() < 0;
+        if (stuck || game.getMinBid() <= estimates[player]) {
+          game.bid(game.getMinBid());
+        } else {
+          game.pass();
+        }
+      }
+    }
+
+    private int chooseCard(Game game, int player, int trump) {
+      game.copyCardCounts(player, cardCounts);
+      int held = 0;
+      for (int id = 0; id < CARD_IDS; id++) {
+        held |= cardCounts[id] > 0 ? 1 << id : 0;
+      }
+      int highPlayer = game.getTrickHighPlayer();
+      int winnerId = highPlayer < 0 ? -1 : game.getTrickCardId(highPlayer);
+      int ledSuite = winnerId < 0 ? -1 : game.getTrickCardId(game.getCurrentLead()) / VALUES;
+      int legal = RolloutEngine.legalMask(held, winnerId, ledSuite, trump);
+      if (random.nextDouble() < exploration) {
+        return RolloutEngine.randomCard(legal, random);
+      }
+      boolean partnerWinning =
+          highPlayer >= 0 && rules.getTeam(highPlayer) == rules.getTeam(player);
+      return RolloutEngine.greedyCard(legal, winnerId, partnerWinning, trump);
+    }
+  }
+}
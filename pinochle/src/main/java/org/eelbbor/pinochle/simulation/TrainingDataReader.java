@@ -0,0 +1,135 @@
+package org.eelbbor.pinochle.simulation;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads the samples committed to training data files written by {@link TrainingDataWriter},
+ * mapping the files read only in the same segments. Samples appended after the reader is opened
+ * are not visible. Reads do not move any buffer position so a reader may be shared by threads.
+ *
+ * @author Robb Lee (robbmlee@gmail.com).
+ */
+public final class TrainingDataReader {
+  private final int width;
+  private final long samples;
+  private final long hands;
+  private final FloatBuffer[] features;
+  private final FloatBuffer[] labels;
+  private final ByteBuffer[] outcomes;
+
+  private TrainingDataReader(Path prefix) throws IOException {
+    try (FileChannel index = channel(prefix, TrainingDataWriter.INDEX)) {
+      long[] committed = TrainingDataWriter.readIndex(index, 0, prefix);
+      width = (int) committed[0];
+      samples = committed[1];
+      hands = committed[2];
+    }
+
+    int segments = (int) ((samples + TrainingDataWriter.SEGMENT_SAMPLES - 1)
+        / TrainingDataWriter.SEGMENT_SAMPLES);
+    features = new FloatBuffer[segments];
+    labels = new FloatBuffer[segments];
+    outcomes = new ByteBuffer[segments];
+    try (FileChannel featureChannel = channel(prefix, TrainingDataWriter.FEATURES);
+        FileChannel labelChannel = channel(prefix, TrainingDataWriter.LABELS);
+        FileChannel outcomeChannel = channel(prefix, TrainingDataWriter.OUTCOMES)) {
+      for (int segment = 0; segment < segments; segment++) {
+        long first = (long) segment * TrainingDataWriter.SEGMENT_SAMPLES;
+        int count = (int) Math.min(TrainingDataWriter.SEGMENT_SAMPLES, samples - first);
+        features[segment] = map(featureChannel, first * width * Float.BYTES,
+            (long) count * width * Float.BYTES).asFloatBuffer();
+        labels[segment] =
+            map(labelChannel, first * Float.BYTES, (long) count * Float.BYTES).asFloatBuffer();
+        outcomes[segment] = map(outcomeChannel, first, count);
+      }
+    }
+  }
+
+  /**
+   * Opens the committed samples of the files sharing a prefix.
+   *
+   * @param prefix path the file extensions are appended to.
+   * @return reader of the samples.
+   */
+  public static TrainingDataReader open(Path prefix) {
+    try {
+      return new TrainingDataReader(prefix);
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Tried to read training data '" + prefix + "'.", ex);
+    }
+  }
+
+  public int getWidth() {
+    return width;
+  }
+
+  public long getSampleCount() {
+    return samples;
+  }
+
+  public long getHandCount() {
+    return hands;
+  }
+
+  /**
+   * Copies the features of a sample into the array.
+   *
+   * @param sample index of the sample.
+   * @param row array to copy {@link TrainingDataReader#getWidth()} features into.
+   * @param offset index of the first feature to copy.
+   */
+  public void readFeatures(long sample, float[] row, int offset) {
+    FloatBuffer segment = features[segment(sample)];
+    int first = (int) (sample % TrainingDataWriter.SEGMENT_SAMPLES) * width;
+    for (int feature = 0; feature < width; feature++) {
+      row[offset + feature] = segment.get(first + feature);
+    }
+  }
+
+  /**
+   * Returns the label of a sample.
+   *
+   * @param sample index of the sample.
+   * @return label written with the sample.
+   */
+  public float getLabel(long sample) {
+    return labels[segment(sample)].get((int) (sample % TrainingDataWriter.SEGMENT_SAMPLES));
+  }
+
+  /**
+   * Returns the outcome flags of a sample.
+   *
+   * @param sample index of the sample.
+   * @return outcome flags written with the sample.
+   */
+  public int getOutcome(long sample) {
+    return outcomes[segment(sample)].get((int) (sample % TrainingDataWriter.SEGMENT_SAMPLES))
+        & 0xFF;
+  }
+
+  private int segment(long sample) {
+    if (sample < 0 || sample >= samples) {
+      throw new IllegalArgumentException(
+          "Sample must be less than " + samples + " but was '" + sample + "'.");
+    }
+    return (int) (sample / TrainingDataWriter.SEGMENT_SAMPLES);
+  }
+
+  private static ByteBuffer map(FileChannel channel, long position, long size)
+      throws IOException {
+    return channel.map(FileChannel.MapMode.READ_ONLY, position, size)
+        .order(ByteOrder.LITTLE_ENDIAN);
+  }
+
+  private static FileChannel channel(Path prefix, String extension) throws IOException {
+    return FileChannel.open(prefix.resolveSibling(prefix.getFileName() + extension),
+        StandardOpenOption.READ);
+  }
+}
@@ -0,0 +1,266 @@
+package org.eelbbor.pinochle.simulation;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends training samples to memory mapped files sharing a path prefix. Each sample is a row of
+ * float features in the {@code .features} file, a float label in the {@code .labels} file and a
+ * byte of outcome flags in the {@code .outcomes} file, all little endian so they load directly
+ * into numeric libraries. The files are mapped in segments of
+ * {@link TrainingDataWriter#SEGMENT_SAMPLES} samples so they grow past the two gigabyte limit of a
+ * single mapping, which leaves up to a segment of zeros past the last sample.
+ *
+ * <p/>
+ * Samples are committed by the append only {@code .index} file, a header with the feature width
+ * followed by one entry per appended batch holding its first sample, sample count and the number
+ * of hands it covers. The mapped segments holding a batch are forced to disk before its entry is
+ * written and the index is forced after it, so after a process or system crash the index describes
+ * a consistent prefix and reopening the files resumes appending after it, dropping a partially
+ * written entry.
+ *
+ * <p/>
+ * Instances are not thread safe, {@link SelfPlayGenerator} appends from a single thread.
+ *
+ * @author Robb Lee (robbmlee@gmail.com).
+ */
+public final class TrainingDataWriter implements Closeable {
+  public static final String FEATURES = ".features";
+  public static final String LABELS = ".labels";
+  public static final String OUTCOMES = ".outcomes";
+  public static final String INDEX = ".index";
+
+  /**
+   * Number of samples per mapped segment.
+   */
+  public static final int SEGMENT_SAMPLES = 1 << 16;
+
+  static final int MAGIC = 0x50534454;
+  static final int HEADER_BYTES = 2 * Integer.BYTES;
+  static final int ENTRY_BYTES = Long.BYTES + 2 * Integer.BYTES;
+
+  private final Path prefix;
+  private final int width;
+  private final FileChannel featureChannel;
+  private final FileChannel labelChannel;
+  private final FileChannel outcomeChannel;
+  private final FileChannel indexChannel;
+  private final ByteBuffer entry;
+  private MappedByteBuffer featureSegment;
+  private MappedByteBuffer labelSegment;
+  private MappedByteBuffer outcomeSegment;
+  private FloatBuffer features;
+  private FloatBuffer labels;
+  private long segment;
+  private long samples;
+  private long hands;
+
+  private TrainingDataWriter(Path prefix, int width) throws IOException {
+    this.prefix = prefix;
+    this.width = width;
+    featureChannel = channel(prefix, FEATURES);
+    labelChannel = channel(prefix, LABELS);
+    outcomeChannel = channel(prefix, OUTCOMES);
+    indexChannel = channel(prefix, INDEX);
+    entry = ByteBuffer.allocate(ENTRY_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    segment = -1;
+  }
+
+  /**
+   * Opens the files of a prefix for appending, creating them if they do not exist.
+   *
+   * @param prefix path the file extensions are appended to.
+   * @param width number of features per sample, which must match existing files.
+   * @return writer positioned after the last committed sample.
+   */
+  public static TrainingDataWriter open(Path prefix, int width) {
+    if (width < 1) {
+      throw new IllegalArgumentException("Feature width must be positive but was '" + width + "'.");
+    }
+    TrainingDataWriter writer = null;
+    try {
+      writer = new TrainingDataWriter(prefix, width);
+      writer.resume();
+      return writer;
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Tried to open training data '" + prefix + "'.", ex);
+    } catch (RuntimeException ex) {
+      if (writer != null) {
+        writer.close();
+      }
+      throw ex;
+    }
+  }
+
+  /**
+   * Reads the committed sample and hand counts from an index, see
+   * {@link TrainingDataWriter#INDEX}.
+   *
+   * @param index index file channel.
+   * @param width expected feature width or 0 to accept any.
+   * @param path prefix of the files for error messages.
+   * @return feature width, committed samples and hands.
+   */
+  static long[] readIndex(FileChannel index, int width, Path path) throws IOException {
+    long entries = (index.size() - HEADER_BYTES) / ENTRY_BYTES;
+    int bytes = (int) Math.max(0, entries) * ENTRY_BYTES + HEADER_BYTES;
+    ByteBuffer buffer = ByteBuffer.allocate(bytes).order(ByteOrder.LITTLE_ENDIAN);
+    int read = 0;
+    while (read >= 0 && buffer.hasRemaining()) {
+      read = index.read(buffer, buffer.position());
+    }
+    buffer.flip();
+    if (buffer.remaining() < HEADER_BYTES || buffer.getInt() != MAGIC
+        || (width > 0 && buffer.getInt(Integer.BYTES) != width)) {
+      throw new IllegalArgumentException(
+          "File '" + path + INDEX + "' is not a training data index of the feature width.");
+    }
+    long samples = 0;
+    long hands = 0;
+    int fileWidth = buffer.getInt();
+    while (buffer.remaining() >= ENTRY_BYTES) {
+      samples = buffer.getLong() + buffer.getInt();
+      hands += buffer.getInt();
+    }
+    return new long[] {fileWidth, samples, hands};
+  }
+
+  public Path getPrefix() {
+    return prefix;
+  }
+
+  public int getWidth() {
+    return width;
+  }
+
+  public long getSampleCount() {
+    return samples;
+  }
+
+  public long getHandCount() {
+    return hands;
+  }
+
+  /**
+   * Appends a batch of samples and commits it to the index.
+   *
+   * @param featureRows features of the samples, {@link TrainingDataWriter#getWidth()} per sample.
+   * @param sampleLabels label per sample.
+   * @param sampleOutcomes outcome flags per sample.
+   * @param count number of samples to append.
+   * @param handCount number of hands played to produce the samples.
+   */
+  public void append(float[] featureRows, float[] sampleLabels, byte[] sampleOutcomes, int count,
+      int handCount) {
+    long first = samples;
+    int done = 0;
+    try {
+      while (done < count) {
+        if (samples / SEGMENT_SAMPLES != segment) {
+          map(samples / SEGMENT_SAMPLES);
+        }
+        int offset = (int) (samples % SEGMENT_SAMPLES);
+        int run = Math.min(count - done, SEGMENT_SAMPLES - offset);
+        features.position(offset * width);
+        features.put(featureRows, done * width, run * width);
+        labels.position(offset);
+        labels.put(sampleLabels, done, run);
+        outcomeSegment.position(offset);
+        outcomeSegment.put(sampleOutcomes, done, run);
+        done += run;
+        samples += run;
+      }
+
+      // The samples reach the disk before the entry committing them.
+      force();
+      entry.clear();
+      entry.putLong(first).putInt(count).putInt(handCount).flip();
+      while (entry.hasRemaining()) {
+        indexChannel.write(entry);
+      }
+      indexChannel.force(false);
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Tried to write training data '" + prefix + "'.", ex);
+    }
+    hands += handCount;
+  }
+
+  /**
+   * Forces the mapped segments and index to disk and closes the files.
+   */
+  @Override
+  public void close() {
+    try {
+      force();
+      indexChannel.force(true);
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Tried to write training data '" + prefix + "'.", ex);
+    } finally {
+      closeQuietly(featureChannel);
+      closeQuietly(labelChannel);
+      closeQuietly(outcomeChannel);
+      closeQuietly(indexChannel);
+    }
+  }
+
+  private void resume() throws IOException {
+    if (indexChannel.size() == 0) {
+      ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+      header.putInt(MAGIC).putInt(width).flip();
+      while (header.hasRemaining()) {
+        indexChannel.write(header);
+      }
+      return;
+    }
+    long[] committed = readIndex(indexChannel, width, prefix);
+    samples = committed[1];
+    hands = committed[2];
+    // Drop a partially written entry left by a crash.
+    long entries = (indexChannel.size() - HEADER_BYTES) / ENTRY_BYTES;
+    indexChannel.truncate(HEADER_BYTES + entries * ENTRY_BYTES);
+    indexChannel.position(indexChannel.size());
+  }
+
+  private void map(long index) throws IOException {
+    force();
+    long position = index * SEGMENT_SAMPLES;
+    featureSegment = featureChannel.map(FileChannel.MapMode.READ_WRITE,
+        position * width * Float.BYTES, (long) SEGMENT_SAMPLES * width * Float.BYTES);
+    labelSegment = labelChannel.map(FileChannel.MapMode.READ_WRITE, position * Float.BYTES,
+        (long) SEGMENT_SAMPLES * Float.BYTES);
+    outcomeSegment = outcomeChannel.map(FileChannel.MapMode.READ_WRITE, position,
+        SEGMENT_SAMPLES);
+    features = featureSegment.order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer();
+    labels = labelSegment.order(ByteOrder.LITTLE_ENDIAN).asFloatBuffer();
+    segment = index;
+  }
+
+  private void force() {
+    if (featureSegment != null) {
+      featureSegment.force();
+      labelSegment.force();
+      outcomeSegment.force();
+    }
+  }
+
+  private static FileChannel channel(Path prefix, String extension) throws IOException {
+    return FileChannel.open(prefix.resolveSibling(prefix.getFileName() + extension),
+        StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+  }
+
+  private static void closeQuietly(FileChannel channel) {
+    try {
+      channel.close();
+    } catch (IOException ex) {
+      // Nothing more to do, the data was forced before closing.
+    }
+  }
+}
@@ -0,0 +1,204 @@
+package org.eelbbor.pinochle.simulation;
+
+import org.eelbbor.carddeck.standard.Suite;
+import org.eelbbor.pinochle.Card;
+import org.eelbbor.pinochle.PinochleFaceValue;
+import org.eelbbor.pinochle.Trick;
+
+/**
+ * Resolves tricks on a packed int state with precomputed tables rather than the branches of
+ * {@link Trick#playCard(int, Card, org.eelbbor.pinochle.Hand)}, for rollouts and searches playing
+ * millions of cards. The rules are those enforced by {@link Trick}.
+ *
+ * <p/>
+ * The low bits of a state hold the key of the tables, the winning card id plus one (zero before
+ * a card is played), the suite led and the trump suite. Above the key are the index of the player
+ * winning the trick and the number of cards played. For every key and card id one table holds the
+ * key after the card is played, so taking the trick and leading are a single lookup, and another
+ * holds the masks of card ids a player must choose from in order of preference: higher cards of
+ * the suite led, cards of the suite led, trump high enough to take the trick and trump. Cards are
+ * given as ids, see {@link Card#getId()}, and hands as masks of the ids held.
+ *
+ * @author Robb Lee (robbmlee@gmail.com).
+ */
+public final class TrickTable {
+  private static final int VALUES = PinochleFaceValue.values().length;
+  private static final int SUITES = Suite.values().length;
+  private static final int CARD_IDS = Card.DISTINCT_CARD_COUNT;
+
+  private static final int WINNER_BITS = 5;
+  private static final int SUITE_BITS = 2;
+  private static final int PLAYER_BITS = 3;
+  private static final int LED_SHIFT = WINNER_BITS;
+  private static final int TRUMP_SHIFT = LED_SHIFT + SUITE_BITS;
+  private static final int KEY_BITS = TRUMP_SHIFT + SUITE_BITS;
+  private static final int PLAYER_SHIFT = KEY_BITS;
+  private static final int COUNT_SHIFT = PLAYER_SHIFT + PLAYER_BITS;
+  private static final int WINNER_MASK = (1 << WINNER_BITS) - 1;
+  private static final int SUITE_FIELD_MASK = (1 << SUITE_BITS) - 1;
+  private static final int PLAYER_MASK = (1 << PLAYER_BITS) - 1;
+  private static final int KEY_MASK = (1 << KEY_BITS) - 1;
+  private static final int MASKS_PER_KEY = 4;
+
+  private static final short[] NEXT_KEYS = new short[(KEY_MASK + 1) * CARD_IDS];
+  private static final int[] LEGAL_MASKS = new int[(KEY_MASK + 1) * MASKS_PER_KEY];
+
+  static {
+    int[] suiteMasks = new int[SUITES];
+    for (int id = 0; id < CARD_IDS; id++) {
+      suiteMasks[id / VALUES] |= 1 << id;
+    }
+    for (int trump = 0; trump < SUITES; trump++) {
+      for (int led = 0; led < SUITES; led++) {
+        for (int slot = 0; slot <= CARD_IDS; slot++) {
+          int key = (trump << TRUMP_SHIFT) | (led << LED_SHIFT) | slot;
+          int winnerId = slot - 1;
+          for (int id = 0; id < CARD_IDS; id++) {
+            int next = key;
+            if (winnerId < 0) {
+              next = (trump << TRUMP_SHIFT) | ((id / VALUES) << LED_SHIFT) | (id + 1);
+            } else if (beats(id, winnerId, trump)) {
+              next = (key & ~WINNER_MASK) | (id + 1);
+            }
+            NEXT_KEYS[key * CARD_IDS + id] = (short) next;
+          }
+          if (winnerId < 0) {
+            // Leading so every card held is legal.
+            continue;
+          }
+
+          int higher = suiteMasks[winnerId / VALUES] & -(2 << winnerId);
+          boolean trumped = winnerId / VALUES != led;
+          int offset = key * MASKS_PER_KEY;
+          LEGAL_MASKS[offset] = trumped ? suiteMasks[led] : higher;
+          LEGAL_MASKS[offset + 1] = suiteMasks[led];
+          LEGAL_MASKS[offset + 2] = winnerId / VALUES == trump ? higher : suiteMasks[trump];
+          LEGAL_MASKS[offset + 3] = suiteMasks[trump];
+        }
+      }
+    }
+  }
+
+  private TrickTable() {
+  }
+
+  /**
+   * Returns the state of a trick before any card is played.
+   *
+   * @param trump ordinal of the trump suite.
+   * @return packed trick state.
+   */
+  public static int start(int trump) {
+    return trump << TRUMP_SHIFT;
+  }
+
+  /**
+   * Returns the state of a trick with cards already played, for searches resuming part way
+   * through a trick.
+   *
+   * @param trump ordinal of the trump suite.
+   * @param ledSuite ordinal of the suite led, ignored when no card was played.
+   * @param winnerId id of the card winning the trick or -1 when no card was played.
+   * @param winner index of the player winning the trick, ignored when no card was played.
+   * @param played number of cards played on the trick.
+   * @return packed trick state.
+   */
+  public static int of(int trump, int ledSuite, int winnerId, int winner, int played) {
+    if (winnerId < 0) {
+      return start(trump) | (played << COUNT_SHIFT);
+    }
+    return (trump << TRUMP_SHIFT) | (ledSuite << LED_SHIFT) | (winnerId + 1)
+        | (winner << PLAYER_SHIFT) | (played << COUNT_SHIFT);
+  }
+
+  /**
+   * Plays a card on the trick, the card must be legal for the player, see
+   * {@link TrickTable#legalMask(int, int)}. Equal cards do not beat the card played first.
+   *
+   * @param state packed trick state.
+   * @param player index of the player playing the card.
+   * @param id id of the card played.
+   * @return packed trick state after the card.
+   */
+  public static int play(int state, int player, int id) {
+    int key = state & KEY_MASK;
+    int next = NEXT_KEYS[key * CARD_IDS + id];
+    int winner = next != key ? player : (state >>> PLAYER_SHIFT) & PLAYER_MASK;
+    return next | (winner << PLAYER_SHIFT) | ((state >>> COUNT_SHIFT) + 1 << COUNT_SHIFT);
+  }
+
+  /**
+   * Computes the mask of card ids a player may legally play on the trick.
+   *
+   * @param state packed trick state.
+   * @param held mask of card ids held by the player.
+   * @return mask of the card ids the player may play.
+   */
+  public static int legalMask(int state, int held) {
+    int offset = (state & KEY_MASK) * MASKS_PER_KEY;
+    // Applied from the least preferred rule so the loads are independent and the choice of the
+    // first rule matching is made with conditional moves rather than unpredictable branches.
+    int legal = held;
+    for (int rule = MASKS_PER_KEY - 1; rule >= 0; rule--) {
+      int matching = held & LEGAL_MASKS[offset + rule];
+      legal = matching != 0 ? matching : legal;
+    }
+    return legal;
+  }
+
+  /**
+   * Indicates if a card played on the trick would take it from the card currently winning.
+   *
+   * @param state packed trick state.
+   * @param id id of the card played.
+   * @return true if the card would win the trick, always when no card was played.
+   */
+  public static boolean takes(int state, int id) {
+    int key = state & KEY_MASK;
+    return NEXT_KEYS[key * CARD_IDS + id] != key;
+  }
+
+  /**
+   * Returns the id of the card winning the trick.
+   *
+   * @param state packed trick state.
+   * @return card id or -1 when no card was played.
+   */
+  public static int getWinnerId(int state) {
+    return (state & WINNER_MASK) - 1;
+  }
+
+  /**
+   * Returns the index of the player winning the trick.
+   *
+   * @param state packed trick state.
+   * @return player index or -1 when no card was played.
+   */
+  public static int getWinner(int state) {
+    return (state & WINNER_MASK) == 0 ? -1 : (state >>> PLAYER_SHIFT) & PLAYER_MASK;
+  }
+
+  /**
+   * Returns the ordinal of the suite led.
+   *
+   * @param state packed trick state.
+   * @return suite ordinal or -1 when no card was played.
+   */
+  public static int getLedSuite(int state) {
+    return (state & WINNER_MASK) == 0 ? -1 : (state >>> LED_SHIFT) & SUITE_FIELD_MASK;
+  }
+
+  public static int getTrump(int state) {
+    return (state >>> TRUMP_SHIFT) & SUITE_FIELD_MASK;
+  }
+
+  public static int getCardsPlayed(int state) {
+    return state >>> COUNT_SHIFT;
+  }
+
+  private static boolean beats(int id, int winnerId, int trump) {
+    int winnerSuite = winnerId / VALUES;
+    return (id / VALUES == winnerSuite && id > winnerId)
+        || (id / VALUES == trump && winnerSuite != trump);
+  }
+}
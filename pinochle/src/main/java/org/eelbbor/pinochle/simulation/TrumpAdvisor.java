@@ -0,0 +1,272 @@
+package org.eelbbor.pinochle.simulation;
+
+import org.eelbbor.carddeck.standard.Suite;
+import org.eelbbor.pinochle.Card;
+import org.eelbbor.pinochle.Game;
+import org.eelbbor.pinochle.Hand;
+import org.eelbbor.pinochle.RuleSet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Advises the player that won the bid which {@link Suite} to declare trump. Every suite is
+ * evaluated over deals of the unseen cards to the other players: the declaring team's meld, with
+ * the declarer's own meld known exactly, and the trick points taken by playing the hand out with
+ * {@link RolloutEngine#POLICY_GREEDY}, scored as {@link org.eelbbor.pinochle.HandScorer} scores
+ * the hand against the bid.
+ *
+ * <p/>
+ * The four suites are evaluated in parallel on a {@link ForkJoinPool} in rounds of
+ * {@link TrumpAdvisor#ROUND_SAMPLES} deals until the shared time budget or the maximum number of
+ * deals is reached, so every suite is evaluated over the same number of deals whatever the
+ * parallelism of the pool. Each suite draws its deals from the same seed, so the suites are
+ * compared over the same deals which narrows the differences between them far more than the
+ * intervals of each suite suggest.
+ *
+ * @author Robb Lee (robbmlee@gmail.com).
+ */
+public final class TrumpAdvisor {
+  public static final long DEFAULT_BUDGET_MILLIS = 80;
+  public static final int DEFAULT_MAX_SAMPLES = 1 << 14;
+
+  /**
+   * Deals evaluated per suite between checks of the time budget.
+   */
+  public static final int ROUND_SAMPLES = 64;
+
+  private static final int SUITES = Suite.values().length;
+  private static final int CARD_IDS = Card.DISTINCT_CARD_COUNT;
+
+  private final RuleSet rules;
+  private ForkJoinPool pool;
+  private long budgetMillis;
+  private int maxSamples;
+  private long seed;
+
+  /**
+   * Creates an advisor for the variant.
+   *
+   * @param rules variant being played.
+   */
+  public TrumpAdvisor(RuleSet rules) {
+    this.rules = rules;
+    pool = ForkJoinPool.commonPool();
+    budgetMillis = DEFAULT_BUDGET_MILLIS;
+    maxSamples = DEFAULT_MAX_SAMPLES;
+  }
+
+  public void setPool(ForkJoinPool pool) {
+    this.pool = pool;
+  }
+
+  public void setBudgetMillis(long budgetMillis) {
+    this.budgetMillis = budgetMillis;
+  }
+
+  /**
+   * Sets the most deals evaluated per suite, at least one round is always evaluated.
+   *
+   * @param maxSamples maximum number of deals.
+   */
+  public void setMaxSamples(int maxSamples) {
+    if (maxSamples < 1) {
+      throw new IllegalArgumentException(
+          "Maximum samples must be positive but was '" + maxSamples + "'.");
+    }
+    this.maxSamples = maxSamples;
+  }
+
+  public void setSeed(long seed) {
+    this.seed = seed;
+  }
+
+  /**
+   * Ranks the trump suites for the player that won the bid of the game.
+   *
+   * @param game game declaring trump, see {@link Game#isDeclaringTrump()}.
+   * @return choices ranked by mean score, best first.
+   * @throws IllegalStateException if the game is not declaring trump.
+   */
+  public List<TrumpChoice> advise(Game game) {
+    if (!game.isDeclaringTrump()) {
+      throw new IllegalStateException("Tried to advise trump while the game is not declaring "
+          + "trump.");
+    }
+    int[] cardCounts = new int[CARD_IDS];
+    game.copyCardCounts(game.getHighBidPlayer(), cardCounts);
+    return advise(cardCounts, game.getHighBidPlayer(), game.getCurrentBid());
+  }
+
+  /**
+   * Ranks the trump suites for a declarer holding the given cards.
+   *
+   * @param cardCounts copies of each card id held by the declarer, a full hand.
+   * @param declarer index of the player that won the bid and leads the first trick.
+   * @param bid value of the winning bid, zero to score the hand without a contract.
+   * @return choices ranked by mean score, best first.
+   */
+  public List<TrumpChoice> advise(int[] cardCounts, int declarer, int bid) {
+    int held = 0;
+    for (int id = 0; id < CARD_IDS; id++) {
+      if (cardCounts[id] < 0 || cardCounts[id] > rules.getCopiesPerCard()) {
+        throw new IllegalArgumentException("Tried to advise trump holding '" + cardCounts[id]
+            + "' copies of the '" + Card.fromId(id) + "'.");
+      }
+      held += cardCounts[id];
+    }
+    if (held != rules.getHandSize()) {
+      throw new IllegalArgumentException("Hand must hold " + rules.getHandSize()
+          + " cards but was '" + held + "'.");
+    }
+
+    List<Evaluation> evaluations = new ArrayList<>(SUITES);
+    for (Suite trump : Suite.values()) {
+      evaluations.add(new Evaluation(rules, trump, cardCounts, declarer, bid, seed));
+    }
+    long deadline = System.nanoTime() + budgetMillis * 1_000_000L;
+    // Counted up to the remaining samples so a maximum near Integer.MAX_VALUE cannot overflow.
+    for (int drawn = 0; drawn < maxSamples; ) {
+      int samples = Math.min(ROUND_SAMPLES, maxSamples - drawn);
+      drawn += samples;
+      for (Evaluation evaluation : evaluations) {
+        evaluation.roundSamples = samples;
+      }
+      for (Future<Evaluation> future : pool.invokeAll(evaluations)) {
+        join(future);
+      }
+      if (System.nanoTime() - deadline >= 0) {
+        break;
+      }
+    }
+
+    List<TrumpChoice> choices = new ArrayList<>(SUITES);
+    for (Evaluation evaluation : evaluations) {
+      choices.add(evaluation.toChoice());
+    }
+    choices.sort(Comparator.comparingDouble(TrumpChoice::getScore).reversed());
+    return choices;
+  }
+
+  private static void join(Future<Evaluation> future) {
+    try {
+      future.get();
+    } catch (ExecutionException ex) {
+      throw new IllegalStateException("Tried to evaluate trump.", ex.getCause());
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while evaluating trump.", ex);
+    }
+  }
+
+  /**
+   * Deals, melds and plays out one suite, accumulating the results. Only one task runs an
+   * evaluation at a time and the pool publishes its results to the caller.
+   */
+  private static final class Evaluation implements Callable<Evaluation> {
+    private final RuleSet rules;
+    private final Suite trump;
+    private final int declarer;
+    private final int team;
+    private final int bid;
+    private final int declarerMeld;
+    private final int[] declarerCards;
+    private final int[] unseen;
+    private final int[] dealt;
+    private final SplittableRandom random;
+    private final RolloutEngine engine;
+    private int roundSamples;
+    private long samples;
+    private long sets;
+    private double meldTotal;
+    private double trickTotal;
+    private double scoreMean;
+    private double scoreSquares;
+
+    Evaluation(RuleSet rules, Suite trump, int[] cardCounts, int declarer, int bid, long seed) {
+      this.rules = rules;
+      this.trump = trump;
+      this.declarer = declarer;
+      this.bid = bid;
+      team = rules.getTeam(declarer);
+      declarerMeld = Hand.countMeld(cardCounts, trump, rules);
+      declarerCards = cardCounts.clone();
+      unseen = new int[rules.getDeckSize() - rules.getHandSize()];
+      int index = 0;
+      for (int id = 0; id < CARD_IDS; id++) {
+        for (int copy = cardCounts[id]; copy < rules.getCopiesPerCard(); copy++) {
+          unseen[index++] = id;
+        }
+      }
+      dealt = new int[CARD_IDS];
+      random = new SplittableRandom(seed);
+      engine = new RolloutEngine(rules, seed);
+      for (int player = 0; player < rules.getPlayers(); player++) {
+        engine.setPolicy(player, RolloutEngine.POLICY_GREEDY);
+      }
+    }
+
+    @Override
+    public Evaluation call() {
+      for (int sample = 0; sample < roundSamples; sample++) {
+        evaluateDeal();
+      }
+      return this;
+    }
+
+    private void evaluateDeal() {
+      int handSize = rules.getHandSize();
+      engine.setHand(declarer, declarerCards);
+      int next = 0;
+      int meld = declarerMeld;
+      for (int player = 0; player < rules.getPlayers(); player++) {
+        if (player == declarer) {
+          continue;
+        }
+        Arrays.fill(dealt, 0);
+        for (int card = 0; card < handSize; card++, next++) {
+          int swap = next + random.nextInt(unseen.length - next);
+          int id = unseen[swap];
+          unseen[swap] = unseen[next];
+          unseen[next] = id;
+          dealt[id]++;
+        }
+        engine.setHand(player, dealt);
+        if (rules.getTeam(player) == team) {
+          meld += Hand.countMeld(dealt, trump, rules);
+        }
+      }
+
+      engine.playOut(trump, declarer);
+      int tricks = engine.getTeamPoints(team);
+      int score;
+      if (meld < rules.getMinimumMeld()) {
+        score = -bid;
+      } else {
+        int total = tricks < rules.getMinimumTricks() ? 0 : meld + tricks;
+        score = total < bid ? -bid : total;
+      }
+
+      samples++;
+      sets += score < 0 ? 1 : 0;
+      meldTotal += meld < rules.getMinimumMeld() ? 0 : meld;
+      trickTotal += tricks;
+      double delta = score - scoreMean;
+      scoreMean += delta / samples;
+      scoreSquares += delta * (score - scoreMean);
+    }
+
+    private TrumpChoice toChoice() {
+      double variance = samples < 2 ? 0 : scoreSquares / (samples - 1);
+      return new TrumpChoice(trump, samples, meldTotal / samples, trickTotal / samples, scoreMean,
+          variance, (double) sets / samples);
+    }
+  }
+}
@@ -0,0 +1,75 @@
+package org.eelbbor.pinochle.simulation;
+
+import org.eelbbor.carddeck.standard.Suite;
+
+/**
+ * Evaluation of declaring a {@link Suite} trump produced by {@link TrumpAdvisor}: the means over
+ * the sampled deals of the declaring team's meld, trick points and hand score along with a 95%
+ * confidence interval of the mean score.
+ *
+ * @author Robb Lee (robbmlee@gmail.com).
+ */
+public final class TrumpChoice {
+  /**
+   * Standard normal quantile of the two sided 95% confidence interval.
+   */
+  public static final double CONFIDENCE_Z = 1.96;
+
+  private final Suite suite;
+  private final long samples;
+  private final double meld;
+  private final double tricks;
+  private final double score;
+  private final double halfWidth;
+  private final double setRate;
+
+  TrumpChoice(Suite suite, long samples, double meld, double tricks, double score,
+      double scoreVariance, double setRate) {
+    this.suite = suite;
+    this.samples = samples;
+    this.meld = meld;
+    this.tricks = tricks;
+    this.score = score;
+    this.halfWidth = samples < 2 ? Double.POSITIVE_INFINITY
+        : CONFIDENCE_Z * Math.sqrt(scoreVariance / samples);
+    this.setRate = setRate;
+  }
+
+  public Suite getSuite() {
+    return suite;
+  }
+
+  public long getSampleCount() {
+    return samples;
+  }
+
+  public double getMeld() {
+    return meld;
+  }
+
+  public double getTricks() {
+    return tricks;
+  }
+
+  public double getScore() {
+    return score;
+  }
+
+  public double getLowerBound() {
+    return score - halfWidth;
+  }
+
+  public double getUpperBound() {
+    return score + halfWidth;
+  }
+
+  public double getSetRate() {
+    return setRate;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s %.1f [%.1f, %.1f] meld %.1f tricks %.1f set %.3f (%d samples)",
+        suite, score, getLowerBound(), getUpperBound(), meld, tricks, setRate, samples);
+  }
+}
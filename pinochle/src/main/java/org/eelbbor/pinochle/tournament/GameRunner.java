@@ -0,0 +1,53 @@
+package org.eelbbor.pinochle.tournament;
+
+import org.eelbbor.carddeck.standard.Suite;
+import org.eelbbor.pinochle.RuleSet;
+import org.eelbbor.pinochle.simulation.RolloutEngine;
+
+/**
+ * Plays a single game between two bots for a {@link Tournament}. Runners are called concurrently
+ * from the tournament pool so implementations must be thread safe, and should derive all
+ * randomness from the seed so a resumed tournament replays the same games.
+ *
+ * @author Robb Lee (robbmlee@gmail.com).
+ */
+@FunctionalInterface
+public interface GameRunner {
+  /**
+   * Plays a game between two bots.
+   *
+   * @param first index of the first bot.
+   * @param second index of the second bot.
+   * @param seed seed for the deal and any random play.
+   * @return score of the first bot, 1 for a win, 0.5 for a draw and 0 for a loss.
+   */
+  double playGame(int first, int second, long seed);
+
+  /**
+   * Creates a runner playing one hand per game on a {@link RolloutEngine}, each bot being a play
+   * policy of the engine. The first bot plays for team zero and the second for every other team,
+   * the game is won by the team taking more trick points.
+   *
+   * @param rules variant to play.
+   * @param policies engine policy per bot, see {@link RolloutEngine#POLICY_GREEDY}.
+   * @return rollout game runner.
+   */
+  static GameRunner rolloutPolicies(RuleSet rules, int... policies) {
+    int[] botPolicies = policies.clone();
+    return (first, second, seed) -> {
+      RolloutEngine engine = new RolloutEngine(rules, seed);
+      for (int player = 0; player < rules.getPlayers(); player++) {
+        engine.setPolicy(player, botPolicies[rules.getTeam(player) == 0 ? first : second]);
+      }
+      engine.deal();
+      engine.playOut(Suite.values()[(int) (seed & 3)], (int) ((seed >>> 2) % rules.getPlayers()));
+
+      int best = 0;
+      for (int team = 1; team < rules.getTeamCount(); team++) {
+        best = Math.max(best, engine.getTeamPoints(team));
+      }
+      int points = engine.getTeamPoints(0);
+      return points > best ? 1 : points == best ? 0.5 : 0;
+    };
+  }
+}
@@ -0,0 +1,111 @@
+package org.eelbbor.pinochle.tournament;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Elo ratings updated concurrently as games finish. Each bot owns a stripe of an
+ * {@link AtomicLongArray} padded to a cache line holding its rating in fixed point, its games and
+ * its score in half points, so updates are lock free atomic adds and updates for different bots
+ * do not contend. The two ratings of a game are read and then adjusted by equal and opposite
+ * deltas, so concurrent games of the same bot may read a rating missing the other game, the
+ * usual trade off of streaming Elo, but rating points are always conserved.
+ *
+ * @author Robb Lee (robbmlee@gmail.com).
+ */
+public final class Leaderboard {
+  public static final double INITIAL_RATING = 1500;
+  public static final double DEFAULT_K_FACTOR = 16;
+
+  private static final double SCALE = 1_000_000;
+  // Longs per stripe, eight longs fill a 64 byte cache line.
+  private static final int STRIDE = 8;
+  private static final int RATING = 0;
+  private static final int GAMES = 1;
+  private static final int HALF_POINTS = 2;
+
+  private final int bots;
+  private final double factor;
+  private final AtomicLongArray stripes;
+
+  /**
+   * Constructor for a leaderboard with every bot at {@link Leaderboard#INITIAL_RATING} using the
+   * {@link Leaderboard#DEFAULT_K_FACTOR}.
+   *
+   * @param bots number of bots.
+   */
+  public Leaderboard(int bots) {
+    this(bots, DEFAULT_K_FACTOR);
+  }
+
+  /**
+   * Constructor for a leaderboard with every bot at {@link Leaderboard#INITIAL_RATING}.
+   *
+   * @param bots number of bots.
+   * @param factor Elo K factor, the most a rating moves for one game.
+   */
+  public Leaderboard(int bots, double factor) {
+    this.bots = bots;
+    this.factor = factor;
+    stripes = new AtomicLongArray(bots * STRIDE);
+    for (int bot = 0; bot < bots; bot++) {
+      stripes.set(bot * STRIDE + RATING, Math.round(INITIAL_RATING * SCALE));
+    }
+  }
+
+  public int getBots() {
+    return bots;
+  }
+
+  public double getRating(int bot) {
+    return stripes.get(bot * STRIDE + RATING) / SCALE;
+  }
+
+  public long getGames(int bot) {
+    return stripes.get(bot * STRIDE + GAMES);
+  }
+
+  public double getScore(int bot) {
+    return stripes.get(bot * STRIDE + HALF_POINTS) / 2.0;
+  }
+
+  /**
+   * Records the result of a game and moves both ratings.
+   *
+   * @param first index of the first bot.
+   * @param second index of the second bot.
+   * @param score score of the first bot, 1 for a win, 0.5 for a draw and 0 for a loss.
+   */
+  public void record(int first, int second, double score) {
+    double difference = getRating(first) - getRating(second);
+    long delta = Math.round(factor * (score - Sprt.expectedScore(difference)) * SCALE);
+    stripes.addAndGet(first * STRIDE + RATING, delta);
+    stripes.addAndGet(second * STRIDE + RATING, -delta);
+
+    long halfPoints = Math.round(score * 2);
+    stripes.incrementAndGet(first * STRIDE + GAMES);
+    stripes.incrementAndGet(second * STRIDE + GAMES);
+    stripes.addAndGet(first * STRIDE + HALF_POINTS, halfPoints);
+    stripes.addAndGet(second * STRIDE + HALF_POINTS, 2 - halfPoints);
+  }
+
+  /**
+   * Returns the bots ordered by rating, highest first. Ratings are read one at a time so the
+   * order may mix results of games finishing during the call.
+   *
+   * @return bot indices ordered by rating.
+   */
+  public List<Integer> getStandings() {
+    List<Integer> standings = new ArrayList<>(bots);
+    double[] ratings = new double[bots];
+    for (int bot = 0; bot < bots; bot++) {
+      standings.add(bot);
+      ratings[bot] = getRating(bot);
+    }
+    standings.sort(Comparator.comparingDouble((Integer bot) -> -ratings[bot])
+        .thenComparingInt(bot -> bot));
+    return standings;
+  }
+}
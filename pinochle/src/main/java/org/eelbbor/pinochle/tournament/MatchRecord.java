@@ -0,0 +1,96 @@
+package org.eelbbor.pinochle.tournament;
+
+/**
+ * Progress of a match between two bots in a round of a {@link Tournament}. A match is only played
+ * by one task at a time, the results are published through volatile fields so the leaderboard
+ * and checkpoint may read them while the match is running.
+ *
+ * @author Robb Lee (robbmlee@gmail.com).
+ */
+public final class MatchRecord {
+  private final int round;
+  private final int first;
+  private final int second;
+  private volatile long wins;
+  private volatile long draws;
+  private volatile long losses;
+  private volatile Sprt.Decision decision;
+  private volatile boolean complete;
+
+  MatchRecord(int round, int first, int second) {
+    this.round = round;
+    this.first = first;
+    this.second = second;
+    decision = Sprt.Decision.CONTINUE;
+  }
+
+  public int getRound() {
+    return round;
+  }
+
+  public int getFirst() {
+    return first;
+  }
+
+  public int getSecond() {
+    return second;
+  }
+
+  public long getWins() {
+    return wins;
+  }
+
+  public long getDraws() {
+    return draws;
+  }
+
+  public long getLosses() {
+    return losses;
+  }
+
+  public long getGames() {
+    return wins + draws + losses;
+  }
+
+  public Sprt.Decision getDecision() {
+    return decision;
+  }
+
+  public boolean isComplete() {
+    return complete;
+  }
+
+  /**
+   * Indicates if the record belongs to the same round and bots as another.
+   *
+   * @param other record to compare with.
+   * @return true if the round and both bots match else false.
+   */
+  boolean isSameMatch(MatchRecord other) {
+    return round == other.round && first == other.first && second == other.second;
+  }
+
+  void addResult(double score) {
+    if (score >= 1) {
+      wins++;
+    } else if (score <= 0) {
+      losses++;
+    } else {
+      draws++;
+    }
+  }
+
+  void restore(long restoredWins, long restoredDraws, long restoredLosses,
+      Sprt.Decision restoredDecision, boolean restoredComplete) {
+    wins = restoredWins;
+    draws = restoredDraws;
+    losses = restoredLosses;
+    decision = restoredDecision;
+    complete = restoredComplete;
+  }
+
+  void complete(Sprt.Decision finalDecision) {
+    decision = finalDecision;
+    complete = true;
+  }
+}
@@ -0,0 +1,106 @@
+package org.eelbbor.pinochle.tournament;
+
+/**
+ * Sequential probability ratio test deciding between two hypotheses on the Elo difference of two
+ * bots, H0 that the difference is elo0 and H1 that it is elo1, after every game of a match. The
+ * log likelihood ratio uses the normal approximation over win, draw and loss counts commonly used
+ * for engine testing, regularized by half a win and half a loss so a few one sided games do not
+ * resolve the test. A match may stop as soon as the difference is resolved at the requested error
+ * rates.
+ *
+ * <p/>
+ * Instances are immutable and may be shared between matches.
+ *
+ * @author Robb Lee (robbmlee@gmail.com).
+ */
+public final class Sprt {
+  /**
+   * Outcome of evaluating the test.
+   */
+  public enum Decision {
+    CONTINUE, ACCEPT_H0, ACCEPT_H1
+  }
+
+  // Half a win and half a loss added to the results so one sided results have a variance.
+  private static final double PRIOR = 0.5;
+
+  private final double elo0;
+  private final double elo1;
+  private final double lowerBound;
+  private final double upperBound;
+
+  /**
+   * Constructor for the test between two Elo differences at the given error rates.
+   *
+   * @param elo0 Elo difference of the null hypothesis.
+   * @param elo1 Elo difference of the alternative hypothesis, greater than elo0.
+   * @param alpha probability of accepting H1 when H0 holds.
+   * @param beta probability of accepting H0 when H1 holds.
+   */
+  public Sprt(double elo0, double elo1, double alpha, double beta) {
+    if (elo1 <= elo0 || alpha <= 0 || alpha >= 1 || beta <= 0 || beta >= 1) {
+      throw new IllegalArgumentException(
+          "Elo1 must exceed elo0 and error rates must be in (0, 1).");
+    }
+    this.elo0 = elo0;
+    this.elo1 = elo1;
+    lowerBound = Math.log(beta / (1 - alpha));
+    upperBound = Math.log((1 - beta) / alpha);
+  }
+
+  public double getLowerBound() {
+    return lowerBound;
+  }
+
+  public double getUpperBound() {
+    return upperBound;
+  }
+
+  /**
+   * Computes the log likelihood ratio of H1 over H0 for the results of the first bot.
+   *
+   * @param wins games won by the first bot.
+   * @param draws games drawn.
+   * @param losses games lost by the first bot.
+   * @return log likelihood ratio, zero before any game.
+   */
+  public double logLikelihoodRatio(long wins, long draws, long losses) {
+    long games = wins + draws + losses;
+    if (games == 0) {
+      return 0;
+    }
+    double won = wins + PRIOR;
+    double lost = losses + PRIOR;
+    double total = won + draws + lost;
+    double mean = (won + draws / 2.0) / total;
+    double variance = (won * (1 - mean) * (1 - mean) + draws * (0.5 - mean) * (0.5 - mean)
+        + lost * mean * mean) / total;
+    double score0 = expectedScore(elo0);
+    double score1 = expectedScore(elo1);
+    return total * (score1 - score0) * (2 * mean - score0 - score1) / (2 * variance);
+  }
+
+  /**
+   * Evaluates the test for the results of the first bot.
+   *
+   * @param wins games won by the first bot.
+   * @param draws games drawn.
+   * @param losses games lost by the first bot.
+   * @return decision reached or {@link Decision#CONTINUE} to keep playing.
+   */
+  public Decision evaluate(long wins, long draws, long losses) {
+    double ratio = logLikelihoodRatio(wins, draws, losses);
+    return ratio >= upperBound ? Decision.ACCEPT_H1
+        : ratio <= lowerBound ? Decision.ACCEPT_H0 : Decision.CONTINUE;
+  }
+
+  /**
+   * Returns the expected score of a bot rated the given Elo above its opponent.
+   *
+   * @param elo rating difference.
+   * @return expected score between 0 and 1.
+   */
+  public static double expectedScore(double elo) {
+    return 1 / (1 + Math.pow(10, -elo / 400));
+  }
+}
@@ -0,0 +1,292 @@
+package org.eelbbor.pinochle.tournament;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Runs round robin and Swiss tournaments between bots, each match being a series of games played
+ * through a {@link GameRunner}. The matches of a round are split recursively onto a
+ * {@link ForkJoinPool} so idle workers steal matches from busy ones, which keeps the pool busy
+ * when matches stop early. Results stream into a {@link Leaderboard} as each game finishes and a
+ * match ends once it reaches the maximum number of games or, when set, its {@link Sprt} resolves.
+ *
+ * <p/>
+ * When a checkpoint path is set the progress of every match is written to it periodically and at
+ * the end of each match. Running a tournament again with the same settings and checkpoint skips
+ * completed matches, continues partial ones and rebuilds the leaderboard from the recorded results.
+ * Game seeds are derived from the tournament seed, round, bots and game number so resumed matches
+ * replay the same games. An instance runs a single tournament.
+ *
+ * @author Robb Lee (robbmlee@gmail.com).
+ */
+public final class Tournament {
+  public static final int DEFAULT_MAX_GAMES = 1000;
+  public static final long DEFAULT_CHECKPOINT_MILLIS = 1000;
+
+  private final int bots;
+  private final GameRunner runner;
+  private final Leaderboard leaderboard;
+  private final List<MatchRecord> matches;
+  private final ReentrantLock checkpointLock;
+  private final List<MatchRecord> restored;
+  private ForkJoinPool pool;
+  private int maxGames;
+  private Sprt sprt;
+  private Path checkpoint;
+  private long checkpointMillis;
+  private long seed;
+  private volatile long lastCheckpoint;
+
+  /**
+   * Constructor for a tournament between the given number of bots, indexed from zero.
+   *
+   * @param bots number of bots.
+   * @param runner plays a game between two bots.
+   */
+  public Tournament(int bots, GameRunner runner) {
+    if (bots < 2) {
+      throw new IllegalArgumentException("A tournament requires at least two bots.");
+    }
+    this.bots = bots;
+    this.runner = runner;
+    leaderboard = new Leaderboard(bots);
+    matches = new CopyOnWriteArrayList<>();
+    checkpointLock = new ReentrantLock();
+    restored = new ArrayList<>();
+    pool = ForkJoinPool.commonPool();
+    maxGames = DEFAULT_MAX_GAMES;
+    checkpointMillis = DEFAULT_CHECKPOINT_MILLIS;
+  }
+
+  public Leaderboard getLeaderboard() {
+    return leaderboard;
+  }
+
+  public List<MatchRecord> getMatches() {
+    return List.copyOf(matches);
+  }
+
+  public void setPool(ForkJoinPool pool) {
+    this.pool = pool;
+  }
+
+  public void setMaxGames(int maxGames) {
+    this.maxGames = maxGames;
+  }
+
+  public void setSprt(Sprt sprt) {
+    this.sprt = sprt;
+  }
+
+  public void setSeed(long seed) {
+    this.seed = seed;
+  }
+
+  /**
+   * Sets the file progress is written to and restored from.
+   *
+   * @param checkpoint checkpoint file or null to disable checkpointing.
+   * @param checkpointMillis minimum time between checkpoints written while matches are running.
+   */
+  public void setCheckpoint(Path checkpoint, long checkpointMillis) {
+    this.checkpoint = checkpoint;
+    this.checkpointMillis = checkpointMillis;
+  }
+
+  /**
+   * Plays every bot against every other bot once.
+   *
+   * @return records of all matches played.
+   */
+  public List<MatchRecord> runRoundRobin() {
+    restore();
+    List<MatchRecord> round = new ArrayList<>();
+    for (int first = 0; first < bots; first++) {
+      for (int second = first + 1; second < bots; second++) {
+        round.add(new MatchRecord(0, first, second));
+      }
+    }
+    playRound(round);
+    return getMatches();
+  }
+
+  /**
+   * Plays a Swiss tournament, in each round bots are paired in order of rating with the closest
+   * rated bot they have not played yet. With an odd number of bots the lowest rated unpaired bot
+   * sits the round out.
+   *
+   * @param rounds number of rounds to play.
+   * @return records of all matches played.
+   */
+  public List<MatchRecord> runSwiss(int rounds) {
+    restore();
+    for (int index = 0; index < rounds; index++) {
+      playRound(pairSwissRound(index));
+    }
+    return getMatches();
+  }
+
+  private void restore() {
+    if (!matches.isEmpty()) {
+      throw new IllegalStateException("Tried to run a tournament more than once.");
+    }
+    if (checkpoint == null) {
+      return;
+    }
+
+    restored.addAll(TournamentCheckpoint.read(checkpoint, bots));
+    for (MatchRecord match : restored) {
+      // Replay the results interleaved so the restored ratings approximate the original order.
+      long games = Math.max(match.getWins(), Math.max(match.getDraws(), match.getLosses()));
+      for (long game = 0; game < games; game++) {
+        if (game < match.getWins()) {
+          leaderboard.record(match.getFirst(), match.getSecond(), 1);
+        }
+        if (game < match.getDraws()) {
+          leaderboard.record(match.getFirst(), match.getSecond(), 0.5);
+        }
+        if (game < match.getLosses()) {
+          leaderboard.record(match.getFirst(), match.getSecond(), 0);
+        }
+      }
+    }
+  }
+
+  private List<MatchRecord> pairSwissRound(int round) {
+    List<MatchRecord> pairings = new ArrayList<>();
+    for (MatchRecord match : restored) {
+      if (match.getRound() == round) {
+        pairings.add(new MatchRecord(round, match.getFirst(), match.getSecond()));
+      }
+    }
+    if (!pairings.isEmpty()) {
+      return pairings;
+    }
+
+    Set<Long> played = new HashSet<>();
+    for (MatchRecord match : matches) {
+      played.add(pairKey(match.getFirst(), match.getSecond()));
+    }
+    List<Integer> unpaired = new ArrayList<>(leaderboard.getStandings());
+    while (unpaired.size() > 1) {
+      int first = unpaired.remove(0);
+      int opponent = 0;
+      while (opponent < unpaired.size() - 1
+          && played.contains(pairKey(first, unpaired.get(opponent)))) {
+        opponent++;
+      }
+      pairings.add(new MatchRecord(round, first, unpaired.remove(opponent)));
+    }
+    return pairings;
+  }
+
+  private void playRound(List<MatchRecord> round) {
+    for (MatchRecord match : round) {
+      for (MatchRecord previous : restored) {
+        if (previous.isSameMatch(match)) {
+          match.restore(previous.getWins(), previous.getDraws(), previous.getLosses(),
+              previous.getDecision(), previous.isComplete());
+        }
+      }
+    }
+    matches.addAll(round);
+    try {
+      pool.invoke(new MatchTask(round, 0, round.size()));
+    } finally {
+      // Keep the games played before a failing game so a rerun continues from them.
+      writeCheckpoint(true);
+    }
+  }
+
+  private void playMatch(MatchRecord match) {
+    Sprt.Decision decision = match.getDecision();
+    while (!match.isComplete() && decision == Sprt.Decision.CONTINUE
+        && match.getGames() < maxGames) {
+      double score = runner.playGame(match.getFirst(), match.getSecond(),
+          gameSeed(match, match.getGames()));
+      match.addResult(score);
+      leaderboard.record(match.getFirst(), match.getSecond(), score);
+      if (sprt != null) {
+        decision = sprt.evaluate(match.getWins(), match.getDraws(), match.getLosses());
+      }
+      writeCheckpoint(false);
+    }
+    if (!match.isComplete()) {
+      match.complete(decision);
+      writeCheckpoint(true);
+    }
+  }
+
+  private void writeCheckpoint(boolean force) {
+    if (checkpoint == null
+        || (!force && System.currentTimeMillis() - lastCheckpoint < checkpointMillis)) {
+      return;
+    }
+
+    // Skip periodic checkpoints while another thread is writing one.
+    if (force) {
+      checkpointLock.lock();
+    } else if (!checkpointLock.tryLock()) {
+      return;
+    }
+    try {
+      TournamentCheckpoint.write(checkpoint, bots, matches);
+      lastCheckpoint = System.currentTimeMillis();
+    } finally {
+      checkpointLock.unlock();
+    }
+  }
+
+  private long gameSeed(MatchRecord match, long game) {
+    long hash = seed;
+    hash = mix(hash + match.getRound());
+    hash = mix(hash + match.getFirst());
+    hash = mix(hash + match.getSecond());
+    return mix(hash + game);
+  }
+
+  private static long mix(long value) {
+    long hash = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+    hash = (hash ^ (hash >>> 27)) * 0x94D049BB133111EBL;
+    return hash ^ (hash >>> 31);
+  }
+
+  private static long pairKey(int first, int second) {
+    return ((long) Math.min(first, second) << 32) | Math.max(first, second);
+  }
+
+  /**
+   * Splits a range of matches in half until a single match remains, letting idle workers of the
+   * pool steal the pending halves.
+   */
+  private final class MatchTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final transient List<MatchRecord> round;
+    private final int start;
+    private final int end;
+
+    private MatchTask(List<MatchRecord> round, int start, int end) {
+      this.round = round;
+      this.start = start;
+      this.end = end;
+    }
+
+    @Override
+    protected void compute() {
+      if (end - start == 1) {
+        playMatch(round.get(start));
+      } else if (end - start > 1) {
+        int middle = (start + end) >>> 1;
+        invokeAll(new MatchTask(round, start, middle), new MatchTask(round, middle, end));
+      }
+    }
+  }
+}
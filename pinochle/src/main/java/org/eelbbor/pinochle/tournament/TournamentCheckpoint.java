@@ -0,0 +1,90 @@
+package org.eelbbor.pinochle.tournament;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads and writes the progress of a {@link Tournament} as a small text file with one line per
+ * match. The file is written to a temporary sibling first and moved over the previous checkpoint
+ * so a crash while writing leaves the last complete checkpoint in place.
+ *
+ * @author Robb Lee (robbmlee@gmail.com).
+ */
+final class TournamentCheckpoint {
+  private static final String BOTS = "bots";
+  private static final String MATCH = "match";
+
+  private TournamentCheckpoint() {
+  }
+
+  /**
+   * Writes the match records to the checkpoint file.
+   *
+   * @param path checkpoint file.
+   * @param bots number of bots in the tournament.
+   * @param matches records to write.
+   */
+  static void write(Path path, int bots, List<MatchRecord> matches) {
+    StringBuilder builder = new StringBuilder(BOTS).append(' ').append(bots).append('\n');
+    for (MatchRecord match : matches) {
+      // Read the decision before the counts, a completed match never changes its counts.
+      boolean complete = match.isComplete();
+      Sprt.Decision decision = match.getDecision();
+      builder.append(MATCH).append(' ').append(match.getRound())
+          .append(' ').append(match.getFirst()).append(' ').append(match.getSecond())
+          .append(' ').append(match.getWins()).append(' ').append(match.getDraws())
+          .append(' ').append(match.getLosses()).append(' ').append(decision.name())
+          .append(' ').append(complete).append('\n');
+    }
+
+    Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+    try {
+      Files.write(temp, builder.toString().getBytes(StandardCharsets.UTF_8));
+      Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Tried to write tournament checkpoint '" + path + "'.", ex);
+    }
+  }
+
+  /**
+   * Reads the match records of a checkpoint file.
+   *
+   * @param path checkpoint file.
+   * @param bots number of bots expected in the tournament.
+   * @return records restored from the file, empty if the file does not exist.
+   */
+  static List<MatchRecord> read(Path path, int bots) {
+    List<MatchRecord> matches = new ArrayList<>();
+    if (!Files.exists(path)) {
+      return matches;
+    }
+
+    List<String> lines;
+    try {
+      lines = Files.readAllLines(path, StandardCharsets.UTF_8);
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Tried to read tournament checkpoint '" + path + "'.", ex);
+    }
+    for (String line : lines) {
+      String[] fields = line.trim().split(" ");
+      if (fields[0].equals(BOTS) && Integer.parseInt(fields[1]) != bots) {
+        throw new IllegalArgumentException("Checkpoint '" + path + "' is for " + fields[1]
+            + " bots not " + bots + ".");
+      } else if (fields[0].equals(MATCH)) {
+        MatchRecord match = new MatchRecord(Integer.parseInt(fields[1]),
+            Integer.parseInt(fields[2]), Integer.parseInt(fields[3]));
+        match.restore(Long.parseLong(fields[4]), Long.parseLong(fields[5]),
+            Long.parseLong(fields[6]), Sprt.Decision.valueOf(fields[7]),
+            Boolean.parseBoolean(fields[8]));
+        matches.add(match);
+      }
+    }
+    return matches;
+  }
+}
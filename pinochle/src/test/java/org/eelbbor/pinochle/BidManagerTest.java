@@ -34,6 +34,30 @@ class BidManagerTest {
     IntStream.range(0, 4).forEach(i -> assertFalse(manager.playerPassed(i)));
   }
 
+  @Test
+  void shouldClearBidsAndTrumpOnReset() throws Exception {
+    int bidder = (dealerIndex + 1) % 4;
+    manager.bid(bidder, 55);
+    IntStream.range(0, 4).filter(i -> i != bidder).forEach(i -> {
+      try {
+        manager.pass(i);
+      } catch (InvalidBiddingException ex) {
+        fail(ex);
+      }
+    });
+    manager.declareTrump(Suite.Spade);
+    assertTrue(manager.isComplete());
+
+    int nextDealer = (dealerIndex + 1) % 4;
+    manager.reset(nextDealer);
+    assertEquals(nextDealer, manager.getDealerIndex());
+    assertEquals(0, manager.getBid());
+    assertEquals(-1, manager.getHighBidPlayerIndex());
+    assertFalse(manager.getTrump().isPresent());
+    assertTrue(manager.isBidding());
+    IntStream.range(0, 4).forEach(i -> assertFalse(manager.playerPassed(i)));
+  }
+
   @Test
   void shouldCloseBiddingAtMinimumIfFirstThreePlayersPass() throws Exception {
     assertEquals(dealerIndex, manager.getDealerIndex());
@@ -2,14 +2,19 @@ package org.eelbbor.pinochle;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import org.eelbbor.carddeck.standard.Suite;
 import org.eelbbor.pinochle.exceptions.InvalidBiddingException;
+import org.eelbbor.pinochle.exceptions.InvalidCardException;
+import org.eelbbor.pinochle.metrics.EngineMetrics;
+import org.eelbbor.pinochle.simulation.TrickTable;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.lang.management.ManagementFactory;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -55,45 +60,220 @@ class GameTest {
   }
 
   @Test
-  void shouldSetDealingTeamAndStartNewHandWithInsufficientMeld() {
-    // TODO (robb): fail("");
+  void shouldSetDealingTeamAndStartNewHandWithInsufficientMeld() throws Exception {
+    Suite trump = null;
+    for (int attempt = 0; attempt < 500 && trump == null; attempt++) {
+      game = new Game();
+      trump = findTrump(Game.TEAM_ONE_INDEX, false);
+    }
+    assertNotNull(trump, "Unable to deal a hand with insufficient meld.");
+
+    fastCompleteBidding(null);
+    int teamTwoMeld = computeExpectedTeamMeld(trump, buildHandFromRemainingCards(1),
+        buildHandFromRemainingCards(3));
+    assertEquals(2, game.declareTrump(trump));
+    assertEquals(-BidManager.MINIMUM_BID, game.getTeamScore(Game.TEAM_ONE_INDEX));
+    assertEquals(teamTwoMeld, game.getTeamScore(Game.TEAM_TWO_INDEX));
+    assertNewHandDealt(1);
   }
 
   @Test
   void shouldAdvanceDealerOnSubsequentHandStart() throws Exception {
-    // TODO (robb): fail("");
+    playHand();
+    assertNewHandDealt(1);
+    playHand();
+    assertNewHandDealt(2);
+  }
+
+  @Test
+  void shouldDealTheSameGameAfterResetWithTheSameSeed() throws Exception {
+    game.reset(42L);
+    List<List<Card>> dealt = IntStream.range(0, 4)
+        .mapToObj(game::getPlayersRemainingCards).collect(Collectors.toList());
+    List<Card> view = game.viewPlayersCards(0);
+    game.bid(50);
+
+    game.reset(7L);
+    // Hands are reused so views stay live across hands.
+    assertEquals(game.getPlayersRemainingCards(0), view);
+    game.reset(42L);
+    assertNewHandDealt(0);
+    assertEquals(0, game.getCurrentBid());
+    assertEquals(0, game.getTeamScore(Game.TEAM_ONE_INDEX));
+    for (int player = 0; player < 4; player++) {
+      assertEquals(dealt.get(player), game.getPlayersRemainingCards(player));
+    }
+  }
+
+  @Test
+  void shouldPassCardsBetweenPartnersBeforeDeclaringTrump() throws Exception {
+    game = new Game(RuleSet.DOUBLE_DECK_PASSING);
+    assertEquals(2, game.bid(50));
+    game.pass();
+    game.pass();
+    assertEquals(3, game.pass());
+    assertTrue(game.isPassing());
+    assertFalse(game.isDeclaringTrump());
+    assertFalse(game.isPlayingHand());
+
+    try {
+      game.declareTrump(Suite.Heart);
+      fail("Should have thrown exception for declaring trump while passing.");
+    } catch (InvalidBiddingException e) {
+      assertEquals(InvalidBiddingException.passingInProgress().getMessage(), e.getMessage());
+    }
+    List<Card> partnerCards = game.getPlayersRemainingCards(3);
+    try {
+      game.passCards(partnerCards.subList(0, 3).toArray(new Card[0]));
+      fail("Should have thrown exception for passing too few cards.");
+    } catch (InvalidBiddingException e) {
+      assertEquals(InvalidBiddingException.invalidPass(3, 4).getMessage(), e.getMessage());
+    }
+
+    final List<Card> declarerCards = game.getPlayersRemainingCards(1);
+    List<Card> passed = partnerCards.subList(0, 4);
+    assertEquals(1, game.passCards(passed.toArray(new Card[0])));
+    assertEquals(24, game.getPlayersRemainingCards(1).size());
+    assertEquals(16, game.getPlayersRemainingCards(3).size());
+    assertTrue(game.isPassing());
+
+    List<Card> passedBack = declarerCards.subList(0, 4);
+    assertEquals(1, game.passCards(passedBack.toArray(new Card[0])));
+    assertFalse(game.isPassing());
+    assertTrue(game.isDeclaringTrump());
+    IntStream.range(0, 4).forEach(i -> assertEquals(20, game.getPlayersRemainingCards(i).size()));
+    List<Card> partnerHand = game.getPlayersRemainingCards(3);
+    passedBack.forEach(card -> assertTrue(partnerHand.contains(card)));
+    try {
+      game.passCards(passedBack.toArray(new Card[0]));
+      fail("Should have thrown exception for passing after the passes are complete.");
+    } catch (InvalidBiddingException e) {
+      assertEquals(InvalidBiddingException.passingClosed().getMessage(), e.getMessage());
+    }
   }
 
   @Test
   void shouldChangeTheLeadOnLosingATrick() throws Exception {
-    /*fastCompleteBidding(null);
-    // Find largest suite for trump.
-    assertEquals(game.getDealer(), game.getCurrentPlayer());
-    List<Card> dealerCards = game.getPlayersRemainingCards(game.getCurrentPlayer());
-    Collections.sort(dealerCards, Comparator.comparingInt(Card::getOrdinal));
-    Card lowest = dealerCards.get(0);
-    assertEquals(1, game.playCard(lowest));
-
-    // Follow suite and play the next highest card until back to the dealer.
-    IntStream.rangeClosed(1, 3).forEach(player -> {
-      List<Card> playersRemainingCards = game.getPlayersRemainingCards(player);
-      List<Card> suiteCards = playersRemainingCards.stream()
-          .filter(card -> card.getSuite() == lowest.getSuite()).sorted()
-          .collect(Collectors.toList());
-      if (suiteCards.size() > 0) {
-        // Find the next highest in the suite.
+    startPlaying();
+    Trick trick = new Trick(game.getTrumpSuite().get());
+    int lead = game.getCurrentLead();
+    assertEquals(game.getDealer(), lead);
+    for (int index = 0; index < 4; index++) {
+      int player = game.getCurrentPlayer();
+      Card card = playLegalCard();
+      trick.playCard(player, card, List.of(card));
+    }
+    assertEquals(trick.getHighPlayerIndex(), game.getCurrentLead());
+    assertEquals(trick.getHighPlayerIndex(), game.getCurrentPlayer());
+    IntStream.range(0, 4).forEach(i -> assertEquals(19, game.getPlayersRemainingCards(i).size()));
+
+    int points = trick.getCardsPlayed().stream()
+        .mapToInt(card -> HandScorer.getPoints(card.get().getId())).sum();
+    int winningTeam = trick.getHighPlayerIndex() % 2;
+    assertEquals(points, game.getTeamTricks(winningTeam));
+    assertEquals(0, game.getTeamTricks(1 - winningTeam));
+  }
 
+  @Test
+  void shouldCompleteTheGameOnTheFinalCard() throws Exception {
+    int[] expected = playHand();
+    assertEquals(expected[Game.TEAM_ONE_INDEX], game.getTeamScore(Game.TEAM_ONE_INDEX));
+    assertEquals(expected[Game.TEAM_TWO_INDEX], game.getTeamScore(Game.TEAM_TWO_INDEX));
+  }
+
+  @Test
+  void shouldResetAndPlayHandsWithoutAllocating() {
+    com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    Game game = new Game(RuleSet.DOUBLE_DECK, new EngineMetrics());
+    int[] cardCounts = new int[Card.DISTINCT_CARD_COUNT];
+    // Warm up so class loading and lazily grown collections are not counted.
+    playHands(game, cardCounts, 0, 1000);
+    long thread = Thread.currentThread().getId();
+    long before = threads.getThreadAllocatedBytes(thread);
+    playHands(game, cardCounts, 1000, 1000);
+    long allocated = threads.getThreadAllocatedBytes(thread) - before;
+    assertTrue(allocated < 1000, "Allocated " + allocated + " bytes playing 1000 hands");
+  }
+
+  private int[] playHand() throws Exception {
+    int[] startingScore = new int[] {game.getTeamScore(0), game.getTeamScore(1)};
+    startPlaying();
+    int[] meld = new int[] {game.getTeamMeld(0), game.getTeamMeld(1)};
+    int biddingTeam = game.getCurrentPlayer() % 2;
+    int bid = game.getCurrentBid();
+
+    int[] tricks = new int[] {0, 0};
+    for (int trickIndex = 0; trickIndex < 20; trickIndex++) {
+      Trick trick = new Trick(game.getTrumpSuite().get());
+      int points = 0;
+      for (int index = 0; index < 4; index++) {
+        int player = game.getCurrentPlayer();
+        Card card = playLegalCard();
+        trick.playCard(player, card, List.of(card));
+        points += HandScorer.getPoints(card.getId());
+      }
+      tricks[trick.getHighPlayerIndex() % 2] += points;
+      if (trickIndex == 19) {
+        tricks[trick.getHighPlayerIndex() % 2] += HandScorer.LAST_TRICK_BONUS;
       } else {
-        // Find trump if out of led suite.
+        assertEquals(tricks[0], game.getTeamTricks(0));
+        assertEquals(tricks[1], game.getTeamTricks(1));
       }
-    });*/
+    }
+    assertEquals(50, tricks[0] + tricks[1]);
 
-    // TODO (robb): fail("Implement this test.");
+    int[] expected = new int[2];
+    for (int team = 0; team < 2; team++) {
+      int total = tricks[team] < Game.MINIMUM_TRICKS ? 0 : meld[team] + tricks[team];
+      expected[team] = startingScore[team] + (team == biddingTeam && total < bid ? -bid : total);
+    }
+    return expected;
   }
 
-  @Test
-  void shouldCompleteTheGameOnTheFinalCard() {
-    // TODO (robb): fail("");
+  private void startPlaying() throws Exception {
+    Suite trump = findTrump(game.getDealer() % 2, true);
+    while (trump == null) {
+      game = new Game();
+      trump = findTrump(game.getDealer() % 2, true);
+    }
+    fastCompleteBidding(trump);
+    assertTrue(game.isPlayingHand());
+  }
+
+  private Suite findTrump(int teamIndex, boolean sufficientMeld) {
+    Hand first = buildHandFromRemainingCards(teamIndex);
+    Hand second = buildHandFromRemainingCards(teamIndex + 2);
+    for (Suite suite : Suite.values()) {
+      boolean sufficient = first.countMeld(suite) + second.countMeld(suite) >= Game.MINIMUM_MELD;
+      if (sufficient == sufficientMeld) {
+        return suite;
+      }
+    }
+    return null;
+  }
+
+  private Card playLegalCard() {
+    for (Card card : game.getPlayersRemainingCards(game.getCurrentPlayer())) {
+      try {
+        game.playCard(card);
+        return card;
+      } catch (InvalidCardException ex) {
+        // Try the next card.
+      }
+    }
+    fail("No legal card to play for player " + game.getCurrentPlayer());
+    return null;
+  }
+
+  private void assertNewHandDealt(int dealer) {
+    assertEquals(dealer, game.getDealer());
+    assertEquals(dealer, game.getCurrentLead());
+    assertEquals((dealer + 1) % 4, game.getCurrentPlayer());
+    IntStream.range(0, 4).forEach(i -> assertEquals(20, game.getPlayersRemainingCards(i).size()));
+    assertTrue(game.isBidding());
+    assertEquals(0, game.getTeamMeld(Game.TEAM_ONE_INDEX));
+    assertEquals(0, game.getTeamTricks(Game.TEAM_TWO_INDEX));
   }
 
   private int computeExpectedTeamMeld(Suite trump, Hand playerOne, Hand playerTwo) {
@@ -137,4 +317,35 @@ class GameTest {
     game.getPlayersRemainingCards(player).forEach(card -> result.dealCard(card));
     return result;
   }
-}
\ No newline at end of file
+
+  private static void playHands(Game game, int[] cardCounts, long seed, int hands) {
+    int values = PinochleFaceValue.values().length;
+    int players = game.getRules().getPlayers();
+    int trump = Suite.Heart.ordinal();
+    for (int hand = 0; hand < hands; hand++) {
+      game.reset(seed + hand);
+      while (!game.isPlayingHand()) {
+        while (game.isBidding()) {
+          game.pass();
+        }
+        game.declareTrump(Suite.Heart);
+      }
+      while (game.isPlayingHand()) {
+        int player = game.getCurrentPlayer();
+        game.copyCardCounts(player, cardCounts);
+        int held = 0;
+        for (int id = 0; id < Card.DISTINCT_CARD_COUNT; id++) {
+          held |= cardCounts[id] > 0 ? 1 << id : 0;
+        }
+        int highPlayer = game.getTrickHighPlayer();
+        int winnerId = highPlayer < 0 ? -1 : game.getTrickCardId(highPlayer);
+        int ledSuite = winnerId < 0 ? -1 : game.getTrickCardId(game.getCurrentLead()) / values;
+        int played = (player - game.getCurrentLead() + players) % players;
+        int legal = TrickTable.legalMask(
+            TrickTable.of(trump, ledSuite, winnerId, highPlayer, played), held);
+        // The lowest legal card keeps the hand cheap to play while following the rules.
+        game.playCard(Card.fromId(Integer.numberOfTrailingZeros(legal)));
+      }
+    }
+  }
+}
@@ -0,0 +1,100 @@
+package org.eelbbor.pinochle;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.eelbbor.carddeck.standard.Suite;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+class HandScorerTest {
+  private HandScorer scorer;
+
+  @BeforeEach
+  void setUp() {
+    scorer = new HandScorer();
+    scorer.startHand(Game.TEAM_ONE_INDEX, 60);
+  }
+
+  @Test
+  void shouldCountAcesTensAndKings() {
+    Arrays.stream(Suite.values()).forEach(suite ->
+        Arrays.stream(PinochleFaceValue.values()).forEach(value -> {
+          int expected = value == PinochleFaceValue.Ace || value == PinochleFaceValue.Ten
+              || value == PinochleFaceValue.King ? 1 : 0;
+          assertEquals(expected, HandScorer.getPoints(new Card(suite, value).getId()));
+        }));
+  }
+
+  @Test
+  void shouldAwardTrickPointsToTeamTakingTrick() {
+    scorer.countCard(new Card(Suite.Heart, PinochleFaceValue.Ace).getId());
+    scorer.countCard(new Card(Suite.Heart, PinochleFaceValue.Jack).getId());
+    scorer.countCard(new Card(Suite.Heart, PinochleFaceValue.Ten).getId());
+    scorer.countCard(new Card(Suite.Spade, PinochleFaceValue.Queen).getId());
+    assertEquals(2, scorer.collectTrick(Game.TEAM_TWO_INDEX));
+    assertEquals(0, scorer.getTricks(Game.TEAM_ONE_INDEX));
+    assertEquals(2, scorer.getTricks(Game.TEAM_TWO_INDEX));
+
+    scorer.countCard(new Card(Suite.Club, PinochleFaceValue.King).getId());
+    assertEquals(1 + HandScorer.LAST_TRICK_BONUS, scorer.collectLastTrick(Game.TEAM_ONE_INDEX));
+    assertEquals(1 + HandScorer.LAST_TRICK_BONUS, scorer.getTricks(Game.TEAM_ONE_INDEX));
+    assertEquals(2, scorer.getTricks(Game.TEAM_TWO_INDEX));
+  }
+
+  @Test
+  void shouldRequireMinimumTricksToKeepMeld() {
+    scorer.setMeld(Game.TEAM_TWO_INDEX, 35);
+    collect(Game.TEAM_TWO_INDEX, Game.MINIMUM_TRICKS - 1);
+    assertEquals(0, scorer.computeHandTotal(Game.TEAM_TWO_INDEX));
+    assertFalse(scorer.isSet(Game.TEAM_TWO_INDEX));
+
+    collect(Game.TEAM_TWO_INDEX, 1);
+    assertEquals(35 + Game.MINIMUM_TRICKS, scorer.computeHandTotal(Game.TEAM_TWO_INDEX));
+  }
+
+  @Test
+  void shouldSetBiddingTeamShortOfBid() {
+    scorer.setMeld(Game.TEAM_ONE_INDEX, 30);
+    collect(Game.TEAM_ONE_INDEX, 29);
+    assertTrue(scorer.isSet(Game.TEAM_ONE_INDEX));
+    assertEquals(-60, scorer.computeHandTotal(Game.TEAM_ONE_INDEX));
+
+    collect(Game.TEAM_ONE_INDEX, 1);
+    assertFalse(scorer.isSet(Game.TEAM_ONE_INDEX));
+    assertEquals(60, scorer.computeHandTotal(Game.TEAM_ONE_INDEX));
+  }
+
+  @Test
+  void shouldSetBiddingTeamAndKeepOtherMeldForInsufficientMeld() {
+    scorer.setMeld(Game.TEAM_ONE_INDEX, 0);
+    scorer.setMeld(Game.TEAM_TWO_INDEX, 24);
+    assertEquals(-60, scorer.computeInsufficientMeldTotal(Game.TEAM_ONE_INDEX));
+    assertEquals(24, scorer.computeInsufficientMeldTotal(Game.TEAM_TWO_INDEX));
+  }
+
+  @Test
+  void shouldClearCountersOnStartHand() {
+    scorer.setMeld(Game.TEAM_ONE_INDEX, 30);
+    collect(Game.TEAM_TWO_INDEX, 10);
+    scorer.countCard(new Card(Suite.Club, PinochleFaceValue.Ace).getId());
+    scorer.startHand(Game.TEAM_TWO_INDEX, 51);
+
+    assertEquals(0, scorer.getMeld(Game.TEAM_ONE_INDEX));
+    assertEquals(0, scorer.getTricks(Game.TEAM_TWO_INDEX));
+    assertEquals(0, scorer.collectTrick(Game.TEAM_ONE_INDEX));
+    assertEquals(Game.TEAM_TWO_INDEX, scorer.getBiddingTeam());
+    assertEquals(51, scorer.getBid());
+  }
+
+  private void collect(int teamIndex, int points) {
+    int ace = new Card(Suite.Diamond, PinochleFaceValue.Ace).getId();
+    for (int index = 0; index < points; index++) {
+      scorer.countCard(ace);
+      scorer.collectTrick(teamIndex);
+    }
+  }
+}
@@ -8,6 +8,8 @@ import static org.eelbbor.pinochle.PinochleFaceValue.Ten;
 import static org.eelbbor.pinochle.TestUtils.randomEnum;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -16,9 +18,13 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
 import java.util.Set;
 import java.util.stream.IntStream;
 
@@ -148,15 +154,14 @@ class HandTest {
   void shouldReturnMeldForPinochles() {
     // Pinochle(Jack of diamonds & Queen of spades):    4    30    60    90
     int[] expectedMelds = {4, 30, 60, 90};
-    int[] actualMeldConstants = Hand.PINOCHLE_MELD;
-    assertEquals(5, actualMeldConstants.length);
-    assertEquals(0, actualMeldConstants[0]);
+    RuleSet rules = RuleSet.DOUBLE_DECK;
+    assertEquals(0, rules.getPinochleMeld(0));
 
     Card jack = new Card(Suite.Diamond, Jack);
     Card queen = new Card(Suite.Spade, Queen);
     assertEquals(0, hand.countMeld(randomEnum(Suite.class)));
     for (int i = 0; i < 4; i++) {
-      assertEquals(expectedMelds[i], actualMeldConstants[i + 1]);
+      assertEquals(expectedMelds[i], rules.getPinochleMeld(i + 1));
 
       hand.dealCard(i % 2 == 0 ? jack : queen);
       assertEquals(i == 0 ? 0 : expectedMelds[i - 1], hand.countMeld(randomEnum(Suite.class)));
@@ -170,7 +175,7 @@ class HandTest {
   void shouldReturnMeldForMarriageSingleSuiteNonTrump() {
     // Marriage (Kings and Queen of the same suit, not trump):  2     4      6      8
     int[] expectedMelds = {2, 4, 6, 8};
-    assertEquals(2, Hand.MARRIAGE_MULTIPLIER);
+    assertEquals(2, RuleSet.DOUBLE_DECK.getMarriageValue());
 
     Suite suite = randomEnum(Suite.class);
     Card queen = new Card(suite, Queen);
@@ -191,7 +196,7 @@ class HandTest {
   void shouldReturnMeldForMarriageInTrump() {
     // Royal Marriage (King and Queen of trump):  4     8      12     16
     int[] expectedMelds = {4, 8, 12, 16};
-    assertEquals(2, Hand.MARRIAGE_MULTIPLIER);
+    assertEquals(2, RuleSet.DOUBLE_DECK.getMarriageValue());
 
     Suite trump = randomEnum(Suite.class);
     Card queen = new Card(trump, Queen);
@@ -233,9 +238,8 @@ class HandTest {
   void shouldReturnMeldForRunInTrump() {
     // Run (Ace, Ten, King, Queen, Jack of trump): 15    150    225    300
     int[] expectedMelds = {15, 150, 225, 300};
-    int[] actualMeldConstants = Hand.RUN_MELD;
-    assertEquals(5, actualMeldConstants.length);
-    assertEquals(0, actualMeldConstants[0]);
+    RuleSet rules = RuleSet.DOUBLE_DECK;
+    assertEquals(0, rules.getRunMeld(0));
 
     Suite trump = randomEnum(Suite.class);
     PinochleFaceValue[] faceValues = PinochleFaceValue.values();
@@ -246,7 +250,7 @@ class HandTest {
 
     assertEquals(0, hand.countMeld(trump));
     for (int i = 0; i < 4; i++) {
-      assertEquals(expectedMelds[i], actualMeldConstants[i + 1]);
+      assertEquals(expectedMelds[i], rules.getRunMeld(i + 1));
 
       hand.dealCard(trumpRun);
       assertEquals(expectedMelds[i], hand.countMeld(trump));
@@ -255,7 +259,7 @@ class HandTest {
       do {
         otherSuite = randomEnum(Suite.class);
       } while (otherSuite == trump);
-      assertEquals(Hand.MARRIAGE_MULTIPLIER * (i + 1), hand.countMeld(otherSuite),
+      assertEquals(rules.getMarriageValue() * (i + 1), hand.countMeld(otherSuite),
           "Meld should only be the sum of the marriages if not a run in trump.");
     }
   }
@@ -301,16 +305,127 @@ class HandTest {
     }
   }
 
+  @Test
+  void shouldQueryCardsBySuite() {
+    hand.dealCard(new Card(Suite.Heart, Queen), new Card(Suite.Heart, Queen),
+        new Card(Suite.Club, Ace));
+    assertTrue(hand.hasSuite(Suite.Heart));
+    assertFalse(hand.hasSuite(Suite.Spade));
+    assertEquals(2, hand.getCardCountBySuite(Suite.Heart));
+    assertTrue(hand.hasHigherCard(new Card(Suite.Heart, Jack)));
+    assertFalse(hand.hasHigherCard(new Card(Suite.Heart, Queen)));
+    assertFalse(hand.hasHigherCard(new Card(Suite.Club, Ace)));
+    assertTrue(hand.containsCard(new Card(Suite.Club, Ace)));
+    assertFalse(hand.containsCard(new Card(Suite.Club, Ten)));
+  }
+
+  @Test
+  void shouldTrackHighestFaceValueBySuite() {
+    assertEquals(Optional.empty(), hand.getHighestFaceValue(Suite.Heart));
+    Card ace = new Card(Suite.Heart, Ace);
+    Card king = new Card(Suite.Heart, King);
+    hand.dealCard(king, ace, ace, new Card(Suite.Heart, Jack));
+    assertEquals(Optional.of(Ace), hand.getHighestFaceValue(Suite.Heart));
+    assertEquals(4, hand.getCardCountBySuite(Suite.Heart));
+
+    hand.playCard(ace);
+    assertEquals(Optional.of(Ace), hand.getHighestFaceValue(Suite.Heart));
+    hand.playCard(ace);
+    assertEquals(Optional.of(King), hand.getHighestFaceValue(Suite.Heart));
+    assertFalse(hand.hasHigherCard(king));
+    hand.playCard(king);
+    assertEquals(Optional.of(Jack), hand.getHighestFaceValue(Suite.Heart));
+    hand.playCard(new Card(Suite.Heart, Jack));
+    assertEquals(Optional.empty(), hand.getHighestFaceValue(Suite.Heart));
+    assertFalse(hand.hasSuite(Suite.Heart));
+  }
+
+  @Test
+  void shouldKeepSuiteSummariesConsistentWithCards() {
+    Random random = new Random(11L);
+    List<Card> deck = RuleSet.DOUBLE_DECK.createDeck();
+    int[] suiteCounts = new int[Suite.values().length];
+    int[] highestValues = new int[Suite.values().length];
+    for (int deal = 0; deal < 20; deal++) {
+      hand = new Hand();
+      Collections.shuffle(deck, random);
+      hand.dealCard(deck.subList(0, RuleSet.DOUBLE_DECK.getHandSize()).toArray(new Card[0]));
+      while (hand.numCards() > 0) {
+        List<Card> cards = hand.remainingCards();
+        hand.playCard(cards.get(random.nextInt(cards.size())));
+        Hand.summarizeSuites(hand.getCardCounts(), suiteCounts, highestValues);
+        assertEquals(Arrays.toString(suiteCounts), Arrays.toString(hand.getSuiteCounts()));
+        assertEquals(Arrays.toString(highestValues), Arrays.toString(hand.getHighestValues()));
+      }
+    }
+  }
+
+  @Test
+  void shouldClearCardsAndSummaries() {
+    hand.dealCard(new Card(Suite.Heart, Ace), new Card(Suite.Heart, Ace),
+        new Card(Suite.Spade, Queen));
+    hand.clear();
+    assertEquals(0, hand.numCards());
+    assertEquals(0, hand.getCardCount(new Card(Suite.Heart, Ace)));
+    assertFalse(hand.hasSuite(Suite.Heart));
+    assertEquals(Optional.empty(), hand.getHighestFaceValue(Suite.Spade));
+
+    // A cleared hand accepts a full deal again.
+    List<Card> deck = RuleSet.DOUBLE_DECK.getDeck();
+    for (int card = 0; card < RuleSet.DOUBLE_DECK.getHandSize(); card++) {
+      hand.dealCard(deck.get(card));
+    }
+    assertEquals(4, hand.getCardCount(deck.get(0)));
+  }
+
+  @Test
+  void shouldExposeLiveReadOnlyView() {
+    Card card = new Card(randomEnum(Suite.class), King);
+    List<Card> view = hand.viewCards();
+    hand.dealCard(card);
+    assertEquals(List.of(card), view);
+    assertThrows(UnsupportedOperationException.class, () -> view.remove(card));
+
+    hand.playCard(card);
+    assertTrue(view.isEmpty());
+    assertSame(view, hand.viewCards());
+  }
+
+  @Test
+  void shouldShowCardsOfEachMeld() {
+    // Run in hearts, a pinochle, a spare king of clubs and tens which are not meld.
+    hand.dealCard(new Card(Suite.Heart, Jack), new Card(Suite.Heart, Queen),
+        new Card(Suite.Heart, King), new Card(Suite.Heart, Ten), new Card(Suite.Heart, Ace),
+        new Card(Suite.Diamond, Jack), new Card(Suite.Spade, Queen), new Card(Suite.Spade, Queen),
+        new Card(Suite.Club, King), new Card(Suite.Club, Ten));
+    int[] cardCounts = new int[Card.DISTINCT_CARD_COUNT];
+    hand.viewCards().forEach(card -> cardCounts[card.getId()]++);
+    int[] shown = new int[Card.DISTINCT_CARD_COUNT];
+    Hand.meldCards(cardCounts, Suite.Heart, RuleSet.DOUBLE_DECK, shown);
+
+    int[] expected = new int[Card.DISTINCT_CARD_COUNT];
+    for (PinochleFaceValue faceValue : PinochleFaceValue.values()) {
+      expected[new Card(Suite.Heart, faceValue).getId()] = 1;
+    }
+    expected[new Card(Suite.Diamond, Jack).getId()] = 1;
+    expected[new Card(Suite.Spade, Queen).getId()] = 1;
+    assertEquals(Arrays.toString(expected), Arrays.toString(shown));
+
+    // Without a run the hearts only show the marriage.
+    Hand.meldCards(cardCounts, Suite.Club, RuleSet.DOUBLE_DECK, shown);
+    assertEquals(0, shown[new Card(Suite.Heart, Ace).getId()]);
+    assertEquals(1, shown[new Card(Suite.Heart, King).getId()]);
+  }
+
   private void validateMeldAround(PinochleFaceValue faceValue, int... values) {
     assertEquals(4, values.length);
 
-    int[] meldAroundConstants = Hand.MELD_AROUND.get(faceValue);
-    assertEquals(5, meldAroundConstants.length);
-    assertEquals(0, meldAroundConstants[0]);
+    RuleSet rules = RuleSet.DOUBLE_DECK;
+    assertEquals(0, rules.getAroundMeld(faceValue, 0));
 
     for (int i = 0; i < values.length; i++) {
-      assertEquals(values[i], meldAroundConstants[i + 1],
-          "Expected '" + values[i] + "' for 2 " + faceValue.name() + "s around in constants map.");
+      assertEquals(values[i], rules.getAroundMeld(faceValue, i + 1),
+          "Expected '" + values[i] + "' for 2 " + faceValue.name() + "s around in the rules.");
 
       int expectedValue = i == 0 ? 0 : values[i - 1];
       Arrays.stream(Suite.values()).forEach(suite -> {
@@ -7,8 +7,8 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
-import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.Set;
 import java.util.TreeSet;
 
@@ -16,7 +16,9 @@ import java.util.TreeSet;
 class PinochleFaceValueTest {
   @Test
   void shouldApplyCorrectSortAccordingToCardStrength() {
-    Set<PinochleFaceValue> values = new HashSet<>();
+    // Insertion order starting from the strongest value is never the sorted order.
+    Set<PinochleFaceValue> values = new LinkedHashSet<>();
+    values.add(PinochleFaceValue.Ace);
     while (values.size() < PinochleFaceValue.values().length) {
       values.add(TestUtils.randomEnum(PinochleFaceValue.class));
     }
@@ -0,0 +1,131 @@
+package org.eelbbor.pinochle;
+
+import static org.eelbbor.pinochle.PinochleFaceValue.Ace;
+import static org.eelbbor.pinochle.PinochleFaceValue.Jack;
+import static org.eelbbor.pinochle.PinochleFaceValue.Ten;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import org.eelbbor.carddeck.standard.Suite;
+import org.eelbbor.pinochle.exceptions.InvalidBiddingException;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+class RuleSetTest {
+  @Test
+  @SuppressWarnings("deprecation")
+  void shouldDefaultToDoubleDeckConstants() {
+    RuleSet rules = RuleSet.DOUBLE_DECK;
+    assertEquals(4, rules.getPlayers());
+    assertEquals(2, rules.getTeamCount());
+    assertEquals(80, rules.getDeckSize());
+    assertEquals(20, rules.getHandSize());
+    assertEquals(0, rules.getWidowSize());
+    assertEquals(BidManager.MINIMUM_BID, rules.getMinimumBid());
+    assertEquals(BidManager.MINIMUM_INCREMENT_BY_FIVE_BID, rules.getRaisedIncrementBid());
+    assertEquals(Game.MINIMUM_MELD, rules.getMinimumMeld());
+    assertEquals(Game.MINIMUM_TRICKS, rules.getMinimumTricks());
+    IntStream.range(0, 4).forEach(player -> assertEquals(player % 2, rules.getTeam(player)));
+    IntStream.range(0, 5).forEach(count -> {
+      Hand.MELD_AROUND.forEach((faceValue, values) ->
+          assertEquals(values[count], rules.getAroundMeld(faceValue, count)));
+      assertEquals(0, rules.getAroundMeld(Ten, count));
+      assertEquals(Hand.PINOCHLE_MELD[count], rules.getPinochleMeld(count));
+      assertEquals(Hand.RUN_MELD[count], rules.getRunMeld(count));
+    });
+    // The deprecated Hand constants are copies of the rules rather than their source.
+    assertEquals(Hand.MARRIAGE_MULTIPLIER, rules.getMarriageValue());
+  }
+
+  @Test
+  void shouldBuildThreeHandedVariant() {
+    RuleSet rules = RuleSet.THREE_HANDED;
+    assertEquals(3, rules.getPlayers());
+    assertEquals(3, rules.getTeamCount());
+    assertEquals(26, rules.getHandSize());
+    assertEquals(2, rules.getWidowSize());
+    assertEquals(80, rules.createDeck().size());
+  }
+
+  @Test
+  void shouldPlaySingleDeckVariant() {
+    RuleSet rules = RuleSet.SINGLE_DECK;
+    assertEquals(40, rules.createDeck().size());
+    Game game = new Game(rules);
+    IntStream.range(0, 4).forEach(player ->
+        assertEquals(10, game.getPlayersRemainingCards(player).size()));
+
+    Hand hand = new Hand(rules);
+    Card card = new Card(Suite.Heart, Ace);
+    hand.dealCard(card, card);
+    try {
+      hand.dealCard(card);
+      fail("Should have thrown exception for dealing more than 2 of the same card.");
+    } catch (IllegalArgumentException ex) {
+      assertEquals("Tried to deal more than 2 'Aces' of 'Hearts'.", ex.getMessage());
+    }
+
+    BidManager manager = new BidManager(3, rules);
+    manager.bid(0, 25);
+    manager.bid(1, 30);
+    try {
+      manager.bid(2, 32);
+      fail("Should have thrown exception for bid not in the raised increment.");
+    } catch (InvalidBiddingException ex) {
+      assertEquals(InvalidBiddingException.invalidMinimumBidIncrementByFive(32, 35, 30, 5)
+          .getMessage(), ex.getMessage());
+    }
+  }
+
+  @Test
+  void shouldDealThreeHandedGameLeavingWidow() {
+    Game game = new Game(RuleSet.THREE_HANDED);
+    IntStream.range(0, 3).forEach(player ->
+        assertEquals(26, game.getPlayersRemainingCards(player).size()));
+    assertEquals(1, game.getCurrentPlayer());
+    game.pass();
+    game.pass();
+    assertTrue(game.isDeclaringTrump());
+    assertEquals(0, game.getCurrentPlayer());
+  }
+
+  @Test
+  void shouldUseCustomMeldTables() {
+    RuleSet rules = RuleSet.builder().aroundMeld(Jack, 0, 5, 50, 75, 100).build();
+    Hand hand = new Hand(rules);
+    for (Suite suite : Suite.values()) {
+      hand.dealCard(new Card(suite, Jack));
+    }
+    assertEquals(5, hand.countMeld(Suite.Club));
+  }
+
+  @Test
+  void shouldBuildPassingVariant() {
+    RuleSet rules = RuleSet.DOUBLE_DECK_PASSING;
+    assertEquals(4, rules.getPassCount());
+    assertEquals(0, RuleSet.DOUBLE_DECK.getPassCount());
+    assertEquals(2, rules.getPartner(0));
+    assertEquals(3, rules.getPartner(1));
+    assertEquals(-1, RuleSet.THREE_HANDED.getPartner(0));
+
+    Hand hand = new Hand(rules);
+    hand.dealCard(rules.createDeck().subList(0, 24).toArray(new Card[0]));
+    assertEquals(24, hand.numCards());
+  }
+
+  @Test
+  void shouldRejectInvalidVariants() {
+    assertThrows(IllegalArgumentException.class, () -> RuleSet.builder().teams(0, 0).build());
+    assertThrows(IllegalArgumentException.class, () -> RuleSet.builder().teams(0, 2).build());
+    assertThrows(IllegalArgumentException.class,
+        () -> RuleSet.builder().copiesPerCard(5).build());
+    assertThrows(IllegalArgumentException.class,
+        () -> RuleSet.builder().copiesPerCard(2).runMeld(0, 15).build());
+    assertThrows(IllegalArgumentException.class, () -> RuleSet.builder().passCount(-1).build());
+    assertThrows(IllegalArgumentException.class,
+        () -> RuleSet.builder().teams(0, 1, 2).passCount(3).build());
+  }
+}
@@ -0,0 +1,69 @@
+package org.eelbbor.pinochle;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.eelbbor.carddeck.standard.Suite;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+class TableRendererTest {
+  @Test
+  void shouldRenderTableOfGame() {
+    Game game = new Game();
+    ByteBuffer out = ByteBuffer.allocate(TableRenderer.MAX_TABLE_BYTES);
+    TableRenderer.renderTable(out, game, 1);
+    assertEquals(handLine(game, 1) + "0 0 0\n", decode(out));
+
+    while (!game.isPlayingHand()) {
+      while (game.isBidding()) {
+        game.pass();
+      }
+      game.declareTrump(Suite.Diamond);
+    }
+    int leader = game.getCurrentPlayer();
+    Card led = game.getPlayersRemainingCards(leader).get(0);
+    game.playCard(led);
+
+    out.clear();
+    TableRenderer.renderTable(out, game, leader);
+    StringBuilder trick = new StringBuilder().appendCodePoint(0x2666);
+    for (int player = 0; player < 4; player++) {
+      trick.append(' ').append(player).append(':');
+      if (player == leader) {
+        trick.appendCodePoint(led.getUnicodeCodePoint());
+      } else {
+        trick.append('-');
+      }
+    }
+    String score = game.getTeamScore(0) + " " + game.getTeamScore(1) + " "
+        + game.getCurrentBid() + " " + new String(Character.toChars(0x2666));
+    assertEquals(handLine(game, leader) + trick + "\n" + score + "\n", decode(out));
+  }
+
+  @Test
+  void shouldWriteNumbersWithoutStrings() {
+    ByteBuffer out = ByteBuffer.allocate(64);
+    for (int number : new int[] {0, 7, 10, 250, -50, Integer.MIN_VALUE}) {
+      out.clear();
+      TableRenderer.putNumber(out, number);
+      assertEquals(Integer.toString(number), decode(out));
+    }
+  }
+
+  private static String handLine(Game game, int player) {
+    List<Card> cards = game.getPlayersRemainingCards(player);
+    cards.sort(Comparator.comparingInt(Card::getId));
+    return cards.stream().map(card -> new String(Character.toChars(card.getUnicodeCodePoint())))
+        .collect(Collectors.joining(" ")) + "\n";
+  }
+
+  private static String decode(ByteBuffer out) {
+    out.flip();
+    return StandardCharsets.UTF_8.decode(out).toString();
+  }
+}
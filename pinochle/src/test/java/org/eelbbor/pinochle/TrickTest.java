@@ -14,6 +14,7 @@ import org.eelbbor.pinochle.exceptions.InvalidCardException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.lang.management.ManagementFactory;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -45,6 +46,23 @@ class TrickTest {
     assertFalse(trick.getHighTrump().isPresent());
   }
 
+  @Test
+  void shouldClearCardsPlayedOnReset() throws Exception {
+    Card led = new Card(Suite.Heart, PinochleFaceValue.King);
+    trick.playCard(0, led, List.of(led));
+    trick.reset(Suite.Club);
+    assertEquals(Suite.Club, trick.getTrump());
+    assertEquals(-1, trick.getHighPlayerIndex());
+    assertFalse(trick.getHighCard().isPresent());
+    assertFalse(trick.getHighTrump().isPresent());
+    trick.getCardsPlayed().forEach(card -> assertFalse(card.isPresent()));
+
+    // Player 0 may play again and any card may be led.
+    Card card = new Card(Suite.Spade, PinochleFaceValue.Jack);
+    trick.playCard(0, card, List.of(card, led));
+    assertEquals(0, trick.getHighPlayerIndex());
+  }
+
   @Test
   void shouldNotMutateCardsPlayed() {
     final List<Card> expectedCards = new ArrayList<>();
@@ -416,6 +434,21 @@ class TrickTest {
     }
   }
 
+  @Test
+  void shouldValidateCardListsWithoutAllocating() {
+    com.sun.management.ThreadMXBean threads =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    List<Card> cardsInHand = new ArrayList<>();
+    IntStream.range(0, 12).forEach(index -> cardsInHand.add(createRandomCard()));
+    // Warm up so class loading and compilation are not counted.
+    playEveryCard(cardsInHand, 10_000);
+    long thread = Thread.currentThread().getId();
+    long before = threads.getThreadAllocatedBytes(thread);
+    playEveryCard(cardsInHand, 10_000);
+    long allocated = threads.getThreadAllocatedBytes(thread) - before;
+    assertTrue(allocated < 1000, "Allocated " + allocated + " bytes validating card lists");
+  }
+
   @Test
   void shouldThrowExceptionIfCardNotInPlayersHand() {
     List<Card> cardsInHand = new ArrayList<>();
@@ -662,6 +695,40 @@ class TrickTest {
     return getOffSuite(null);
   }
 
+  @Test
+  void shouldValidateAgainstHandWithoutCopying() {
+    trick = new Trick(Suite.Spade);
+    Hand hand = new Hand();
+    Card kingOfHearts = new Card(Suite.Heart, PinochleFaceValue.King);
+    Card tenOfHearts = new Card(Suite.Heart, PinochleFaceValue.Ten);
+    Card jackOfClubs = new Card(Suite.Club, PinochleFaceValue.Jack);
+    hand.dealCard(kingOfHearts, tenOfHearts, jackOfClubs);
+
+    Card queenOfHearts = new Card(Suite.Heart, PinochleFaceValue.Queen);
+    trick.playCard(0, queenOfHearts, List.of(queenOfHearts));
+    assertInvalidPlay(CardPlayingErrorCode.NO_SUCH_CARD_ERROR, queenOfHearts, hand);
+    assertInvalidPlay(CardPlayingErrorCode.FOLLOWING_SUITE_ERROR, jackOfClubs, hand);
+
+    trick.playCard(1, tenOfHearts, hand);
+    assertEquals(1, trick.getHighPlayerIndex());
+    hand.playCard(tenOfHearts);
+    Hand stronger = new Hand();
+    stronger.dealCard(kingOfHearts, new Card(Suite.Heart, PinochleFaceValue.Ace));
+    assertInvalidPlay(CardPlayingErrorCode.CARD_TOO_LOW_FOLLOWING_SUITE_ERROR, kingOfHearts,
+        stronger);
+    trick.playCard(2, kingOfHearts, hand);
+    assertEquals(1, trick.getHighPlayerIndex());
+  }
+
+  private void assertInvalidPlay(CardPlayingErrorCode expected, Card card, Hand hand) {
+    try {
+      trick.playCard(3, card, hand);
+      fail("Should have thrown exception playing " + card);
+    } catch (InvalidCardException ex) {
+      assertEquals(expected, ex.getErrorCode());
+    }
+  }
+
   private Suite getOffSuite(Suite ledSuite) {
     Suite offSuite;
     do {
@@ -673,4 +740,11 @@ class TrickTest {
   private Card createRandomCard() {
     return new Card(randomEnum(Suite.class), randomEnum(PinochleFaceValue.class));
   }
-}
\ No newline at end of file
+
+  private void playEveryCard(List<Card> cardsInHand, int rounds) {
+    for (int round = 0; round < rounds; round++) {
+      trick.reset(trump);
+      trick.playCard(round % 4, cardsInHand.get(round % cardsInHand.size()), cardsInHand);
+    }
+  }
+}
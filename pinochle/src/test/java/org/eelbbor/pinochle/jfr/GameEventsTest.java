@@ -0,0 +1,92 @@
+package org.eelbbor.pinochle.jfr;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.eelbbor.carddeck.standard.Suite;
+import org.eelbbor.pinochle.Card;
+import org.eelbbor.pinochle.Game;
+import org.eelbbor.pinochle.exceptions.CardPlayingErrorCode;
+import org.eelbbor.pinochle.exceptions.InvalidBiddingException;
+import org.eelbbor.pinochle.exceptions.InvalidCardException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+class GameEventsTest {
+  private static final List<Class<? extends jdk.jfr.Event>> EVENTS = List.of(
+      HandDealtEvent.class, BidEvent.class, TrumpDeclaredEvent.class, CardPlayedEvent.class,
+      HandScoredEvent.class);
+
+  @Test
+  void shouldRecordGameLifecycle() throws Exception {
+    Path file = Files.createTempFile("game", ".jfr");
+    try (Recording recording = new Recording()) {
+      EVENTS.forEach(event -> recording.enable(event).withoutThreshold());
+      recording.start();
+
+      Game game = new Game();
+      assertThrows(InvalidBiddingException.class, () -> game.bid(10));
+      while (game.isBidding()) {
+        game.pass();
+      }
+      game.declareTrump(Suite.Heart);
+      while (!game.isPlayingHand()) {
+        while (game.isBidding()) {
+          game.pass();
+        }
+        game.declareTrump(Suite.Heart);
+      }
+
+      List<Card> held = game.getPlayersRemainingCards(game.getCurrentPlayer());
+      for (int id = 0; id < Card.DISTINCT_CARD_COUNT; id++) {
+        Card missing = Card.fromId(id);
+        if (!held.contains(missing)) {
+          assertThrows(InvalidCardException.class, () -> game.playCard(missing));
+          break;
+        }
+      }
+      game.playCard(held.get(0));
+
+      recording.stop();
+      recording.dump(file);
+    }
+
+    List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+    Files.delete(file);
+    assertFalse(named(events, "HandDealt").isEmpty());
+    assertFalse(named(events, "TrumpDeclared").isEmpty());
+
+    List<RecordedEvent> bids = named(events, "Bid");
+    assertEquals(10, bids.get(0).getInt("bid"));
+    assertFalse(bids.get(0).getBoolean("passed"));
+    assertTrue(bids.get(0).getString("rejection").contains("'10'"));
+    assertTrue(bids.stream().skip(1).allMatch(event -> event.getBoolean("passed")));
+
+    // Each insufficient meld hand is scored before the next deal.
+    assertEquals(named(events, "HandDealt").size() - 1, named(events, "HandScored").size());
+    named(events, "HandScored").forEach(event -> assertTrue(event.getBoolean("set")));
+
+    List<RecordedEvent> plays = named(events, "CardPlayed");
+    RecordedEvent accepted = plays.get(plays.size() - 1);
+    assertTrue(accepted.getBoolean("accepted"));
+    assertNull(accepted.getString("errorCode"));
+    plays.stream().limit(plays.size() - 1).forEach(event -> assertEquals(
+        CardPlayingErrorCode.NO_SUCH_CARD_ERROR.name(), event.getString("errorCode")));
+  }
+
+  private static List<RecordedEvent> named(List<RecordedEvent> events, String name) {
+    return events.stream()
+        .filter(event -> event.getEventType().getName().equals("org.eelbbor.pinochle." + name))
+        .collect(Collectors.toList());
+  }
+}
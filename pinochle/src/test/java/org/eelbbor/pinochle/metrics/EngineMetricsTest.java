@@ -0,0 +1,159 @@
+package org.eelbbor.pinochle.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.eelbbor.carddeck.standard.Suite;
+import org.eelbbor.pinochle.Card;
+import org.eelbbor.pinochle.Game;
+import org.eelbbor.pinochle.Hand;
+import org.eelbbor.pinochle.RuleSet;
+import org.eelbbor.pinochle.exceptions.BiddingErrorCode;
+import org.eelbbor.pinochle.exceptions.CardPlayingErrorCode;
+import org.eelbbor.pinochle.exceptions.InvalidBiddingException;
+import org.eelbbor.pinochle.exceptions.InvalidCardException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+
+class EngineMetricsTest {
+  @Test
+  void shouldRecordGameOperations() {
+    EngineMetrics metrics = new EngineMetrics();
+    Game game = new Game(RuleSet.DOUBLE_DECK, metrics);
+    assertEquals(1, metrics.getDeals());
+
+    assertThrows(InvalidBiddingException.class, () -> game.playCard(Card.fromId(0)));
+    assertThrows(InvalidBiddingException.class, () -> game.bid(10));
+    game.bid(50);
+    assertEquals(1, metrics.getBidsAccepted());
+    assertEquals(1, metrics.getBidLatency(BidOutcome.ACCEPTED).getCount());
+    assertEquals(1, metrics.getBidsRejected(BiddingErrorCode.MINIMUM_BID_ERROR));
+    assertEquals(1, metrics.getBidsRejected(BiddingErrorCode.BIDDING_IN_PROGRESS_ERROR));
+    // Only the rejected bid is timed, the card played while bidding is not a bidding operation.
+    assertEquals(1, metrics.getBidLatency(BidOutcome.REJECTED).getCount());
+    assertEquals(0, metrics.getBidLatency(BidOutcome.PASS).getCount());
+
+    int passes = 0;
+    while (!game.isPlayingHand()) {
+      while (game.isBidding()) {
+        game.pass();
+        passes++;
+      }
+      game.declareTrump(Suite.Club);
+    }
+    assertEquals(passes, metrics.getPasses());
+    assertEquals(passes, metrics.getBidLatency(BidOutcome.PASS).getCount());
+    List<Card> held = game.getPlayersRemainingCards(game.getCurrentPlayer());
+    Card missing = Card.fromId(0);
+    for (int id = 0; id < Card.DISTINCT_CARD_COUNT && held.contains(missing); id++) {
+      missing = Card.fromId(id);
+    }
+    Card notHeld = missing;
+    assertThrows(InvalidCardException.class, () -> game.playCard(notHeld));
+    game.playCard(held.get(0));
+
+    assertEquals(1, metrics.getPlaysAccepted());
+    assertEquals(1, metrics.getPlaysRejected(CardPlayingErrorCode.NO_SUCH_CARD_ERROR));
+    assertEquals(2, metrics.getPlayLatency().getCount());
+    assertTrue(metrics.getDeals() >= 1);
+  }
+
+  @Test
+  void shouldCountMeldWhenDeclaringTrump() {
+    EngineMetrics metrics = new EngineMetrics();
+    final Game game = new Game(RuleSet.DOUBLE_DECK, metrics);
+    long before = EngineMetrics.getDefault().getMeldCounts();
+    new Hand().countMeld(Suite.Spade);
+    assertEquals(before, EngineMetrics.getDefault().getMeldCounts());
+    assertEquals(0, metrics.getMeldCounts());
+
+    int declarations = 0;
+    while (!game.isPlayingHand()) {
+      while (game.isBidding()) {
+        game.pass();
+      }
+      game.declareTrump(Suite.Heart);
+      declarations++;
+    }
+    assertEquals((long) declarations * RuleSet.DOUBLE_DECK.getPlayers(), metrics.getMeldCounts());
+  }
+
+  @Test
+  void shouldWritePrometheusText() throws IOException {
+    EngineMetrics metrics = new EngineMetrics();
+    metrics.recordRejectedPlay(CardPlayingErrorCode.TRUMP_ERROR, 3_000);
+    metrics.recordPlay(1_000_000_000L);
+    metrics.recordDeal();
+    StringBuilder text = new StringBuilder();
+    metrics.writePrometheus(text);
+
+    String output = text.toString();
+    assertTrue(output.contains("# TYPE pinochle_plays_rejected_total counter\n"));
+    assertTrue(output.contains("pinochle_plays_rejected_total{code=\"TRUMP_ERROR\"} 1\n"));
+    assertTrue(output.contains("pinochle_plays_accepted_total 1\n"));
+    assertTrue(output.contains("pinochle_deals_total 1\n"));
+    assertTrue(output.contains("# TYPE pinochle_play_card_seconds histogram\n"));
+    assertTrue(output.contains("pinochle_play_card_seconds_bucket{le=\"+Inf\"} 2\n"));
+    assertTrue(output.contains("pinochle_play_card_seconds_count 2\n"));
+    assertTrue(output.contains("pinochle_play_card_seconds_sum 1.00000300\n"));
+    assertTrue(output.contains("pinochle_play_card_seconds_bucket{le=\"4.09500000e-06\"} 1\n"),
+        output);
+  }
+
+  @Test
+  void shouldWriteBidLatencyByOutcomeWithOverflowOnlyInInfBucket() throws IOException {
+    EngineMetrics metrics = new EngineMetrics();
+    metrics.recordBid(1_000);
+    metrics.recordPass(2_000);
+    metrics.recordRejectedBid(BiddingErrorCode.MINIMUM_BID_ERROR, LatencyHistogram.MAX_VALUE + 1);
+    StringBuilder text = new StringBuilder();
+    metrics.writePrometheus(text);
+
+    String output = text.toString();
+    final String top =
+        seconds(LatencyHistogram.getUpperBound(LatencyHistogram.getBucketCount() - 1));
+    assertTrue(output.contains("pinochle_passes_total 1\n"), output);
+    assertTrue(output.contains("pinochle_bid_seconds_count{outcome=\"accepted\"} 1\n"), output);
+    assertTrue(output.contains("pinochle_bid_seconds_count{outcome=\"pass\"} 1\n"), output);
+    assertTrue(output.contains("pinochle_bid_seconds_sum{outcome=\"pass\"} 2.00000000e-06\n"),
+        output);
+    assertTrue(output.contains(
+        "pinochle_bid_seconds_bucket{outcome=\"rejected\",le=\"" + top + "\"} 0\n"), output);
+    assertTrue(output.contains(
+        "pinochle_bid_seconds_bucket{outcome=\"rejected\",le=\"+Inf\"} 1\n"), output);
+    assertTrue(output.contains(
+        "pinochle_bid_seconds_bucket{outcome=\"accepted\",le=\"" + top + "\"} 1\n"), output);
+  }
+
+  private static String seconds(long nanos) {
+    return String.format(Locale.ROOT, "%.9g", nanos / 1e9);
+  }
+
+  @Test
+  void shouldServeMetricsOnLoopback() throws IOException {
+    EngineMetrics metrics = new EngineMetrics();
+    metrics.recordDeal();
+    try (MetricsServer server = new MetricsServer(metrics, 0)) {
+      URL url = new URL("http://127.0.0.1:" + server.getPort() + MetricsServer.PATH);
+      HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+      assertEquals(200, connection.getResponseCode());
+      assertEquals(EngineMetrics.PROMETHEUS_CONTENT_TYPE, connection.getContentType());
+      try (InputStream in = connection.getInputStream()) {
+        String body = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        assertTrue(body.contains("pinochle_deals_total 1\n"));
+      }
+
+      HttpURLConnection post = (HttpURLConnection) url.openConnection();
+      post.setRequestMethod("POST");
+      assertEquals(405, post.getResponseCode());
+    }
+  }
+}
@@ -0,0 +1,58 @@
+package org.eelbbor.pinochle.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.stream.IntStream;
+
+class LatencyHistogramTest {
+  @Test
+  void shouldBucketValuesWithinBounds() {
+    Random random = new Random(3L);
+    for (int iteration = 0; iteration < 10_000; iteration++) {
+      long value = random.nextLong() & LatencyHistogram.MAX_VALUE >>> random.nextInt(40);
+      int index = LatencyHistogram.bucketIndex(value);
+      assertTrue(value <= LatencyHistogram.getUpperBound(index), "value " + value);
+      assertTrue(index == 0 || value > LatencyHistogram.getUpperBound(index - 1), "value " + value);
+      assertTrue(LatencyHistogram.getUpperBound(index) - value
+          <= value / LatencyHistogram.SUB_BUCKETS, "value " + value);
+    }
+    assertEquals(LatencyHistogram.getBucketCount() - 1,
+        LatencyHistogram.bucketIndex(LatencyHistogram.MAX_VALUE));
+  }
+
+  @Test
+  void shouldEstimateQuantiles() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    IntStream.rangeClosed(1, 1000).forEach(histogram::record);
+    histogram.record(-5);
+    histogram.record(Long.MAX_VALUE);
+
+    LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+    assertEquals(1002, snapshot.getCount());
+    assertEquals(1, snapshot.getBucketCount(0));
+    assertEquals(0, snapshot.getBucketCount(LatencyHistogram.getBucketCount() - 1));
+    assertEquals(1, snapshot.getOverflowCount());
+    assertEquals(1001, snapshot.getCountAtOrBelow(LatencyHistogram.MAX_VALUE));
+    long median = snapshot.getValueAtQuantile(0.5);
+    assertTrue(median >= 500 && median <= 500 + 500 / LatencyHistogram.SUB_BUCKETS, "" + median);
+    assertEquals(Long.MAX_VALUE, snapshot.getValueAtQuantile(1));
+    assertEquals(0, snapshot.getValueAtQuantile(0));
+    assertEquals(8, snapshot.getCountAtOrBelow(7));
+    assertThrows(IllegalArgumentException.class, () -> snapshot.getValueAtQuantile(1.5));
+  }
+
+  @Test
+  void shouldCountConcurrentRecords() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    IntStream.range(0, 100_000).parallel().forEach(value -> histogram.record(value % 64));
+    LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+    assertEquals(100_000, snapshot.getCount());
+    assertEquals(100_000 / 64 * (63 * 64 / 2) + (100_000 % 64) * (100_000 % 64 - 1) / 2,
+        snapshot.getSum());
+  }
+}
@@ -0,0 +1,106 @@
+package org.eelbbor.pinochle.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.eelbbor.pinochle.BidManager;
+import org.eelbbor.pinochle.RuleSet;
+import org.junit.jupiter.api.Test;
+
+class AuctionSimulatorTest {
+  @Test
+  void shouldStickDealerWhenEveryonePasses() {
+    AuctionSimulator simulator = new AuctionSimulator(RuleSet.DOUBLE_DECK, BidPolicy.passing());
+    simulator.setRecordSequences(true);
+    AuctionStatistics statistics = simulator.simulate(100, 1L);
+
+    assertEquals(100, statistics.getRounds());
+    assertEquals(1.0, statistics.getStuckDealerRate());
+    assertEquals(100, statistics.getContractCount(BidManager.MINIMUM_BID));
+    BidSequenceBuffer sequences = statistics.getSequences();
+    assertEquals(100, sequences.getRoundCount());
+    for (int round = 0; round < 100; round++) {
+      assertEquals(round % 4, sequences.getDealer(round));
+      assertEquals(round % 4, sequences.getDeclarer(round));
+      assertEquals(BidSequenceBuffer.FLAG_STUCK, sequences.getFlags(round));
+      assertEquals(3, sequences.getActionCount(round));
+    }
+  }
+
+  @Test
+  void shouldRecordSequencesReplayableThroughBidManager() {
+    AuctionSimulator simulator =
+        new AuctionSimulator(RuleSet.DOUBLE_DECK, BidPolicy.meldPlusTricks(30));
+    simulator.setRecordSequences(true);
+    int rounds = AuctionSimulator.CHUNK_ROUNDS + 500;
+    BidSequenceBuffer sequences = simulator.simulate(rounds, 5L).getSequences();
+
+    assertEquals(rounds, sequences.getRoundCount());
+    for (int round = 0; round < rounds; round++) {
+      BidManager manager = new BidManager(sequences.getDealer(round));
+      for (int action = 0; action < sequences.getActionCount(round); action++) {
+        int bid = sequences.getActionBid(round, action);
+        if (bid == BidPolicy.PASS) {
+          manager.pass(sequences.getActionPlayer(round, action));
+        } else {
+          manager.bid(sequences.getActionPlayer(round, action), bid);
+        }
+      }
+      assertTrue(manager.isDeclaringTrump());
+      assertEquals(sequences.getDeclarer(round), manager.getHighBidPlayerIndex());
+      assertEquals(sequences.getContract(round), manager.getBid());
+    }
+  }
+
+  @Test
+  void shouldReportSetRatesWithPlayEstimator() {
+    AuctionSimulator simulator = new AuctionSimulator(RuleSet.DOUBLE_DECK,
+        BidPolicy.meldPlusTricks(40), BidPolicy.meldPlusTricks(20),
+        BidPolicy.meldPlusTricks(40), BidPolicy.meldPlusTricks(20));
+    simulator.setPlayEstimator(PlayEstimator.greedyRollout());
+    AuctionStatistics statistics = simulator.simulate(5000, 9L);
+
+    long contracts = 0;
+    for (int contract = 0; contract < AuctionStatistics.CONTRACT_LIMIT; contract++) {
+      contracts += statistics.getContractCount(contract);
+      if (contract < BidManager.MINIMUM_BID) {
+        assertEquals(0, statistics.getContractCount(contract));
+      }
+    }
+    assertEquals(5000, contracts);
+    assertTrue(statistics.getSetCount() > 0 && statistics.getSetCount() < 5000);
+    assertTrue(statistics.getSetCount() >= statistics.getInsufficientMeldCount());
+    assertTrue(statistics.getMeanOverbid() > 0);
+    assertTrue(statistics.getMeanContract() >= BidManager.MINIMUM_BID);
+  }
+
+  @Test
+  void shouldReproduceStatisticsForSeed() {
+    AuctionSimulator simulator =
+        new AuctionSimulator(RuleSet.SINGLE_DECK, BidPolicy.meldPlusTricks(15));
+    simulator.setPlayEstimator(PlayEstimator.greedyRollout());
+    AuctionStatistics first = simulator.simulate(3 * AuctionSimulator.CHUNK_ROUNDS, 3L);
+    AuctionStatistics second = simulator.simulate(3 * AuctionSimulator.CHUNK_ROUNDS, 3L);
+
+    assertEquals(first.getStuckDealerCount(), second.getStuckDealerCount());
+    assertEquals(first.getSetCount(), second.getSetCount());
+    assertEquals(first.getMeanContract(), second.getMeanContract());
+    assertEquals(first.getMeanUnderbid(), second.getMeanUnderbid());
+  }
+
+  @Test
+  void shouldCountRejectedBids() {
+    AuctionSimulator simulator = new AuctionSimulator(RuleSet.DOUBLE_DECK,
+        (state, player) -> state.getMinimumBid() - 1);
+    AuctionStatistics statistics = simulator.simulate(10, 2L);
+    assertEquals(30, statistics.getRejectedBidCount());
+    assertEquals(10, statistics.getStuckDealerCount());
+  }
+
+  @Test
+  void shouldRequirePolicyPerSeat() {
+    assertThrows(IllegalArgumentException.class, () -> new AuctionSimulator(RuleSet.DOUBLE_DECK,
+        BidPolicy.passing(), BidPolicy.passing()));
+  }
+}
@@ -0,0 +1,77 @@
+package org.eelbbor.pinochle.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.eelbbor.carddeck.standard.Suite;
+import org.eelbbor.pinochle.Card;
+import org.eelbbor.pinochle.Game;
+import org.eelbbor.pinochle.Hand;
+import org.eelbbor.pinochle.PinochleFaceValue;
+import org.eelbbor.pinochle.RuleSet;
+import org.junit.jupiter.api.Test;
+
+class BatchMeldScorerTest {
+  private static final int CARD_IDS = Card.DISTINCT_CARD_COUNT;
+  private static final int SUITES = Suite.values().length;
+
+  @Test
+  void shouldMatchCountMeldForDealtHands() {
+    for (RuleSet rules : new RuleSet[] {RuleSet.DOUBLE_DECK, RuleSet.SINGLE_DECK}) {
+      Game game = new Game(rules);
+      int hands = 203;
+      byte[][] columns = new byte[CARD_IDS][hands];
+      int[][] expected = new int[SUITES][hands];
+      int[] cardCounts = new int[CARD_IDS];
+      for (int hand = 0; hand < hands; hand++) {
+        if (hand % rules.getPlayers() == 0) {
+          game.reset(hand);
+        }
+        game.copyCardCounts(hand % rules.getPlayers(), cardCounts);
+        for (int id = 0; id < CARD_IDS; id++) {
+          columns[id][hand] = (byte) cardCounts[id];
+        }
+        for (Suite trump : Suite.values()) {
+          expected[trump.ordinal()][hand] = Hand.countMeld(cardCounts, trump, rules);
+        }
+      }
+
+      int[][] meld = new int[SUITES][hands];
+      BatchMeldScorer.create(rules).score(columns, hands, meld);
+      for (int trump = 0; trump < SUITES; trump++) {
+        assertEquals(expected[trump].length, meld[trump].length);
+        for (int hand = 0; hand < hands; hand++) {
+          assertEquals(expected[trump][hand], meld[trump][hand], "Hand " + hand);
+        }
+      }
+    }
+  }
+
+  @Test
+  void shouldScoreRunsAndAroundsAtTheLimits() {
+    RuleSet rules = RuleSet.DOUBLE_DECK;
+    byte[][] columns = new byte[CARD_IDS][2];
+    int[] cardCounts = new int[CARD_IDS];
+    for (PinochleFaceValue faceValue : PinochleFaceValue.values()) {
+      int id = new Card(Suite.Club, faceValue).getId();
+      columns[id][1] = 4;
+      cardCounts[id] = 4;
+    }
+    int[][] meld = new int[SUITES][2];
+    new BatchMeldScorer(rules).score(columns, 2, meld);
+    for (Suite trump : Suite.values()) {
+      assertEquals(0, meld[trump.ordinal()][0]);
+      assertEquals(Hand.countMeld(cardCounts, trump, rules), meld[trump.ordinal()][1]);
+    }
+    assertEquals(rules.getRunMeld(4), meld[Suite.Club.ordinal()][1]);
+  }
+
+  @Test
+  void shouldRejectShortColumns() {
+    BatchMeldScorer scorer = new BatchMeldScorer(RuleSet.DOUBLE_DECK);
+    assertThrows(IllegalArgumentException.class,
+        () -> scorer.score(new byte[CARD_IDS][4], 5, new int[SUITES][5]));
+    assertThrows(IllegalArgumentException.class,
+        () -> scorer.score(new byte[CARD_IDS][5], 5, new int[SUITES - 1][5]));
+  }
+}
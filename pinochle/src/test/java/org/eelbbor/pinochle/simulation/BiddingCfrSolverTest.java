@@ -0,0 +1,125 @@
+package org.eelbbor.pinochle.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.eelbbor.pinochle.BidManager;
+import org.eelbbor.pinochle.RuleSet;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+class BiddingCfrSolverTest {
+  private static final BiddingAbstraction ABSTRACTION = new BiddingAbstraction(RuleSet.DOUBLE_DECK);
+
+  private Path file;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    file = Files.createTempFile("bidding", ".cfr");
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    Files.deleteIfExists(file);
+  }
+
+  @Test
+  void shouldBuildBidLadder() {
+    assertEquals(19, ABSTRACTION.getLevelCount());
+    assertEquals(50, ABSTRACTION.getBid(0));
+    assertEquals(60, ABSTRACTION.getBid(10));
+    assertEquals(100, ABSTRACTION.getMaxBid());
+    assertEquals(11, ABSTRACTION.getLevel(65));
+    assertEquals(-1, ABSTRACTION.getLevel(61));
+    assertEquals(0, ABSTRACTION.getTargetLevel(-1, BiddingAbstraction.ACTION_RAISE));
+    assertEquals(10, ABSTRACTION.getTargetLevel(-1, BiddingAbstraction.ACTION_JUMP));
+    assertEquals(-1, ABSTRACTION.getTargetLevel(16, BiddingAbstraction.ACTION_JUMP));
+
+    boolean[] legal = new boolean[BiddingAbstraction.ACTIONS];
+    assertEquals(2, ABSTRACTION.legalActions(-1, false, legal));
+    assertEquals(1, ABSTRACTION.legalActions(18, true, legal));
+    assertThrows(IllegalArgumentException.class,
+        () -> new BiddingAbstraction(RuleSet.THREE_HANDED));
+  }
+
+  @Test
+  void shouldTrainPolicyPlayableThroughBidManager() {
+    BiddingCfrSolver solver = new BiddingCfrSolver(ABSTRACTION);
+    solver.train(2000, 7L);
+    assertEquals(2000, solver.getIterations());
+
+    AuctionSimulator simulator = new AuctionSimulator(RuleSet.DOUBLE_DECK, solver.exportPolicy());
+    simulator.setRecordSequences(true);
+    AuctionStatistics statistics = simulator.simulate(2000, 11L);
+    assertEquals(0, statistics.getRejectedBidCount());
+    assertTrue(statistics.getStuckDealerRate() < 1.0);
+
+    BidSequenceBuffer sequences = statistics.getSequences();
+    for (int round = 0; round < sequences.getRoundCount(); round++) {
+      BidManager manager = new BidManager(sequences.getDealer(round));
+      for (int action = 0; action < sequences.getActionCount(round); action++) {
+        int bid = sequences.getActionBid(round, action);
+        if (bid == BidPolicy.PASS) {
+          manager.pass(sequences.getActionPlayer(round, action));
+        } else {
+          manager.bid(sequences.getActionPlayer(round, action), bid);
+        }
+      }
+      assertTrue(manager.isDeclaringTrump());
+      assertTrue(manager.getBid() <= ABSTRACTION.getMaxBid());
+    }
+  }
+
+  @Test
+  void shouldResumeTrainingFromCheckpoint() {
+    BiddingCfrSolver solver = new BiddingCfrSolver(ABSTRACTION);
+    solver.setCheckpoint(file);
+    solver.train(BiddingCfrSolver.CHUNK_ITERATIONS + 10, 3L);
+
+    BiddingCfrSolver restored = BiddingCfrSolver.restore(file, ABSTRACTION);
+    assertEquals(solver.getIterations(), restored.getIterations());
+    BiddingPolicyTable expected = solver.exportPolicy();
+    BiddingPolicyTable actual = restored.exportPolicy();
+    for (int infoset = 0; infoset < ABSTRACTION.getInfosetCount(); infoset++) {
+      for (int action = 0; action < BiddingAbstraction.ACTIONS; action++) {
+        assertEquals(expected.getProbability(infoset, action),
+            actual.getProbability(infoset, action));
+      }
+    }
+    restored.train(10, 3L);
+    assertEquals(solver.getIterations() + 10, restored.getIterations());
+    assertThrows(IllegalArgumentException.class,
+        () -> BiddingCfrSolver.restore(file, new BiddingAbstraction(RuleSet.DOUBLE_DECK, 80)));
+  }
+
+  @Test
+  void shouldWriteAndReadPolicyTable() {
+    BiddingCfrSolver solver = new BiddingCfrSolver(ABSTRACTION);
+    solver.train(500, 5L);
+    BiddingPolicyTable table = solver.exportPolicy();
+    table.write(file);
+    BiddingPolicyTable read = BiddingPolicyTable.read(file, ABSTRACTION);
+
+    int reached = 0;
+    for (int infoset = 0; infoset < ABSTRACTION.getInfosetCount(); infoset++) {
+      double total = 0;
+      for (int action = 0; action < BiddingAbstraction.ACTIONS; action++) {
+        assertEquals(table.getProbability(infoset, action), read.getProbability(infoset, action));
+        total += read.getProbability(infoset, action);
+      }
+      if (total > 0) {
+        reached++;
+        assertEquals(1.0, total, 0.01);
+      }
+    }
+    assertTrue(reached > 0);
+    assertThrows(IllegalArgumentException.class,
+        () -> BiddingPolicyTable.read(file, new BiddingAbstraction(RuleSet.SINGLE_DECK)));
+  }
+}
@@ -0,0 +1,203 @@
+package org.eelbbor.pinochle.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.eelbbor.carddeck.standard.Suite;
+import org.eelbbor.pinochle.Card;
+import org.eelbbor.pinochle.Hand;
+import org.eelbbor.pinochle.PinochleFaceValue;
+import org.eelbbor.pinochle.RuleSet;
+import org.eelbbor.pinochle.Trick;
+import org.eelbbor.pinochle.exceptions.InvalidCardException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+class CardInferenceTest {
+  private static final RuleSet RULES = RuleSet.DOUBLE_DECK;
+
+  @Test
+  void shouldSpreadUnseenCardsEvenlyAfterDeal() {
+    CardInference inference = new CardInference(RULES, 0);
+    int[] cardCounts = new int[Card.DISTINCT_CARD_COUNT];
+    cardCounts[id(Suite.Heart, PinochleFaceValue.Ace)] = 4;
+    inference.deal(cardCounts);
+
+    assertEquals(0, inference.getUnseenCount(id(Suite.Heart, PinochleFaceValue.Ace)));
+    assertEquals(4, inference.getUnseenCount(id(Suite.Club, PinochleFaceValue.Ace)));
+    for (int player = 1; player < RULES.getPlayers(); player++) {
+      assertEquals(1.0 / 3, inference.getProbability(player, 0), 1e-6);
+      assertEquals(0, inference.getProbability(player, id(Suite.Heart, PinochleFaceValue.Ace)));
+    }
+    assertEquals(0, inference.getProbability(0, 0));
+    assertFalse(inference.isPossible(0, 0));
+  }
+
+  @Test
+  void shouldInferVoidsAndMissingHigherCards() {
+    CardInference inference = new CardInference(RULES, 0);
+    inference.deal(new int[Card.DISTINCT_CARD_COUNT]);
+    inference.declareTrump(Suite.Spade);
+
+    inference.cardPlayed(1, id(Suite.Heart, PinochleFaceValue.King));
+    // Neither follows nor trumps so holds no hearts or spades.
+    inference.cardPlayed(2, id(Suite.Club, PinochleFaceValue.Jack));
+    // Follows under the king so holds no higher heart.
+    inference.cardPlayed(3, id(Suite.Heart, PinochleFaceValue.Queen));
+    inference.cardPlayed(0, id(Suite.Heart, PinochleFaceValue.Jack));
+
+    assertTrue(inference.isVoid(2, Suite.Heart));
+    assertTrue(inference.isVoid(2, Suite.Spade));
+    assertFalse(inference.isVoid(2, Suite.Club));
+    assertEquals(0, inference.getProbability(2, id(Suite.Heart, PinochleFaceValue.Ace)));
+    assertFalse(inference.isPossible(3, id(Suite.Heart, PinochleFaceValue.Ten)));
+    assertFalse(inference.isPossible(3, id(Suite.Heart, PinochleFaceValue.Ace)));
+    assertTrue(inference.isPossible(3, id(Suite.Heart, PinochleFaceValue.King)));
+    assertEquals(1.0, inference.getProbability(1, id(Suite.Heart, PinochleFaceValue.Ace)), 1e-6);
+
+    // Trumping under the highest trump shows no higher trump is held.
+    inference.cardPlayed(3, id(Suite.Diamond, PinochleFaceValue.Jack));
+    inference.cardPlayed(0, id(Suite.Spade, PinochleFaceValue.Ten));
+    inference.cardPlayed(1, id(Suite.Spade, PinochleFaceValue.Jack));
+    assertTrue(inference.isVoid(1, Suite.Diamond));
+    assertFalse(inference.isPossible(1, id(Suite.Spade, PinochleFaceValue.Ace)));
+    assertTrue(inference.isPossible(1, id(Suite.Spade, PinochleFaceValue.King)));
+    assertEquals(1.0, inference.getProbability(3, id(Suite.Spade, PinochleFaceValue.Ace)), 1e-6);
+  }
+
+  @Test
+  void shouldTrackMeldShownUntilPlayed() {
+    CardInference inference = new CardInference(RULES, 0);
+    inference.deal(new int[Card.DISTINCT_CARD_COUNT]);
+    int ace = id(Suite.Heart, PinochleFaceValue.Ace);
+    int[] shown = new int[Card.DISTINCT_CARD_COUNT];
+    shown[ace] = 2;
+    inference.showMeld(2, shown);
+    inference.declareTrump(Suite.Club);
+
+    assertEquals(2, inference.getKnownCount(2, ace));
+    assertEquals(2, inference.getUnseenCount(ace));
+    // Cards shown leave fewer unknown cards in the hand for the unseen copies.
+    assertTrue(inference.getProbability(2, ace) < 1.0 / 3);
+    assertEquals(2 + 2 * inference.getProbability(2, ace), inference.getExpectedCount(2, ace),
+        1e-6);
+
+    inference.cardPlayed(2, ace);
+    assertEquals(1, inference.getKnownCount(2, ace));
+    assertEquals(2, inference.getUnseenCount(ace));
+
+    shown[ace] = 4;
+    assertThrows(IllegalArgumentException.class, () -> inference.showMeld(3, shown));
+  }
+
+  @Test
+  void shouldRejectPlaysItCannotAccountFor() {
+    CardInference inference = new CardInference(RULES, 0);
+    int[] cardCounts = new int[Card.DISTINCT_CARD_COUNT];
+    cardCounts[0] = 4;
+    inference.deal(cardCounts);
+    assertThrows(IllegalStateException.class, () -> inference.cardPlayed(1, 1));
+    inference.declareTrump(Suite.Heart);
+    assertThrows(IllegalArgumentException.class, () -> inference.cardPlayed(1, 0));
+  }
+
+  @Test
+  void shouldNeverRuleOutCardsStillHeld() {
+    Random random = new Random(7L);
+    int players = RULES.getPlayers();
+    for (int deal = 0; deal < 30; deal++) {
+      List<Card> deck = RULES.createDeck();
+      Collections.shuffle(deck, random);
+      Hand[] hands = new Hand[players];
+      for (int player = 0; player < players; player++) {
+        hands[player] = new Hand(RULES);
+        for (int card = 0; card < RULES.getHandSize(); card++) {
+          hands[player].dealCard(deck.get(player * RULES.getHandSize() + card));
+        }
+      }
+
+      Suite trump = Suite.values()[random.nextInt(Suite.values().length)];
+      CardInference[] inferences = new CardInference[players];
+      int[] shown = new int[Card.DISTINCT_CARD_COUNT];
+      for (int observer = 0; observer < players; observer++) {
+        inferences[observer] = new CardInference(RULES, observer);
+        inferences[observer].deal(counts(hands[observer]));
+      }
+      for (int player = 0; player < players; player++) {
+        Hand.meldCards(counts(hands[player]), trump, RULES, shown);
+        for (CardInference inference : inferences) {
+          inference.showMeld(player, shown);
+        }
+      }
+      for (CardInference inference : inferences) {
+        inference.declareTrump(trump);
+      }
+
+      int leader = random.nextInt(players);
+      for (int trickIndex = 0; trickIndex < RULES.getHandSize(); trickIndex++) {
+        Trick trick = new Trick(trump, players);
+        for (int offset = 0; offset < players; offset++) {
+          int player = (leader + offset) % players;
+          Card played = playRandomCard(trick, player, hands[player], random);
+          for (CardInference inference : inferences) {
+            inference.cardPlayed(player, played.getId());
+          }
+          assertSound(inferences, hands);
+        }
+        leader = trick.getHighPlayerIndex();
+      }
+    }
+  }
+
+  private static Card playRandomCard(Trick trick, int player, Hand hand, Random random) {
+    List<Card> cards = hand.remainingCards();
+    Collections.shuffle(cards, random);
+    for (Card card : cards) {
+      try {
+        trick.playCard(player, card, hand);
+        hand.playCard(card);
+        return card;
+      } catch (InvalidCardException expected) {
+        // Try the next card until one is legal.
+      }
+    }
+    throw new AssertionError("No legal card for player " + player);
+  }
+
+  private static void assertSound(CardInference[] inferences, Hand[] hands) {
+    for (CardInference inference : inferences) {
+      for (int id = 0; id < Card.DISTINCT_CARD_COUNT; id++) {
+        double total = 0;
+        for (int player = 0; player < hands.length; player++) {
+          total += inference.getProbability(player, id);
+          if (player == inference.getObserver()) {
+            continue;
+          }
+          int held = hands[player].getCardCount(Card.fromId(id));
+          int known = inference.getKnownCount(player, id);
+          assertTrue(known <= held);
+          if (held > known) {
+            assertTrue(inference.isPossible(player, id), "Ruled out " + Card.fromId(id)
+                + " held by player " + player);
+          }
+        }
+        assertEquals(inference.getUnseenCount(id) > 0 ? 1.0 : 0.0, total, 1e-4);
+      }
+    }
+  }
+
+  private static int[] counts(Hand hand) {
+    int[] cardCounts = new int[Card.DISTINCT_CARD_COUNT];
+    hand.viewCards().forEach(card -> cardCounts[card.getId()]++);
+    return cardCounts;
+  }
+
+  private static int id(Suite suite, PinochleFaceValue faceValue) {
+    return new Card(suite, faceValue).getId();
+  }
+}
@@ -0,0 +1,248 @@
+package org.eelbbor.pinochle.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.eelbbor.carddeck.standard.Suite;
+import org.eelbbor.pinochle.Card;
+import org.eelbbor.pinochle.Hand;
+import org.eelbbor.pinochle.HandScorer;
+import org.eelbbor.pinochle.PinochleFaceValue;
+import org.eelbbor.pinochle.RuleSet;
+import org.eelbbor.pinochle.Trick;
+import org.eelbbor.pinochle.exceptions.InvalidCardException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+class EndgameCacheTest {
+  private static final RuleSet HEADS_UP = RuleSet.builder().teams(0, 1).build();
+
+  private Path file;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    file = Files.createTempFile("endgame", ".cache");
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    Files.deleteIfExists(file);
+  }
+
+  @Test
+  void shouldSolveLastTrickForFourPlayers() {
+    Hand[] hands = new Hand[4];
+    int[][] deal = new int[4][Card.DISTINCT_CARD_COUNT];
+    Suite[] suites = {Suite.Heart, Suite.Spade, Suite.Heart, Suite.Club};
+    for (int player = 0; player < 4; player++) {
+      Card ace = new Card(suites[player], PinochleFaceValue.Ace);
+      hands[player] = new Hand();
+      hands[player].dealCard(ace);
+      deal[player][ace.getId()]++;
+    }
+    EndgameCache cache =
+        EndgameCache.build(file, RuleSet.DOUBLE_DECK, Collections.singletonList(deal));
+    // Every trump and leader of the one deal.
+    assertEquals(32, cache.getCapacity());
+
+    // Player 1 trumps the ace of hearts and takes two counters and the last trick bonus.
+    assertEquals(0, cache.lookup(Suite.Spade, 0, hands));
+    assertEquals(4 + HandScorer.LAST_TRICK_BONUS, cache.lookup(Suite.Spade, 1, hands));
+  }
+
+  @Test
+  void shouldSolveEndgamesReachableFromThreeCardDealsForFourPlayers() {
+    List<List<List<Card>>> deals = randomDeals(RuleSet.DOUBLE_DECK, 3, 200);
+    EndgameCache cache = EndgameCache.build(file, RuleSet.DOUBLE_DECK,
+        deals.stream().map(EndgameCacheTest::counts).collect(Collectors.toList()));
+    assertEquals(3, cache.getMaxCards());
+    assertMatchesSearch(cache, RuleSet.DOUBLE_DECK, deals);
+  }
+
+  @Test
+  void shouldSolveDeeperLayersFromLayerBelow() {
+    List<List<List<Card>>> deals = randomDeals(HEADS_UP, 5, 50);
+    List<int[][]> counts =
+        deals.stream().map(EndgameCacheTest::counts).collect(Collectors.toList());
+    EndgameCache cache = EndgameCache.build(file, HEADS_UP, counts);
+    assertMatchesSearch(cache, HEADS_UP, deals);
+
+    EndgameCache reopened = EndgameCache.open(file, HEADS_UP);
+    assertEquals(5, reopened.getMaxCards());
+    for (int[][] deal : counts) {
+      assertEquals(cache.lookup(Suite.Diamond, 1, deal),
+          reopened.lookup(Suite.Diamond, 1, deal));
+    }
+  }
+
+  @Test
+  void shouldRejectEndgamesOutsideTheCache() {
+    List<int[][]> deals =
+        Collections.singletonList(counts(randomHands(new Random(7L), RuleSet.DOUBLE_DECK, 5)));
+    assertThrows(IllegalArgumentException.class,
+        () -> EndgameCache.build(file, RuleSet.DOUBLE_DECK, deals));
+    assertThrows(IllegalArgumentException.class,
+        () -> EndgameCache.build(file, RuleSet.THREE_HANDED,
+            Collections.singletonList(
+                counts(randomHands(new Random(7L), RuleSet.THREE_HANDED, 1)))));
+    assertThrows(IllegalArgumentException.class,
+        () -> EndgameCache.open(file, RuleSet.DOUBLE_DECK));
+
+  }
+
+  @Test
+  void shouldSearchLookupsThatMiss() {
+    EndgameCache cache = EndgameCache.build(file, HEADS_UP,
+        Collections.singletonList(counts(randomHands(new Random(7L), HEADS_UP, 2))));
+    // Deals the cache was not built from, with as many and with more cards than it holds.
+    assertMatchesSearch(cache, HEADS_UP, randomDeals(HEADS_UP, 2, 20));
+    assertMatchesSearch(cache, HEADS_UP, randomDeals(HEADS_UP, 4, 20));
+
+    int[][] uneven = new int[2][Card.DISTINCT_CARD_COUNT];
+    uneven[0][0] = 2;
+    uneven[1][1] = 1;
+    assertThrows(IllegalArgumentException.class, () -> cache.lookup(Suite.Club, 0, uneven));
+  }
+
+  @Test
+  void shouldRejectUnevenHands() {
+    int[][] counts = new int[2][Card.DISTINCT_CARD_COUNT];
+    counts[0][0] = 2;
+    counts[1][1] = 1;
+    assertThrows(IllegalArgumentException.class,
+        () -> EndgameCache.build(file, HEADS_UP, Collections.singletonList(counts)));
+  }
+
+  // Checks each deal and the position after a trick of random legal cards.
+  private static void assertMatchesSearch(EndgameCache cache, RuleSet rules,
+      List<List<List<Card>>> deals) {
+    Random random = new Random(deals.size());
+    for (List<List<Card>> hands : deals) {
+      Suite trump = Suite.values()[random.nextInt(4)];
+      int leader = random.nextInt(rules.getPlayers());
+      assertEquals(search(rules, hands, trump, leader),
+          cache.lookup(trump, leader, counts(hands)), hands + " " + trump + " " + leader);
+
+      leader = playRandomTrick(rules, hands, trump, leader, random);
+      assertEquals(search(rules, hands, trump, leader),
+          cache.lookup(trump, leader, counts(hands)), hands + " " + trump + " " + leader);
+    }
+  }
+
+  private static int playRandomTrick(RuleSet rules, List<List<Card>> hands, Suite trump,
+      int leader, Random random) {
+    int players = rules.getPlayers();
+    List<Card> played = new ArrayList<>();
+    for (int index = 0; index < players; index++) {
+      List<Card> hand = hands.get((leader + index) % players);
+      List<Card> legal = new ArrayList<>();
+      for (Card card : hand) {
+        try {
+          replay(trump, players, leader, played).playCard((leader + index) % players, card, hand);
+          legal.add(card);
+        } catch (InvalidCardException ex) {
+          // Not playable on the trick.
+        }
+      }
+      Card card = legal.get(random.nextInt(legal.size()));
+      hand.remove(card);
+      played.add(card);
+    }
+    return replay(trump, players, leader, played).getHighPlayerIndex();
+  }
+
+  // Plain minimax over whole tricks using the rules enforced by Trick.
+  private static int search(RuleSet rules, List<List<Card>> hands, Suite trump, int leader) {
+    return playTrick(rules, hands, trump, leader, new ArrayList<>());
+  }
+
+  private static int playTrick(RuleSet rules, List<List<Card>> hands, Suite trump, int leader,
+      List<Card> played) {
+    int players = rules.getPlayers();
+    if (played.size() == players) {
+      int winner = replay(trump, players, leader, played).getHighPlayerIndex();
+      int points = played.stream().mapToInt(card -> HandScorer.getPoints(card.getId())).sum();
+      int rest = 0;
+      if (hands.get(0).isEmpty()) {
+        points += rules.getLastTrickBonus();
+      } else {
+        int remaining = rules.getLastTrickBonus() + hands.stream().flatMap(List::stream)
+            .mapToInt(card -> HandScorer.getPoints(card.getId())).sum();
+        int winnerRest = search(rules, hands, trump, winner);
+        rest = rules.getTeam(winner) == rules.getTeam(leader) ? winnerRest : remaining - winnerRest;
+      }
+      return (rules.getTeam(winner) == rules.getTeam(leader) ? points : 0) + rest;
+    }
+
+    int player = (leader + played.size()) % players;
+    boolean maximize = rules.getTeam(player) == rules.getTeam(leader);
+    int best = maximize ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+    List<Card> hand = hands.get(player);
+    for (int index = 0; index < hand.size(); index++) {
+      Card card = hand.get(index);
+      try {
+        replay(trump, players, leader, played).playCard(player, card, hand);
+      } catch (InvalidCardException ex) {
+        continue;
+      }
+      hand.remove(index);
+      played.add(card);
+      int value = playTrick(rules, hands, trump, leader, played);
+      played.remove(played.size() - 1);
+      hand.add(index, card);
+      best = maximize ? Math.max(best, value) : Math.min(best, value);
+    }
+    return best;
+  }
+
+  private static Trick replay(Suite trump, int players, int leader, List<Card> played) {
+    Trick trick = new Trick(trump, players);
+    for (int index = 0; index < played.size(); index++) {
+      Card card = played.get(index);
+      trick.playCard((leader + index) % players, card, List.of(card));
+    }
+    return trick;
+  }
+
+  private static List<List<List<Card>>> randomDeals(RuleSet rules, int cards, int deals) {
+    Random random = new Random(cards);
+    List<List<List<Card>>> hands = new ArrayList<>();
+    for (int deal = 0; deal < deals; deal++) {
+      hands.add(randomHands(random, rules, cards));
+    }
+    return hands;
+  }
+
+  private static List<List<Card>> randomHands(Random random, RuleSet rules, int cards) {
+    List<Card> deck = new ArrayList<>();
+    IntStream.range(0, rules.getDeckSize())
+        .forEach(index -> deck.add(Card.fromId(index / rules.getCopiesPerCard())));
+    Collections.shuffle(deck, random);
+    List<List<Card>> hands = new ArrayList<>();
+    for (int player = 0; player < rules.getPlayers(); player++) {
+      hands.add(new ArrayList<>(deck.subList(player * cards, (player + 1) * cards)));
+    }
+    return hands;
+  }
+
+  private static int[][] counts(List<List<Card>> hands) {
+    int[][] counts = new int[hands.size()][Card.DISTINCT_CARD_COUNT];
+    for (int player = 0; player < hands.size(); player++) {
+      for (Card card : hands.get(player)) {
+        counts[player][card.getId()]++;
+      }
+    }
+    return counts;
+  }
+}
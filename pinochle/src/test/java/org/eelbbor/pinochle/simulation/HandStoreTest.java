@@ -0,0 +1,142 @@
+package org.eelbbor.pinochle.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.eelbbor.carddeck.standard.Suite;
+import org.eelbbor.pinochle.Card;
+import org.eelbbor.pinochle.Game;
+import org.eelbbor.pinochle.Hand;
+import org.eelbbor.pinochle.RuleSet;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+
+class HandStoreTest {
+  private static final RuleSet RULES = RuleSet.DOUBLE_DECK;
+  private static final int CARD_IDS = Card.DISTINCT_CARD_COUNT;
+  private static final int SUITES = Suite.values().length;
+
+  @Test
+  void shouldRoundTripHandsOnAndOffHeap() {
+    for (boolean offHeap : new boolean[] {false, true}) {
+      // Small capacity so the columns grow while appending.
+      HandStore store = new HandStore(RULES, 5, offHeap);
+      assertEquals(offHeap, store.isOffHeap());
+      List<int[]> expected = dealHands(store, 50);
+      assertEquals(200, store.size());
+
+      Hand hand = new Hand(RULES);
+      int[] cardCounts = new int[CARD_IDS];
+      for (int index = 0; index < store.size(); index++) {
+        store.copyCardCounts(index, cardCounts);
+        assertArrayEquals(expected.get(index), cardCounts);
+        store.toHand(index, hand);
+        assertEquals(RULES.getHandSize(), hand.numCards());
+        for (int id = 0; id < CARD_IDS; id++) {
+          assertEquals(cardCounts[id], hand.getCardCount(Card.fromId(id)));
+          assertEquals(cardCounts[id], store.getCount(index, id));
+        }
+      }
+
+      int index = store.append(store.toHand(17));
+      store.copyCardCounts(index, cardCounts);
+      assertArrayEquals(expected.get(17), cardCounts);
+    }
+  }
+
+  @Test
+  void shouldAppendColumnsAndFeedTheBatchScorer() {
+    HandStore source = new HandStore(RULES);
+    dealHands(source, 25);
+    int hands = source.size();
+    byte[][] columns = new byte[CARD_IDS][hands];
+    source.copyColumns(0, hands, columns);
+
+    // Starting on a word boundary packs whole words, after one hand falls back to single counts.
+    for (int offset = 0; offset < 2; offset++) {
+      HandStore store = new HandStore(RULES);
+      for (int index = 0; index < offset; index++) {
+        store.append(source.toHand(index));
+      }
+      assertEquals(offset, store.appendColumns(columns, 3, hands - 3));
+      for (int index = 0; index < hands - 3; index++) {
+        for (int id = 0; id < CARD_IDS; id++) {
+          assertEquals(source.getCount(index + 3, id), store.getCount(offset + index, id));
+        }
+      }
+    }
+
+    int[][] meld = new int[SUITES][hands];
+    BatchMeldScorer.create(RULES).score(columns, hands, meld);
+    for (int index = 0; index < hands; index++) {
+      Hand hand = source.toHand(index);
+      for (Suite trump : Suite.values()) {
+        assertEquals(hand.countMeld(trump), meld[trump.ordinal()][index]);
+      }
+    }
+  }
+
+  @Test
+  void shouldScanInParallelSplittingOnWords() {
+    HandStore store = new HandStore(RULES, 1 << 12, true);
+    dealHands(store, 1000);
+    assertTrue((double) store.getAllocatedBytes() / store.getCapacity() < 8,
+        "Bytes per hand " + (double) store.getAllocatedBytes() / store.getCapacity());
+
+    long cards = store.hands(true)
+        .mapToLong(hand -> {
+          int total = 0;
+          for (int id = 0; id < CARD_IDS; id++) {
+            total += store.getCount(hand, id);
+          }
+          return total;
+        })
+        .sum();
+    assertEquals((long) store.size() * RULES.getHandSize(), cards);
+    assertEquals(store.size(), store.hands(true).distinct().count());
+
+    Spliterator.OfInt suffix = store.spliterator();
+    Spliterator.OfInt prefix = suffix.trySplit();
+    assertNotNull(prefix);
+    assertEquals(0, prefix.estimateSize() % HandStore.HANDS_PER_WORD);
+    assertEquals(store.size(), prefix.estimateSize() + suffix.estimateSize());
+    assertFalse(suffix.hasCharacteristics(Spliterator.IMMUTABLE));
+  }
+
+  @Test
+  void shouldRejectInvalidHands() {
+    HandStore store = new HandStore(RULES);
+    int[] cardCounts = new int[CARD_IDS];
+    cardCounts[4] = RULES.getCopiesPerCard() + 1;
+    assertThrows(IllegalArgumentException.class, () -> store.append(cardCounts));
+    assertEquals(0, store.size());
+    assertThrows(IndexOutOfBoundsException.class, () -> store.getCount(0, 0));
+    assertThrows(IllegalArgumentException.class, () -> new HandStore(RULES, 0, false));
+    // Rejected before allocating, past the largest store of about 281 million hands.
+    byte[][] columns = new byte[CARD_IDS][0];
+    assertThrows(IllegalArgumentException.class,
+        () -> store.appendColumns(columns, 0, Integer.MAX_VALUE));
+  }
+
+  private static List<int[]> dealHands(HandStore store, int games) {
+    List<int[]> hands = new ArrayList<>();
+    Game game = new Game(RULES);
+    for (int seed = 0; seed < games; seed++) {
+      game.reset(seed);
+      store.append(game);
+      for (int player = 0; player < RULES.getPlayers(); player++) {
+        int[] cardCounts = new int[CARD_IDS];
+        game.copyCardCounts(player, cardCounts);
+        hands.add(cardCounts);
+      }
+    }
+    return hands;
+  }
+}
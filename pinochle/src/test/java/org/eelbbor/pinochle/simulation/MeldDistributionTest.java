@@ -0,0 +1,126 @@
+package org.eelbbor.pinochle.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.eelbbor.carddeck.standard.Suite;
+import org.eelbbor.pinochle.Card;
+import org.eelbbor.pinochle.Hand;
+import org.eelbbor.pinochle.RuleSet;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+class MeldDistributionTest {
+  // Two copies of each card dealt five cards to each of eight players.
+  private static final RuleSet FIVE_CARD_HANDS = RuleSet.builder()
+      .teams(0, 1, 0, 1, 0, 1, 0, 1)
+      .copiesPerCard(2)
+      .build();
+
+  private Path file;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    file = Files.createTempFile("meld", ".distribution");
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    Files.deleteIfExists(file);
+  }
+
+  @Test
+  void shouldMatchMeldOfEveryHand() {
+    MeldDistribution distribution = MeldDistribution.compute(FIVE_CARD_HANDS);
+    assertEquals(658008L, distribution.getTotalHands());
+    for (Suite trump : Suite.values()) {
+      Map<Long, Long> expected = new HashMap<>();
+      enumerate(FIVE_CARD_HANDS, trump, new int[Card.DISTINCT_CARD_COUNT], 0, 0, 1, expected);
+      int handSize = FIVE_CARD_HANDS.getHandSize();
+      for (int trumpLength = 0; trumpLength <= handSize; trumpLength++) {
+        for (int meld = 0; meld <= distribution.getMaxMeld(); meld++) {
+          assertEquals((long) expected.getOrDefault(key(trumpLength, meld), 0L),
+              distribution.getHandCount(trump, trumpLength, meld), trump + " " + meld);
+        }
+      }
+    }
+  }
+
+  @Test
+  void shouldCountEveryDoubleDeckHand() {
+    MeldDistribution distribution = MeldDistribution.compute(RuleSet.DOUBLE_DECK);
+    assertEquals(3535316142212174320L, distribution.getTotalHands());
+    double total = 0;
+    for (int meld = 0; meld <= distribution.getMaxMeld(); meld++) {
+      total += distribution.getProbability(Suite.Heart, meld);
+    }
+    assertEquals(1.0, total, 1e-9);
+    assertEquals(1.0, distribution.getProbabilityAtLeast(Suite.Spade, 0), 1e-9);
+    assertTrue(distribution.getProbabilityAtLeast(Suite.Club, RuleSet.DOUBLE_DECK.getMinimumMeld())
+        > distribution.getProbabilityAtLeast(Suite.Club, 2 * RuleSet.DOUBLE_DECK.getMinimumMeld()));
+    // Pinochles make diamonds and spades differ from hearts and clubs, which are symmetric.
+    assertEquals(distribution.getHandCount(Suite.Heart, 5, 20),
+        distribution.getHandCount(Suite.Club, 5, 20));
+    assertEquals(0L, distribution.getHandCount(Suite.Heart, 0, 300));
+  }
+
+  @Test
+  void shouldWriteAndReadDistribution() {
+    MeldDistribution distribution = MeldDistribution.compute(RuleSet.SINGLE_DECK);
+    distribution.write(file);
+    MeldDistribution read = MeldDistribution.read(file, RuleSet.SINGLE_DECK);
+    assertEquals(distribution.getTotalHands(), read.getTotalHands());
+    assertEquals(distribution.getMaxMeld(), read.getMaxMeld());
+    for (Suite trump : Suite.values()) {
+      for (int trumpLength = 0; trumpLength <= RuleSet.SINGLE_DECK.getHandSize(); trumpLength++) {
+        for (int meld = 0; meld <= distribution.getMaxMeld(); meld++) {
+          assertEquals(distribution.getHandCount(trump, trumpLength, meld),
+              read.getHandCount(trump, trumpLength, meld));
+        }
+      }
+    }
+    assertThrows(IllegalArgumentException.class,
+        () -> MeldDistribution.read(file, RuleSet.DOUBLE_DECK));
+  }
+
+  @Test
+  void shouldRejectDecksWithTooManyHands() {
+    assertThrows(IllegalArgumentException.class,
+        () -> MeldDistribution.compute(RuleSet.THREE_HANDED));
+  }
+
+  // Enumerates every multiset of cards weighted by the ways to pick its copies from the deck.
+  private static void enumerate(RuleSet rules, Suite trump, int[] cardCounts, int id, int cards,
+      long weight, Map<Long, Long> counts) {
+    if (cards == rules.getHandSize()) {
+      int trumpLength = 0;
+      for (int value = 0; value < 5; value++) {
+        trumpLength += cardCounts[trump.ordinal() * 5 + value];
+      }
+      counts.merge(key(trumpLength, Hand.countMeld(cardCounts, trump, rules)), weight, Long::sum);
+      return;
+    } else if (id == Card.DISTINCT_CARD_COUNT) {
+      return;
+    }
+    long ways = 1;
+    for (int count = 0; count <= rules.getCopiesPerCard()
+        && cards + count <= rules.getHandSize(); count++) {
+      cardCounts[id] = count;
+      enumerate(rules, trump, cardCounts, id + 1, cards + count, weight * ways, counts);
+      ways = ways * (rules.getCopiesPerCard() - count) / (count + 1);
+    }
+    cardCounts[id] = 0;
+  }
+
+  private static long key(int trumpLength, int meld) {
+    return ((long) trumpLength << 32) | meld;
+  }
+}
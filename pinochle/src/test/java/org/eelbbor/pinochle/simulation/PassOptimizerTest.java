@@ -0,0 +1,150 @@
+package org.eelbbor.pinochle.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.eelbbor.carddeck.standard.Suite;
+import org.eelbbor.pinochle.Card;
+import org.eelbbor.pinochle.Game;
+import org.eelbbor.pinochle.Hand;
+import org.eelbbor.pinochle.PinochleFaceValue;
+import org.eelbbor.pinochle.RuleSet;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+class PassOptimizerTest {
+  private static final RuleSet RULES = RuleSet.DOUBLE_DECK_PASSING;
+  private static final int CARD_IDS = Card.DISTINCT_CARD_COUNT;
+
+  @Test
+  void shouldEnumerateEachDistinctPassOnce() {
+    int[] cardCounts = new int[CARD_IDS];
+    cardCounts[0] = 4;
+    cardCounts[3] = 2;
+    cardCounts[7] = 1;
+    cardCounts[12] = 3;
+    cardCounts[19] = 1;
+    int[] positions = expand(cardCounts);
+
+    // Collapse the subsets of card positions into the passes they make.
+    Set<Long> expected = new HashSet<>();
+    int cards = positions.length;
+    for (int subset = 0; subset < 1 << cards; subset++) {
+      if (Integer.bitCount(subset) == 4) {
+        expected.add(pack(positions, subset));
+      }
+    }
+    long[] candidates = PassOptimizer.enumerate(cardCounts, 4);
+    Set<Long> actual = new HashSet<>();
+    for (long candidate : candidates) {
+      actual.add(candidate);
+    }
+    assertEquals(candidates.length, actual.size());
+    assertEquals(expected, actual);
+  }
+
+  @Test
+  void shouldFindTheBestPassOfAnExhaustiveSearch() {
+    Game game = new Game(RULES);
+    game.reset(11L);
+    int[] cardCounts = new int[CARD_IDS];
+    game.copyCardCounts(0, cardCounts);
+    int[] positions = expand(cardCounts);
+
+    int best = Integer.MIN_VALUE;
+    for (int first = 0; first < positions.length; first++) {
+      for (int second = first + 1; second < positions.length; second++) {
+        for (int third = second + 1; third < positions.length; third++) {
+          for (int fourth = third + 1; fourth < positions.length; fourth++) {
+            int[] kept = cardCounts.clone();
+            int[] passed = new int[CARD_IDS];
+            for (int position : new int[] {first, second, third, fourth}) {
+              kept[positions[position]]--;
+              passed[positions[position]]++;
+            }
+            for (Suite trump : Suite.values()) {
+              best = Math.max(best, Hand.countMeld(kept, trump, RULES)
+                  + Hand.countMeld(passed, trump, RULES)
+                  + PassOptimizer.strength(passed, trump.ordinal()));
+            }
+          }
+        }
+      }
+    }
+
+    PassOptimizer optimizer = new PassOptimizer(RULES);
+    optimizer.setBudgetMillis(10_000);
+    PassChoice choice = optimizer.optimize(cardCounts, new int[CARD_IDS], false);
+    assertTrue(choice.isComplete());
+    assertTrue(choice.getCandidateCount() < 4845, "Passes " + choice.getCandidateCount());
+    assertEquals(best, choice.getScore());
+    assertEquals(4, choice.getCards().size());
+  }
+
+  @Test
+  void shouldKeepTheRunWhenPassingBack() {
+    int[] cardCounts = new int[CARD_IDS];
+    for (PinochleFaceValue faceValue : PinochleFaceValue.values()) {
+      cardCounts[new Card(Suite.Spade, faceValue).getId()] = 2;
+    }
+    cardCounts[new Card(Suite.Spade, PinochleFaceValue.Ace).getId()] = 4;
+    cardCounts[new Card(Suite.Heart, PinochleFaceValue.Jack).getId()] = 3;
+    cardCounts[new Card(Suite.Heart, PinochleFaceValue.Ten).getId()] = 2;
+    cardCounts[new Card(Suite.Diamond, PinochleFaceValue.Ten).getId()] = 3;
+    cardCounts[new Card(Suite.Club, PinochleFaceValue.King).getId()] = 2;
+    cardCounts[new Card(Suite.Club, PinochleFaceValue.Jack).getId()] = 2;
+
+    PassOptimizer optimizer = new PassOptimizer(RULES);
+    optimizer.setBudgetMillis(10_000);
+    PassChoice choice = optimizer.optimize(cardCounts, new int[CARD_IDS], true);
+    assertEquals(Suite.Spade, choice.getTrump());
+    assertTrue(choice.getMeld() >= 150);
+    choice.getCards().forEach(card -> assertNotEquals(Suite.Spade, card.getSuite()));
+  }
+
+  @Test
+  void shouldChooseAPassForTheCurrentPlayer() throws Exception {
+    Game game = new Game(RULES);
+    PassOptimizer optimizer = new PassOptimizer(RULES);
+    assertThrows(IllegalStateException.class, () -> optimizer.optimize(game));
+    game.bid(50);
+    for (int player = 2; player < 5; player++) {
+      game.pass();
+    }
+    assertTrue(game.isPassing());
+
+    List<Card> cards = optimizer.optimize(game).getCards();
+    assertEquals(1, game.passCards(cards.toArray(new Card[0])));
+    cards = optimizer.optimize(game).getCards();
+    assertEquals(1, game.passCards(cards.toArray(new Card[0])));
+    assertFalse(game.isPassing());
+    assertThrows(IllegalArgumentException.class,
+        () -> optimizer.optimize(new int[CARD_IDS], new int[CARD_IDS], true));
+  }
+
+  private static int[] expand(int[] cardCounts) {
+    int[] positions = new int[Arrays.stream(cardCounts).sum()];
+    int index = 0;
+    for (int id = 0; id < CARD_IDS; id++) {
+      for (int copy = 0; copy < cardCounts[id]; copy++) {
+        positions[index++] = id;
+      }
+    }
+    return positions;
+  }
+
+  private static long pack(int[] positions, int subset) {
+    long packed = 0;
+    for (int bits = subset; bits != 0; bits &= bits - 1) {
+      packed += 1L << (positions[Integer.numberOfTrailingZeros(bits)] * PassOptimizer.COUNT_BITS);
+    }
+    return packed;
+  }
+}
@@ -0,0 +1,147 @@
+package org.eelbbor.pinochle.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import org.eelbbor.carddeck.standard.Suite;
+import org.eelbbor.pinochle.Card;
+import org.eelbbor.pinochle.HandScorer;
+import org.eelbbor.pinochle.RuleSet;
+import org.eelbbor.pinochle.Trick;
+import org.eelbbor.pinochle.exceptions.InvalidCardException;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+class RolloutEngineTest {
+  private static final int PLAYERS = 4;
+  private static final int TOTAL_POINTS = 48 + HandScorer.LAST_TRICK_BONUS;
+
+  @Test
+  void shouldDealTwentyCardsToEachPlayer() {
+    RolloutEngine engine = new RolloutEngine(7L);
+    engine.deal();
+    int[] totals = new int[Card.DISTINCT_CARD_COUNT];
+    IntStream.range(0, engine.getPlayers()).forEach(player -> {
+      assertEquals(20, engine.getRemainingCount(player));
+      IntStream.range(0, Card.DISTINCT_CARD_COUNT)
+          .forEach(id -> totals[id] += engine.getCardCount(player, id));
+    });
+    IntStream.range(0, Card.DISTINCT_CARD_COUNT).forEach(id -> assertEquals(4, totals[id]));
+  }
+
+  @Test
+  void shouldPlayAllCardsAndCountAllPoints() {
+    RolloutEngine engine = new RolloutEngine(11L);
+    for (int rollout = 0; rollout < 1000; rollout++) {
+      engine.setPolicy(rollout % 4, rollout % 2);
+      engine.deal();
+      engine.playOut(Suite.values()[rollout % 4], rollout % 4);
+      IntStream.range(0, engine.getPlayers())
+          .forEach(player -> assertEquals(0, engine.getRemainingCount(player)));
+      assertEquals(TOTAL_POINTS, engine.getTeamPoints(0) + engine.getTeamPoints(1));
+      assertTrue(engine.getTeamPoints(engine.getLastTrickWinner() & 1)
+          >= HandScorer.LAST_TRICK_BONUS);
+    }
+  }
+
+  @Test
+  void shouldPlayThreeHandedVariant() {
+    RolloutEngine engine = new RolloutEngine(RuleSet.THREE_HANDED, 5L);
+    assertEquals(3, engine.getPlayers());
+    for (int rollout = 0; rollout < 100; rollout++) {
+      engine.deal();
+      IntStream.range(0, 3).forEach(player -> assertEquals(26, engine.getRemainingCount(player)));
+      engine.playOut(Suite.Spade, rollout % 3);
+      int total = IntStream.range(0, 3).map(engine::getTeamPoints).sum();
+      assertTrue(total <= TOTAL_POINTS && total >= TOTAL_POINTS - 2);
+    }
+  }
+
+  @Test
+  void shouldReproduceRolloutsForSeed() {
+    RolloutEngine first = new RolloutEngine(42L);
+    RolloutEngine second = new RolloutEngine(42L);
+    for (int rollout = 0; rollout < 100; rollout++) {
+      first.deal();
+      second.deal();
+      first.playOut(Suite.Heart, 1);
+      second.playOut(Suite.Heart, 1);
+      assertEquals(first.getTeamPoints(0), second.getTeamPoints(0));
+      assertEquals(first.getLastTrickWinner(), second.getLastTrickWinner());
+    }
+  }
+
+  @Test
+  void shouldMatchTrickRulesForLegalityAndWinner() {
+    Random random = new Random(3L);
+    for (int iteration = 0; iteration < 2000; iteration++) {
+      int trump = random.nextInt(4);
+      List<List<Card>> hands = randomHands(random, 1 + random.nextInt(6));
+      List<Card> played = new ArrayList<>();
+      int winner = -1;
+      int winnerId = -1;
+      for (int player = 0; player < PLAYERS; player++) {
+        List<Card> hand = hands.get(player);
+        int heldMask = 0;
+        for (Card card : hand) {
+          heldMask |= 1 << card.getId();
+        }
+        int ledSuite = played.isEmpty() ? -1 : played.get(0).getSuite().ordinal();
+        int legal = RolloutEngine.legalMask(heldMask, winnerId, ledSuite, trump);
+
+        for (Card candidate : hand) {
+          boolean expected = (legal & (1 << candidate.getId())) != 0;
+          Trick trick = replay(trump, played);
+          try {
+            trick.playCard(player, candidate, hand);
+            assertTrue(expected, "Engine rejected legal play " + candidate + " on " + played);
+            assertEquals(trick.getHighPlayerIndex() == player && winner != player,
+                winnerId < 0 || RolloutEngine.beats(candidate.getId(), winnerId, trump));
+          } catch (InvalidCardException ex) {
+            if (expected) {
+              fail("Engine allowed illegal play " + candidate + " on " + played);
+            }
+          }
+        }
+
+        // Advance the trick with a random legal card.
+        List<Card> options = new ArrayList<>();
+        hand.stream().filter(card -> (legal & (1 << card.getId())) != 0).forEach(options::add);
+        Card card = options.get(random.nextInt(options.size()));
+        if (winnerId < 0 || RolloutEngine.beats(card.getId(), winnerId, trump)) {
+          winner = player;
+          winnerId = card.getId();
+        }
+        played.add(card);
+      }
+      assertEquals(winner, replay(trump, played).getHighPlayerIndex());
+    }
+  }
+
+  private static Trick replay(int trump, List<Card> played) {
+    Trick trick = new Trick(Suite.values()[trump]);
+    for (int player = 0; player < played.size(); player++) {
+      Card card = played.get(player);
+      trick.playCard(player, card, List.of(card));
+    }
+    return trick;
+  }
+
+  private static List<List<Card>> randomHands(Random random, int cardsPerPlayer) {
+    List<Card> deck = new ArrayList<>();
+    IntStream.range(0, Card.DISTINCT_CARD_COUNT * 4).forEach(i -> deck.add(Card.fromId(i / 4)));
+    Collections.shuffle(deck, random);
+    List<List<Card>> hands = new ArrayList<>();
+    for (int player = 0; player < PLAYERS; player++) {
+      hands.add(new ArrayList<>(
+          deck.subList(player * cardsPerPlayer, (player + 1) * cardsPerPlayer)));
+    }
+    return hands;
+  }
+}
@@ -0,0 +1,167 @@
+package org.eelbbor.pinochle.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.eelbbor.carddeck.standard.Suite;
+import org.eelbbor.pinochle.Card;
+import org.eelbbor.pinochle.RuleSet;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.Stream;
+
+class SelfPlayGeneratorTest {
+  private static final int HAND_SAMPLES =
+      RuleSet.DOUBLE_DECK.getPlayers() * RuleSet.DOUBLE_DECK.getHandSize();
+
+  private Path directory;
+  private Path prefix;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    directory = Files.createTempDirectory("selfplay");
+    prefix = directory.resolve("samples");
+  }
+
+  @AfterEach
+  void tearDown() throws IOException {
+    try (Stream<Path> files = Files.list(directory)) {
+      for (Path file : (Iterable<Path>) files::iterator) {
+        Files.delete(file);
+      }
+    }
+    Files.delete(directory);
+  }
+
+  @Test
+  void shouldWriteSampleForEveryCardPlayed() {
+    SelfPlayGenerator generator = new SelfPlayGenerator(RuleSet.DOUBLE_DECK);
+    generator.setThreads(3);
+    assertThrows(IllegalArgumentException.class, () -> generator.setExpectedTricks(0));
+    long written;
+    try (TrainingDataWriter writer = TrainingDataWriter.open(prefix, FeatureEncoder.WIDTH)) {
+      written = generator.generate(writer, 200, 1L);
+    }
+
+    TrainingDataReader reader = TrainingDataReader.open(prefix);
+    assertEquals(200, reader.getHandCount());
+    assertEquals(written, reader.getSampleCount());
+    assertTrue(written > 0 && written % HAND_SAMPLES == 0);
+
+    float[] row = new float[FeatureEncoder.WIDTH];
+    for (long sample = 0; sample < written; sample++) {
+      reader.readFeatures(sample, row, 0);
+      int held = 0;
+      int played = 0;
+      for (int id = 0; id < Card.DISTINCT_CARD_COUNT; id++) {
+        held += (int) row[FeatureEncoder.HAND + id];
+        played += (int) row[FeatureEncoder.PLAYED + id];
+      }
+      // Every player starts with a full hand and plays one card per trick.
+      int trick = (int) (sample % HAND_SAMPLES) / RuleSet.DOUBLE_DECK.getPlayers();
+      assertEquals(RuleSet.DOUBLE_DECK.getHandSize() - trick, held);
+      assertEquals(sample % HAND_SAMPLES, played);
+      assertEquals(played % RuleSet.DOUBLE_DECK.getPlayers(),
+          (int) row[FeatureEncoder.TRICK_CARDS]);
+      assertTrue(row[FeatureEncoder.BID] >= RuleSet.DOUBLE_DECK.getMinimumBid());
+
+      boolean won = (reader.getOutcome(sample) & SelfPlayGenerator.OUTCOME_WON) != 0;
+      assertEquals(reader.getLabel(sample) > 0, won);
+      boolean declaring = (reader.getOutcome(sample) & SelfPlayGenerator.OUTCOME_DECLARING) != 0;
+      assertEquals(row[FeatureEncoder.DECLARING] == 1, declaring);
+    }
+  }
+
+  @Test
+  void shouldAppendToExistingFiles() throws IOException {
+    SelfPlayGenerator generator = new SelfPlayGenerator(RuleSet.DOUBLE_DECK);
+    generator.setThreads(2);
+    try (TrainingDataWriter writer = TrainingDataWriter.open(prefix, FeatureEncoder.WIDTH)) {
+      generator.generate(writer, 20, 2L);
+    }
+    TrainingDataReader first = TrainingDataReader.open(prefix);
+    float[] before = new float[FeatureEncoder.WIDTH];
+    first.readFeatures(first.getSampleCount() - 1, before, 0);
+
+    // A torn index entry from a crash is dropped when reopening.
+    Path index = prefix.resolveSibling(prefix.getFileName() + TrainingDataWriter.INDEX);
+    Files.write(index, new byte[] {1, 2, 3}, StandardOpenOption.APPEND);
+    try (TrainingDataWriter writer = TrainingDataWriter.open(prefix, FeatureEncoder.WIDTH)) {
+      assertEquals(first.getSampleCount(), writer.getSampleCount());
+      generator.generate(writer, 10, 3L);
+    }
+
+    TrainingDataReader second = TrainingDataReader.open(prefix);
+    assertEquals(30, second.getHandCount());
+    assertTrue(second.getSampleCount() > first.getSampleCount());
+    float[] after = new float[FeatureEncoder.WIDTH];
+    second.readFeatures(first.getSampleCount() - 1, after, 0);
+    for (int feature = 0; feature < FeatureEncoder.WIDTH; feature++) {
+      assertEquals(before[feature], after[feature]);
+    }
+    assertThrows(IllegalArgumentException.class,
+        () -> second.getLabel(second.getSampleCount()));
+    assertThrows(IllegalArgumentException.class,
+        () -> TrainingDataWriter.open(prefix, FeatureEncoder.WIDTH + 1));
+  }
+
+  @Test
+  void shouldRepeatHandsForTheSameSeed() {
+    SelfPlayGenerator generator = new SelfPlayGenerator(RuleSet.DOUBLE_DECK);
+    generator.setThreads(1);
+    generator.setHandsPerGame(3);
+    Path[] prefixes = {prefix, directory.resolve("repeat")};
+    for (Path path : prefixes) {
+      try (TrainingDataWriter writer = TrainingDataWriter.open(path, FeatureEncoder.WIDTH)) {
+        generator.generate(writer, 10, 7L);
+      }
+    }
+
+    TrainingDataReader first = TrainingDataReader.open(prefixes[0]);
+    TrainingDataReader second = TrainingDataReader.open(prefixes[1]);
+    assertEquals(first.getSampleCount(), second.getSampleCount());
+    float[] expected = new float[FeatureEncoder.WIDTH];
+    float[] actual = new float[FeatureEncoder.WIDTH];
+    for (long sample = 0; sample < first.getSampleCount(); sample++) {
+      first.readFeatures(sample, expected, 0);
+      second.readFeatures(sample, actual, 0);
+      assertArrayEquals(expected, actual);
+      assertEquals(first.getLabel(sample), second.getLabel(sample));
+    }
+  }
+
+  @Test
+  void shouldSpanMappedSegments() {
+    float[] features = new float[TrainingDataWriter.SEGMENT_SAMPLES * 2];
+    float[] labels = new float[features.length];
+    byte[] outcomes = new byte[features.length];
+    for (int sample = 0; sample < features.length; sample++) {
+      features[sample] = sample;
+      labels[sample] = -sample;
+      outcomes[sample] = (byte) sample;
+    }
+    try (TrainingDataWriter writer = TrainingDataWriter.open(prefix, 1)) {
+      writer.append(features, labels, outcomes, 10, 1);
+      writer.append(features, labels, outcomes, features.length, 2);
+    }
+
+    TrainingDataReader reader = TrainingDataReader.open(prefix);
+    assertEquals(10 + features.length, reader.getSampleCount());
+    assertEquals(3, reader.getHandCount());
+    float[] row = new float[1];
+    for (int sample = 0; sample < features.length; sample++) {
+      reader.readFeatures(10 + sample, row, 0);
+      assertEquals(sample, row[0]);
+      assertEquals(-sample, reader.getLabel(10 + sample));
+      assertEquals(sample & 0xFF, reader.getOutcome(10 + sample));
+    }
+  }
+}
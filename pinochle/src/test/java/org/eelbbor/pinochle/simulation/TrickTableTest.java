@@ -0,0 +1,117 @@
+package org.eelbbor.pinochle.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.eelbbor.carddeck.standard.Suite;
+import org.eelbbor.pinochle.Card;
+import org.eelbbor.pinochle.Hand;
+import org.eelbbor.pinochle.PinochleFaceValue;
+import org.eelbbor.pinochle.RuleSet;
+import org.eelbbor.pinochle.Trick;
+import org.eelbbor.pinochle.exceptions.InvalidCardException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+class TrickTableTest {
+  private static final int VALUES = PinochleFaceValue.values().length;
+  private static final int SUITES = Suite.values().length;
+  private static final int CARD_IDS = Card.DISTINCT_CARD_COUNT;
+  private static final int PLAYERS = RuleSet.DOUBLE_DECK.getPlayers();
+
+  @Test
+  void shouldLeadAnyCardHeld() {
+    for (int trump = 0; trump < SUITES; trump++) {
+      int start = TrickTable.start(trump);
+      assertEquals(-1, TrickTable.getWinner(start));
+      assertEquals(-1, TrickTable.getWinnerId(start));
+      assertEquals(0xABCDE, TrickTable.legalMask(start, 0xABCDE));
+      for (int id = 0; id < CARD_IDS; id++) {
+        int state = TrickTable.play(start, 2, id);
+        assertEquals(2, TrickTable.getWinner(state));
+        assertEquals(id, TrickTable.getWinnerId(state));
+        assertEquals(id / VALUES, TrickTable.getLedSuite(state));
+        assertEquals(trump, TrickTable.getTrump(state));
+        assertEquals(1, TrickTable.getCardsPlayed(state));
+      }
+    }
+  }
+
+  /**
+   * Every trick state is reached by leading a card of the suite led, then trumping for states
+   * where the trump is winning. Legality only depends on the cards of the suite led and trump
+   * held, so every subset of those suites is checked along with the card played, for every trump.
+   */
+  @Test
+  void shouldMatchTrickRulesExhaustively() throws InvalidCardException {
+    for (int trump = 0; trump < SUITES; trump++) {
+      for (int led = 0; led < SUITES; led++) {
+        for (int winnerId = 0; winnerId < CARD_IDS; winnerId++) {
+          int winnerSuite = winnerId / VALUES;
+          if (winnerSuite == led) {
+            verifyState(trump, new int[] {winnerId});
+          } else if (winnerSuite == trump) {
+            verifyState(trump, new int[] {led * VALUES, winnerId});
+          }
+        }
+      }
+    }
+  }
+
+  private static void verifyState(int trump, int[] setup) throws InvalidCardException {
+    int state = TrickTable.start(trump);
+    for (int player = 0; player < setup.length; player++) {
+      state = TrickTable.play(state, player, setup[player]);
+    }
+    int player = setup.length;
+    int led = setup[0] / VALUES;
+    int suites = (0x1F << (led * VALUES)) | (0x1F << (trump * VALUES));
+
+    for (int subset = suites; ; subset = (subset - 1) & suites) {
+      for (int id = 0; id < CARD_IDS; id++) {
+        int held = subset | (1 << id);
+        if ((suites & (1 << id)) != 0 && (subset & (1 << id)) == 0) {
+          // Covered by the subset holding the card.
+          continue;
+        }
+
+        Trick trick = startTrick(trump, setup);
+        Hand hand = new Hand();
+        for (int bits = held; bits != 0; bits &= bits - 1) {
+          hand.dealCard(Card.fromId(Integer.numberOfTrailingZeros(bits)));
+        }
+        boolean legal = true;
+        try {
+          trick.playCard(player, Card.fromId(id), hand);
+        } catch (InvalidCardException ex) {
+          legal = false;
+        }
+
+        String message = "Trump " + trump + " trick " + Arrays.toString(setup)
+            + " held " + Integer.toHexString(held) + " card " + Card.fromId(id);
+        assertEquals(legal, (TrickTable.legalMask(state, held) & (1 << id)) != 0, message);
+        if (legal) {
+          int next = TrickTable.play(state, player, id);
+          assertEquals(trick.getHighPlayerIndex(), TrickTable.getWinner(next), message);
+          assertEquals(trick.getHighPlayerIndex() == player, TrickTable.takes(state, id),
+              message);
+          assertEquals(setup.length + 1, TrickTable.getCardsPlayed(next));
+          assertEquals(led, TrickTable.getLedSuite(next));
+        }
+      }
+      if (subset == 0) {
+        break;
+      }
+    }
+  }
+
+  private static Trick startTrick(int trump, int[] setup) throws InvalidCardException {
+    Trick trick = new Trick(Suite.values()[trump], PLAYERS);
+    for (int player = 0; player < setup.length; player++) {
+      Hand hand = new Hand();
+      hand.dealCard(Card.fromId(setup[player]));
+      trick.playCard(player, Card.fromId(setup[player]), hand);
+    }
+    return trick;
+  }
+}
@@ -0,0 +1,103 @@
+package org.eelbbor.pinochle.simulation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.eelbbor.carddeck.standard.Suite;
+import org.eelbbor.pinochle.Card;
+import org.eelbbor.pinochle.Game;
+import org.eelbbor.pinochle.PinochleFaceValue;
+import org.eelbbor.pinochle.RuleSet;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+class TrumpAdvisorTest {
+  private static final RuleSet RULES = RuleSet.DOUBLE_DECK;
+
+  @Test
+  void shouldRankTheLongSuiteWithARunFirst() {
+    // Two runs in spades plus two aces of spades, the rest spread over the other suites.
+    int[] cardCounts = new int[Card.DISTINCT_CARD_COUNT];
+    for (PinochleFaceValue faceValue : PinochleFaceValue.values()) {
+      cardCounts[new Card(Suite.Spade, faceValue).getId()] = 2;
+    }
+    cardCounts[new Card(Suite.Spade, PinochleFaceValue.Ace).getId()] = 4;
+    cardCounts[new Card(Suite.Heart, PinochleFaceValue.Jack).getId()] = 2;
+    cardCounts[new Card(Suite.Diamond, PinochleFaceValue.Queen).getId()] = 2;
+    cardCounts[new Card(Suite.Club, PinochleFaceValue.Jack).getId()] = 2;
+    cardCounts[new Card(Suite.Heart, PinochleFaceValue.Queen).getId()] = 2;
+
+    TrumpAdvisor advisor = new TrumpAdvisor(RULES);
+    advisor.setBudgetMillis(10_000);
+    advisor.setMaxSamples(256);
+    List<TrumpChoice> choices = advisor.advise(cardCounts, 1, 60);
+
+    assertEquals(4, choices.size());
+    assertEquals(Suite.Spade, choices.get(0).getSuite());
+    for (int rank = 0; rank < choices.size(); rank++) {
+      TrumpChoice choice = choices.get(rank);
+      assertEquals(256, choice.getSampleCount());
+      assertTrue(choice.getLowerBound() <= choice.getScore());
+      assertTrue(choice.getUpperBound() >= choice.getScore());
+      if (rank > 0) {
+        assertTrue(choices.get(rank - 1).getScore() >= choice.getScore());
+      }
+    }
+    // Declarer's two runs alone are worth 150 in spades.
+    assertTrue(choices.get(0).getMeld() >= 150);
+    assertTrue(choices.get(0).getLowerBound() > choices.get(3).getUpperBound());
+  }
+
+  @Test
+  void shouldRepeatForTheSameSeedAndSampleCount() {
+    Game game = new Game();
+    game.reset(3L);
+    int[] cardCounts = new int[Card.DISTINCT_CARD_COUNT];
+    game.copyCardCounts(2, cardCounts);
+
+    TrumpAdvisor advisor = new TrumpAdvisor(RULES);
+    advisor.setBudgetMillis(10_000);
+    advisor.setMaxSamples(100);
+    advisor.setSeed(5L);
+    List<TrumpChoice> first = advisor.advise(cardCounts, 2, 50);
+    List<TrumpChoice> second = advisor.advise(cardCounts, 2, 50);
+    for (int rank = 0; rank < first.size(); rank++) {
+      assertEquals(first.get(rank).getSuite(), second.get(rank).getSuite());
+      assertEquals(first.get(rank).getScore(), second.get(rank).getScore());
+      assertEquals(100, first.get(rank).getSampleCount());
+    }
+  }
+
+  @Test
+  void shouldStopAtTheTimeBudget() throws Exception {
+    Game game = new Game();
+    assertThrows(IllegalStateException.class, () -> new TrumpAdvisor(RULES).advise(game));
+    for (int player = 1; player < RULES.getPlayers(); player++) {
+      game.pass();
+    }
+
+    TrumpAdvisor advisor = new TrumpAdvisor(RULES);
+    advisor.setMaxSamples(Integer.MAX_VALUE);
+    long start = System.nanoTime();
+    List<TrumpChoice> choices = advisor.advise(game);
+    long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+    // Sampling runs until the budget, with a generous bound on the round finishing after it.
+    long budget = TrumpAdvisor.DEFAULT_BUDGET_MILLIS;
+    assertTrue(elapsedMillis >= budget * 9 / 10, "Took " + elapsedMillis + " ms");
+    assertTrue(elapsedMillis < budget + 1000, "Took " + elapsedMillis + " ms");
+    long samples = choices.get(0).getSampleCount();
+    assertTrue(samples > TrumpAdvisor.ROUND_SAMPLES, "Drew " + samples + " samples");
+    choices.forEach(choice -> assertEquals(samples, choice.getSampleCount()));
+  }
+
+  @Test
+  void shouldRejectIncompleteHands() {
+    TrumpAdvisor advisor = new TrumpAdvisor(RULES);
+    assertThrows(IllegalArgumentException.class,
+        () -> advisor.advise(new int[Card.DISTINCT_CARD_COUNT], 0, 50));
+    assertThrows(IllegalArgumentException.class, () -> advisor.setMaxSamples(0));
+  }
+}
@@ -0,0 +1,49 @@
+package org.eelbbor.pinochle.tournament;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+class LeaderboardTest {
+  @Test
+  void shouldMoveRatingsByExpectedScore() {
+    Leaderboard leaderboard = new Leaderboard(2);
+    leaderboard.record(0, 1, 1);
+    assertEquals(Leaderboard.INITIAL_RATING + Leaderboard.DEFAULT_K_FACTOR / 2,
+        leaderboard.getRating(0), 1e-6);
+    assertEquals(Leaderboard.INITIAL_RATING - Leaderboard.DEFAULT_K_FACTOR / 2,
+        leaderboard.getRating(1), 1e-6);
+    leaderboard.record(1, 0, 0.5);
+    assertEquals(1.5, leaderboard.getScore(0));
+    assertEquals(0.5, leaderboard.getScore(1));
+    assertEquals(2, leaderboard.getGames(1));
+  }
+
+  @Test
+  void shouldConserveRatingsUnderConcurrentUpdates() {
+    int bots = 8;
+    Leaderboard leaderboard = new Leaderboard(bots);
+    IntStream.range(0, 200_000).parallel().forEach(game -> {
+      int first = game % bots;
+      int second = (first + 1 + game / bots % (bots - 1)) % bots;
+      leaderboard.record(first, second, first > second ? 1 : 0.5);
+    });
+
+    double total = 0;
+    long games = 0;
+    double score = 0;
+    for (int bot = 0; bot < bots; bot++) {
+      total += leaderboard.getRating(bot);
+      games += leaderboard.getGames(bot);
+      score += leaderboard.getScore(bot);
+    }
+    assertEquals(bots * Leaderboard.INITIAL_RATING, total, 1e-3);
+    assertEquals(400_000, games);
+    assertEquals(200_000, score, 1e-9);
+    assertEquals(bots - 1, (int) leaderboard.getStandings().get(0));
+    assertTrue(leaderboard.getRating(bots - 1) > leaderboard.getRating(0));
+  }
+}
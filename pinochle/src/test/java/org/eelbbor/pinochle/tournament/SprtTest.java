@@ -0,0 +1,40 @@
+package org.eelbbor.pinochle.tournament;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class SprtTest {
+  private final Sprt sprt = new Sprt(0, 10, 0.05, 0.05);
+
+  @Test
+  void shouldComputeBoundsFromErrorRates() {
+    assertEquals(Math.log(0.05 / 0.95), sprt.getLowerBound(), 1e-12);
+    assertEquals(Math.log(0.95 / 0.05), sprt.getUpperBound(), 1e-12);
+    assertEquals(0.5, Sprt.expectedScore(0), 1e-12);
+    assertEquals(10 / 11.0, Sprt.expectedScore(400), 1e-12);
+  }
+
+  @Test
+  void shouldContinueWhileUnresolved() {
+    assertEquals(0, sprt.logLikelihoodRatio(0, 0, 0));
+    assertEquals(Sprt.Decision.CONTINUE, sprt.evaluate(0, 0, 0));
+    assertEquals(Sprt.Decision.CONTINUE, sprt.evaluate(52, 0, 48));
+  }
+
+  @Test
+  void shouldResolveClearDifferences() {
+    assertEquals(Sprt.Decision.ACCEPT_H1, sprt.evaluate(6000, 2000, 4000));
+    assertEquals(Sprt.Decision.ACCEPT_H0, sprt.evaluate(4000, 2000, 6000));
+    assertEquals(Sprt.Decision.ACCEPT_H1, sprt.evaluate(100, 0, 0));
+    assertTrue(sprt.logLikelihoodRatio(60, 20, 40) > sprt.logLikelihoodRatio(50, 20, 50));
+  }
+
+  @Test
+  void shouldRejectInvalidHypotheses() {
+    assertThrows(IllegalArgumentException.class, () -> new Sprt(10, 0, 0.05, 0.05));
+    assertThrows(IllegalArgumentException.class, () -> new Sprt(0, 10, 0, 0.05));
+  }
+}
@@ -0,0 +1,145 @@
+package org.eelbbor.pinochle.tournament;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.eelbbor.pinochle.RuleSet;
+import org.eelbbor.pinochle.simulation.RolloutEngine;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class TournamentTest {
+  // The higher indexed bot wins three games out of four.
+  private static final GameRunner STRONGER_INDEX_WINS = (first, second, seed) ->
+      (seed & 3) == 0 ? (first < second ? 1 : 0) : (first > second ? 1 : 0);
+
+  @Test
+  void shouldPlayRoundRobinAndRankBots() {
+    Tournament tournament = new Tournament(4, STRONGER_INDEX_WINS);
+    tournament.setMaxGames(200);
+    List<MatchRecord> matches = tournament.runRoundRobin();
+
+    assertEquals(6, matches.size());
+    matches.forEach(match -> {
+      assertTrue(match.isComplete());
+      assertEquals(200, match.getGames());
+      assertTrue(match.getLosses() > match.getWins());
+    });
+    Leaderboard leaderboard = tournament.getLeaderboard();
+    assertEquals(3, (int) leaderboard.getStandings().get(0));
+    double total = 0;
+    for (int bot = 0; bot < 4; bot++) {
+      assertEquals(600, leaderboard.getGames(bot));
+      assertTrue(bot == 0 || leaderboard.getScore(bot) > leaderboard.getScore(bot - 1));
+      total += leaderboard.getRating(bot);
+    }
+    assertEquals(4 * Leaderboard.INITIAL_RATING, total, 1e-6);
+    assertThrows(IllegalStateException.class, tournament::runRoundRobin);
+  }
+
+  @Test
+  void shouldStopMatchesOnceSprtResolves() {
+    Tournament tournament = new Tournament(3, STRONGER_INDEX_WINS);
+    tournament.setSprt(new Sprt(0, 20, 0.05, 0.05));
+    tournament.runRoundRobin().forEach(match -> {
+      assertTrue(match.getGames() < Tournament.DEFAULT_MAX_GAMES);
+      assertEquals(Sprt.Decision.ACCEPT_H0, match.getDecision());
+    });
+  }
+
+  @Test
+  void shouldPairSwissRoundsWithoutRepeats() {
+    Tournament tournament = new Tournament(7, STRONGER_INDEX_WINS);
+    tournament.setMaxGames(20);
+    List<MatchRecord> matches = tournament.runSwiss(3);
+
+    assertEquals(9, matches.size());
+    Set<Long> pairs = new HashSet<>();
+    for (int round = 0; round < 3; round++) {
+      Set<Integer> seated = new HashSet<>();
+      for (MatchRecord match : matches) {
+        if (match.getRound() == round) {
+          assertTrue(seated.add(match.getFirst()) && seated.add(match.getSecond()));
+          long pair = Math.min(match.getFirst(), match.getSecond()) * 10L
+              + Math.max(match.getFirst(), match.getSecond());
+          assertTrue(pairs.add(pair));
+        }
+      }
+      assertEquals(6, seated.size());
+    }
+  }
+
+  @Test
+  void shouldResumeFromCheckpoint() throws IOException {
+    Path checkpoint = Files.createTempFile("tournament", ".checkpoint");
+    Files.delete(checkpoint);
+    AtomicInteger games = new AtomicInteger();
+    Tournament crashing = new Tournament(3, (first, second, seed) -> {
+      if (games.incrementAndGet() > 250) {
+        throw new IllegalStateException("crash");
+      }
+      return STRONGER_INDEX_WINS.playGame(first, second, seed);
+    });
+    crashing.setMaxGames(100);
+    crashing.setCheckpoint(checkpoint, 0);
+    assertThrows(IllegalStateException.class, crashing::runRoundRobin);
+    long persisted = Files.readAllLines(checkpoint).stream().skip(1)
+        .mapToLong(line -> Arrays.stream(line.split(" ")).skip(4).limit(3)
+            .mapToLong(Long::parseLong).sum())
+        .sum();
+    assertTrue(persisted > 0 && persisted <= 250);
+
+    AtomicInteger resumedGames = new AtomicInteger();
+    Tournament resumed = new Tournament(3, (first, second, seed) -> {
+      resumedGames.incrementAndGet();
+      return STRONGER_INDEX_WINS.playGame(first, second, seed);
+    });
+    resumed.setMaxGames(100);
+    resumed.setCheckpoint(checkpoint, 0);
+    List<MatchRecord> matches = resumed.runRoundRobin();
+
+    assertEquals(300 - persisted, resumedGames.get());
+    Tournament uninterrupted = new Tournament(3, STRONGER_INDEX_WINS);
+    uninterrupted.setMaxGames(100);
+    List<MatchRecord> expected = uninterrupted.runRoundRobin();
+    for (int index = 0; index < expected.size(); index++) {
+      assertEquals(expected.get(index).getWins(), matches.get(index).getWins());
+      assertEquals(expected.get(index).getLosses(), matches.get(index).getLosses());
+    }
+    for (int bot = 0; bot < 3; bot++) {
+      assertEquals(200, resumed.getLeaderboard().getGames(bot));
+    }
+    Files.delete(checkpoint);
+  }
+
+  @Test
+  void shouldRejectCheckpointForOtherTournament() throws IOException {
+    Path checkpoint = Files.createTempFile("tournament", ".checkpoint");
+    Files.write(checkpoint, List.of("bots 5"));
+    Tournament tournament = new Tournament(3, STRONGER_INDEX_WINS);
+    tournament.setCheckpoint(checkpoint, 0);
+    assertThrows(IllegalArgumentException.class, tournament::runRoundRobin);
+    Files.delete(checkpoint);
+  }
+
+  @Test
+  void shouldRankGreedyRolloutsAboveRandom() {
+    Tournament tournament = new Tournament(2, GameRunner.rolloutPolicies(RuleSet.DOUBLE_DECK,
+        RolloutEngine.POLICY_RANDOM, RolloutEngine.POLICY_GREEDY));
+    tournament.setMaxGames(300);
+    MatchRecord match = tournament.runRoundRobin().get(0);
+    assertTrue(match.getLosses() > match.getWins());
+    assertFalse(tournament.getLeaderboard().getRating(0)
+        > tournament.getLeaderboard().getRating(1));
+  }
+}
@@ -1,8 +1,35 @@
 package bboreel.games.card
 
+import java.util.concurrent.TimeUnit
+
+import bboreel.games.card.sim.{BatchOptions, BatchRunner}
 import org.apache.logging.log4j.{LogManager, Logger}
 
-object Main extends App {
+/**
+  * Batch simulation runner, see [[BatchOptions.Usage]] for the arguments. Per game records are
+  * written by the results logger and a summary of the batch by this logger.
+  *
+  * @author Robb Lee (robbmlee@gmail.com).
+  */
+object Main {
   val log: Logger = LogManager.getLogger(Main.getClass())
-  log.info("Hello World!")
+
+  def main(args: Array[String]): Unit = {
+    try {
+      val options = BatchOptions.parse(args)
+      log.info(s"Simulating ${options.gameCount()} games from seeds " +
+        s"${options.firstSeed}:${options.lastSeed} on ${options.threads} threads with policies " +
+        options.policies.mkString(","))
+      val summary = new BatchRunner(options).run()
+      val millis = TimeUnit.NANOSECONDS.toMillis(summary.elapsedNanos)
+      log.info(s"Simulated ${summary.games} games in $millis ms " +
+        f"(${summary.gamesPerSecond()}%.0f games/s), team wins " +
+        s"${summary.teamWins.mkString("/")} and ${summary.ties} ties.")
+    } catch {
+      case ex: IllegalArgumentException => log.error(ex.getMessage())
+    } finally {
+      // Drains the async ring buffer before exiting.
+      LogManager.shutdown()
+    }
+  }
 }
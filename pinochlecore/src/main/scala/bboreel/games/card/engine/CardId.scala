@@ -0,0 +1,58 @@
+package bboreel.games.card.engine
+
+import bboreel.games.card.domain.Suite
+import bboreel.games.card.domain.pinochle.{PinochleCard, PinochleFaceValue}
+
+/**
+  * Compact identifier of a pinochle card, the [[Suite]] id times the number of face values plus
+  * the [[PinochleFaceValue]] id, so the cards of a suite are contiguous and in rank order. As a
+  * value class it is an unboxed [[Int]] at runtime wherever the static type is known, which lets
+  * the engine keep decks and hands in primitive arrays.
+  *
+  * @param id [[Int]] ranging from 0 until [[CardId.Count]].
+  * @author Robb Lee (robbmlee@gmail.com).
+  */
+final class CardId(val id: Int) extends AnyVal {
+  def suite: Suite.Value = Suite(id / CardId.ValuesPerSuite)
+
+  def value: PinochleFaceValue.Value = PinochleFaceValue(id % CardId.ValuesPerSuite)
+
+  /**
+    * Converts the id into the [[PinochleCard]] domain definition.
+    *
+    * @return [[PinochleCard]] with the suite and value of the id.
+    */
+  def toCard: PinochleCard = new PinochleCard(suite, value)
+
+  override def toString: String = s"$value of $suite"
+}
+
+/**
+  * @author Robb Lee (robbmlee@gmail.com).
+  */
+object CardId {
+  final val ValuesPerSuite: Int = PinochleFaceValue.maxId
+  final val Count: Int = Suite.maxId * ValuesPerSuite
+
+  /**
+    * Every card id in id order.
+    */
+  final val All: IndexedSeq[CardId] = (0 until Count).map(new CardId(_))
+
+  implicit val ordering: Ordering[CardId] = Ordering.by((card: CardId) => card.id)
+
+  def apply(suite: Suite.Value, value: PinochleFaceValue.Value): CardId = {
+    new CardId(suite.id * ValuesPerSuite + value.id)
+  }
+
+  /**
+    * Validates and wraps a raw id.
+    *
+    * @param id [[Int]] ranging from 0 until [[CardId.Count]].
+    * @return [[CardId]] for the id.
+    */
+  def apply(id: Int): CardId = {
+    require(id >= 0 && id < Count, s"Card id must be between 0 and ${Count - 1} but was '$id'.")
+    new CardId(id)
+  }
+}
@@ -0,0 +1,113 @@
+package bboreel.games.card.engine
+
+import bboreel.games.card.domain.Suite
+
+/**
+  * Pinochle hand tracked as a count per [[CardId]], so dealing, playing and membership are a
+  * single array access instead of the search of [[bboreel.games.card.game.Hand]], and suite
+  * queries scan the five ids of the suite.
+  *
+  * Instances are mutable and not thread safe.
+  *
+  * @author Robb Lee (robbmlee@gmail.com).
+  */
+class CountingHand {
+  private val counts: Array[Int] = new Array[Int](CardId.Count)
+  private var cardCount: Int = 0
+
+  def isEmpty(): Boolean = {
+    cardCount == 0
+  }
+
+  def size(): Int = {
+    cardCount
+  }
+
+  def contains(card: CardId): Boolean = {
+    counts(card.id) > 0
+  }
+
+  def count(card: CardId): Int = {
+    counts(card.id)
+  }
+
+  /**
+    * Returns the number of cards in the hand of a suite.
+    *
+    * @param suite [[Suite]] to count.
+    * @return [[Int]] number of cards of the suite.
+    */
+  def countBySuite(suite: Suite.Value): Int = {
+    var total = 0
+    var id = suite.id * CardId.ValuesPerSuite
+    val end = id + CardId.ValuesPerSuite
+    while (id < end) {
+      total += counts(id)
+      id += 1
+    }
+    total
+  }
+
+  /**
+    * Removes every card from the hand so it can be dealt again.
+    */
+  def clear(): Unit = {
+    java.util.Arrays.fill(counts, 0)
+    cardCount = 0
+  }
+
+  /**
+    * Adds a card to the hand, any number of copies are allowed.
+    *
+    * @param card [[CardId]] of the card to add.
+    */
+  def dealCard(card: CardId): Unit = {
+    counts(card.id) += 1
+    cardCount += 1
+  }
+
+  /**
+    * Plays a single copy of a card from the hand.
+    *
+    * @param card [[CardId]] of the card to remove.
+    * @return [[CardId]] of the card played.
+    */
+  def playCard(card: CardId): CardId = {
+    if (counts(card.id) == 0) {
+      throw new RuntimeException(s"Tried to remove invalid card: $card")
+    }
+    counts(card.id) -= 1
+    cardCount -= 1
+    card
+  }
+
+  /**
+    * Applies the function to each card in the hand in id order, once per copy, without
+    * allocating a collection.
+    *
+    * @param f function to apply.
+    */
+  def foreachCard(f: CardId => Unit): Unit = {
+    var id = 0
+    while (id < counts.length) {
+      var copy = 0
+      while (copy < counts(id)) {
+        f(new CardId(id))
+        copy += 1
+      }
+      id += 1
+    }
+  }
+
+  /**
+    * Returns the cards of the hand in id order, once per copy.
+    *
+    * @return [[IndexedSeq]] of the cards.
+    */
+  def cards(): IndexedSeq[CardId] = {
+    for {
+      id <- counts.indices
+      _ <- 0 until counts(id)
+    } yield new CardId(id)
+  }
+}
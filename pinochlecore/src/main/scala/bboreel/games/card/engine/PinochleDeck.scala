@@ -0,0 +1,122 @@
+package bboreel.games.card.engine
+
+import java.util.SplittableRandom
+
+import bboreel.games.card.domain.Deck
+
+/**
+  * Pinochle deck held as a primitive array of [[CardId]] ids and shuffled in place, so a
+  * simulation dealing every game into the same hands with `deal(hands)` can reshuffle and deal
+  * millions of hands without allocating a collection per deal.
+  * Shuffling is a Fisher-Yates pass driven by a [[SplittableRandom]], seeding it makes every deal
+  * reproducible and a split generator per thread keeps parallel jobs independent.
+  *
+  * Instances are mutable and not thread safe, use one deck per thread.
+  *
+  * @param copies [[Int]] number of copies of each card, 4 for a double deck and 2 for a single.
+  * @author Robb Lee (robbmlee@gmail.com).
+  */
+class PinochleDeck(val copies: Int = PinochleDeck.DoubleDeckCopies) {
+  require(copies > 0, s"Copies per card must be positive but was '$copies'.")
+
+  private val cards: Array[Int] = Array.tabulate(CardId.Count * copies)(_ / copies)
+
+  def size(): Int = {
+    cards.length
+  }
+
+  /**
+    * Returns the card at a position of the current shuffle order.
+    *
+    * @param index [[Int]] position in the deck.
+    * @return [[CardId]] at the position.
+    */
+  def apply(index: Int): CardId = {
+    new CardId(cards(index))
+  }
+
+  /**
+    * Shuffles the deck in place.
+    *
+    * @param random [[SplittableRandom]] source of the shuffle.
+    * @return this deck.
+    */
+  def shuffle(random: SplittableRandom): PinochleDeck = {
+    var index = cards.length - 1
+    while (index > 0) {
+      val other = random.nextInt(index + 1)
+      val card = cards(index)
+      cards(index) = cards(other)
+      cards(other) = card
+      index -= 1
+    }
+    this
+  }
+
+  /**
+    * Shuffles the deck in place reproducibly from a seed.
+    *
+    * @param seed [[Long]] seed of the shuffle.
+    * @return this deck.
+    */
+  def shuffle(seed: Long): PinochleDeck = {
+    shuffle(new SplittableRandom(seed))
+  }
+
+  /**
+    * Deals the deck in its current order into new equal hands, allocating the hands, see
+    * `deal(hands)` to reuse them.
+    *
+    * @param players [[Int]] number of hands to deal.
+    * @return [[Array]] of [[CountingHand]] indexed by player.
+    */
+  def deal(players: Int): Array[CountingHand] = {
+    require(players > 0, s"Cannot deal ${cards.length} cards evenly to '$players' players.")
+    val hands = Array.fill(players)(new CountingHand())
+    deal(hands)
+    hands
+  }
+
+  /**
+    * Clears the hands and deals the deck in its current order into them, each player taking a
+    * contiguous run of cards, which for a shuffled deck is distributed the same as dealing in
+    * turn. Nothing is allocated so simulations can deal every game into the same hands.
+    *
+    * @param hands [[Array]] of [[CountingHand]] indexed by player.
+    */
+  def deal(hands: Array[CountingHand]): Unit = {
+    val players = hands.length
+    require(players > 0 && cards.length % players == 0,
+      s"Cannot deal ${cards.length} cards evenly to '$players' players.")
+    val handSize = cards.length / players
+    var player = 0
+    while (player < players) {
+      val hand = hands(player)
+      hand.clear()
+      var index = player * handSize
+      val end = index + handSize
+      while (index < end) {
+        hand.dealCard(new CardId(cards(index)))
+        index += 1
+      }
+      player += 1
+    }
+  }
+
+  /**
+    * Converts the deck in its current order into the [[Deck]] domain definition.
+    *
+    * @return [[Deck]] of the cards.
+    */
+  def toDeck: Deck = {
+    Deck(cards.iterator.map(new CardId(_).toCard).toVector)
+  }
+}
+
+/**
+  * @author Robb Lee (robbmlee@gmail.com).
+  */
+object PinochleDeck {
+  final val DoubleDeckCopies: Int = 4
+  final val SingleDeckCopies: Int = 2
+}
@@ -0,0 +1,93 @@
+package bboreel.games.card.sim
+
+/**
+  * Options of a batch of simulations, each seed in the range is an independent task playing a
+  * number of games from a deck shuffled by that seed, so any game can be replayed from the seed
+  * and game index in its result record.
+  *
+  * @param firstSeed [[Long]] first seed of the batch.
+  * @param lastSeed [[Long]] seed after the last seed of the batch.
+  * @param gamesPerSeed [[Int]] number of games played from each seed.
+  * @param threads [[Int]] number of threads running the seeds.
+  * @param policies [[IndexedSeq]] of [[BotPolicy]] names indexed by player.
+  * @author Robb Lee (robbmlee@gmail.com).
+  */
+final case class BatchOptions(firstSeed: Long = 0L,
+                              lastSeed: Long = 1L,
+                              gamesPerSeed: Int = 1,
+                              threads: Int = Runtime.getRuntime.availableProcessors(),
+                              policies: IndexedSeq[String] = Vector.fill(HandPlayout.Players)(
+                                BotPolicy.Random)) {
+  require(lastSeed > firstSeed, s"Seed range must not be empty but was $firstSeed:$lastSeed.")
+  require(gamesPerSeed > 0, s"Games per seed must be positive but was '$gamesPerSeed'.")
+  require(threads > 0, s"Threads must be positive but was '$threads'.")
+  require(policies.size == HandPlayout.Players,
+    s"Policies must name one policy or one per player but named ${policies.size}.")
+  policies.foreach(name => require(BotPolicy.Names.contains(name),
+    s"Policies must be among ${BotPolicy.Names.mkString(", ")} but included '$name'."))
+
+  def seedCount(): Long = {
+    lastSeed - firstSeed
+  }
+
+  def gameCount(): Long = {
+    seedCount() * gamesPerSeed
+  }
+}
+
+/**
+  * @author Robb Lee (robbmlee@gmail.com).
+  */
+object BatchOptions {
+  final val Usage: String = "Usage: [--seeds <first>:<last>] [--games <per seed>] " +
+    "[--threads <count>] [--policies <name>[,<name>,<name>,<name>]] with policy names " +
+    BotPolicy.Names.mkString(", ") + "."
+
+  /**
+    * Parses command line arguments given as option name and value pairs.
+    *
+    * @param args [[Array]] of the command line arguments.
+    * @return [[BatchOptions]] with defaults for any option not given.
+    */
+  def parse(args: Array[String]): BatchOptions = {
+    require(args.length % 2 == 0, s"Options must be name and value pairs. $Usage")
+    args.grouped(2).foldLeft(BatchOptions()) { (options, pair) =>
+      val value = pair(1)
+      pair(0) match {
+        case "--seeds" => parseSeeds(options, value)
+        case "--games" => options.copy(gamesPerSeed = parseCount("Games per seed", value))
+        case "--threads" => options.copy(threads = parseCount("Threads", value))
+        case "--policies" => options.copy(policies = parsePolicies(value))
+        case other => throw new IllegalArgumentException(s"Unknown option '$other'. $Usage")
+      }
+    }
+  }
+
+  private def parseSeeds(options: BatchOptions, value: String): BatchOptions = {
+    val bounds = value.split(':')
+    require(bounds.length == 2, s"Seeds must be given as <first>:<last> but was '$value'.")
+    options.copy(firstSeed = parseNumber(bounds(0)), lastSeed = parseNumber(bounds(1)))
+  }
+
+  private def parsePolicies(value: String): IndexedSeq[String] = {
+    val names = value.split(',').map(_.trim).toVector
+    if (names.size == 1) Vector.fill(HandPlayout.Players)(names.head) else names
+  }
+
+  // Counts are checked before narrowing so a value beyond the range of an Int is not wrapped.
+  private def parseCount(name: String, value: String): Int = {
+    val count = parseNumber(value)
+    require(count > 0 && count <= Int.MaxValue,
+      s"$name must be between 1 and ${Int.MaxValue} but was '$value'. $Usage")
+    count.toInt
+  }
+
+  private def parseNumber(value: String): Long = {
+    try {
+      value.trim.toLong
+    } catch {
+      case _: NumberFormatException =>
+        throw new IllegalArgumentException(s"Option value must be a number but was '$value'.")
+    }
+  }
+}
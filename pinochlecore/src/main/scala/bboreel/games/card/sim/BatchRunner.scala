@@ -0,0 +1,78 @@
+package bboreel.games.card.sim
+
+import java.util.SplittableRandom
+import java.util.concurrent.atomic.AtomicLong
+import java.util.concurrent.{Callable, Executors, Future}
+
+import bboreel.games.card.engine.PinochleDeck
+
+/**
+  * Runs a batch of simulations in parallel, one worker per thread pulling seeds from a shared
+  * counter until the range is exhausted, so only one task per thread is ever queued however large
+  * the range. Each seed gets its own deck, playout, policies and result so the hot loop shares
+  * nothing but the counter, and every game is logged through [[ResultLog]] as it completes.
+  *
+  * @param options [[BatchOptions]] of the batch.
+  * @author Robb Lee (robbmlee@gmail.com).
+  */
+class BatchRunner(options: BatchOptions) {
+  /**
+    * Runs every seed of the batch and waits for them to complete.
+    *
+    * @return [[BatchSummary]] of the batch.
+    */
+  def run(): BatchSummary = {
+    val executor = Executors.newFixedThreadPool(options.threads)
+    try {
+      val start = System.nanoTime()
+      val nextSeed = new AtomicLong()
+      val workers: Seq[Future[Array[Long]]] = (0 until options.threads).map { _ =>
+        executor.submit(new Callable[Array[Long]] {
+          override def call(): Array[Long] = runSeeds(nextSeed)
+        })
+      }
+      val totals = new Array[Long](HandPlayout.Teams + 1)
+      workers.foreach(worker => addTo(totals, worker.get()))
+      BatchSummary(options.gameCount(), totals.take(HandPlayout.Teams).toVector,
+        totals(HandPlayout.Teams), System.nanoTime() - start)
+    } finally {
+      executor.shutdownNow()
+    }
+  }
+
+  // Plays seeds taken from the counter, an offset from the first seed so it cannot wrap near
+  // the top of the range, until every seed is taken returning the summed totals.
+  private def runSeeds(nextSeed: AtomicLong): Array[Long] = {
+    val totals = new Array[Long](HandPlayout.Teams + 1)
+    val seeds = options.seedCount()
+    var offset = nextSeed.getAndIncrement()
+    while (offset < seeds) {
+      addTo(totals, runSeed(options.firstSeed + offset))
+      offset = nextSeed.getAndIncrement()
+    }
+    totals
+  }
+
+  private def addTo(totals: Array[Long], seedTotals: Array[Long]): Unit = {
+    seedTotals.indices.foreach(index => totals(index) += seedTotals(index))
+  }
+
+  // Plays the games of a seed returning the wins of each team followed by the ties.
+  private def runSeed(seed: Long): Array[Long] = {
+    val random = new SplittableRandom(seed)
+    val playout = new HandPlayout(options.policies.map(BotPolicy(_, random.nextLong())))
+    val deck = new PinochleDeck()
+    val result = new GameResult()
+    val totals = new Array[Long](HandPlayout.Teams + 1)
+    var game = 0
+    while (game < options.gamesPerSeed) {
+      val start = System.nanoTime()
+      playout.play(deck.shuffle(random), game % HandPlayout.Players, result)
+      ResultLog.record(seed, game, result, System.nanoTime() - start)
+      val winner = result.winningTeam()
+      totals(if (winner == GameResult.Tie) HandPlayout.Teams else winner) += 1
+      game += 1
+    }
+    totals
+  }
+}
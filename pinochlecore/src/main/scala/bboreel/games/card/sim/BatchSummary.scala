@@ -0,0 +1,24 @@
+package bboreel.games.card.sim
+
+/**
+  * Totals of a completed batch of simulations.
+  *
+  * @param games [[Long]] number of games played.
+  * @param teamWins [[IndexedSeq]] of games won indexed by team.
+  * @param ties [[Long]] number of games with even points.
+  * @param elapsedNanos [[Long]] wall clock time of the batch.
+  * @author Robb Lee (robbmlee@gmail.com).
+  */
+final case class BatchSummary(games: Long, teamWins: IndexedSeq[Long], ties: Long,
+                              elapsedNanos: Long) {
+  def gamesPerSecond(): Double = {
+    if (elapsedNanos == 0) 0 else games * BatchSummary.NanosPerSecond / elapsedNanos
+  }
+}
+
+/**
+  * @author Robb Lee (robbmlee@gmail.com).
+  */
+object BatchSummary {
+  private final val NanosPerSecond: Double = 1e9
+}
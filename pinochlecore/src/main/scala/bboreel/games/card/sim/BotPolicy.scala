@@ -0,0 +1,91 @@
+package bboreel.games.card.sim
+
+import java.util.SplittableRandom
+
+import bboreel.games.card.engine.CardId
+
+/**
+  * Strategy of a simulated player choosing which of its legal cards to play. Policies are
+  * created per simulation task and may keep state, so they are not shared across threads.
+  *
+  * @author Robb Lee (robbmlee@gmail.com).
+  */
+trait BotPolicy {
+  /**
+    * Chooses the card to play.
+    *
+    * @param legal [[Array]] indexed by card id, true for each card which may be played, at least
+    *              one entry is true.
+    * @return [[CardId]] of a legal card.
+    */
+  def chooseCard(legal: Array[Boolean]): CardId
+}
+
+/**
+  * @author Robb Lee (robbmlee@gmail.com).
+  */
+object BotPolicy {
+  final val Random: String = "random"
+  final val Highest: String = "highest"
+  final val Lowest: String = "lowest"
+
+  /**
+    * Names of the available policies.
+    */
+  final val Names: Seq[String] = Seq(Random, Highest, Lowest)
+
+  /**
+    * Creates a policy from its name.
+    *
+    * @param name [[String]] one of [[Names]].
+    * @param seed [[Long]] seed for policies which choose randomly.
+    * @return new [[BotPolicy]].
+    */
+  def apply(name: String, seed: Long): BotPolicy = name match {
+    case Random => new RandomPolicy(new SplittableRandom(seed))
+    case Highest => new RankPolicy(preferHigh = true)
+    case Lowest => new RankPolicy(preferHigh = false)
+    case _ => throw new IllegalArgumentException(
+      s"Bot policy must be one of ${Names.mkString(", ")} but was '$name'.")
+  }
+
+  /**
+    * Plays a uniformly random legal card.
+    */
+  private class RandomPolicy(random: SplittableRandom) extends BotPolicy {
+    override def chooseCard(legal: Array[Boolean]): CardId = {
+      var remaining = random.nextInt(legal.count(identity))
+      var id = 0
+      while (!legal(id) || remaining > 0) {
+        if (legal(id)) {
+          remaining -= 1
+        }
+        id += 1
+      }
+      new CardId(id)
+    }
+  }
+
+  /**
+    * Plays the legal card of the highest or lowest face value, taking the first suite on ties.
+    */
+  private class RankPolicy(preferHigh: Boolean) extends BotPolicy {
+    override def chooseCard(legal: Array[Boolean]): CardId = {
+      var best = TrickRules.NoCard
+      var id = 0
+      while (id < legal.length) {
+        if (legal(id) && (best == TrickRules.NoCard || isBetter(id, best))) {
+          best = id
+        }
+        id += 1
+      }
+      new CardId(best)
+    }
+
+    private def isBetter(id: Int, best: Int): Boolean = {
+      val rank = id % CardId.ValuesPerSuite
+      val bestRank = best % CardId.ValuesPerSuite
+      if (preferHigh) rank > bestRank else rank < bestRank
+    }
+  }
+}
@@ -0,0 +1,72 @@
+package bboreel.games.card.sim
+
+import bboreel.games.card.domain.Suite
+
+/**
+  * Mutable outcome of a simulated hand, reused across the hands played by a simulation task so
+  * recording a result does not allocate.
+  *
+  * @author Robb Lee (robbmlee@gmail.com).
+  */
+final class GameResult {
+  private val points: Array[Int] = new Array[Int](HandPlayout.Teams)
+  private val tricks: Array[Int] = new Array[Int](HandPlayout.Teams)
+  private var dealer: Int = 0
+  private var trump: Suite.Value = Suite.Heart
+
+  def getDealer(): Int = {
+    dealer
+  }
+
+  def getTrump(): Suite.Value = {
+    trump
+  }
+
+  def getPoints(team: Int): Int = {
+    points(team)
+  }
+
+  def getTricks(team: Int): Int = {
+    tricks(team)
+  }
+
+  /**
+    * Returns the team which took the most points.
+    *
+    * @return [[Int]] team index or [[GameResult.Tie]] if the points are even.
+    */
+  def winningTeam(): Int = {
+    if (points(0) == points(1)) GameResult.Tie else if (points(0) > points(1)) 0 else 1
+  }
+
+  /**
+    * Clears the result for a new hand.
+    *
+    * @param dealer [[Int]] index of the dealer.
+    * @param trump [[Suite]] declared as trump.
+    */
+  def reset(dealer: Int, trump: Suite.Value): Unit = {
+    this.dealer = dealer
+    this.trump = trump
+    java.util.Arrays.fill(points, 0)
+    java.util.Arrays.fill(tricks, 0)
+  }
+
+  /**
+    * Credits a team with a trick.
+    *
+    * @param team [[Int]] index of the team taking the trick.
+    * @param trickPoints [[Int]] points of the trick including any bonus.
+    */
+  def addTrick(team: Int, trickPoints: Int): Unit = {
+    points(team) += trickPoints
+    tricks(team) += 1
+  }
+}
+
+/**
+  * @author Robb Lee (robbmlee@gmail.com).
+  */
+object GameResult {
+  final val Tie: Int = -1
+}
@@ -0,0 +1,111 @@
+package bboreel.games.card.sim
+
+import bboreel.games.card.domain.Suite
+import bboreel.games.card.domain.pinochle.PinochleFaceValue
+import bboreel.games.card.engine.{CardId, CountingHand, PinochleDeck}
+
+/**
+  * Plays out the tricks of a four player partnership hand dealt from a [[PinochleDeck]], each
+  * player choosing legal cards by its [[BotPolicy]]. The player after the dealer declares its
+  * longest suite as trump and leads the first trick; bidding and meld are not simulated. Kings,
+  * tens and aces count a point each and the last trick a bonus.
+  *
+  * Instances deal every hand into the same [[CountingHand]] objects and reuse their buffers, so
+  * they are not thread safe, use one playout per thread.
+  *
+  * @param policies [[IndexedSeq]] of [[BotPolicy]] indexed by player.
+  * @author Robb Lee (robbmlee@gmail.com).
+  */
+class HandPlayout(policies: IndexedSeq[BotPolicy]) {
+  require(policies.size == HandPlayout.Players,
+    s"Playout must have ${HandPlayout.Players} policies but had ${policies.size}.")
+
+  private val legal: Array[Boolean] = new Array[Boolean](CardId.Count)
+  private val hands: Array[CountingHand] = Array.fill(HandPlayout.Players)(new CountingHand())
+
+  /**
+    * Deals and plays a hand.
+    *
+    * @param deck [[PinochleDeck]] already shuffled.
+    * @param dealer [[Int]] index of the dealer.
+    * @param result [[GameResult]] reset and filled with the outcome.
+    */
+  def play(deck: PinochleDeck, dealer: Int, result: GameResult): Unit = {
+    deck.deal(hands)
+    var leader = (dealer + 1) % HandPlayout.Players
+    val trump = HandPlayout.longestSuite(hands(leader))
+    result.reset(dealer, trump)
+    while (!hands(leader).isEmpty()) {
+      leader = playTrick(trump, leader, result)
+    }
+  }
+
+  // Plays a single trick, returning the player who took it.
+  private def playTrick(trump: Suite.Value, leader: Int, result: GameResult): Int = {
+    var highCard = TrickRules.NoCard
+    var highTrump = TrickRules.NoCard
+    var winner = leader
+    var points = 0
+    var seat = 0
+    while (seat < HandPlayout.Players) {
+      val player = (leader + seat) % HandPlayout.Players
+      TrickRules.legalCards(hands(player), trump, highCard, highTrump, legal)
+      val card = hands(player).playCard(policies(player).chooseCard(legal)).id
+      points += HandPlayout.getPoints(card)
+      if (seat == 0 || (sameSuite(card, highCard) && card > highCard)) {
+        highCard = card
+        winner = if (highTrump == TrickRules.NoCard) player else winner
+      } else if (isTrump(card, trump) && !isTrump(highCard, trump) && card > highTrump) {
+        highTrump = card
+        winner = player
+      }
+      seat += 1
+    }
+    val bonus = if (hands(winner).isEmpty()) HandPlayout.LastTrickBonus else 0
+    result.addTrick(winner % HandPlayout.Teams, points + bonus)
+    winner
+  }
+
+  private def sameSuite(card: Int, other: Int) = {
+    card / CardId.ValuesPerSuite == other / CardId.ValuesPerSuite
+  }
+
+  private def isTrump(card: Int, trump: Suite.Value) = card / CardId.ValuesPerSuite == trump.id
+}
+
+/**
+  * @author Robb Lee (robbmlee@gmail.com).
+  */
+object HandPlayout {
+  final val Players: Int = 4
+  final val Teams: Int = 2
+  final val LastTrickBonus: Int = 2
+
+  /**
+    * Returns the points of a card, one for a king, ten or ace and otherwise none.
+    *
+    * @param card [[Int]] id of the card.
+    * @return [[Int]] points of the card.
+    */
+  def getPoints(card: Int): Int = {
+    if (card % CardId.ValuesPerSuite >= PinochleFaceValue.King.id) 1 else 0
+  }
+
+  /**
+    * Returns the suite with the most cards in the hand, the first suite on ties.
+    *
+    * @param hand [[CountingHand]] to inspect.
+    * @return [[Suite]] with the most cards.
+    */
+  def longestSuite(hand: CountingHand): Suite.Value = {
+    var longest = Suite(0)
+    var id = 1
+    while (id < Suite.maxId) {
+      if (hand.countBySuite(Suite(id)) > hand.countBySuite(longest)) {
+        longest = Suite(id)
+      }
+      id += 1
+    }
+    longest
+  }
+}
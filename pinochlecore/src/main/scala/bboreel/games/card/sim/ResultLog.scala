@@ -0,0 +1,38 @@
+package bboreel.games.card.sim
+
+import org.apache.logging.log4j.util.Unbox.box
+import org.apache.logging.log4j.{LogManager, Logger}
+
+/**
+  * Writes a key value record per simulated game to the [[ResultLog.LoggerName]] logger. The
+  * logger is configured as an async logger, handing events to a disruptor ring buffer drained by
+  * a background thread, and the record is formatted from a parameterized message with unboxed
+  * primitives so with thread locals and direct encoders enabled logging a result does not
+  * allocate or block the simulation thread.
+  *
+  * @author Robb Lee (robbmlee@gmail.com).
+  */
+object ResultLog {
+  final val LoggerName: String = "bboreel.games.card.results"
+
+  private val log: Logger = LogManager.getLogger(LoggerName)
+
+  /**
+    * Logs the result of a game.
+    *
+    * @param seed [[Long]] seed of the task which played the game.
+    * @param game [[Int]] index of the game within the seed.
+    * @param result [[GameResult]] of the game.
+    * @param nanos [[Long]] time taken to play the game.
+    */
+  def record(seed: Long, game: Int, result: GameResult, nanos: Long): Unit = {
+    if (log.isInfoEnabled()) {
+      // Ascribed as Any so only the nine parameter overload applies rather than the varargs one.
+      log.info("seed={} game={} dealer={} trump={} points={}/{} tricks={}/{} nanos={}",
+        box(seed): Any, box(game): Any, box(result.getDealer()): Any,
+        result.getTrump().toString: Any, box(result.getPoints(0)): Any,
+        box(result.getPoints(1)): Any, box(result.getTricks(0)): Any,
+        box(result.getTricks(1)): Any, box(nanos): Any)
+    }
+  }
+}
@@ -0,0 +1,68 @@
+package bboreel.games.card.sim
+
+import bboreel.games.card.domain.Suite
+import bboreel.games.card.engine.{CardId, CountingHand}
+
+/**
+  * Legal play rules of a pinochle trick over raw card ids: follow the suite led and beat the
+  * highest card of it if possible, otherwise play trump and beat the highest trump if possible,
+  * otherwise play any card. Once a trump has been played on an off suite lead, following the
+  * suite led no longer needs to beat it.
+  *
+  * @author Robb Lee (robbmlee@gmail.com).
+  */
+object TrickRules {
+  /**
+    * Marker for a trick with no card of a kind played yet.
+    */
+  final val NoCard: Int = -1
+
+  /**
+    * Marks the cards of the hand which may be legally played on the trick.
+    *
+    * @param hand [[CountingHand]] of the player.
+    * @param trump [[Suite]] declared as trump.
+    * @param highCard [[Int]] id of the highest card of the suite led or [[NoCard]] if leading.
+    * @param highTrump [[Int]] id of the highest trump played on an off suite lead or [[NoCard]].
+    * @param legal [[Array]] indexed by card id set to whether the card may be played.
+    */
+  def legalCards(hand: CountingHand, trump: Suite.Value, highCard: Int, highTrump: Int,
+                 legal: Array[Boolean]): Unit = {
+    java.util.Arrays.fill(legal, false)
+    if (highCard == NoCard) {
+      markCards(hand, 0, CardId.Count, legal)
+    } else if (hand.countBySuite(new CardId(highCard).suite) > 0) {
+      val mustBeat = if (highTrump == NoCard) highCard else NoCard
+      markBeating(hand, highCard / CardId.ValuesPerSuite, mustBeat, legal)
+    } else if (hand.countBySuite(trump) > 0) {
+      markBeating(hand, trump.id, highTrump, legal)
+    } else {
+      markCards(hand, 0, CardId.Count, legal)
+    }
+  }
+
+  // Marks the cards of the suite above the card to beat, or every card of the suite if none do.
+  private def markBeating(hand: CountingHand, suiteId: Int, beat: Int,
+                          legal: Array[Boolean]): Unit = {
+    val start = suiteId * CardId.ValuesPerSuite
+    val end = start + CardId.ValuesPerSuite
+    if (beat == NoCard || !markCards(hand, beat + 1, end, legal)) {
+      markCards(hand, start, end, legal)
+    }
+  }
+
+  // Marks the held cards with ids from start until end, returning whether any were marked.
+  private def markCards(hand: CountingHand, start: Int, end: Int,
+                        legal: Array[Boolean]): Boolean = {
+    var marked = false
+    var id = start
+    while (id < end) {
+      if (hand.count(new CardId(id)) > 0) {
+        legal(id) = true
+        marked = true
+      }
+      id += 1
+    }
+    marked
+  }
+}
@@ -0,0 +1,41 @@
+package bboreel.games.card.engine
+
+import bboreel.games.card.BaseTest
+import bboreel.games.card.domain.Suite
+import bboreel.games.card.domain.pinochle.{PinochleCard, PinochleFaceValue}
+import org.junit.Assert.{assertEquals, assertTrue}
+
+/**
+  * @author Robb Lee (robbmlee@gmail.com).
+  */
+class CardIdTest extends BaseTest {
+  private final val TestIdentifier = "CardId Tests"
+
+  test(s"$TestIdentifier: should map every suite and value to a unique id.") {
+    val ids = for {
+      suite <- Suite.values.toVector
+      value <- PinochleFaceValue.values.toVector
+    } yield {
+      val card = CardId(suite, value)
+      assertEquals(suite, card.suite)
+      assertEquals(value, card.value)
+      assertEquals(new PinochleCard(suite, value), card.toCard)
+      card.id
+    }
+    assertEquals(CardId.Count, ids.toSet.size)
+    assertEquals(CardId.All.map(_.id), ids.sorted)
+  }
+
+  test(s"$TestIdentifier: should order cards by suite then value.") {
+    val sorted = CardId.All.reverse.sorted
+    assertEquals(CardId.All, sorted)
+    assertTrue(CardId(Suite.Heart, PinochleFaceValue.Ace).id
+      < CardId(Suite.Spade, PinochleFaceValue.Jack).id)
+  }
+
+  test(s"$TestIdentifier: should reject ids outside the deck.") {
+    intercept[IllegalArgumentException] {
+      CardId(CardId.Count)
+    }
+  }
+}
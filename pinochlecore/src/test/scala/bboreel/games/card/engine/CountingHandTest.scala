@@ -0,0 +1,64 @@
+package bboreel.games.card.engine
+
+import bboreel.games.card.BaseTest
+import bboreel.games.card.domain.Suite
+import bboreel.games.card.domain.pinochle.PinochleFaceValue
+import org.junit.Assert.{assertEquals, assertFalse, assertTrue}
+
+import scala.collection.mutable.ArrayBuffer
+
+/**
+  * @author Robb Lee (robbmlee@gmail.com).
+  */
+class CountingHandTest extends BaseTest {
+  private final val TestIdentifier = "CountingHand Tests"
+  private val queenOfSpades = CardId(Suite.Spade, PinochleFaceValue.Queen)
+  private val jackOfDiamonds = CardId(Suite.Diamond, PinochleFaceValue.Jack)
+
+  test(s"$TestIdentifier: should deal and play copies of a card.") {
+    val hand = new CountingHand()
+    assertTrue(hand.isEmpty())
+    hand.dealCard(queenOfSpades)
+    hand.dealCard(queenOfSpades)
+    hand.dealCard(jackOfDiamonds)
+    assertEquals(3, hand.size())
+    assertEquals(2, hand.count(queenOfSpades))
+    assertEquals(2, hand.countBySuite(Suite.Spade))
+    assertEquals(0, hand.countBySuite(Suite.Heart))
+
+    assertEquals(queenOfSpades, hand.playCard(queenOfSpades))
+    assertTrue(hand.contains(queenOfSpades))
+    hand.playCard(queenOfSpades)
+    assertFalse(hand.contains(queenOfSpades))
+    assertEquals(1, hand.size())
+  }
+
+  test(s"$TestIdentifier: should clear every card.") {
+    val hand = new CountingHand()
+    hand.dealCard(queenOfSpades)
+    hand.dealCard(jackOfDiamonds)
+    hand.clear()
+    assertTrue(hand.isEmpty())
+    assertFalse(hand.contains(queenOfSpades))
+    assertEquals(0, hand.countBySuite(Suite.Diamond))
+  }
+
+  test(s"$TestIdentifier: should list cards in id order.") {
+    val hand = new CountingHand()
+    hand.dealCard(queenOfSpades)
+    hand.dealCard(jackOfDiamonds)
+    hand.dealCard(queenOfSpades)
+    val visited = ArrayBuffer[CardId]()
+    hand.foreachCard(visited += _)
+    assertEquals(Vector(queenOfSpades, queenOfSpades, jackOfDiamonds), hand.cards())
+    assertEquals(hand.cards(), visited)
+  }
+
+  test(s"$TestIdentifier: should throw exception for invalid card.") {
+    val hand = new CountingHand()
+    val ex = intercept[RuntimeException] {
+      hand.playCard(jackOfDiamonds)
+    }
+    assertEquals(s"Tried to remove invalid card: $jackOfDiamonds", ex.getMessage())
+  }
+}
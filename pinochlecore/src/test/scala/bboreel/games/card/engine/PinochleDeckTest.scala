@@ -0,0 +1,67 @@
+package bboreel.games.card.engine
+
+import bboreel.games.card.BaseTest
+import org.junit.Assert.{assertEquals, assertNotEquals, assertTrue}
+
+/**
+  * @author Robb Lee (robbmlee@gmail.com).
+  */
+class PinochleDeckTest extends BaseTest {
+  private final val TestIdentifier = "PinochleDeck Tests"
+  private final val Players = 4
+  private final val Seed = 42L
+
+  test(s"$TestIdentifier: should hold each card once per copy.") {
+    val deck = new PinochleDeck()
+    assertEquals(CardId.Count * PinochleDeck.DoubleDeckCopies, deck.size())
+    assertEquals(CardId.Count * PinochleDeck.SingleDeckCopies,
+      new PinochleDeck(PinochleDeck.SingleDeckCopies).size())
+    assertCopies(deck.shuffle(Seed))
+  }
+
+  test(s"$TestIdentifier: should shuffle reproducibly from a seed.") {
+    val first = order(new PinochleDeck().shuffle(Seed))
+    val second = order(new PinochleDeck().shuffle(Seed))
+    val other = order(new PinochleDeck().shuffle(Seed + 1))
+    assertEquals(first, second)
+    assertNotEquals(first, other)
+    assertEquals(first.map(_.toCard), new PinochleDeck().shuffle(Seed).toDeck.cards)
+  }
+
+  test(s"$TestIdentifier: should deal equal hands of the whole deck.") {
+    val deck = new PinochleDeck().shuffle(Seed)
+    val hands = deck.deal(Players)
+    assertEquals(Players, hands.length)
+    hands.foreach(hand => assertEquals(deck.size() / Players, hand.size()))
+    CardId.All.foreach(card =>
+      assertEquals(PinochleDeck.DoubleDeckCopies, hands.map(_.count(card)).sum))
+    assertTrue(hands(0).contains(deck(0)))
+    intercept[IllegalArgumentException] {
+      deck.deal(Players + 3)
+    }
+  }
+
+  test(s"$TestIdentifier: should clear and refill reused hands.") {
+    val deck = new PinochleDeck()
+    val hands = Array.fill(Players)(new CountingHand())
+    deck.shuffle(Seed).deal(hands)
+    val first = hands.map(_.cards())
+    deck.shuffle(Seed + 1).deal(hands)
+    hands.foreach(hand => assertEquals(deck.size() / Players, hand.size()))
+    assertEquals(deck.deal(Players).map(_.cards()).toSeq, hands.map(_.cards()).toSeq)
+    assertNotEquals(first.toSeq, hands.map(_.cards()).toSeq)
+    intercept[IllegalArgumentException] {
+      deck.deal(new Array[CountingHand](Players + 3))
+    }
+  }
+
+  private def assertCopies(deck: PinochleDeck): Unit = {
+    val counts = (0 until deck.size()).groupBy(deck(_).id).mapValues(_.size)
+    assertEquals(CardId.Count, counts.size)
+    counts.values.foreach(count => assertEquals(deck.copies.toLong, count.toLong))
+  }
+
+  private def order(deck: PinochleDeck): IndexedSeq[CardId] = {
+    (0 until deck.size()).map(deck(_))
+  }
+}
@@ -0,0 +1,42 @@
+package bboreel.games.card.sim
+
+import bboreel.games.card.BaseTest
+import org.junit.Assert.assertEquals
+
+/**
+  * @author Robb Lee (robbmlee@gmail.com).
+  */
+class BatchOptionsTest extends BaseTest {
+  private final val TestIdentifier = "BatchOptions Tests"
+  private final val FirstSeed = 10L
+  private final val LastSeed = 20L
+  private final val Games = 500
+  private final val SeedsOption = "--seeds"
+  private final val GamesOption = "--games"
+  private final val ThreadsOption = "--threads"
+  private final val Policies = "--policies"
+
+  test(s"$TestIdentifier: should parse options and default the rest.") {
+    val options = BatchOptions.parse(Array(SeedsOption, s"$FirstSeed:$LastSeed", GamesOption,
+      Games.toString, ThreadsOption, "2", Policies, "random,highest,random,lowest"))
+    assertEquals(BatchOptions(FirstSeed, LastSeed, Games, 2,
+      Vector(BotPolicy.Random, BotPolicy.Highest, BotPolicy.Random, BotPolicy.Lowest)), options)
+    assertEquals((LastSeed - FirstSeed) * Games, options.gameCount())
+
+    val defaults = BatchOptions.parse(Array(Policies, BotPolicy.Lowest))
+    assertEquals(Vector.fill(HandPlayout.Players)(BotPolicy.Lowest), defaults.policies)
+    assertEquals(1L, defaults.gameCount())
+  }
+
+  test(s"$TestIdentifier: should reject invalid options.") {
+    Seq(Array(SeedsOption), Array("--unknown", "1"), Array(SeedsOption, "5:5"),
+      Array(GamesOption, "many"), Array(ThreadsOption, "0"), Array(Policies, "random,lowest"),
+      Array(Policies, "cheating"), Array(GamesOption, "0"), Array(GamesOption, "-3"),
+      Array(GamesOption, "4294967297"), Array(ThreadsOption, "-1"),
+      Array(ThreadsOption, (Int.MaxValue + 1L).toString)).foreach { args =>
+      intercept[IllegalArgumentException] {
+        BatchOptions.parse(args)
+      }
+    }
+  }
+}
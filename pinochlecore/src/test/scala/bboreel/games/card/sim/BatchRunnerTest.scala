@@ -0,0 +1,28 @@
+package bboreel.games.card.sim
+
+import bboreel.games.card.BaseTest
+import org.junit.Assert.assertEquals
+
+/**
+  * @author Robb Lee (robbmlee@gmail.com).
+  */
+class BatchRunnerTest extends BaseTest {
+  private final val TestIdentifier = "BatchRunner Tests"
+  private final val Seeds = 6L
+  private final val Games = 5
+
+  test(s"$TestIdentifier: should play every game of every seed.") {
+    val options = BatchOptions(0L, Seeds, Games, 2)
+    val summary = new BatchRunner(options).run()
+    assertEquals(Seeds * Games, summary.games)
+    assertEquals(summary.games, summary.teamWins.sum + summary.ties)
+    assertEquals(summary, new BatchRunner(options).run().copy(elapsedNanos = summary.elapsedNanos))
+  }
+
+  test(s"$TestIdentifier: should share seeds among more threads than seeds.") {
+    val summary = new BatchRunner(BatchOptions(Long.MaxValue - Seeds, Long.MaxValue, Games,
+      Seeds.toInt * 2)).run()
+    assertEquals(Seeds * Games, summary.games)
+    assertEquals(summary.games, summary.teamWins.sum + summary.ties)
+  }
+}
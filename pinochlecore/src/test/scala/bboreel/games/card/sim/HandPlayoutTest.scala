@@ -0,0 +1,59 @@
+package bboreel.games.card.sim
+
+import bboreel.games.card.BaseTest
+import bboreel.games.card.domain.Suite
+import bboreel.games.card.domain.pinochle.PinochleFaceValue
+import bboreel.games.card.engine.{CardId, CountingHand, PinochleDeck}
+import org.junit.Assert.assertEquals
+
+/**
+  * @author Robb Lee (robbmlee@gmail.com).
+  */
+class HandPlayoutTest extends BaseTest {
+  private final val TestIdentifier = "HandPlayout Tests"
+  private final val Seed = 7L
+  // Kings, tens and aces of four suites with four copies each.
+  private final val CounterPoints = 48
+  private final val Tricks = 20
+
+  test(s"$TestIdentifier: should play every trick and award every point.") {
+    BotPolicy.Names.foreach { name =>
+      val playout = new HandPlayout(Vector.tabulate(HandPlayout.Players)(BotPolicy(name, _)))
+      val deck = new PinochleDeck()
+      val result = new GameResult()
+      (0 until HandPlayout.Players).foreach { dealer =>
+        playout.play(deck.shuffle(Seed + dealer), dealer, result)
+        assertEquals(dealer, result.getDealer())
+        assertEquals(Tricks, result.getTricks(0) + result.getTricks(1))
+        assertEquals(CounterPoints + HandPlayout.LastTrickBonus,
+          result.getPoints(0) + result.getPoints(1))
+      }
+    }
+  }
+
+  test(s"$TestIdentifier: should replay a game from its seed.") {
+    val first = playRandom()
+    val second = playRandom()
+    assertEquals(first.getTrump(), second.getTrump())
+    assertEquals(first.getPoints(0), second.getPoints(0))
+    assertEquals(first.getTricks(1), second.getTricks(1))
+  }
+
+  test(s"$TestIdentifier: should score counters and pick the longest suite.") {
+    assertEquals(0, HandPlayout.getPoints(CardId(Suite.Heart, PinochleFaceValue.Queen).id))
+    assertEquals(1, HandPlayout.getPoints(CardId(Suite.Heart, PinochleFaceValue.Ten).id))
+    val hand = new CountingHand()
+    hand.dealCard(CardId(Suite.Diamond, PinochleFaceValue.Jack))
+    hand.dealCard(CardId(Suite.Diamond, PinochleFaceValue.Ace))
+    hand.dealCard(CardId(Suite.Spade, PinochleFaceValue.Ace))
+    assertEquals(Suite.Diamond, HandPlayout.longestSuite(hand))
+    assertEquals(GameResult.Tie, new GameResult().winningTeam())
+  }
+
+  private def playRandom(): GameResult = {
+    val result = new GameResult()
+    new HandPlayout(Vector.tabulate(HandPlayout.Players)(BotPolicy(BotPolicy.Random, _)))
+      .play(new PinochleDeck().shuffle(Seed), 0, result)
+    result
+  }
+}
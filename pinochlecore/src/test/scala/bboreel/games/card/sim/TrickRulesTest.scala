@@ -0,0 +1,51 @@
+package bboreel.games.card.sim
+
+import bboreel.games.card.BaseTest
+import bboreel.games.card.domain.Suite
+import bboreel.games.card.domain.pinochle.PinochleFaceValue
+import bboreel.games.card.engine.{CardId, CountingHand}
+import org.junit.Assert.assertEquals
+
+/**
+  * @author Robb Lee (robbmlee@gmail.com).
+  */
+class TrickRulesTest extends BaseTest {
+  private final val TestIdentifier = "TrickRules Tests"
+  private val tenOfHearts = CardId(Suite.Heart, PinochleFaceValue.Ten)
+  private val kingOfHearts = CardId(Suite.Heart, PinochleFaceValue.King)
+  private val aceOfHearts = CardId(Suite.Heart, PinochleFaceValue.Ace)
+  private val jackOfSpades = CardId(Suite.Spade, PinochleFaceValue.Jack)
+  private val aceOfSpades = CardId(Suite.Spade, PinochleFaceValue.Ace)
+  private val queenOfClubs = CardId(Suite.Clubs, PinochleFaceValue.Queen)
+
+  test(s"$TestIdentifier: should allow any card when leading.") {
+    assertEquals(Set(kingOfHearts, jackOfSpades, queenOfClubs),
+      legal(TrickRules.NoCard, TrickRules.NoCard, kingOfHearts, jackOfSpades, queenOfClubs))
+  }
+
+  test(s"$TestIdentifier: should follow suite and beat the high card when possible.") {
+    assertEquals(Set(aceOfHearts),
+      legal(tenOfHearts.id, TrickRules.NoCard, kingOfHearts, aceOfHearts, jackOfSpades))
+    assertEquals(Set(kingOfHearts),
+      legal(aceOfHearts.id, TrickRules.NoCard, kingOfHearts, jackOfSpades))
+    assertEquals(Set(kingOfHearts, aceOfHearts),
+      legal(tenOfHearts.id, jackOfSpades.id, kingOfHearts, aceOfHearts, aceOfSpades))
+  }
+
+  test(s"$TestIdentifier: should trump when void and beat the high trump when possible.") {
+    assertEquals(Set(jackOfSpades, aceOfSpades),
+      legal(tenOfHearts.id, TrickRules.NoCard, jackOfSpades, aceOfSpades, queenOfClubs))
+    assertEquals(Set(aceOfSpades),
+      legal(tenOfHearts.id, jackOfSpades.id, jackOfSpades, aceOfSpades, queenOfClubs))
+    assertEquals(Set(queenOfClubs), legal(tenOfHearts.id, TrickRules.NoCard, queenOfClubs))
+  }
+
+  // Legal cards with spades as trump.
+  private def legal(highCard: Int, highTrump: Int, cards: CardId*): Set[CardId] = {
+    val hand = new CountingHand()
+    cards.foreach(hand.dealCard)
+    val legal = new Array[Boolean](CardId.Count)
+    TrickRules.legalCards(hand, Suite.Spade, highCard, highTrump, legal)
+    CardId.All.filter(card => legal(card.id)).toSet
+  }
+}